@@ -24,6 +24,7 @@
 package io.github.jamoamo.webjourney;
 
 import io.github.jamoamo.webjourney.api.web.IBrowser;
+import java.net.URL;
 
 /**
  * Abstract class for navigation targets. Navigates the browser to a specific target.
@@ -36,4 +37,13 @@ public abstract class ANavigationTarget
 	 * @param browser The browser to navigate
 	 */
 	public abstract void navigate(IBrowser browser);
+
+	/**
+	 * The URL this target navigates to, used to schedule the navigation politely.
+	 * @return the URL, or null if the target is relative to the browser's history.
+	 */
+	URL getTargetUrl()
+	{
+		return null;
+	}
 }
@@ -24,6 +24,8 @@
 package io.github.jamoamo.webjourney;
 
 import io.github.jamoamo.webjourney.api.IActionOptionsJourneyBuilder;
+import io.github.jamoamo.webjourney.api.wait.IWaitStrategy;
+import java.time.Duration;
 import java.util.concurrent.TimeUnit;
 
 
@@ -44,7 +46,7 @@ public class ActionOptionsJourneyBuilder extends BaseJourneyBuilder implements I
 	}
 	
 	/**
-	 * Sets the wait, in seconds, before the action. Default wait is 1 second.
+	 * Sets a fixed wait, in seconds, before the action. By default there is no wait before an action.
 	 * @param waitTimeSeconds The number of seconds to wait before the action is executed.
 	 * @return this builder
 	 */
@@ -56,8 +58,9 @@ public class ActionOptionsJourneyBuilder extends BaseJourneyBuilder implements I
 	}
 	
 	/**
-	 * Sets the wait, in seconds, before the action. Default wait is 1 second.
-	 * @param waitTimeSeconds The number of seconds to wait before the action is executed.
+	 * Sets a fixed wait, in seconds, after the action. By default the journey waits for the page to settle after
+	 * each action instead.
+	 * @param waitTimeSeconds The number of seconds to wait after the action is executed.
 	 * @return this builder
 	 */
 	@Override
@@ -66,4 +69,64 @@ public class ActionOptionsJourneyBuilder extends BaseJourneyBuilder implements I
 		this.getBuild().getLastAction().setPostActionWait(TimeUnit.SECONDS.toMillis(waitTimeSeconds));
 		return this;
 	}
+	
+	/**
+	 * Sets the wait before the action.
+	 * @param waitStrategy The strategy to wait with before the action is executed.
+	 * @return this builder
+	 */
+	@Override
+	public ActionOptionsJourneyBuilder withPreActionWait(IWaitStrategy waitStrategy)
+	{
+		this.getBuild().getLastAction().setPreActionWait(waitStrategy);
+		return this;
+	}
+	
+	/**
+	 * Sets the wait after the action.
+	 * @param waitStrategy The strategy to wait with after the action is executed.
+	 * @return this builder
+	 */
+	@Override
+	public ActionOptionsJourneyBuilder withPostActionWait(IWaitStrategy waitStrategy)
+	{
+		this.getBuild().getLastAction().setPostActionWait(waitStrategy);
+		return this;
+	}
+	
+	/**
+	 * Sets the wait before every action in the journey that does not set its own pre action wait.
+	 * @param waitStrategy The strategy to wait with before each action is executed.
+	 * @return this builder
+	 */
+	@Override
+	public ActionOptionsJourneyBuilder withDefaultPreActionWait(IWaitStrategy waitStrategy)
+	{
+		this.getBuild().setDefaultPreActionWait(waitStrategy);
+		return this;
+	}
+	
+	/**
+	 * Sets the wait after every action in the journey that does not set its own post action wait.
+	 * @param waitStrategy The strategy to wait with after each action is executed.
+	 * @return this builder
+	 */
+	@Override
+	public ActionOptionsJourneyBuilder withDefaultPostActionWait(IWaitStrategy waitStrategy)
+	{
+		this.getBuild().setDefaultPostActionWait(waitStrategy);
+		return this;
+	}
+
+	/**
+	 * Sets the maximum time the action may take.
+	 * @param timeout The action timeout.
+	 * @return this builder
+	 */
+	@Override
+	public ActionOptionsJourneyBuilder withTimeout(Duration timeout)
+	{
+		this.getBuild().getLastAction().setTimeout(timeout);
+		return this;
+	}
 }
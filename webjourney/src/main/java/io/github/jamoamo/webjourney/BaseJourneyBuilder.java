@@ -23,6 +23,7 @@
  */
 package io.github.jamoamo.webjourney;
 
+import io.github.jamoamo.webjourney.api.AWebAction;
 import io.github.jamoamo.webjourney.api.PageConsumerException;
 import io.github.jamoamo.webjourney.api.IJourney;
 import io.github.jamoamo.webjourney.api.IJourneyBuilder;
@@ -31,6 +32,7 @@ import io.github.jamoamo.webjourney.api.web.IBrowser;
 import java.net.MalformedURLException;
 import java.net.URL;
 import java.time.Duration;
+import java.util.List;
 import java.util.function.Function;
 import org.apache.commons.lang3.function.FailableConsumer;
 import org.apache.commons.lang3.function.FailableFunction;
@@ -286,13 +288,25 @@ public class BaseJourneyBuilder implements IJourneyBuilder
 
 	/**
 	 * Builds an instance of WebJourney.
+	 * <p>
+	 * The journey is compiled into an immutable plan: each action resolves and validates what it needs up front, so
+	 * travelling the journey, however many times, does no reflection or journey building. Actions added to this builder
+	 * afterwards do not affect the built journey.
 	 *
 	 * @return a built WebJourney instance.
+	 * @throws JourneyBuilderException if an action in the journey is not correctly defined.
 	 */
 	@Override
 	public IJourney build()
+		throws JourneyBuilderException
 	{
-		SubJourney subJourney = new SubJourney(this.build.getJourney());
+		List<AWebAction> actions = List.copyOf(this.build.getJourney().getActions());
+		for(AWebAction action : actions)
+		{
+			action.compile();
+		}
+		SubJourney subJourney = new SubJourney(actions,
+			this.build.getDefaultPreActionWait(), this.build.getDefaultPostActionWait());
 		return subJourney;
 	}
 	
@@ -25,6 +25,7 @@ package io.github.jamoamo.webjourney;
 
 import io.github.jamoamo.webjourney.api.AWebAction;
 import io.github.jamoamo.webjourney.api.IJourneyContext;
+import io.github.jamoamo.webjourney.api.JourneyBuilderException;
 import io.github.jamoamo.webjourney.annotation.form.Button;
 import io.github.jamoamo.webjourney.api.web.IBrowser;
 import io.github.jamoamo.webjourney.api.web.XWebException;
@@ -40,38 +41,59 @@ class ClickButtonAction extends AWebAction
 {
 	private final Class pageClass;
 	private final String buttonName;
+	private final String buttonXPath;
 	
 	ClickButtonAction(Object pageObject, String buttonName)
 	{
-		this.pageClass = pageObject.getClass();
-		this.buttonName = buttonName;
+		this(pageObject.getClass(), buttonName);
 	}
 	
 	ClickButtonAction(Class pageClass, String buttonName)
 	{
 		this.pageClass = pageClass;
 		this.buttonName = buttonName;
+		this.buttonXPath = resolveButtonXPath(pageClass, buttonName);
 	}
 	
-	@Override
-	protected ActionResult executeActionImpl(IJourneyContext context)
+	private static String resolveButtonXPath(Class pageClass, String buttonName)
 	{
-		IBrowser browser = context.getBrowser();
-		Field buttonField = FieldUtils.getField(this.pageClass, this.buttonName, true);
+		Field buttonField = FieldUtils.getField(pageClass, buttonName, true);
 		if(buttonField == null)
 		{
-			return ActionResult.FAILURE;
+			return null;
 		}
 		
-		Button ef = buttonField.getAnnotation(Button.class);
-		if(ef == null)
+		Button button = buttonField.getAnnotation(Button.class);
+		if(button == null)
+		{
+			return null;
+		}
+		return button.xPath();
+	}
+
+	@Override
+	public void compile()
+		throws JourneyBuilderException
+	{
+		if(this.buttonXPath == null)
+		{
+			throw new JourneyBuilderException(
+				"Not a button: " + this.buttonName + " in " + this.pageClass.getCanonicalName());
+		}
+	}
+	
+	@Override
+	protected ActionResult executeActionImpl(IJourneyContext context)
+	{
+		if(this.buttonXPath == null)
 		{
 			return ActionResult.FAILURE;
 		}
 		
+		IBrowser browser = context.getBrowser();
 		try
 		{
-			browser.getActiveWindow().getCurrentPage().getElement(ef.xPath()).click();
+			browser.getActiveWindow().getCurrentPage().getElement(this.buttonXPath).click();
 			
 			return ActionResult.SUCCESS;
 		}
@@ -30,8 +30,13 @@ import io.github.jamoamo.webjourney.annotation.form.Form;
 import io.github.jamoamo.webjourney.annotation.form.TextField;
 import io.github.jamoamo.webjourney.api.web.IBrowser;
 import io.github.jamoamo.webjourney.api.web.XWebException;
+import io.github.jamoamo.webjourney.api.JourneyBuilderException;
+import java.beans.PropertyDescriptor;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
 import java.lang.reflect.Field;
 import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
 import java.util.List;
@@ -49,19 +54,42 @@ class CompleteFormAction extends AWebAction
 	private final Logger logger = LoggerFactory.getLogger(CompleteFormAction.class);
 
 	private final Object form;
+	private final List<FormTextField> textFields;
+	private final String submitXPath;
 	private boolean submit = false;
 
 	CompleteFormAction(Object form)
 	{
 		this.form = form;
+		this.textFields = FieldUtils.getFieldsListWithAnnotation(form.getClass(), TextField.class).stream()
+			.map(field -> new FormTextField(form, field))
+			.toList();
+		Form formAnnotation = form.getClass().getAnnotation(Form.class);
+		this.submitXPath = formAnnotation == null ? null : formAnnotation.submit();
+	}
+
+	@Override
+	public void compile()
+		throws JourneyBuilderException
+	{
+		for(FormTextField textField : this.textFields)
+		{
+			if(textField.getter == null)
+			{
+				throw new JourneyBuilderException(textField.getterError);
+			}
+		}
+		if(this.submit && this.submitXPath == null)
+		{
+			throw new JourneyBuilderException(
+				"Form is not annotated with @Form: " + this.form.getClass().getCanonicalName());
+		}
 	}
 
 	@Override
 	protected ActionResult executeActionImpl(IJourneyContext context)
 	{
-		List<Field> textFields =
-				  FieldUtils.getFieldsListWithAnnotation(this.form.getClass(), TextField.class);
-		for(Field field : textFields)
+		for(FormTextField field : this.textFields)
 		{
 			setTextField(context, field);
 		}
@@ -70,8 +98,7 @@ class CompleteFormAction extends AWebAction
 		{
 			try
 			{
-				String submitXPath = this.form.getClass().getAnnotation(Form.class).submit();
-				context.getBrowser().getActiveWindow().getCurrentPage().getElement(submitXPath).click();
+				context.getBrowser().getActiveWindow().getCurrentPage().getElement(this.submitXPath).click();
 			}
 			catch(XWebException ex)
 			{
@@ -90,24 +117,23 @@ class CompleteFormAction extends AWebAction
 		this.submit = true;
 	}
 
-	private void setTextField(IJourneyContext context, Field textField)
+	private void setTextField(IJourneyContext context, FormTextField textField)
 	{
 		IBrowser browser = context.getBrowser();
 		try
 		{
-			Object value = PropertyUtils.getSimpleProperty(this.form, textField.getName());
+			Object value = textField.getValue(this.form);
 			if(value == null)
 			{
 				return;
 			}
-			TextField entityField = textField.getAnnotation(TextField.class);
-			browser.getActiveWindow().getCurrentPage().getElement(entityField.xPath()).enterText(value.toString());
+			browser.getActiveWindow().getCurrentPage().getElement(textField.xPath).enterText(value.toString());
 		}
-		catch(IllegalAccessException | InvocationTargetException | NoSuchMethodException | XWebException ex)
+		catch(ReflectiveOperationException | XWebException ex)
 		{
 			this.logger.atError().setMessage("Could not set a the value of a field")
 				.addKeyValue("@timestamp", LocalDateTime.now().atZone(ZoneId.of("GMT")).toString())
-				.addKeyValue("labels.field", textField.getName())
+				.addKeyValue("labels.field", textField.name)
 				.addKeyValue("labels.formClass", this.form.getClass().getCanonicalName())
 				.addKeyValue("error.type", ex.getClass().getCanonicalName())
 				.addKeyValue("error.message", ex.getMessage())
@@ -116,6 +142,69 @@ class CompleteFormAction extends AWebAction
 		}
 	}
 
+	/**
+	 * A text field of the form, with its getter resolved when the action is created.
+	 */
+	private static final class FormTextField
+	{
+		private final String name;
+		private final String xPath;
+		private final MethodHandle getter;
+		private final ReflectiveOperationException getterError;
+
+		FormTextField(Object form, Field field)
+		{
+			this.name = field.getName();
+			this.xPath = field.getAnnotation(TextField.class).xPath();
+			MethodHandle resolvedGetter = null;
+			ReflectiveOperationException resolveError = null;
+			try
+			{
+				resolvedGetter = resolveGetter(form, this.name);
+			}
+			catch(ReflectiveOperationException ex)
+			{
+				resolveError = ex;
+			}
+			this.getter = resolvedGetter;
+			this.getterError = resolveError;
+		}
+
+		private static MethodHandle resolveGetter(Object form, String name)
+			throws ReflectiveOperationException
+		{
+			PropertyDescriptor descriptor = PropertyUtils.getPropertyDescriptor(form, name);
+			Method readMethod = descriptor == null ? null : descriptor.getReadMethod();
+			if(readMethod == null)
+			{
+				throw new NoSuchMethodException(
+					"Unknown property '" + name + "' on class '" + form.getClass() + "'");
+			}
+			return MethodHandles.publicLookup().unreflect(readMethod);
+		}
+
+		Object getValue(Object form)
+			throws ReflectiveOperationException
+		{
+			if(this.getter == null)
+			{
+				throw this.getterError;
+			}
+			try
+			{
+				return this.getter.invoke(form);
+			}
+			catch(RuntimeException | Error ex)
+			{
+				throw ex;
+			}
+			catch(Throwable ex)
+			{
+				throw new InvocationTargetException(ex);
+			}
+		}
+	}
+
 	@Override
 	protected String getActionName()
 	{
@@ -27,6 +27,7 @@ import io.github.jamoamo.webjourney.api.AWebAction;
 import io.github.jamoamo.webjourney.api.IJourney;
 import io.github.jamoamo.webjourney.api.IJourneyBuilder;
 import io.github.jamoamo.webjourney.api.IJourneyContext;
+import io.github.jamoamo.webjourney.api.JourneyBuilderException;
 import io.github.jamoamo.webjourney.api.web.IBrowser;
 import org.apache.commons.lang3.function.FailableFunction;
 
@@ -39,6 +40,8 @@ class ConditionalAction extends AWebAction
 	private final FailableFunction<IBrowser, Boolean, ? extends JourneyException> conditionFunction;
 	private final FailableFunction<IJourneyBuilder, IJourney, ? extends JourneyException> functionIfTrue;
 	private final FailableFunction<IJourneyBuilder, IJourney, ? extends JourneyException> functionIfFalse;
+	private volatile IJourney journeyIfTrue;
+	private volatile IJourney journeyIfFalse;
 	
 	ConditionalAction(FailableFunction<IBrowser, Boolean, ? extends JourneyException> conditionFunction,
 			FailableFunction<IJourneyBuilder, IJourney, ? extends JourneyException> ifTrue)
@@ -57,6 +60,14 @@ class ConditionalAction extends AWebAction
 		this.functionIfFalse = ifFalse;
 	}
 	
+	@Override
+	public void compile()
+		throws JourneyBuilderException
+	{
+		this.journeyIfTrue = buildBranch(this.functionIfTrue);
+		this.journeyIfFalse = buildBranch(this.functionIfFalse);
+	}
+	
 	@Override
 	@SuppressWarnings("IllegalCatch")
 	protected ActionResult executeActionImpl(IJourneyContext context)
@@ -64,21 +75,30 @@ class ConditionalAction extends AWebAction
 	{
 		try
 		{
+			IJourney journey;
 			if(this.conditionFunction.apply(context.getBrowser()))
 			{
-				BaseJourneyBuilder builder = JourneyBuilder.path();
-				IJourney journey = this.functionIfTrue.apply(builder);
-				journey.doJourney(context);
+				journey = this.journeyIfTrue;
+				if(journey == null)
+				{
+					journey = buildBranch(this.functionIfTrue);
+					this.journeyIfTrue = journey;
+				}
 			}
 			else
 			{
-				if(this.functionIfFalse != null)
+				journey = this.journeyIfFalse;
+				if(journey == null)
 				{
-					BaseJourneyBuilder builder = JourneyBuilder.path();
-					IJourney journey = this.functionIfFalse.apply(builder);
-					journey.doJourney(context);
+					journey = buildBranch(this.functionIfFalse);
+					this.journeyIfFalse = journey;
 				}
 			}
+			
+			if(journey != null)
+			{
+				journey.doJourney(context);
+			}
 			return ActionResult.SUCCESS;
 		}
 		catch(Exception t)
@@ -86,6 +106,16 @@ class ConditionalAction extends AWebAction
 			throw new BaseJourneyActionException("Exception executing conditional action", this, t);
 		}
 	}
+	
+	private static IJourney buildBranch(
+		FailableFunction<IJourneyBuilder, IJourney, ? extends JourneyException> branchFunction)
+	{
+		if(branchFunction == null)
+		{
+			return null;
+		}
+		return branchFunction.apply(JourneyBuilder.path());
+	}
 
 	@Override
 	protected String getActionName()
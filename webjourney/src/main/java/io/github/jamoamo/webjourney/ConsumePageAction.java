@@ -27,10 +27,12 @@ import io.github.jamoamo.webjourney.api.AWebAction;
 import io.github.jamoamo.webjourney.api.PageConsumerException;
 import io.github.jamoamo.webjourney.api.IJourneyContext;
 import io.github.jamoamo.webjourney.api.IRetryPolicy;
+import io.github.jamoamo.webjourney.api.JourneyBuilderException;
 import io.github.jamoamo.webjourney.api.web.IBrowser;
 import io.github.jamoamo.webjourney.reserved.entity.EntityCreationContext;
 import io.github.jamoamo.webjourney.reserved.entity.EntityCreator;
 import io.github.jamoamo.webjourney.reserved.entity.EntityDefn;
+import io.github.jamoamo.webjourney.reserved.entity.XEntityDefinitionException;
 import org.apache.commons.lang3.function.FailableConsumer;
 
 /**
@@ -41,6 +43,7 @@ class ConsumePageAction<T> extends AWebAction
 {
 	private final Class<T> pageClass;
 	private final FailableConsumer<T, ? extends PageConsumerException> pageConsumer;
+	private volatile EntityDefn<T> entityDefn;
 	
 	ConsumePageAction(Class<T> pageClass, FailableConsumer<T, ? extends PageConsumerException> pageConsumer)
 	{
@@ -58,6 +61,32 @@ class ConsumePageAction<T> extends AWebAction
 		this.pageConsumer = pageConsumer;
 	}
 	
+	@Override
+	public void compile()
+		throws JourneyBuilderException
+	{
+		try
+		{
+			getEntityDefn();
+		}
+		catch(XEntityDefinitionException ex)
+		{
+			throw new JourneyBuilderException(ex);
+		}
+	}
+	
+	private EntityDefn<T> getEntityDefn()
+		throws XEntityDefinitionException
+	{
+		EntityDefn<T> defn = this.entityDefn;
+		if(defn == null)
+		{
+			defn = new EntityDefn<>(this.pageClass);
+			this.entityDefn = defn;
+		}
+		return defn;
+	}
+	
 	@Override
 	protected ActionResult executeActionImpl(IJourneyContext context)
 			  throws BaseJourneyActionException
@@ -69,7 +98,7 @@ class ConsumePageAction<T> extends AWebAction
 				? context.getOptions().getRetryPolicy() 
 				: null;
 
-			EntityDefn entityDefn = new EntityDefn(this.pageClass);
+			EntityDefn<T> entityDefn = getEntityDefn();
 			EntityCreator<T> creator = new EntityCreator(entityDefn, false, context.getJourneyObservers());
 			T instance;
 			EntityCreationContext creationContext = new EntityCreationContext(entityDefn, retryPolicy, context);
@@ -24,6 +24,7 @@
 package io.github.jamoamo.webjourney;
 
 import io.github.jamoamo.webjourney.api.IJourneyContext;
+import io.github.jamoamo.webjourney.api.JourneyBuilderException;
 
 /**
  * Provides a collection of items to be iterated over to repeat actions.
@@ -39,4 +40,12 @@ public interface IRepeatable<T>
 	 * @throws JourneyException if an error occurs
 	 */
 	Iterable<T> repeatIterable(IJourneyContext context) throws JourneyException;
+
+	/**
+	 * Resolves and validates everything needed to produce the collection, ahead of the journey being travelled.
+	 * @throws JourneyBuilderException if the repeatable is not correctly defined.
+	 */
+	default void compile() throws JourneyBuilderException
+	{
+	}
 }
@@ -24,6 +24,8 @@
 package io.github.jamoamo.webjourney;
 
 import io.github.jamoamo.webjourney.api.AWebAction;
+import io.github.jamoamo.webjourney.api.wait.IWaitStrategy;
+import io.github.jamoamo.webjourney.api.wait.WaitStrategies;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -34,6 +36,8 @@ import java.util.List;
 class JourneyBuild
 {
 	private List<AWebAction> journeyActions = new ArrayList<>();
+	private IWaitStrategy defaultPreActionWait = WaitStrategies.none();
+	private IWaitStrategy defaultPostActionWait = WaitStrategies.pageSettled();
 
 	JourneyBuild()
 	{
@@ -55,6 +59,26 @@ class JourneyBuild
 		return this.journeyActions.get(this.journeyActions.size() - 1);
 	}
 	
+	protected void setDefaultPreActionWait(IWaitStrategy waitStrategy)
+	{
+		this.defaultPreActionWait = waitStrategy;
+	}
+	
+	protected IWaitStrategy getDefaultPreActionWait()
+	{
+		return this.defaultPreActionWait;
+	}
+	
+	protected void setDefaultPostActionWait(IWaitStrategy waitStrategy)
+	{
+		this.defaultPostActionWait = waitStrategy;
+	}
+	
+	protected IWaitStrategy getDefaultPostActionWait()
+	{
+		return this.defaultPostActionWait;
+	}
+	
 	protected WebJourney getJourney()
 	{
 		return new WebJourney(this.journeyActions);
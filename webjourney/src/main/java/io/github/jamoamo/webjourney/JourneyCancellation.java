@@ -0,0 +1,156 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2024 James Amoore.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package io.github.jamoamo.webjourney;
+
+import io.github.jamoamo.webjourney.api.web.IBrowser;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Cancels a journey travelled asynchronously.
+ * <p>
+ * Cancelling interrupts the thread travelling the journey and quits the journey's browser, which fails any browser
+ * command in progress. A journey cancelled before it starts is never travelled, and one cancelled while its browser
+ * is being created quits the browser as soon as it is ready.
+ *
+ * @author James Amoore
+ */
+final class JourneyCancellation
+{
+	private final ReentrantLock lock = new ReentrantLock();
+	private boolean cancelled;
+	private boolean finished;
+	private Thread thread;
+	private IBrowser browser;
+
+	/**
+	 * Called by the thread about to travel the journey.
+	 * @return false if the journey was cancelled before it started and should not be travelled.
+	 */
+	boolean start()
+	{
+		this.lock.lock();
+		try
+		{
+			if(this.cancelled)
+			{
+				return false;
+			}
+			this.thread = Thread.currentThread();
+			return true;
+		}
+		finally
+		{
+			this.lock.unlock();
+		}
+	}
+
+	/**
+	 * Called by the travelling thread once the journey's browser has been created.
+	 * @param createdBrowser the journey's browser.
+	 * @throws CancellationException if the journey has been cancelled.
+	 */
+	void browserCreated(IBrowser createdBrowser)
+	{
+		this.lock.lock();
+		try
+		{
+			if(this.cancelled)
+			{
+				throw new CancellationException("Journey cancelled.");
+			}
+			this.browser = createdBrowser;
+		}
+		finally
+		{
+			this.lock.unlock();
+		}
+	}
+
+	/**
+	 * @return true if the journey has been cancelled.
+	 */
+	boolean isCancelled()
+	{
+		this.lock.lock();
+		try
+		{
+			return this.cancelled;
+		}
+		finally
+		{
+			this.lock.unlock();
+		}
+	}
+
+	/**
+	 * Cancels the journey. Has no effect if the journey has already finished.
+	 */
+	void cancel()
+	{
+		IBrowser browserToQuit;
+		this.lock.lock();
+		try
+		{
+			if(this.cancelled || this.finished)
+			{
+				return;
+			}
+			this.cancelled = true;
+			if(this.thread != null)
+			{
+				this.thread.interrupt();
+			}
+			browserToQuit = this.browser;
+		}
+		finally
+		{
+			this.lock.unlock();
+		}
+		JourneyWatchdog.abortBrowser(browserToQuit);
+	}
+
+	/**
+	 * Called by the travelling thread once it has finished with the journey. Clears an interrupt caused by
+	 * cancellation so that it does not leak into the thread's next task.
+	 */
+	void finish()
+	{
+		this.lock.lock();
+		try
+		{
+			this.finished = true;
+			this.thread = null;
+			this.browser = null;
+			if(this.cancelled)
+			{
+				Thread.interrupted();
+			}
+		}
+		finally
+		{
+			this.lock.unlock();
+		}
+	}
+}
@@ -0,0 +1,129 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2024 James Amoore.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package io.github.jamoamo.webjourney;
+
+import io.github.jamoamo.webjourney.api.IJourneyBreadcrumb;
+import io.github.jamoamo.webjourney.api.IJourneyContext;
+import io.github.jamoamo.webjourney.api.checkpoint.ICheckpointStore;
+import io.github.jamoamo.webjourney.api.checkpoint.JourneyCheckpoint;
+import io.github.jamoamo.webjourney.reserved.BreadcrumbPrinter;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Tracks the position of a journey and records its progress in a checkpoint store.
+ * <p>
+ * A position is the path of action indexes from the outermost journey down to the current action, with the iteration
+ * number of each enclosing repeated action, for example {@code 1/#5/2}. Positions therefore identify the same
+ * repeated action when the same journey is travelled again.
+ *
+ * @author James Amoore
+ */
+final class JourneyCheckpointer
+{
+	private final ICheckpointStore store;
+	private final String journeyId;
+	private final Map<String, Integer> resumeIterations;
+	private final List<String> position = new ArrayList<>();
+
+	JourneyCheckpointer(ICheckpointStore store, String journeyId, JourneyCheckpoint resumeFrom)
+	{
+		this.store = store;
+		this.journeyId = journeyId;
+		this.resumeIterations = resumeFrom == null
+			? new HashMap<>(0) : new HashMap<>(resumeFrom.getCompletedIterations());
+	}
+
+	static JourneyCheckpointer of(IJourneyContext context)
+	{
+		if(context instanceof JourneyContext journeyContext)
+		{
+			return journeyContext.getCheckpointer();
+		}
+		return null;
+	}
+
+	void enterAction(int actionIndex)
+	{
+		this.position.add(Integer.toString(actionIndex));
+	}
+
+	void enterIteration(int iteration)
+	{
+		this.position.add("#" + iteration);
+	}
+
+	void exit()
+	{
+		this.position.remove(this.position.size() - 1);
+	}
+
+	/**
+	 * Returns the number of iterations of the repeated action at the current position that were completed before the
+	 * journey was resumed. The resumed count is only returned once, so travelling the action again starts afresh.
+	 */
+	int takeResumedIterations()
+	{
+		Integer completed = this.resumeIterations.remove(currentPosition());
+		return completed == null ? 0 : completed;
+	}
+
+	void iterationsCompleted(int completedIterations, IJourneyBreadcrumb breadcrumb)
+	{
+		this.store.recordIterations(this.journeyId, currentPosition(), completedIterations, describe(breadcrumb));
+	}
+
+	void inputSet(String inputType, Object inputValue)
+	{
+		this.store.recordInput(this.journeyId, inputType, inputValue);
+	}
+
+	private String currentPosition()
+	{
+		return String.join("/", this.position);
+	}
+
+	private static String describe(IJourneyBreadcrumb breadcrumb)
+	{
+		if(breadcrumb == null)
+		{
+			return "";
+		}
+
+		ByteArrayOutputStream stream = new ByteArrayOutputStream();
+		try
+		{
+			new BreadcrumbPrinter().printBreadCrumb(stream, breadcrumb);
+		}
+		catch(IOException ex)
+		{
+			//ignore exception.
+		}
+		return stream.toString();
+	}
+}
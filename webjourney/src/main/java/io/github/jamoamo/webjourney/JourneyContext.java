@@ -23,6 +23,7 @@
  */
 package io.github.jamoamo.webjourney;
 
+import io.github.jamoamo.webjourney.api.Deadline;
 import io.github.jamoamo.webjourney.api.IJourneyBreadcrumb;
 import io.github.jamoamo.webjourney.api.IJourneyContext;
 import io.github.jamoamo.webjourney.api.IJourneyObserver;
@@ -52,6 +53,8 @@ public class JourneyContext implements IJourneyContext
 	private final List<IJourneyObserver> journeyObservers = new CopyOnWriteArrayList<>();
 	private final List<IJourneyPassenger> journeyPassengers = new CopyOnWriteArrayList<>();
 	private final IJourneyBrowserArguments browserArguments = new DefaultJourneyBrowserArguments();
+	private JourneyCheckpointer checkpointer;
+	private volatile Deadline deadline = Deadline.none();
 	
 	void setBrowser(IBrowser browser)
 	{
@@ -68,6 +71,10 @@ public class JourneyContext implements IJourneyContext
 	public void setJourneyInput(String inputType, Object inputValue)
 	{
 		this.inputs.put(inputType, inputValue);
+		if(this.checkpointer != null)
+		{
+			this.checkpointer.inputSet(inputType, inputValue);
+		}
 	}
 
 	@Override
@@ -117,6 +124,16 @@ public class JourneyContext implements IJourneyContext
 		return this.browserArguments;
 	}
 
+	JourneyCheckpointer getCheckpointer()
+	{
+		return this.checkpointer;
+	}
+
+	void setCheckpointer(JourneyCheckpointer checkpointer)
+	{
+		this.checkpointer = checkpointer;
+	}
+
 	private ITravelOptions options;
 
 	public void setOptions(ITravelOptions options)
@@ -129,4 +146,16 @@ public class JourneyContext implements IJourneyContext
 	{
 		return this.options;
 	}
+
+	@Override
+	public Deadline getDeadline()
+	{
+		return this.deadline;
+	}
+
+	@Override
+	public void setDeadline(Deadline deadline)
+	{
+		this.deadline = deadline == null ? Deadline.none() : deadline;
+	}
 }
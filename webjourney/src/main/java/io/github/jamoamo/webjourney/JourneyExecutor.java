@@ -0,0 +1,249 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2024 James Amoore.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package io.github.jamoamo.webjourney;
+
+import io.github.jamoamo.webjourney.api.IJourney;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Travels journeys concurrently, with at most a fixed number of journeys (and therefore browsers) active at once.
+ * <p>
+ * Each journey is travelled exactly as {@link WebTraveller#travelJourney(IJourney)} would travel it: with its own
+ * journey context, browser and logging id. Failures are captured in the journey's {@link JourneyResult} rather than
+ * thrown, so one failing journey does not affect the others.
+ * <p>
+ * Submitting blocks while all slots are in use, so a large or lazily produced stream of journeys is consumed only as
+ * fast as it can be travelled. Closing the executor stops new submissions and waits for running journeys to finish.
+ * <p>
+ * When {@link io.github.jamoamo.webjourney.api.ITravelOptions#isUseVirtualThreads() virtual threads} are enabled, each
+ * journey runs on its own virtual thread and the slot limit alone bounds concurrency.
+ *
+ * @author James Amoore
+ */
+public final class JourneyExecutor implements AutoCloseable
+{
+	private static final AtomicInteger EXECUTOR_COUNT = new AtomicInteger();
+
+	private final Logger logger = LoggerFactory.getLogger(JourneyExecutor.class);
+	private final WebTraveller traveller;
+	private final int maxConcurrentJourneys;
+	private final Semaphore slots;
+	private final ExecutorService executor;
+
+	JourneyExecutor(WebTraveller traveller, int maxConcurrentJourneys, boolean useVirtualThreads)
+	{
+		this.traveller = traveller;
+		this.maxConcurrentJourneys = Math.max(1, maxConcurrentJourneys);
+		this.slots = new Semaphore(this.maxConcurrentJourneys);
+		int executorNumber = EXECUTOR_COUNT.incrementAndGet();
+		if(useVirtualThreads)
+		{
+			this.executor = Executors.newThreadPerTaskExecutor(
+				Thread.ofVirtual().name("webjourney-" + executorNumber + "-journey-", 1).factory());
+		}
+		else
+		{
+			this.executor = Executors.newFixedThreadPool(this.maxConcurrentJourneys,
+				new JourneyThreadFactory(executorNumber));
+		}
+	}
+
+	/**
+	 * @return the maximum number of journeys travelled at the same time.
+	 */
+	public int getMaxConcurrentJourneys()
+	{
+		return this.maxConcurrentJourneys;
+	}
+
+	/**
+	 * Submits a journey to be travelled, waiting for a free slot if all slots are in use.
+	 * @param journey the journey to travel.
+	 * @return a future holding the result of the journey. The future does not complete exceptionally when the journey
+	 * fails; the failure is held in the result.
+	 * @throws RejectedExecutionException if the executor has been shut down, or the calling thread is interrupted while
+	 * waiting for a free slot.
+	 */
+	public Future<JourneyResult> submit(IJourney journey)
+	{
+		if(this.executor.isShutdown())
+		{
+			throw new RejectedExecutionException("Journey executor has been shut down.");
+		}
+		try
+		{
+			this.slots.acquire();
+		}
+		catch(InterruptedException ex)
+		{
+			Thread.currentThread().interrupt();
+			throw new RejectedExecutionException("Interrupted waiting to submit journey.", ex);
+		}
+
+		try
+		{
+			return this.executor.submit(() -> travel(journey));
+		}
+		catch(RejectedExecutionException ex)
+		{
+			this.slots.release();
+			throw ex;
+		}
+	}
+
+	/**
+	 * Travels all of the provided journeys and waits for them to complete.
+	 * @param journeys the journeys to travel.
+	 * @return the result of each journey, in the order the journeys were provided.
+	 */
+	public List<JourneyResult> travelAll(Stream<? extends IJourney> journeys)
+	{
+		List<Future<JourneyResult>> futures = new ArrayList<>();
+		journeys.forEachOrdered(journey -> futures.add(submit(journey)));
+
+		List<JourneyResult> results = new ArrayList<>(futures.size());
+		for(Future<JourneyResult> future : futures)
+		{
+			results.add(await(future));
+		}
+		return results;
+	}
+
+	/**
+	 * Stops accepting new journeys. Journeys that have already been submitted are still travelled.
+	 */
+	public void shutdown()
+	{
+		this.executor.shutdown();
+	}
+
+	/**
+	 * Waits for submitted journeys to finish after a {@link #shutdown()}.
+	 * @param timeout the maximum time to wait.
+	 * @return {@code true} if all journeys finished, {@code false} if the timeout elapsed first.
+	 * @throws InterruptedException if interrupted while waiting.
+	 */
+	public boolean awaitTermination(Duration timeout)
+		throws InterruptedException
+	{
+		return this.executor.awaitTermination(timeout.toMillis(), TimeUnit.MILLISECONDS);
+	}
+
+	/**
+	 * @return {@code true} if the executor has been shut down and all journeys have finished.
+	 */
+	public boolean isTerminated()
+	{
+		return this.executor.isTerminated();
+	}
+
+	/**
+	 * Shuts the executor down and waits for all submitted journeys to finish.
+	 */
+	@Override
+	public void close()
+	{
+		shutdown();
+		boolean interrupted = false;
+		while(!this.executor.isTerminated())
+		{
+			try
+			{
+				this.executor.awaitTermination(1, TimeUnit.MINUTES);
+			}
+			catch(InterruptedException ex)
+			{
+				interrupted = true;
+			}
+		}
+		if(interrupted)
+		{
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	private JourneyResult travel(IJourney journey)
+	{
+		try
+		{
+			return this.traveller.travelJourneyForResult(journey);
+		}
+		finally
+		{
+			this.slots.release();
+		}
+	}
+
+	private JourneyResult await(Future<JourneyResult> future)
+	{
+		try
+		{
+			return future.get();
+		}
+		catch(InterruptedException ex)
+		{
+			Thread.currentThread().interrupt();
+			throw new JourneyException("Interrupted waiting for journeys to complete.", ex);
+		}
+		catch(ExecutionException ex)
+		{
+			this.logger.error("Unexpected error travelling journey.", ex.getCause());
+			throw new JourneyException("Unexpected error travelling journey.", ex.getCause());
+		}
+	}
+
+	private static final class JourneyThreadFactory implements ThreadFactory
+	{
+		private final int executorNumber;
+		private final AtomicInteger threadCount = new AtomicInteger();
+
+		JourneyThreadFactory(int executorNumber)
+		{
+			this.executorNumber = executorNumber;
+		}
+
+		@Override
+		public Thread newThread(Runnable runnable)
+		{
+			Thread thread = new Thread(runnable,
+				"webjourney-" + this.executorNumber + "-journey-" + this.threadCount.incrementAndGet());
+			thread.setDaemon(false);
+			return thread;
+		}
+	}
+}
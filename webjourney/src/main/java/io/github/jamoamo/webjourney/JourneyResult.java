@@ -0,0 +1,117 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2024 James Amoore.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package io.github.jamoamo.webjourney;
+
+import io.github.jamoamo.webjourney.api.IJourney;
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * The outcome of travelling a single journey.
+ * <p>
+ * Results are produced when travelling several journeys at once, where a failing journey must not prevent the
+ * remaining journeys from being travelled.
+ *
+ * @author James Amoore
+ */
+public final class JourneyResult
+{
+	private final String journeyId;
+	private final IJourney journey;
+	private final Instant startTime;
+	private final Duration duration;
+	private final Throwable failure;
+
+	/**
+	 * Constructor.
+	 * @param journeyId the id the journey was logged under.
+	 * @param journey the journey that was travelled.
+	 * @param startTime the time the journey started.
+	 * @param duration how long the journey took.
+	 * @param failure the reason the journey failed, or {@code null} if it succeeded.
+	 */
+	public JourneyResult(String journeyId, IJourney journey, Instant startTime, Duration duration, Throwable failure)
+	{
+		this.journeyId = journeyId;
+		this.journey = journey;
+		this.startTime = startTime;
+		this.duration = duration;
+		this.failure = failure;
+	}
+
+	/**
+	 * @return the id the journey was logged under.
+	 */
+	public String getJourneyId()
+	{
+		return this.journeyId;
+	}
+
+	/**
+	 * @return the journey that was travelled.
+	 */
+	public IJourney getJourney()
+	{
+		return this.journey;
+	}
+
+	/**
+	 * @return the time the journey started.
+	 */
+	public Instant getStartTime()
+	{
+		return this.startTime;
+	}
+
+	/**
+	 * @return how long the journey took.
+	 */
+	public Duration getDuration()
+	{
+		return this.duration;
+	}
+
+	/**
+	 * @return {@code true} if the journey completed without error.
+	 */
+	public boolean isSuccess()
+	{
+		return this.failure == null;
+	}
+
+	/**
+	 * @return the reason the journey failed, or {@code null} if it succeeded.
+	 */
+	public Throwable getFailure()
+	{
+		return this.failure;
+	}
+
+	@Override
+	public String toString()
+	{
+		return "JourneyResult{" + "journeyId=" + this.journeyId + ", success=" + isSuccess() + ", duration="
+			+ this.duration + '}';
+	}
+}
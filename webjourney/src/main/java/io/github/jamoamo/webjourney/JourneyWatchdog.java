@@ -0,0 +1,189 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2024 James Amoore.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package io.github.jamoamo.webjourney;
+
+import io.github.jamoamo.webjourney.api.Deadline;
+import io.github.jamoamo.webjourney.api.web.IBrowser;
+import java.time.Duration;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Aborts journeys whose browser commands run past their deadline.
+ * <p>
+ * Deadlines are enforced cooperatively between browser commands, but a single hung command can block a journey
+ * indefinitely. When a watched deadline has passed by more than a short grace period, the watchdog quits the
+ * journey's browser, which fails the hung command, and interrupts the journey's thread. The journey then fails
+ * rather than holding its worker forever.
+ * <p>
+ * One scheduler thread is shared by all journeys in the JVM. Browsers are quit on separate virtual threads so that
+ * a slow quit does not delay other watches.
+ *
+ * @author James Amoore
+ */
+final class JourneyWatchdog
+{
+	static final Duration GRACE_PERIOD = Duration.ofSeconds(1);
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(JourneyWatchdog.class);
+	private static final ScheduledThreadPoolExecutor SCHEDULER = createScheduler();
+
+	private JourneyWatchdog()
+	{
+	}
+
+	/**
+	 * Watches a deadline.
+	 * @param deadline the deadline to watch.
+	 * @param browser the browser to quit if the deadline is overrun. May be null.
+	 * @param thread the thread to interrupt if the deadline is overrun.
+	 * @return the watch. The watched thread must cancel it once the watched work has finished.
+	 */
+	static Watch watch(Deadline deadline, IBrowser browser, Thread thread)
+	{
+		Watch watch = new Watch();
+		if(deadline.isBounded())
+		{
+			long delayNanos = deadline.remaining().plus(GRACE_PERIOD).toNanos();
+			watch.future = SCHEDULER.schedule(() -> watch.abort(browser, thread), delayNanos, TimeUnit.NANOSECONDS);
+		}
+		return watch;
+	}
+
+	/**
+	 * Quits a browser on a separate virtual thread, so that a browser whose commands are hung does not block the
+	 * caller.
+	 * @param browser the browser to quit. May be null.
+	 */
+	static void abortBrowser(IBrowser browser)
+	{
+		if(browser == null)
+		{
+			return;
+		}
+		Thread.ofVirtual().name("webjourney-abort").start(() ->
+		{
+			try
+			{
+				browser.exit();
+			}
+			catch(RuntimeException ex)
+			{
+				LOGGER.warn("Unable to quit aborted browser: " + ex.getMessage());
+			}
+		});
+	}
+
+	private static ScheduledThreadPoolExecutor createScheduler()
+	{
+		ScheduledThreadPoolExecutor scheduler = new ScheduledThreadPoolExecutor(1, runnable ->
+		{
+			Thread thread = new Thread(runnable, "webjourney-watchdog");
+			thread.setDaemon(true);
+			return thread;
+		});
+		scheduler.setRemoveOnCancelPolicy(true);
+		return scheduler;
+	}
+
+	/**
+	 * A watched deadline.
+	 */
+	static final class Watch
+	{
+		private final ReentrantLock lock = new ReentrantLock();
+		private boolean triggered;
+		private boolean finished;
+		private volatile ScheduledFuture<?> future;
+
+		/**
+		 * @return true if the deadline was overrun and the watchdog aborted the work.
+		 */
+		boolean isTriggered()
+		{
+			this.lock.lock();
+			try
+			{
+				return this.triggered;
+			}
+			finally
+			{
+				this.lock.unlock();
+			}
+		}
+
+		/**
+		 * Stops watching. Must be called by the watched thread. If the watchdog interrupted the thread, the
+		 * interrupt is cleared so that it does not leak into later work.
+		 */
+		void cancel()
+		{
+			ScheduledFuture<?> scheduled = this.future;
+			if(scheduled != null)
+			{
+				scheduled.cancel(false);
+			}
+
+			this.lock.lock();
+			try
+			{
+				this.finished = true;
+				if(this.triggered)
+				{
+					Thread.interrupted();
+				}
+			}
+			finally
+			{
+				this.lock.unlock();
+			}
+		}
+
+		private void abort(IBrowser browser, Thread thread)
+		{
+			this.lock.lock();
+			try
+			{
+				if(this.finished || this.triggered)
+				{
+					return;
+				}
+				this.triggered = true;
+				thread.interrupt();
+			}
+			finally
+			{
+				this.lock.unlock();
+			}
+
+			LOGGER.warn("Deadline overrun by more than " + GRACE_PERIOD.toMillis()
+				+ "ms, aborted the browser session of thread " + thread.getName() + ".");
+			abortBrowser(browser);
+		}
+	}
+}
@@ -24,8 +24,10 @@
 package io.github.jamoamo.webjourney;
 
 import io.github.jamoamo.webjourney.api.AWebAction;
+import io.github.jamoamo.webjourney.api.Deadline;
 import io.github.jamoamo.webjourney.api.IJourneyContext;
 import io.github.jamoamo.webjourney.api.event.PageNavigatedEvent;
+import io.github.jamoamo.webjourney.api.politeness.PolitenessScheduler;
 import io.github.jamoamo.webjourney.api.web.IBrowser;
 
 /**
@@ -45,7 +47,19 @@ class NavigateAction extends AWebAction
 	protected ActionResult executeActionImpl(IJourneyContext context)
 	{
 		IBrowser browser = context.getBrowser();
-		this.target.navigate(browser);
+		try(PolitenessScheduler.Permit permit = 
+			PolitenessScheduler.shared().acquire(this.target.getTargetUrl(), Deadline.of(context)))
+		{
+			try
+			{
+				this.target.navigate(browser);
+			}
+			catch(RuntimeException ex)
+			{
+				permit.failed(ex);
+				throw ex;
+			}
+		}
 
 		PageNavigatedEvent event = new PageNavigatedEvent(context, browser.getActiveWindow().getCurrentUrl());
 		context.getJourneyPassengers().forEach(p -> p.onEvent(event));
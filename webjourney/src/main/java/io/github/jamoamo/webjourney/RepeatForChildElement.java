@@ -24,6 +24,7 @@
 package io.github.jamoamo.webjourney;
 
 import io.github.jamoamo.webjourney.api.IJourneyContext;
+import io.github.jamoamo.webjourney.api.JourneyBuilderException;
 import io.github.jamoamo.webjourney.annotation.form.Element;
 import io.github.jamoamo.webjourney.api.web.AElement;
 import io.github.jamoamo.webjourney.api.web.IBrowser;
@@ -40,37 +41,56 @@ class RepeatForChildElement implements IRepeatable<AElement>
 {
 	private final String childElementType;
 	private final String elementName;
-	private final Class pageClass;
+	private final Field elementField;
+	private final String elementXPath;
 
 	RepeatForChildElement(Class pageClass, String elementName, String childElementTag)
 	{
-		this.pageClass = pageClass;
 		this.elementName = elementName;
 		this.childElementType = childElementTag;
+		this.elementField = FieldUtils.getField(pageClass, elementName, true);
+		Element element = this.elementField == null ? null : this.elementField.getAnnotation(Element.class);
+		this.elementXPath = element == null ? null : element.xPath();
 	}
 
 	@Override
-	public Iterable<AElement> repeatIterable(IJourneyContext context)
-			  throws JourneyException
+	public void compile()
+		throws JourneyBuilderException
 	{
-		IBrowser browser = context.getBrowser();
-		Field elementField = FieldUtils.getField(this.pageClass, this.elementName, true);
-		if(elementField == null)
+		try
+		{
+			validate();
+		}
+		catch(JourneyException ex)
+		{
+			throw new JourneyBuilderException(ex.getMessage());
+		}
+	}
+
+	private void validate()
+	{
+		if(this.elementField == null)
 		{
 			throw new JourneyException("Not a field: " + this.elementName);
 		}
 
-		Element element = elementField.getAnnotation(Element.class);
-		if(element == null)
+		if(this.elementXPath == null)
 		{
 			throw new JourneyException("Not an element: " + this.elementName);
 		}
-		
+	}
+
+	@Override
+	public Iterable<AElement> repeatIterable(IJourneyContext context)
+			  throws JourneyException
+	{
+		validate();
+		IBrowser browser = context.getBrowser();
 		try
 		{
 			List<? extends AElement> childElementsByTag = browser.getActiveWindow()
 				.getCurrentPage()
-				.getElement(this.elementName)
+				.getElement(this.elementXPath)
 				.getChildrenByTag(this.childElementType);
 			
 			return childElementsByTag.stream().map(elem -> (AElement) elem).toList();
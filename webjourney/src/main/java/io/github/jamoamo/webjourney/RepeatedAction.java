@@ -26,6 +26,7 @@ package io.github.jamoamo.webjourney;
 import io.github.jamoamo.webjourney.api.AWebAction;
 import io.github.jamoamo.webjourney.api.IJourney;
 import io.github.jamoamo.webjourney.api.IJourneyContext;
+import io.github.jamoamo.webjourney.api.JourneyBuilderException;
 
 
 /**
@@ -55,17 +56,52 @@ class RepeatedAction<T> extends AWebAction
 		this.repeater = repeater;
 	}
 
+	@Override
+	public void compile()
+		throws JourneyBuilderException
+	{
+		this.repeater.compile();
+	}
+
 	@Override
 	protected ActionResult executeActionImpl(IJourneyContext context)
 	{
 		try
 		{
 			Iterable<T> iterations = this.repeater.repeatIterable(context);
+			JourneyCheckpointer checkpointer = JourneyCheckpointer.of(context);
+			if(checkpointer == null)
+			{
+				for(T iterationItem : iterations)
+				{
+					context.setJourneyInput("repeatItem", iterationItem);
+					this.subJourney.doJourney(context);
+				}
+				return ActionResult.SUCCESS;
+			}
 
+			int resumedIterations = checkpointer.takeResumedIterations();
+			int iteration = 0;
 			for(T iterationItem : iterations)
 			{
+				if(iteration < resumedIterations)
+				{
+					iteration++;
+					continue;
+				}
+
 				context.setJourneyInput("repeatItem", iterationItem);
-				this.subJourney.doJourney(context);
+				checkpointer.enterIteration(iteration);
+				try
+				{
+					this.subJourney.doJourney(context);
+				}
+				finally
+				{
+					checkpointer.exit();
+				}
+				iteration++;
+				checkpointer.iterationsCompleted(iteration, context.getJourneyBreadcrumb());
 			}
 			return ActionResult.SUCCESS;
 		}
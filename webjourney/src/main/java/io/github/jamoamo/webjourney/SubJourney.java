@@ -24,10 +24,15 @@
 package io.github.jamoamo.webjourney;
 
 import io.github.jamoamo.webjourney.api.AWebAction;
+import io.github.jamoamo.webjourney.api.Deadline;
+import io.github.jamoamo.webjourney.api.DeadlineExceededException;
 import io.github.jamoamo.webjourney.api.IJourneyContext;
 import io.github.jamoamo.webjourney.api.IJourney;
 import io.github.jamoamo.webjourney.api.IWebJourneyPath;
 import io.github.jamoamo.webjourney.api.ICrumb;
+import io.github.jamoamo.webjourney.api.wait.IWaitStrategy;
+import io.github.jamoamo.webjourney.api.wait.WaitStrategies;
+import java.time.Duration;
 import java.util.List;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -40,15 +45,24 @@ class SubJourney implements IJourney, ICrumb
 {
 	private final static Logger LOGGER = LoggerFactory.getLogger(WebTraveller.class);
 	private final List<AWebAction> actions;
+	private final IWaitStrategy defaultPreActionWait;
+	private final IWaitStrategy defaultPostActionWait;
 
 	SubJourney(List<AWebAction> actions)
 	{
-		this.actions = actions;
+		this(actions, WaitStrategies.none(), WaitStrategies.pageSettled());
 	}
 
 	SubJourney(IWebJourneyPath path)
 	{
-		this.actions = path.getActions();
+		this(path.getActions());
+	}
+
+	SubJourney(List<AWebAction> actions, IWaitStrategy defaultPreActionWait, IWaitStrategy defaultPostActionWait)
+	{
+		this.actions = actions;
+		this.defaultPreActionWait = defaultPreActionWait;
+		this.defaultPostActionWait = defaultPostActionWait;
 	}
 
 	@Override
@@ -56,12 +70,27 @@ class SubJourney implements IJourney, ICrumb
 			  throws JourneyException
 	{
 		context.getJourneyBreadcrumb().pushCrumb(this);
+		JourneyCheckpointer checkpointer = JourneyCheckpointer.of(context);
 		try
 		{
-			this.actions.stream().sequential().forEach(action ->
+			for(int i = 0; i < this.actions.size(); i++)
 			{
-				processAction(action, context);
-			});
+				if(checkpointer == null)
+				{
+					processAction(this.actions.get(i), context);
+					continue;
+				}
+
+				checkpointer.enterAction(i);
+				try
+				{
+					processAction(this.actions.get(i), context);
+				}
+				finally
+				{
+					checkpointer.exit();
+				}
+			}
 		}
 		finally
 		{
@@ -74,9 +103,20 @@ class SubJourney implements IJourney, ICrumb
 	{
 		context.getJourneyObservers().forEach(observer -> observer.actionStarted(action));
 		context.getJourneyBreadcrumb().pushCrumb(action);
+		Deadline journeyDeadline = Deadline.of(context);
+		Duration actionTimeout = action.getTimeout();
+		Deadline actionDeadline = actionTimeout == null || actionTimeout.isZero()
+			? journeyDeadline : journeyDeadline.min(actionTimeout);
+		JourneyWatchdog.Watch watch = null;
+		if(actionDeadline != journeyDeadline)
+		{
+			context.setDeadline(actionDeadline);
+			watch = JourneyWatchdog.watch(actionDeadline, context.getBrowser(), Thread.currentThread());
+		}
 		try
 		{
-			waitFor(action.getPreActionWaitTime());
+			actionDeadline.check();
+			waitFor(action.getPreActionWait(), this.defaultPreActionWait, context);
 
 			try
 			{
@@ -98,24 +138,48 @@ class SubJourney implements IJourney, ICrumb
 			{
 				throw new JourneyException(ex, context.getJourneyBreadcrumb());
 			}
-			waitFor(action.getPostActionWaitTime());
+			waitFor(action.getPostActionWait(), this.defaultPostActionWait, context);
+		}
+		catch(JourneyException ex)
+		{
+			if(actionDeadline.isExpired() && !(ex instanceof DeadlineExceededException && ex.getBreadcrumb() != null))
+			{
+				throw new DeadlineExceededException("Deadline exceeded during action: " + action.getCrumbName(), ex,
+					context.getJourneyBreadcrumb());
+			}
+			throw ex;
 		}
 		finally
 		{
+			if(watch != null)
+			{
+				watch.cancel();
+				context.setDeadline(journeyDeadline);
+			}
 			context.getJourneyBreadcrumb().popCrumb();
 			context.getJourneyObservers().forEach(observer -> observer.actionEnded(action));
 		}
 	}
 
-	private void waitFor(long timeMillis)
+	private void waitFor(IWaitStrategy actionWait, IWaitStrategy defaultWait, IJourneyContext context)
 	{
+		IWaitStrategy waitStrategy = actionWait != null ? actionWait : defaultWait;
+		if(waitStrategy == null)
+		{
+			return;
+		}
+
 		try
 		{
-			Thread.sleep(timeMillis);
+			if(!waitStrategy.await(context))
+			{
+				LOGGER.info("Timed out waiting for " + waitStrategy + ", continuing.");
+			}
 		}
 		catch(InterruptedException ex)
 		{
-			LOGGER.info("Wait Interrupted");
+			Thread.currentThread().interrupt();
+			throw new JourneyException("Wait Interrupted", ex, context.getJourneyBreadcrumb());
 		}
 	}
 
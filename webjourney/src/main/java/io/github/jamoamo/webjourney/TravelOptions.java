@@ -27,13 +27,17 @@ import io.github.jamoamo.webjourney.api.IJourneyObserver;
 import io.github.jamoamo.webjourney.api.ITravelOptions;
 import io.github.jamoamo.webjourney.api.IRetryPolicy;
 import io.github.jamoamo.webjourney.api.IJourneyPassenger;
+import io.github.jamoamo.webjourney.api.checkpoint.ICheckpointStore;
+import io.github.jamoamo.webjourney.api.web.IBrowserPool;
 import io.github.jamoamo.webjourney.api.web.IPreferredBrowserStrategy;
 import io.github.jamoamo.webjourney.api.web.PreferredBrowserStrategy;
+import io.github.jamoamo.webjourney.api.web.ResourcePolicy;
 import io.github.jamoamo.webjourney.reserved.selenium.ChromeBrowserFactory;
 import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.Executor;
 
 /**
  * A set of options for travelling a web journey.
@@ -52,6 +56,19 @@ public final class TravelOptions implements ITravelOptions
 
 	private Duration elementWaitTimeout = Duration.ZERO;
 
+	private int maxConcurrentJourneys = 1;
+
+	private boolean useVirtualThreads = false;
+
+	private ICheckpointStore checkpointStore;
+
+	private Duration journeyTimeout;
+
+	private Executor asyncExecutor;
+	private IBrowserPool browserPool;
+
+	private ResourcePolicy resourcePolicy = ResourcePolicy.allowAll();
+
 
 	/**
 	 * Sets the preferred browser strategy to use. 
@@ -140,4 +157,92 @@ public final class TravelOptions implements ITravelOptions
 	{
 		this.elementWaitTimeout = timeout;
 	}
+
+	@Override
+	public int getMaxConcurrentJourneys()
+	{
+		return this.maxConcurrentJourneys;
+	}
+
+	@Override
+	public void setMaxConcurrentJourneys(int maxConcurrentJourneys)
+	{
+		this.maxConcurrentJourneys = Math.max(1, maxConcurrentJourneys);
+	}
+
+	@Override
+	public boolean isUseVirtualThreads()
+	{
+		return this.useVirtualThreads;
+	}
+
+	@Override
+	public void setUseVirtualThreads(boolean useVirtualThreads)
+	{
+		this.useVirtualThreads = useVirtualThreads;
+	}
+
+	@Override
+	public ICheckpointStore getCheckpointStore()
+	{
+		return this.checkpointStore;
+	}
+
+	@Override
+	public void setCheckpointStore(ICheckpointStore checkpointStore)
+	{
+		this.checkpointStore = checkpointStore;
+	}
+
+	@Override
+	public Duration getJourneyTimeout()
+	{
+		return this.journeyTimeout;
+	}
+
+	@Override
+	public void setJourneyTimeout(Duration journeyTimeout)
+	{
+		if(journeyTimeout != null && journeyTimeout.isNegative())
+		{
+			throw new IllegalArgumentException("Journey timeout must not be negative.");
+		}
+		this.journeyTimeout = journeyTimeout;
+	}
+
+	@Override
+	public Executor getAsyncExecutor()
+	{
+		return this.asyncExecutor;
+	}
+
+	@Override
+	public void setAsyncExecutor(Executor asyncExecutor)
+	{
+		this.asyncExecutor = asyncExecutor;
+	}
+
+	@Override
+	public IBrowserPool getBrowserPool()
+	{
+		return this.browserPool;
+	}
+
+	@Override
+	public void setBrowserPool(IBrowserPool browserPool)
+	{
+		this.browserPool = browserPool;
+	}
+
+	@Override
+	public ResourcePolicy getResourcePolicy()
+	{
+		return this.resourcePolicy;
+	}
+
+	@Override
+	public void setResourcePolicy(ResourcePolicy resourcePolicy)
+	{
+		this.resourcePolicy = resourcePolicy == null ? ResourcePolicy.allowAll() : resourcePolicy;
+	}
 }
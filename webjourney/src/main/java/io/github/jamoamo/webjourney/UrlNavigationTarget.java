@@ -52,4 +52,10 @@ class UrlNavigationTarget extends ANavigationTarget
 			throw new JourneyException(ex);
 		}
 	}
+
+	@Override
+	URL getTargetUrl()
+	{
+		return this.url;
+	}
 }
@@ -24,6 +24,7 @@
 package io.github.jamoamo.webjourney;
 
 import io.github.jamoamo.webjourney.api.AWebAction;
+import io.github.jamoamo.webjourney.api.Deadline;
 import io.github.jamoamo.webjourney.api.IJourneyContext;
 import io.github.jamoamo.webjourney.api.web.IBrowser;
 import java.time.Duration;
@@ -65,14 +66,15 @@ class WaitUntilUrlChangesAction extends AWebAction
 		try
 		{
 			IBrowser browser = context.getBrowser();
-			long deadline = System.currentTimeMillis() + this.timeout.toMillis();
+			Duration waitTimeout = Deadline.of(context).bound(this.timeout);
+			long deadline = System.currentTimeMillis() + waitTimeout.toMillis();
 
 			while(browser.getActiveWindow().getCurrentUrl().contains(this.urlSubstring))
 			{
 				if(System.currentTimeMillis() >= deadline)
 				{
 					throw new BaseJourneyActionException(
-							  "Timed out after " + this.timeout.toMillis()
+							  "Timed out after " + waitTimeout.toMillis()
 							  + "ms waiting for the url to change away from [" + this.urlSubstring + "].",
 							  this, null);
 				}
@@ -23,17 +23,36 @@
  */
 package io.github.jamoamo.webjourney;
 
+import io.github.jamoamo.webjourney.api.Deadline;
+import io.github.jamoamo.webjourney.api.DeadlineExceededException;
 import io.github.jamoamo.webjourney.api.IJourney;
 import io.github.jamoamo.webjourney.api.web.DefaultBrowserOptions;
 import io.github.jamoamo.webjourney.api.web.IBrowser;
+import io.github.jamoamo.webjourney.api.web.IBrowserPool;
 import io.github.jamoamo.webjourney.api.web.IPreferredBrowserStrategy;
+import io.github.jamoamo.webjourney.api.web.ResourcePolicy;
 import io.github.jamoamo.webjourney.api.IJourneyBreadcrumb;
 import io.github.jamoamo.webjourney.api.ITravelOptions;
+import io.github.jamoamo.webjourney.api.checkpoint.ICheckpointStore;
+import io.github.jamoamo.webjourney.api.checkpoint.JourneyCheckpoint;
+import io.github.jamoamo.webjourney.api.checkpoint.XCheckpointException;
 import io.github.jamoamo.webjourney.reserved.BreadcrumbPrinter;
 import io.github.jamoamo.webjourney.reserved.JourneyBreadcrumb;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.stream.Stream;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.slf4j.MDC;
@@ -48,6 +67,7 @@ public class WebTraveller
 	private final Logger logger = LoggerFactory.getLogger(WebTraveller.class);
 	
 	private final ITravelOptions travelOptions;
+	private final Semaphore asyncSlots;
 	
 	/**
 	 * Creates a new WebTraveller with the provided TravelOptions.
@@ -56,6 +76,7 @@ public class WebTraveller
 	public WebTraveller(ITravelOptions options)
 	{
 		this.travelOptions = options;
+		this.asyncSlots = new Semaphore(Math.max(1, options.getMaxConcurrentJourneys()));
 	}
 	
 	/**
@@ -64,39 +85,341 @@ public class WebTraveller
 	 */
 	public void travelJourney(IJourney journey)
 	{
-		MDC.put(LOGGER_CONTEXT_JOURNEY_LABEL, UUID.randomUUID().toString());
-		this.logger.info("Starting Journey.");
-		IPreferredBrowserStrategy browserStrategy = this.travelOptions.getPreferredBrowserStrategy();
-		
-		// Create context first so browser arguments can be accessed during browser creation
-		JourneyContext context = new JourneyContext();
-		IJourneyBreadcrumb breadcrumb = new JourneyBreadcrumb();
-		context.setJourneyBreadcrumb(breadcrumb);
-		context.setJourneyObservers(this.travelOptions.getJourneyObservers());
-		context.setJourneyPassengers(this.travelOptions.getJourneyPassengers());
-		
-		// Create browser with context for browser arguments
-		IBrowser browser = browserStrategy.getPreferredBrowser(new DefaultBrowserOptions(), context);
-		context.setBrowser(browser);
+		travel(journey, UUID.randomUUID().toString(), false, null);
+	}
+
+	/**
+	 * Travel the provided journey, identifying it with the provided id.
+	 * <p>
+	 * If a {@link ITravelOptions#getCheckpointStore() checkpoint store} is configured, anything previously recorded
+	 * for the id is discarded and the journey's progress is recorded under the id, so that the journey can be resumed
+	 * with {@link #resumeJourney(IJourney, String)} if it fails.
+	 * @param journey the journey to travel.
+	 * @param journeyId the id of the journey.
+	 */
+	public void travelJourney(IJourney journey, String journeyId)
+	{
+		travel(journey, journeyId, false, null);
+	}
+
+	/**
+	 * Resumes a journey that previously failed.
+	 * <p>
+	 * The journey is travelled again with the inputs recorded in the
+	 * {@link ITravelOptions#getCheckpointStore() checkpoint store}, and repeated actions skip the iterations that
+	 * were completed before the failure. Actions that are not repeated are travelled again so that the browser
+	 * reaches the same state. If nothing was recorded for the id, the journey is travelled from the start.
+	 * @param journey the journey to resume. This must be the journey that was travelled with the id.
+	 * @param journeyId the id the journey was travelled with.
+	 * @throws IllegalStateException if no checkpoint store is configured.
+	 */
+	public void resumeJourney(IJourney journey, String journeyId)
+	{
+		if(this.travelOptions.getCheckpointStore() == null)
+		{
+			throw new IllegalStateException("A checkpoint store is required to resume a journey.");
+		}
+		travel(journey, journeyId, true, null);
+	}
+
+	/**
+	 * Travels the provided journeys concurrently, using at most
+	 * {@link ITravelOptions#getMaxConcurrentJourneys() the configured number} of browsers at once.
+	 * <p>
+	 * A failing journey does not stop the others; its failure is recorded in its result.
+	 * @param journeys the journeys to travel.
+	 * @return the result of each journey, in the order the journeys were provided.
+	 */
+	public List<JourneyResult> travelJourneys(Collection<? extends IJourney> journeys)
+	{
+		return travelJourneys(journeys.stream());
+	}
+
+	/**
+	 * Travels the provided journeys concurrently, using at most
+	 * {@link ITravelOptions#getMaxConcurrentJourneys() the configured number} of browsers at once.
+	 * <p>
+	 * The stream is consumed only as fast as journeys can be travelled. A failing journey does not stop the others;
+	 * its failure is recorded in its result.
+	 * @param journeys the journeys to travel.
+	 * @return the result of each journey, in the order the journeys were provided.
+	 */
+	public List<JourneyResult> travelJourneys(Stream<? extends IJourney> journeys)
+	{
+		try(JourneyExecutor executor = newJourneyExecutor())
+		{
+			return executor.travelAll(journeys);
+		}
+	}
+
+	/**
+	 * Creates an executor that travels journeys submitted to it concurrently, using at most
+	 * {@link ITravelOptions#getMaxConcurrentJourneys() the configured number} of browsers at once.
+	 * @return a new journey executor. The caller is responsible for closing it.
+	 */
+	public JourneyExecutor newJourneyExecutor()
+	{
+		return new JourneyExecutor(this, this.travelOptions.getMaxConcurrentJourneys(),
+			this.travelOptions.isUseVirtualThreads());
+	}
+
+	/**
+	 * Travels the provided journey asynchronously on the
+	 * {@link ITravelOptions#getAsyncExecutor() configured executor}.
+	 * <p>
+	 * See {@link #travelJourneyAsync(IJourney, Executor)}.
+	 * @param journey the journey to travel.
+	 * @return a future holding the result of the journey.
+	 */
+	public CompletableFuture<JourneyResult> travelJourneyAsync(IJourney journey)
+	{
+		Executor executor = this.travelOptions.getAsyncExecutor();
+		return travelJourneyAsync(journey, executor != null ? executor : DefaultAsyncExecutor.EXECUTOR);
+	}
+
+	/**
+	 * Travels the provided journey asynchronously on the provided executor.
+	 * <p>
+	 * The calling thread is not blocked. At most {@link ITravelOptions#getMaxConcurrentJourneys() the configured
+	 * number} of journeys travelled asynchronously by this traveller are active at once; journeys beyond that wait for
+	 * a free slot on their executor thread.
+	 * <p>
+	 * The future does not complete exceptionally when the journey fails; the failure is held in the result.
+	 * Cancelling the future stops the journey: a journey that has not started is never travelled, and a running
+	 * journey's thread is interrupted and its browser is quit. Cancelling a stage derived from the future does not
+	 * cancel the journey.
+	 * @param journey the journey to travel.
+	 * @param executor the executor to travel the journey on.
+	 * @return a future holding the result of the journey.
+	 */
+	public CompletableFuture<JourneyResult> travelJourneyAsync(IJourney journey, Executor executor)
+	{
+		JourneyCancellation cancellation = new JourneyCancellation();
+		JourneyFuture future = new JourneyFuture(cancellation);
 		try
 		{
-			journey.doJourney(context);
+			executor.execute(() -> travelAsync(journey, future, cancellation));
+		}
+		catch(RejectedExecutionException ex)
+		{
+			future.completeExceptionally(ex);
+		}
+		return future;
+	}
+
+	JourneyResult travelJourneyForResult(IJourney journey)
+	{
+		return travelJourneyForResult(journey, null);
+	}
+
+	private JourneyResult travelJourneyForResult(IJourney journey, JourneyCancellation cancellation)
+	{
+		String journeyId = UUID.randomUUID().toString();
+		Instant start = Instant.now();
+		Throwable failure = null;
+		try
+		{
+			travel(journey, journeyId, false, cancellation);
+		}
+		catch(RuntimeException ex)
+		{
+			failure = ex;
+		}
+		return new JourneyResult(journeyId, journey, start, Duration.between(start, Instant.now()), failure);
+	}
+
+	private void travelAsync(IJourney journey, JourneyFuture future, JourneyCancellation cancellation)
+	{
+		if(!cancellation.start())
+		{
+			return;
+		}
+		try
+		{
+			this.asyncSlots.acquire();
+			try
+			{
+				future.complete(travelJourneyForResult(journey, cancellation));
+			}
+			finally
+			{
+				this.asyncSlots.release();
+			}
+		}
+		catch(InterruptedException ex)
+		{
+			future.completeExceptionally(new CancellationException("Interrupted waiting to travel journey."));
+		}
+		catch(RuntimeException | Error ex)
+		{
+			future.completeExceptionally(ex);
+			throw ex;
+		}
+		finally
+		{
+			cancellation.finish();
+		}
+	}
+
+	private void travel(IJourney journey, String journeyId, boolean resume, JourneyCancellation cancellation)
+	{
+		MDC.put(LOGGER_CONTEXT_JOURNEY_LABEL, journeyId);
+		IBrowser browser = null;
+		IBrowserPool browserPool = this.travelOptions.getBrowserPool();
+		ICheckpointStore checkpointStore = this.travelOptions.getCheckpointStore();
+		boolean completed = false;
+		boolean browserAborted = false;
+		try
+		{
+			this.logger.info("Starting Journey.");
+			IPreferredBrowserStrategy browserStrategy = this.travelOptions.getPreferredBrowserStrategy();
+
+			// Create context first so browser arguments can be accessed during browser creation
+			JourneyContext context = new JourneyContext();
+			IJourneyBreadcrumb breadcrumb = new JourneyBreadcrumb();
+			context.setJourneyBreadcrumb(breadcrumb);
+			context.setJourneyObservers(this.travelOptions.getJourneyObservers());
+			context.setJourneyPassengers(this.travelOptions.getJourneyPassengers());
+			context.setOptions(this.travelOptions);
+			if(checkpointStore != null)
+			{
+				context.setCheckpointer(createCheckpointer(checkpointStore, journeyId, resume, context));
+			}
+
+			Duration journeyTimeout = this.travelOptions.getJourneyTimeout();
+			Deadline deadline = journeyTimeout == null || journeyTimeout.isZero()
+				? Deadline.none() : Deadline.after(journeyTimeout);
+			context.setDeadline(deadline);
+
+			// Create browser with context for browser arguments
+			ResourcePolicy resourcePolicy = this.travelOptions.getResourcePolicy();
+			DefaultBrowserOptions browserOptions = new DefaultBrowserOptions(
+				resourcePolicy == null ? ResourcePolicy.allowAll() : resourcePolicy);
+			browser = browserPool != null
+				? browserPool.lease(browserOptions, context)
+				: browserStrategy.getPreferredBrowser(browserOptions, context);
+			context.setBrowser(browser);
+			if(cancellation != null)
+			{
+				cancellation.browserCreated(browser);
+			}
+			travelWithinDeadline(journey, context, deadline);
+			completed = true;
+
+			if(checkpointStore != null)
+			{
+				checkpointStore.discard(journeyId);
+			}
 		}
 		catch(JourneyException ex)
 		{
+			browserAborted = ex instanceof DeadlineExceededException;
 			String breadcrumbString = getBreadcrumb(ex);
 			this.logger.error("Can't complete journey (" + breadcrumbString + ": " + ex.getMessage());
 			throw ex;
 		}
+		catch(RuntimeException ex)
+		{
+			browserAborted = true;
+			throw ex;
+		}
 		finally
 		{
 			if (browser != null) {
-				browser.exit();
+				finishWithBrowser(browser, browserPool, browserAborted || cancelled(cancellation));
+			}
+			if(checkpointStore != null && !completed)
+			{
+				releaseCheckpoint(checkpointStore, journeyId);
 			}
 			MDC.remove(LOGGER_CONTEXT_JOURNEY_LABEL);
 		}
 	}
 
+	private static void finishWithBrowser(IBrowser browser, IBrowserPool browserPool, boolean aborted)
+	{
+		if(browserPool == null)
+		{
+			browser.exit();
+		}
+		else if(aborted)
+		{
+			// the session may have been quit mid-command, or left in an unknown state
+			browserPool.invalidate(browser);
+		}
+		else
+		{
+			browserPool.release(browser);
+		}
+	}
+
+	private static boolean cancelled(JourneyCancellation cancellation)
+	{
+		return cancellation != null && cancellation.isCancelled();
+	}
+
+	private void travelWithinDeadline(IJourney journey, JourneyContext context, Deadline deadline)
+	{
+		JourneyWatchdog.Watch watch = JourneyWatchdog.watch(deadline, context.getBrowser(), Thread.currentThread());
+		try
+		{
+			journey.doJourney(context);
+		}
+		catch(JourneyException ex)
+		{
+			if(deadline.isExpired() && !(ex instanceof DeadlineExceededException))
+			{
+				throw new DeadlineExceededException("Journey deadline exceeded.", ex, ex.getBreadcrumb());
+			}
+			throw ex;
+		}
+		finally
+		{
+			watch.cancel();
+		}
+	}
+
+	private void releaseCheckpoint(ICheckpointStore checkpointStore, String journeyId)
+	{
+		try
+		{
+			checkpointStore.release(journeyId);
+		}
+		catch(XCheckpointException ex)
+		{
+			this.logger.error("Unable to record journey checkpoint: " + ex.getMessage());
+		}
+	}
+
+	private JourneyCheckpointer createCheckpointer(ICheckpointStore checkpointStore, String journeyId, boolean resume,
+		JourneyContext context)
+	{
+		JourneyCheckpoint checkpoint = null;
+		if(resume)
+		{
+			checkpoint = checkpointStore.load(journeyId).orElse(null);
+		}
+		else
+		{
+			checkpointStore.discard(journeyId);
+		}
+
+		if(checkpoint == null)
+		{
+			if(resume)
+			{
+				this.logger.info("No checkpoint recorded for journey, starting from the beginning.");
+			}
+		}
+		else
+		{
+			this.logger.info("Resuming journey from checkpoint"
+				+ (checkpoint.getBreadcrumb() == null ? "." : " at " + checkpoint.getBreadcrumb()));
+			checkpoint.getInputs().forEach(context::setJourneyInput);
+		}
+		return new JourneyCheckpointer(checkpointStore, journeyId, checkpoint);
+	}
+
 	private String getBreadcrumb(JourneyException ex)
 	{
 		String breadcrumbString = "<unknown context>";
@@ -115,4 +438,37 @@ public class WebTraveller
 		}
 		return breadcrumbString;
 	}
+
+	/**
+	 * The executor asynchronous journeys run on when none is configured: a new virtual thread per journey.
+	 */
+	private static final class DefaultAsyncExecutor
+	{
+		private static final ExecutorService EXECUTOR = Executors.newThreadPerTaskExecutor(
+			Thread.ofVirtual().name("webjourney-async-journey-", 1).factory());
+	}
+
+	/**
+	 * A journey future whose cancellation stops the journey.
+	 */
+	private static final class JourneyFuture extends CompletableFuture<JourneyResult>
+	{
+		private final JourneyCancellation cancellation;
+
+		JourneyFuture(JourneyCancellation cancellation)
+		{
+			this.cancellation = cancellation;
+		}
+
+		@Override
+		public boolean cancel(boolean mayInterruptIfRunning)
+		{
+			boolean cancelled = super.cancel(mayInterruptIfRunning);
+			if(cancelled)
+			{
+				this.cancellation.cancel();
+			}
+			return cancelled;
+		}
+	}
 }
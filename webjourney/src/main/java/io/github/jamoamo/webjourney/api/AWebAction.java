@@ -27,7 +27,9 @@ import io.github.jamoamo.webjourney.ActionResult;
 import io.github.jamoamo.webjourney.BaseJourneyActionException;
 import io.github.jamoamo.webjourney.api.IRetryPolicy;
 import io.github.jamoamo.webjourney.api.RetryPolicyBuilder;
-import java.util.concurrent.TimeUnit;
+import io.github.jamoamo.webjourney.api.wait.IWaitStrategy;
+import io.github.jamoamo.webjourney.api.wait.WaitStrategies;
+import java.time.Duration;
 import org.slf4j.MDC;
 
 /**
@@ -37,9 +39,9 @@ import org.slf4j.MDC;
 public abstract class AWebAction implements ICrumb
 {
 	private static final String ACTION_LOG_LABEL = "WebJourney.Action";
-	private static final int DEFAULT_WAIT_SEC = 1;
-	private long preActionWait = TimeUnit.SECONDS.toMillis(DEFAULT_WAIT_SEC);
-	private long postActionWait = TimeUnit.SECONDS.toMillis(DEFAULT_WAIT_SEC);
+	private IWaitStrategy preActionWait;
+	private IWaitStrategy postActionWait;
+	private Duration timeout;
 	
 	protected abstract ActionResult executeActionImpl(IJourneyContext context)
 		throws BaseJourneyActionException;
@@ -50,6 +52,18 @@ public abstract class AWebAction implements ICrumb
 	 */
 	protected abstract String getActionName();
 	
+	/**
+	 * Resolves and validates everything the action needs ahead of execution, so that executing the action does no
+	 * reflection or journey building. Called once when the journey containing the action is built.
+	 * <p>
+	 * Actions that need no preparation do not override this method.
+	 * @throws JourneyBuilderException if the action is not correctly defined.
+	 */
+	public void compile()
+		throws JourneyBuilderException
+	{
+	}
+	
 	/**
 	 * Executes the action.
 	 * @param context the journey context
@@ -65,11 +79,15 @@ public abstract class AWebAction implements ICrumb
 		{
 			IRetryPolicy retryPolicy = (context.getOptions() != null) 
 				? context.getOptions().getRetryPolicy() 
-				: RetryPolicyBuilder.builder().build();
+				: null;
+			if(retryPolicy == null)
+			{
+				retryPolicy = RetryPolicyBuilder.builder().build();
+			}
 
-			return retryPolicy.execute(() -> executeActionImpl(context));
+			return retryPolicy.execute(() -> executeActionImpl(context), Deadline.of(context));
 		}
-		catch (BaseJourneyActionException ex)
+		catch (BaseJourneyActionException | DeadlineExceededException ex)
 		{
 			throw ex;
 		}
@@ -84,39 +102,112 @@ public abstract class AWebAction implements ICrumb
 	}
 
 	/**
-	 * Sets the wait to be performed prior to the action being performed.
+	 * Sets a fixed wait to be performed prior to the action being performed.
 	 * @param preActionWait The wait time in milliseconds.
 	 */
 	public void setPreActionWait(long preActionWait)
 	{
-		this.preActionWait = preActionWait;
+		this.preActionWait = WaitStrategies.fixed(Duration.ofMillis(preActionWait));
 	}
 	
 	/**
-	 * Sets the wait to be performed after the action has been performed.
+	 * Sets a fixed wait to be performed after the action has been performed.
 	 * @param postActionWait The wait time in milliseconds.
 	 */
 	public void setPostActionWait(long postActionWait)
+	{
+		this.postActionWait = WaitStrategies.fixed(Duration.ofMillis(postActionWait));
+	}
+	
+	/**
+	 * Sets the wait to be performed prior to the action being performed.
+	 * @param preActionWait The wait strategy, or null to use the journey's default.
+	 */
+	public void setPreActionWait(IWaitStrategy preActionWait)
+	{
+		this.preActionWait = preActionWait;
+	}
+	
+	/**
+	 * Sets the wait to be performed after the action has been performed.
+	 * @param postActionWait The wait strategy, or null to use the journey's default.
+	 */
+	public void setPostActionWait(IWaitStrategy postActionWait)
 	{
 		this.postActionWait = postActionWait;
 	}
 	
 	/**
-	 * Retrieves the wait time to be performed prior to the action being performed.
-	 * @return the wait time, in milliseconds.
+	 * Retrieves the wait to be performed prior to the action being performed.
+	 * @return the wait strategy, or null if the journey's default should be used.
 	 */
-	public long getPreActionWaitTime()
+	public IWaitStrategy getPreActionWait()
 	{
 		return this.preActionWait;
 	}
 	
+	/**
+	 * Retrieves the wait to be performed after the action has been performed.
+	 * @return the wait strategy, or null if the journey's default should be used.
+	 */
+	public IWaitStrategy getPostActionWait()
+	{
+		return this.postActionWait;
+	}
+
+	/**
+	 * Retrieves the wait time to be performed prior to the action being performed.
+	 * @return the longest the action's own wait may take, in milliseconds, or 0 if the action uses the journey's
+	 * default wait or its wait has no known limit.
+	 * @deprecated waits are now strategies that may end early; use {@link #getPreActionWait()}.
+	 */
+	@Deprecated
+	public long getPreActionWaitTime()
+	{
+		return waitTime(this.preActionWait);
+	}
+
 	/**
 	 * Retrieves the wait time to be performed after the action has been performed.
-	 * @return the wait time, in milliseconds.
+	 * @return the longest the action's own wait may take, in milliseconds, or 0 if the action uses the journey's
+	 * default wait or its wait has no known limit.
+	 * @deprecated waits are now strategies that may end early; use {@link #getPostActionWait()}.
 	 */
+	@Deprecated
 	public long getPostActionWaitTime()
 	{
-		return this.postActionWait;
+		return waitTime(this.postActionWait);
+	}
+
+	private static long waitTime(IWaitStrategy wait)
+	{
+		Duration maximum = wait == null ? null : wait.getMaximumWait();
+		return maximum == null ? 0 : maximum.toMillis();
+	}
+
+	/**
+	 * Sets the maximum time the action may take, including its retries and waits within it.
+	 * <p>
+	 * The action is bounded by the earlier of this timeout and the journey's deadline. If the action runs past its
+	 * deadline the journey fails, and a browser command that is still running is aborted.
+	 * @param timeout the action timeout, or null or zero to bound the action by the journey's deadline only.
+	 */
+	public void setTimeout(Duration timeout)
+	{
+		if(timeout != null && timeout.isNegative())
+		{
+			throw new IllegalArgumentException("Timeout must not be negative.");
+		}
+		this.timeout = timeout;
+	}
+
+	/**
+	 * Retrieves the maximum time the action may take.
+	 * @return the action timeout, or null or zero if the action is bounded by the journey's deadline only.
+	 */
+	public Duration getTimeout()
+	{
+		return this.timeout;
 	}
 
 	@Override
@@ -0,0 +1,175 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2024 James Amoore.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package io.github.jamoamo.webjourney.api;
+
+import java.time.Duration;
+
+/**
+ * A point in time by which a journey, or part of a journey, must complete.
+ * <p>
+ * Waits, retries and element lookups are bounded by the time remaining until the deadline rather than by their own
+ * fixed timeouts alone. Deadlines are measured with {@link System#nanoTime()} and are immutable.
+ *
+ * @author James Amoore
+ */
+public final class Deadline
+{
+	private static final Deadline NONE = new Deadline(Long.MAX_VALUE, false);
+
+	private final long deadlineNanos;
+	private final boolean bounded;
+
+	private Deadline(long deadlineNanos, boolean bounded)
+	{
+		this.deadlineNanos = deadlineNanos;
+		this.bounded = bounded;
+	}
+
+	/**
+	 * @return a deadline that never expires.
+	 */
+	public static Deadline none()
+	{
+		return NONE;
+	}
+
+	/**
+	 * Creates a deadline that expires after the provided duration.
+	 * @param timeout the time until the deadline expires. A null duration creates a deadline that never expires.
+	 * @return the deadline.
+	 */
+	public static Deadline after(Duration timeout)
+	{
+		if(timeout == null)
+		{
+			return NONE;
+		}
+		return new Deadline(System.nanoTime() + saturatedNanos(timeout), true);
+	}
+
+	/**
+	 * Retrieves the deadline of a journey context.
+	 * @param context the journey context. May be null.
+	 * @return the context's deadline, or a deadline that never expires if the context has none.
+	 */
+	public static Deadline of(IJourneyContext context)
+	{
+		Deadline deadline = context == null ? null : context.getDeadline();
+		return deadline == null ? NONE : deadline;
+	}
+
+	/**
+	 * @return true if the deadline expires at some point.
+	 */
+	public boolean isBounded()
+	{
+		return this.bounded;
+	}
+
+	/**
+	 * @return true if the deadline has passed.
+	 */
+	public boolean isExpired()
+	{
+		return this.bounded && System.nanoTime() - this.deadlineNanos >= 0;
+	}
+
+	/**
+	 * Returns the time remaining until the deadline.
+	 * @return the remaining time. Never negative. A deadline that never expires returns
+	 * a practically infinite duration.
+	 */
+	public Duration remaining()
+	{
+		if(!this.bounded)
+		{
+			return Duration.ofNanos(Long.MAX_VALUE);
+		}
+		return Duration.ofNanos(Math.max(0, this.deadlineNanos - System.nanoTime()));
+	}
+
+	/**
+	 * Bounds a timeout by the time remaining until the deadline.
+	 * @param timeout the timeout.
+	 * @return the smaller of the timeout and the remaining time.
+	 */
+	public Duration bound(Duration timeout)
+	{
+		if(!this.bounded)
+		{
+			return timeout;
+		}
+		Duration remaining = remaining();
+		return timeout.compareTo(remaining) > 0 ? remaining : timeout;
+	}
+
+	/**
+	 * Returns the earlier of this deadline and one that expires after the provided duration.
+	 * @param timeout the time until the other deadline expires. A null duration returns this deadline.
+	 * @return the earlier deadline.
+	 */
+	public Deadline min(Duration timeout)
+	{
+		if(timeout == null)
+		{
+			return this;
+		}
+		Deadline other = after(timeout);
+		if(!this.bounded || other.deadlineNanos - this.deadlineNanos < 0)
+		{
+			return other;
+		}
+		return this;
+	}
+
+	/**
+	 * Throws if the deadline has passed.
+	 * @throws DeadlineExceededException if the deadline has passed.
+	 */
+	public void check()
+	{
+		if(isExpired())
+		{
+			throw new DeadlineExceededException("Deadline exceeded.");
+		}
+	}
+
+	private static long saturatedNanos(Duration duration)
+	{
+		try
+		{
+			return duration.toNanos();
+		}
+		catch(ArithmeticException ex)
+		{
+			return duration.isNegative() ? Long.MIN_VALUE / 2 : Long.MAX_VALUE / 2;
+		}
+	}
+
+	@Override
+	public String toString()
+	{
+		return this.bounded ? "deadline in " + remaining().toMillis() + "ms" : "no deadline";
+	}
+}
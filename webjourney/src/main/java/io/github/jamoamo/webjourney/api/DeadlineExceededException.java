@@ -0,0 +1,64 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2024 James Amoore.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package io.github.jamoamo.webjourney.api;
+
+import io.github.jamoamo.webjourney.JourneyException;
+
+/**
+ * Thrown when a journey, or an action within it, runs past its deadline.
+ *
+ * @author James Amoore
+ */
+public class DeadlineExceededException extends JourneyException
+{
+	/**
+	 * Creates a new exception.
+	 * @param message the exception message.
+	 */
+	public DeadlineExceededException(String message)
+	{
+		super(message);
+	}
+
+	/**
+	 * Creates a new exception.
+	 * @param message the exception message.
+	 * @param breadcrumb the current journey breadcrumb.
+	 */
+	public DeadlineExceededException(String message, IJourneyBreadcrumb breadcrumb)
+	{
+		super(message, breadcrumb);
+	}
+
+	/**
+	 * Creates a new exception.
+	 * @param message the exception message.
+	 * @param cause the failure caused by the deadline passing.
+	 * @param breadcrumb the current journey breadcrumb.
+	 */
+	public DeadlineExceededException(String message, Throwable cause, IJourneyBreadcrumb breadcrumb)
+	{
+		super(message, cause, breadcrumb);
+	}
+}
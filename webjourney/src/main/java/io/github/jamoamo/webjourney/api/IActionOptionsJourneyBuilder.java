@@ -4,6 +4,9 @@
  */
 package io.github.jamoamo.webjourney.api;
 
+import io.github.jamoamo.webjourney.api.wait.IWaitStrategy;
+import java.time.Duration;
+
 /**
  *
  * @author James Amoore
@@ -11,17 +14,54 @@ package io.github.jamoamo.webjourney.api;
 public interface IActionOptionsJourneyBuilder extends IJourneyBuilder
 {
 	/**
-	 * Sets the wait, in seconds, before the action. Default wait is 1 second.
-	 * @param waitTimeSeconds The number of seconds to wait before the action is executed.
+	 * Sets a fixed wait, in seconds, after the action. By default the journey waits for the page to settle after
+	 * each action instead.
+	 * @param waitTimeSeconds The number of seconds to wait after the action is executed.
 	 * @return this builder
 	 */
 	IActionOptionsJourneyBuilder withPostActionWait(int waitTimeSeconds);
 
 	/**
-	 * Sets the wait, in seconds, before the action. Default wait is 1 second.
+	 * Sets a fixed wait, in seconds, before the action. By default there is no wait before an action.
 	 * @param waitTimeSeconds The number of seconds to wait before the action is executed.
 	 * @return this builder
 	 */
 	IActionOptionsJourneyBuilder withPreActionWait(int waitTimeSeconds);
-	
+
+	/**
+	 * Sets the wait after the action.
+	 * @param waitStrategy The strategy to wait with after the action is executed.
+	 * @return this builder
+	 */
+	IActionOptionsJourneyBuilder withPostActionWait(IWaitStrategy waitStrategy);
+
+	/**
+	 * Sets the wait before the action.
+	 * @param waitStrategy The strategy to wait with before the action is executed.
+	 * @return this builder
+	 */
+	IActionOptionsJourneyBuilder withPreActionWait(IWaitStrategy waitStrategy);
+
+	/**
+	 * Sets the wait after every action in the journey that does not set its own post action wait. Defaults to
+	 * {@link io.github.jamoamo.webjourney.api.wait.WaitStrategies#pageSettled()}.
+	 * @param waitStrategy The strategy to wait with after each action is executed.
+	 * @return this builder
+	 */
+	IActionOptionsJourneyBuilder withDefaultPostActionWait(IWaitStrategy waitStrategy);
+
+	/**
+	 * Sets the wait before every action in the journey that does not set its own pre action wait. Defaults to
+	 * {@link io.github.jamoamo.webjourney.api.wait.WaitStrategies#none()}.
+	 * @param waitStrategy The strategy to wait with before each action is executed.
+	 * @return this builder
+	 */
+	IActionOptionsJourneyBuilder withDefaultPreActionWait(IWaitStrategy waitStrategy);
+
+	/**
+	 * Sets the maximum time the action may take. The action is also bounded by the journey's deadline.
+	 * @param timeout The action timeout.
+	 * @return this builder
+	 */
+	IActionOptionsJourneyBuilder withTimeout(Duration timeout);
 }
@@ -98,4 +98,24 @@ public interface IJourneyContext
 	 * @return the travel options.
 	 */
 	ITravelOptions getOptions();
+
+	/**
+	 * Gets the deadline that the current part of the journey must complete by.
+	 * <p>
+	 * This is the journey's deadline, or the current action's deadline if that is earlier. Waits, retries and element
+	 * lookups are bounded by the time remaining until the deadline.
+	 * @return the deadline.
+	 */
+	default Deadline getDeadline()
+	{
+		return Deadline.none();
+	}
+
+	/**
+	 * Sets the deadline that the current part of the journey must complete by.
+	 * @param deadline the deadline.
+	 */
+	default void setDeadline(Deadline deadline)
+	{
+	}
 }
@@ -39,4 +39,26 @@ public interface IRetryPolicy
 	 * @throws Exception if the action fails and the policy gives up
 	 */
 	<T> T execute(CallableAction<T> action) throws Exception;
+
+	/**
+	 * Executes the provided action according to the retry policy, giving up once the deadline has passed.
+	 * <p>
+	 * No attempt is started after the deadline has passed. The default implementation checks the deadline before
+	 * each attempt; implementations should also keep the delay between attempts within the remaining time.
+	 *
+	 * @param action the action to execute
+	 * @param deadline the deadline to complete the action by
+	 * @param <T> the type of result
+	 * @return the result
+	 * @throws DeadlineExceededException if the deadline passes before the action succeeds
+	 * @throws Exception if the action fails and the policy gives up
+	 */
+	default <T> T execute(CallableAction<T> action, Deadline deadline) throws Exception
+	{
+		return execute(() ->
+		{
+			deadline.check();
+			return action.call();
+		});
+	}
 }
@@ -23,9 +23,13 @@
  */
 package io.github.jamoamo.webjourney.api;
 
+import io.github.jamoamo.webjourney.api.checkpoint.ICheckpointStore;
+import io.github.jamoamo.webjourney.api.web.IBrowserPool;
 import io.github.jamoamo.webjourney.api.web.IPreferredBrowserStrategy;
+import io.github.jamoamo.webjourney.api.web.ResourcePolicy;
 import java.time.Duration;
 import java.util.List;
+import java.util.concurrent.Executor;
 
 /**
  *
@@ -95,4 +99,109 @@ public interface ITravelOptions
 	 * @param timeout the default element wait timeout. A {@code null} or zero duration disables waiting.
 	 */
 	void setElementWaitTimeout(Duration timeout);
+
+	/**
+	 * Retrieves the maximum number of journeys travelled at the same time when travelling several journeys.
+	 * <p>
+	 * Each concurrently travelled journey uses its own browser, so this also bounds the number of open browsers.
+	 * @return the maximum number of concurrent journeys. Never less than 1.
+	 */
+	int getMaxConcurrentJourneys();
+
+	/**
+	 * Sets the maximum number of journeys travelled at the same time when travelling several journeys.
+	 * @param maxConcurrentJourneys the maximum number of concurrent journeys. Values less than 1 are treated as 1.
+	 */
+	void setMaxConcurrentJourneys(int maxConcurrentJourneys);
+
+	/**
+	 * Determines whether journeys travelled concurrently run on virtual threads.
+	 * <p>
+	 * Journeys spend most of their time blocked on browser round trips and waits, so virtual threads allow many more
+	 * journeys to be in flight than platform threads would. The number of concurrent journeys is still bounded by
+	 * {@link #getMaxConcurrentJourneys()}.
+	 * @return true if journeys run on virtual threads.
+	 */
+	boolean isUseVirtualThreads();
+
+	/**
+	 * Sets whether journeys travelled concurrently run on virtual threads.
+	 * @param useVirtualThreads true to run journeys on virtual threads.
+	 */
+	void setUseVirtualThreads(boolean useVirtualThreads);
+
+	/**
+	 * Retrieves the store that journey progress is checkpointed to.
+	 * <p>
+	 * When a store is set, the number of completed iterations of each repeated action and the journey inputs are
+	 * recorded as a journey is travelled, so that a failed journey can be resumed with
+	 * {@link io.github.jamoamo.webjourney.WebTraveller#resumeJourney(IJourney, String)}.
+	 * @return the checkpoint store, or null if checkpointing is disabled.
+	 */
+	ICheckpointStore getCheckpointStore();
+
+	/**
+	 * Sets the store that journey progress is checkpointed to.
+	 * @param checkpointStore the checkpoint store, or null to disable checkpointing.
+	 */
+	void setCheckpointStore(ICheckpointStore checkpointStore);
+
+	/**
+	 * Retrieves the maximum time a journey may take.
+	 * <p>
+	 * The journey's actions, waits, retries and element lookups are bounded by the time remaining. If a browser command
+	 * is still running when the time is up, the journey's browser session is aborted so that the journey fails instead
+	 * of hanging.
+	 * @return the journey timeout, or null or zero if journeys are not time limited.
+	 */
+	Duration getJourneyTimeout();
+
+	/**
+	 * Sets the maximum time a journey may take.
+	 * @param journeyTimeout the journey timeout, or null or zero if journeys are not time limited.
+	 */
+	void setJourneyTimeout(Duration journeyTimeout);
+
+	/**
+	 * Retrieves the executor that journeys travelled asynchronously run on.
+	 * @return the executor, or null to run each asynchronous journey on a new virtual thread.
+	 */
+	Executor getAsyncExecutor();
+
+	/**
+	 * Sets the executor that journeys travelled asynchronously run on.
+	 * @param asyncExecutor the executor, or null to run each asynchronous journey on a new virtual thread.
+	 */
+	void setAsyncExecutor(Executor asyncExecutor);
+
+	/**
+	 * Retrieves the pool that journeys lease their browsers from.
+	 * <p>
+	 * When a pool is configured, journeys lease a browser from it instead of creating one with the
+	 * {@link #getPreferredBrowserStrategy() preferred browser strategy}, and return it to the pool afterwards instead
+	 * of exiting it.
+	 * @return the browser pool, or null to create and exit a browser for each journey.
+	 */
+	IBrowserPool getBrowserPool();
+
+	/**
+	 * Sets the pool that journeys lease their browsers from.
+	 * @param browserPool the browser pool, or null to create and exit a browser for each journey.
+	 */
+	void setBrowserPool(IBrowserPool browserPool);
+
+	/**
+	 * Retrieves the resources that journeys' browsers do not download.
+	 * <p>
+	 * The policy is applied when a journey's browser is created. Browsers leased from a
+	 * {@link #getBrowserPool() browser pool} keep the resources the pool created them with.
+	 * @return the resource policy, allowing every resource by default.
+	 */
+	ResourcePolicy getResourcePolicy();
+
+	/**
+	 * Sets the resources that journeys' browsers do not download.
+	 * @param resourcePolicy the resource policy, or null to allow every resource.
+	 */
+	void setResourcePolicy(ResourcePolicy resourcePolicy);
 }
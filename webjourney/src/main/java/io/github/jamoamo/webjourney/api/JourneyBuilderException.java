@@ -40,4 +40,14 @@ public class JourneyBuilderException extends JourneyException
 	{
 		super(ex);
 	}
+
+	/**
+	 * Constructor.
+	 * 
+	 * @param message a description of why the journey could not be built
+	 */
+	public JourneyBuilderException(String message)
+	{
+		super(message);
+	}
 }
@@ -26,7 +26,10 @@ package io.github.jamoamo.webjourney.api;
 import dev.failsafe.Failsafe;
 import dev.failsafe.FailsafeException;
 import dev.failsafe.RetryPolicy;
+import io.github.jamoamo.webjourney.api.politeness.PolitenessScheduler;
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -41,6 +44,7 @@ public final class RetryPolicyBuilder
 	private static final Logger logger = LoggerFactory.getLogger(RetryPolicyBuilder.class);
 	private int maxRetries = 3;
 	private Duration delay = Duration.ofSeconds(1);
+	private final List<IRetryListener> retryListeners = new ArrayList<>();
 
 	private RetryPolicyBuilder()
 	{
@@ -92,6 +96,25 @@ public final class RetryPolicyBuilder
 		return this;
 	}
 
+	/**
+	 * Adds a listener that is notified before each retry.
+	 * <p>
+	 * Retries are always reported to the shared {@link PolitenessScheduler} as well, which lowers the adaptive
+	 * concurrency of the host last navigated to.
+	 * 
+	 * @param listener the listener
+	 * @return the current builder
+	 */
+	public RetryPolicyBuilder onRetry(IRetryListener listener)
+	{
+		if(listener == null)
+		{
+			throw new IllegalArgumentException("listener cannot be null");
+		}
+		this.retryListeners.add(listener);
+		return this;
+	}
+
 	/**
 	 * Builds an {@link IRetryPolicy} from the configured settings.
 	 * 
@@ -99,32 +122,84 @@ public final class RetryPolicyBuilder
 	 */
 	public IRetryPolicy build()
 	{
-		final RetryPolicy<Object> policy = RetryPolicy.builder()
-			.handle(Exception.class)
-			.withDelay(this.delay)
-			.withMaxRetries(this.maxRetries)
-			.onRetry(e -> logger.info("Action failed, retrying... (Attempt #{})", e.getAttemptCount(), e.getLastException()))
-			.onRetriesExceeded(e -> logger.warn("Max retries exceeded", e.getException()))
-			.build();
+		final List<IRetryListener> listeners = List.copyOf(this.retryListeners);
+		final RetryPolicy<Object> policy = buildPolicy(this.delay, listeners);
+		final Duration retryDelay = this.delay;
 
 		return new IRetryPolicy()
 		{
 			@Override
 			public <T> T execute(CallableAction<T> action) throws Exception
 			{
-				try
+				return executeWith(policy, action);
+			}
+
+			@Override
+			public <T> T execute(CallableAction<T> action, Deadline deadline) throws Exception
+			{
+				if(!deadline.isBounded())
 				{
-					return Failsafe.with(policy).get(action::call);
+					return executeWith(policy, action);
 				}
-				catch(FailsafeException e)
+
+				deadline.check();
+				Duration boundedDelay = deadline.bound(retryDelay);
+				RetryPolicy<Object> boundedPolicy = buildPolicy(boundedDelay.isZero() ? Duration.ofNanos(1) : boundedDelay,
+					listeners);
+				return executeWith(boundedPolicy, () ->
 				{
-					if(e.getCause() instanceof Exception exception)
-					{
-						throw exception;
-					}
-					throw e;
-				}
+					deadline.check();
+					return action.call();
+				});
 			}
 		};
 	}
+
+	private RetryPolicy<Object> buildPolicy(Duration retryDelay, List<IRetryListener> listeners)
+	{
+		return RetryPolicy.builder()
+			.handle(Exception.class)
+			.abortOn(DeadlineExceededException.class)
+			.withDelay(retryDelay)
+			.withMaxRetries(this.maxRetries)
+			.onRetry(e ->
+			{
+				logger.info("Action failed, retrying... (Attempt #{})", e.getAttemptCount(), e.getLastException());
+				notifyRetry(listeners, e.getAttemptCount(), e.getLastException());
+			})
+			.onRetriesExceeded(e -> logger.warn("Max retries exceeded", e.getException()))
+			.build();
+	}
+
+	private static void notifyRetry(List<IRetryListener> listeners, int attempt, Throwable failure)
+	{
+		PolitenessScheduler.shared().onRetry(attempt, failure);
+		for(IRetryListener listener : listeners)
+		{
+			try
+			{
+				listener.onRetry(attempt, failure);
+			}
+			catch(RuntimeException ex)
+			{
+				logger.warn("Retry listener failed", ex);
+			}
+		}
+	}
+
+	private static <T> T executeWith(RetryPolicy<Object> policy, CallableAction<T> action) throws Exception
+	{
+		try
+		{
+			return Failsafe.with(policy).get(action::call);
+		}
+		catch(FailsafeException e)
+		{
+			if(e.getCause() instanceof Exception exception)
+			{
+				throw exception;
+			}
+			throw e;
+		}
+	}
 }
@@ -0,0 +1,516 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2024 James Amoore.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package io.github.jamoamo.webjourney.api.checkpoint;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.NotSerializableException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A checkpoint store that keeps an append-only journal file per journey in a local directory.
+ * <p>
+ * Records are buffered in memory and appended to the journal in batches, once {@link #getBatchSize() enough records}
+ * are pending or the oldest pending record is older than the {@link #getMaxFlushDelay() maximum flush delay}. Each
+ * batch is written with a single write and a single sync to disk. Records still pending once the maximum flush delay
+ * has passed are appended by a background thread shared by all stores, so no record is left buffered for much longer
+ * than the delay even if no further records follow. A journal that was cut short by a crash is read up to its last
+ * complete record.
+ * <p>
+ * Journey inputs are recorded only if they are {@link Serializable}; other inputs are skipped.
+ *
+ * @author James Amoore
+ */
+public final class FileCheckpointStore implements ICheckpointStore
+{
+	/**
+	 * The default number of records appended to a journal at once.
+	 */
+	public static final int DEFAULT_BATCH_SIZE = 100;
+
+	/**
+	 * The default maximum time a record is buffered before it is appended to the journal.
+	 */
+	public static final Duration DEFAULT_MAX_FLUSH_DELAY = Duration.ofSeconds(1);
+
+	private static final String JOURNAL_EXTENSION = ".checkpoint";
+	private static final byte ITERATIONS_RECORD = 1;
+	private static final byte INPUT_RECORD = 2;
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(FileCheckpointStore.class);
+	private static final ScheduledThreadPoolExecutor FLUSHER = createFlusher();
+
+	private final Path directory;
+	private final int batchSize;
+	private final long maxFlushDelayNanos;
+	private final Map<String, Journal> journals = new ConcurrentHashMap<>();
+
+	/**
+	 * Creates a store that keeps its journals in the provided directory, using the default batching.
+	 * @param directory the directory to keep journals in. It is created if it does not exist.
+	 */
+	public FileCheckpointStore(Path directory)
+	{
+		this(directory, DEFAULT_BATCH_SIZE, DEFAULT_MAX_FLUSH_DELAY);
+	}
+
+	/**
+	 * Creates a store that keeps its journals in the provided directory.
+	 * @param directory the directory to keep journals in. It is created if it does not exist.
+	 * @param batchSize the number of records appended to a journal at once. Values less than 1 are treated as 1.
+	 * @param maxFlushDelay the maximum time a record is buffered before it is appended to the journal.
+	 * @throws XCheckpointException if the directory cannot be created.
+	 */
+	public FileCheckpointStore(Path directory, int batchSize, Duration maxFlushDelay)
+	{
+		if(directory == null)
+		{
+			throw new IllegalArgumentException("directory cannot be null");
+		}
+		if(maxFlushDelay == null || maxFlushDelay.isNegative())
+		{
+			throw new IllegalArgumentException("maxFlushDelay must be a non-negative duration");
+		}
+		this.directory = directory;
+		this.batchSize = Math.max(1, batchSize);
+		this.maxFlushDelayNanos = maxFlushDelay.toNanos();
+		try
+		{
+			Files.createDirectories(directory);
+		}
+		catch(IOException ex)
+		{
+			throw new XCheckpointException("Unable to create checkpoint directory " + directory, ex);
+		}
+	}
+
+	/**
+	 * @return the directory journals are kept in.
+	 */
+	public Path getDirectory()
+	{
+		return this.directory;
+	}
+
+	/**
+	 * @return the number of records appended to a journal at once.
+	 */
+	public int getBatchSize()
+	{
+		return this.batchSize;
+	}
+
+	/**
+	 * @return the maximum time a record is buffered before it is appended to the journal.
+	 */
+	public Duration getMaxFlushDelay()
+	{
+		return Duration.ofNanos(this.maxFlushDelayNanos);
+	}
+
+	@Override
+	public void recordIterations(String journeyId, String position, int completedIterations, String breadcrumb)
+	{
+		getJournal(journeyId).append(out ->
+		{
+			out.writeByte(ITERATIONS_RECORD);
+			out.writeUTF(position);
+			out.writeInt(completedIterations);
+			out.writeUTF(breadcrumb == null ? "" : breadcrumb);
+		});
+	}
+
+	@Override
+	public void recordInput(String journeyId, String inputType, Object inputValue)
+	{
+		if(inputValue != null && !(inputValue instanceof Serializable))
+		{
+			LOGGER.debug("Not checkpointing journey input " + inputType + ": value is not serializable.");
+			return;
+		}
+
+		byte[] value;
+		try
+		{
+			value = serialize(inputValue);
+		}
+		catch(NotSerializableException ex)
+		{
+			LOGGER.debug("Not checkpointing journey input " + inputType + ": " + ex.getMessage());
+			return;
+		}
+		catch(IOException ex)
+		{
+			throw new XCheckpointException("Unable to serialize journey input " + inputType, ex);
+		}
+
+		getJournal(journeyId).append(out ->
+		{
+			out.writeByte(INPUT_RECORD);
+			out.writeUTF(inputType);
+			out.writeInt(value.length);
+			out.write(value);
+		});
+	}
+
+	@Override
+	public Optional<JourneyCheckpoint> load(String journeyId)
+	{
+		Journal journal = this.journals.get(journeyId);
+		if(journal != null)
+		{
+			journal.flush();
+		}
+
+		Path path = journalPath(journeyId);
+		if(!Files.exists(path))
+		{
+			return Optional.empty();
+		}
+
+		try
+		{
+			return Optional.of(readJournal(journeyId, Files.readAllBytes(path)));
+		}
+		catch(IOException ex)
+		{
+			throw new XCheckpointException("Unable to read checkpoint " + path, ex);
+		}
+	}
+
+	@Override
+	public void discard(String journeyId)
+	{
+		Journal journal = this.journals.remove(journeyId);
+		if(journal != null)
+		{
+			journal.close(false);
+		}
+
+		try
+		{
+			Files.deleteIfExists(journalPath(journeyId));
+		}
+		catch(IOException ex)
+		{
+			throw new XCheckpointException("Unable to discard checkpoint for journey " + journeyId, ex);
+		}
+	}
+
+	@Override
+	public void release(String journeyId)
+	{
+		Journal journal = this.journals.remove(journeyId);
+		if(journal != null)
+		{
+			journal.close(true);
+		}
+	}
+
+	@Override
+	public void flush()
+	{
+		this.journals.values().forEach(Journal::flush);
+	}
+
+	@Override
+	public void close()
+	{
+		for(String journeyId : this.journals.keySet())
+		{
+			Journal journal = this.journals.remove(journeyId);
+			if(journal != null)
+			{
+				journal.close(true);
+			}
+		}
+	}
+
+	private Journal getJournal(String journeyId)
+	{
+		return this.journals.computeIfAbsent(journeyId, id -> new Journal(journalPath(id)));
+	}
+
+	private static ScheduledThreadPoolExecutor createFlusher()
+	{
+		ScheduledThreadPoolExecutor flusher = new ScheduledThreadPoolExecutor(1, runnable ->
+		{
+			Thread thread = new Thread(runnable, "webjourney-checkpoint-flush");
+			thread.setDaemon(true);
+			return thread;
+		});
+		flusher.setRemoveOnCancelPolicy(true);
+		return flusher;
+	}
+
+	private Path journalPath(String journeyId)
+	{
+		return this.directory.resolve(journeyId.replaceAll("[^A-Za-z0-9._-]", "_") + JOURNAL_EXTENSION);
+	}
+
+	private static byte[] serialize(Object value)
+		throws IOException
+	{
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		try(ObjectOutputStream out = new ObjectOutputStream(bytes))
+		{
+			out.writeObject(value);
+		}
+		return bytes.toByteArray();
+	}
+
+	private static JourneyCheckpoint readJournal(String journeyId, byte[] contents)
+		throws IOException
+	{
+		Map<String, Integer> completedIterations = new HashMap<>();
+		Map<String, Object> inputs = new HashMap<>();
+		String breadcrumb = null;
+
+		ByteBuffer buffer = ByteBuffer.wrap(contents);
+		while(buffer.remaining() >= Integer.BYTES)
+		{
+			int length = buffer.getInt();
+			if(length < 0 || length > buffer.remaining())
+			{
+				LOGGER.warn("Ignoring incomplete record at the end of the checkpoint for journey " + journeyId);
+				break;
+			}
+
+			DataInputStream in = new DataInputStream(
+				new ByteArrayInputStream(contents, buffer.position(), length));
+			buffer.position(buffer.position() + length);
+
+			byte type = in.readByte();
+			if(type == ITERATIONS_RECORD)
+			{
+				completedIterations.put(in.readUTF(), in.readInt());
+				breadcrumb = in.readUTF();
+			}
+			else if(type == INPUT_RECORD)
+			{
+				String inputType = in.readUTF();
+				byte[] value = in.readNBytes(in.readInt());
+				try
+				{
+					inputs.put(inputType, deserialize(value));
+				}
+				catch(IOException | ClassNotFoundException ex)
+				{
+					LOGGER.warn("Unable to restore journey input " + inputType + ": " + ex.getMessage());
+				}
+			}
+		}
+		return new JourneyCheckpoint(journeyId, completedIterations, inputs, breadcrumb);
+	}
+
+	private static Object deserialize(byte[] value)
+		throws IOException, ClassNotFoundException
+	{
+		try(ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(value)))
+		{
+			return in.readObject();
+		}
+	}
+
+	@FunctionalInterface
+	private interface RecordWriter
+	{
+		void write(DataOutputStream out)
+			throws IOException;
+	}
+
+	/**
+	 * The journal of a single journey. Records are framed with their length so that a torn final write can be
+	 * detected when the journal is read.
+	 */
+	private final class Journal
+	{
+		private final Path path;
+		private final ReentrantLock lock = new ReentrantLock();
+		private final ByteArrayOutputStream pending = new ByteArrayOutputStream();
+		private final ByteArrayOutputStream record = new ByteArrayOutputStream();
+		private final DataOutputStream recordOut = new DataOutputStream(this.record);
+		private int pendingRecords;
+		private long oldestPendingNanos;
+		private FileChannel channel;
+		private boolean closed;
+
+		Journal(Path path)
+		{
+			this.path = path;
+		}
+
+		void append(RecordWriter writer)
+		{
+			this.lock.lock();
+			try
+			{
+				this.record.reset();
+				writer.write(this.recordOut);
+				this.recordOut.flush();
+
+				ByteBuffer length = ByteBuffer.allocate(Integer.BYTES).putInt(this.record.size());
+				this.pending.write(length.array());
+				this.record.writeTo(this.pending);
+
+				boolean first = this.pendingRecords++ == 0;
+				if(first)
+				{
+					this.oldestPendingNanos = System.nanoTime();
+				}
+				if(this.pendingRecords >= FileCheckpointStore.this.batchSize
+					|| System.nanoTime() - this.oldestPendingNanos >= FileCheckpointStore.this.maxFlushDelayNanos)
+				{
+					writePending();
+				}
+				else if(first)
+				{
+					FLUSHER.schedule(this::flushOverdue, FileCheckpointStore.this.maxFlushDelayNanos, TimeUnit.NANOSECONDS);
+				}
+			}
+			catch(IOException ex)
+			{
+				throw new XCheckpointException("Unable to write checkpoint " + this.path, ex);
+			}
+			finally
+			{
+				this.lock.unlock();
+			}
+		}
+
+		void flush()
+		{
+			this.lock.lock();
+			try
+			{
+				writePending();
+			}
+			catch(IOException ex)
+			{
+				throw new XCheckpointException("Unable to write checkpoint " + this.path, ex);
+			}
+			finally
+			{
+				this.lock.unlock();
+			}
+		}
+
+		/**
+		 * Appends the pending records if the oldest of them has been pending for the maximum flush delay. Called by the
+		 * background flusher, which has no caller to report a failure to, so failures are logged.
+		 */
+		private void flushOverdue()
+		{
+			this.lock.lock();
+			try
+			{
+				if(!this.closed && this.pendingRecords > 0
+					&& System.nanoTime() - this.oldestPendingNanos >= FileCheckpointStore.this.maxFlushDelayNanos)
+				{
+					writePending();
+				}
+			}
+			catch(IOException ex)
+			{
+				LOGGER.error("Unable to write checkpoint " + this.path + ": " + ex.getMessage());
+			}
+			finally
+			{
+				this.lock.unlock();
+			}
+		}
+
+		void close(boolean flush)
+		{
+			this.lock.lock();
+			try
+			{
+				this.closed = true;
+				if(flush)
+				{
+					writePending();
+				}
+				if(this.channel != null)
+				{
+					this.channel.close();
+					this.channel = null;
+				}
+			}
+			catch(IOException ex)
+			{
+				throw new XCheckpointException("Unable to close checkpoint " + this.path, ex);
+			}
+			finally
+			{
+				this.pending.reset();
+				this.pendingRecords = 0;
+				this.lock.unlock();
+			}
+		}
+
+		private void writePending()
+			throws IOException
+		{
+			if(this.pendingRecords == 0)
+			{
+				return;
+			}
+
+			if(this.channel == null)
+			{
+				this.channel = FileChannel.open(this.path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+					StandardOpenOption.APPEND);
+			}
+
+			ByteBuffer batch = ByteBuffer.wrap(this.pending.toByteArray());
+			while(batch.hasRemaining())
+			{
+				this.channel.write(batch);
+			}
+			this.channel.force(false);
+			this.pending.reset();
+			this.pendingRecords = 0;
+		}
+	}
+}
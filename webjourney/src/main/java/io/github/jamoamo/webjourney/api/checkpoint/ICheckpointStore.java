@@ -0,0 +1,100 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2024 James Amoore.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package io.github.jamoamo.webjourney.api.checkpoint;
+
+import java.util.Optional;
+
+/**
+ * Stores the progress of journeys so that a failed journey can be resumed.
+ * <p>
+ * Progress is recorded as the number of completed iterations of each repeated action, keyed by the position of the
+ * action within the journey, along with the journey inputs. Implementations are expected to make recording cheap,
+ * for example by batching writes, and only guarantee that records are persisted once {@link #flush()} returns.
+ * Implementations must be safe for use by several journeys at once.
+ *
+ * @author James Amoore
+ */
+public interface ICheckpointStore extends AutoCloseable
+{
+	/**
+	 * Records that iterations of a repeated action have been completed.
+	 * @param journeyId the id of the journey.
+	 * @param position the position of the repeated action within the journey.
+	 * @param completedIterations the total number of iterations completed so far.
+	 * @param breadcrumb a description of the breadcrumb at the repeated action.
+	 * @throws XCheckpointException if the checkpoint cannot be recorded.
+	 */
+	void recordIterations(String journeyId, String position, int completedIterations, String breadcrumb);
+
+	/**
+	 * Records a journey input.
+	 * @param journeyId the id of the journey.
+	 * @param inputType the type of input.
+	 * @param inputValue the input value.
+	 * @throws XCheckpointException if the checkpoint cannot be recorded.
+	 */
+	void recordInput(String journeyId, String inputType, Object inputValue);
+
+	/**
+	 * Loads the last recorded checkpoint for a journey.
+	 * @param journeyId the id of the journey.
+	 * @return the checkpoint, or an empty optional if nothing has been recorded for the journey.
+	 * @throws XCheckpointException if the checkpoint cannot be read.
+	 */
+	Optional<JourneyCheckpoint> load(String journeyId);
+
+	/**
+	 * Discards everything recorded for a journey.
+	 * @param journeyId the id of the journey.
+	 * @throws XCheckpointException if the checkpoint cannot be discarded.
+	 */
+	void discard(String journeyId);
+
+	/**
+	 * Persists the records of a journey that have not been persisted yet and releases the resources held for the
+	 * journey, keeping what has been recorded so that the journey can be resumed.
+	 * @param journeyId the id of the journey.
+	 * @throws XCheckpointException if the records cannot be persisted.
+	 */
+	default void release(String journeyId)
+	{
+		flush();
+	}
+
+	/**
+	 * Persists any records that have not been persisted yet.
+	 * @throws XCheckpointException if the records cannot be persisted.
+	 */
+	void flush();
+
+	/**
+	 * Persists any outstanding records and releases the resources held by the store.
+	 * @throws XCheckpointException if the records cannot be persisted.
+	 */
+	@Override
+	default void close()
+	{
+		flush();
+	}
+}
@@ -0,0 +1,99 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2024 James Amoore.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package io.github.jamoamo.webjourney.api.checkpoint;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * The recorded progress of a journey.
+ *
+ * @author James Amoore
+ */
+public final class JourneyCheckpoint
+{
+	private final String journeyId;
+	private final Map<String, Integer> completedIterations;
+	private final Map<String, Object> inputs;
+	private final String breadcrumb;
+
+	/**
+	 * Creates a new checkpoint.
+	 * @param journeyId the id of the journey.
+	 * @param completedIterations the number of completed iterations of each repeated action, keyed by position.
+	 * @param inputs the journey inputs.
+	 * @param breadcrumb a description of the breadcrumb at the last recorded iteration. May be null.
+	 */
+	public JourneyCheckpoint(String journeyId, Map<String, Integer> completedIterations, Map<String, Object> inputs,
+		String breadcrumb)
+	{
+		this.journeyId = journeyId;
+		this.completedIterations = Collections.unmodifiableMap(new HashMap<>(completedIterations));
+		this.inputs = Collections.unmodifiableMap(new HashMap<>(inputs));
+		this.breadcrumb = breadcrumb;
+	}
+
+	/**
+	 * @return the id of the journey.
+	 */
+	public String getJourneyId()
+	{
+		return this.journeyId;
+	}
+
+	/**
+	 * Returns the number of completed iterations of the repeated action at a position.
+	 * @param position the position of the repeated action within the journey.
+	 * @return the number of completed iterations, or 0 if none were recorded.
+	 */
+	public int getCompletedIterations(String position)
+	{
+		return this.completedIterations.getOrDefault(position, 0);
+	}
+
+	/**
+	 * @return the number of completed iterations of each repeated action, keyed by position.
+	 */
+	public Map<String, Integer> getCompletedIterations()
+	{
+		return this.completedIterations;
+	}
+
+	/**
+	 * @return the journey inputs.
+	 */
+	public Map<String, Object> getInputs()
+	{
+		return this.inputs;
+	}
+
+	/**
+	 * @return a description of the breadcrumb at the last recorded iteration, or null if no iteration was recorded.
+	 */
+	public String getBreadcrumb()
+	{
+		return this.breadcrumb;
+	}
+}
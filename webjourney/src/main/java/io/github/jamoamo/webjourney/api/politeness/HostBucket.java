@@ -0,0 +1,335 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2024 James Amoore.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package io.github.jamoamo.webjourney.api.politeness;
+
+import io.github.jamoamo.webjourney.api.web.XNavigationError;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * The token bucket, concurrency slots and adaptive concurrency limit of a single host.
+ * <p>
+ * The adaptive limit follows additive-increase/multiplicative-decrease: every successful navigation raises it by
+ * {@code 1/limit}, so it grows by about one per round of navigations, and a failure, retry or slow navigation halves
+ * it. The limit is lowered at most once per average navigation latency so that a burst of failures from the same
+ * round only counts once.
+ *
+ * @author James Amoore
+ */
+final class HostBucket
+{
+	private static final double NANOS_PER_SECOND = 1_000_000_000d;
+	private static final double DECREASE_FACTOR = 0.5;
+	private static final double LATENCY_WEIGHT = 0.2;
+	private static final long MIN_DECREASE_INTERVAL_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+
+	private final String host;
+	private final HostLimits limits;
+	private final ReentrantLock lock = new ReentrantLock(true);
+	private final Condition slotFreed = this.lock.newCondition();
+
+	private double tokens;
+	private long lastRefillNanos;
+
+	private int inFlight;
+	private double concurrencyLimit;
+	private long lastDecreaseNanos;
+	private double averageLatencyNanos;
+	private long successes;
+	private long failures;
+	private long navigationErrors;
+	private long retries;
+	private long limitDecreases;
+
+	HostBucket(String host, HostLimits limits)
+	{
+		this.host = host;
+		this.limits = limits;
+		this.tokens = limits.getBurst();
+		this.lastRefillNanos = System.nanoTime();
+		this.lastDecreaseNanos = this.lastRefillNanos - MIN_DECREASE_INTERVAL_NANOS;
+		this.concurrencyLimit = limits.isAdaptive() ? limits.getMinConcurrency() : limits.getMaxConcurrency();
+	}
+
+	String getHost()
+	{
+		return this.host;
+	}
+
+	HostLimits getLimits()
+	{
+		return this.limits;
+	}
+
+	int getInFlight()
+	{
+		this.lock.lock();
+		try
+		{
+			return this.inFlight;
+		}
+		finally
+		{
+			this.lock.unlock();
+		}
+	}
+
+	/**
+	 * Waits for a concurrency slot.
+	 *
+	 * @param timeoutNanos the maximum time to wait, or a negative value to wait indefinitely.
+	 * @return true if a slot was acquired.
+	 * @throws InterruptedException if the thread is interrupted while waiting.
+	 */
+	boolean acquireSlot(long timeoutNanos)
+		throws InterruptedException
+	{
+		this.lock.lockInterruptibly();
+		try
+		{
+			long remaining = timeoutNanos;
+			while(this.limits.isConcurrencyLimited() && this.inFlight >= currentLimit())
+			{
+				if(timeoutNanos < 0)
+				{
+					this.slotFreed.await();
+				}
+				else if(remaining <= 0)
+				{
+					return false;
+				}
+				else
+				{
+					remaining = this.slotFreed.awaitNanos(remaining);
+				}
+			}
+			this.inFlight++;
+			return true;
+		}
+		finally
+		{
+			this.lock.unlock();
+		}
+	}
+
+	/**
+	 * Releases a concurrency slot without recording the outcome of a navigation.
+	 */
+	void releaseSlot()
+	{
+		this.lock.lock();
+		try
+		{
+			this.inFlight--;
+			this.slotFreed.signal();
+		}
+		finally
+		{
+			this.lock.unlock();
+		}
+	}
+
+	/**
+	 * Releases a concurrency slot and adapts the concurrency limit to the outcome of the navigation.
+	 *
+	 * @param latencyNanos the time the navigation took.
+	 * @param failure the failure of the navigation, or null if it succeeded.
+	 */
+	void complete(long latencyNanos, Throwable failure)
+	{
+		this.lock.lock();
+		try
+		{
+			this.inFlight--;
+			if(failure == null)
+			{
+				this.successes++;
+				this.averageLatencyNanos = this.successes == 1 ? latencyNanos
+					: this.averageLatencyNanos + LATENCY_WEIGHT * (latencyNanos - this.averageLatencyNanos);
+				Duration target = this.limits.getLatencyTarget();
+				if(target != null && latencyNanos > target.toNanos())
+				{
+					decrease();
+				}
+				else
+				{
+					increase();
+				}
+			}
+			else
+			{
+				this.failures++;
+				if(isNavigationError(failure))
+				{
+					this.navigationErrors++;
+				}
+				decrease();
+			}
+			this.slotFreed.signalAll();
+		}
+		finally
+		{
+			this.lock.unlock();
+		}
+	}
+
+	/**
+	 * Records that an action was retried after navigating to the host.
+	 */
+	void retried()
+	{
+		this.lock.lock();
+		try
+		{
+			this.retries++;
+			decrease();
+		}
+		finally
+		{
+			this.lock.unlock();
+		}
+	}
+
+	HostStatistics statistics()
+	{
+		this.lock.lock();
+		try
+		{
+			return new HostStatistics(this.host, this.limits,
+				this.limits.isConcurrencyLimited() ? currentLimit() : 0, this.inFlight, this.successes,
+				this.failures, this.navigationErrors, this.retries, this.limitDecreases,
+				Duration.ofNanos((long) this.averageLatencyNanos));
+		}
+		finally
+		{
+			this.lock.unlock();
+		}
+	}
+
+	/**
+	 * Reserves a token. Tokens may be reserved ahead of time so that waiting callers are served in order.
+	 *
+	 * @return the number of nanoseconds the caller must wait before the reserved token becomes available.
+	 */
+	long reserveToken()
+	{
+		if(!this.limits.isRateLimited())
+		{
+			return 0;
+		}
+		this.lock.lock();
+		try
+		{
+			refill();
+			this.tokens -= 1;
+			if(this.tokens >= 0)
+			{
+				return 0;
+			}
+			return (long) Math.ceil(-this.tokens / this.limits.getRequestsPerSecond() * NANOS_PER_SECOND);
+		}
+		finally
+		{
+			this.lock.unlock();
+		}
+	}
+
+	/**
+	 * Returns a reserved token that was not used.
+	 */
+	void refundToken()
+	{
+		if(!this.limits.isRateLimited())
+		{
+			return;
+		}
+		this.lock.lock();
+		try
+		{
+			refill();
+			this.tokens = Math.min(this.limits.getBurst(), this.tokens + 1);
+		}
+		finally
+		{
+			this.lock.unlock();
+		}
+	}
+
+	private void refill()
+	{
+		long now = System.nanoTime();
+		double earned = (now - this.lastRefillNanos) / NANOS_PER_SECOND * this.limits.getRequestsPerSecond();
+		this.tokens = Math.min(this.limits.getBurst(), this.tokens + earned);
+		this.lastRefillNanos = now;
+	}
+
+	private int currentLimit()
+	{
+		return (int) this.concurrencyLimit;
+	}
+
+	private void increase()
+	{
+		if(this.limits.isAdaptive())
+		{
+			this.concurrencyLimit = Math.min(this.limits.getMaxConcurrency(),
+				this.concurrencyLimit + 1 / this.concurrencyLimit);
+		}
+	}
+
+	private void decrease()
+	{
+		if(!this.limits.isAdaptive())
+		{
+			return;
+		}
+		long now = System.nanoTime();
+		long interval = Math.max(MIN_DECREASE_INTERVAL_NANOS, (long) this.averageLatencyNanos);
+		if(now - this.lastDecreaseNanos < interval)
+		{
+			return;
+		}
+		this.lastDecreaseNanos = now;
+		double lowered = Math.max(this.limits.getMinConcurrency(), this.concurrencyLimit * DECREASE_FACTOR);
+		if(lowered < this.concurrencyLimit)
+		{
+			this.concurrencyLimit = lowered;
+			this.limitDecreases++;
+		}
+	}
+
+	private static boolean isNavigationError(Throwable failure)
+	{
+		for(Throwable cause = failure; cause != null; cause = cause.getCause())
+		{
+			if(cause instanceof XNavigationError)
+			{
+				return true;
+			}
+		}
+		return false;
+	}
+}
@@ -0,0 +1,207 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2024 James Amoore.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package io.github.jamoamo.webjourney.api.politeness;
+
+import java.time.Duration;
+
+/**
+ * The politeness limits applied to navigations to a single host.
+ * <p>
+ * A rate limit is enforced with a token bucket that refills at {@link #getRequestsPerSecond()} tokens per second and
+ * holds at most {@link #getBurst()} tokens. The concurrency limit caps the number of navigations to the host that may
+ * be in progress at once. Limits are immutable.
+ * <p>
+ * The concurrency limit may be made {@link #withAdaptiveConcurrency(int, Duration) adaptive}. An adaptive limit
+ * starts at its minimum and is raised additively while navigations to the host succeed, and is halved when they fail,
+ * are retried or take longer than the latency target, in the manner of TCP congestion control.
+ *
+ * @author James Amoore
+ */
+public final class HostLimits
+{
+	private static final HostLimits UNLIMITED = new HostLimits(0, 0, 0, 0, null);
+
+	private final double requestsPerSecond;
+	private final int burst;
+	private final int maxConcurrency;
+	private final int minConcurrency;
+	private final Duration latencyTarget;
+
+	private HostLimits(double requestsPerSecond, int burst, int maxConcurrency, int minConcurrency,
+		Duration latencyTarget)
+	{
+		this.requestsPerSecond = requestsPerSecond;
+		this.burst = burst;
+		this.maxConcurrency = maxConcurrency;
+		this.minConcurrency = minConcurrency;
+		this.latencyTarget = latencyTarget;
+	}
+
+	/**
+	 * @return limits that never delay a navigation.
+	 */
+	public static HostLimits unlimited()
+	{
+		return UNLIMITED;
+	}
+
+	/**
+	 * Creates host limits with a burst of one request.
+	 *
+	 * @param requestsPerSecond the sustained number of navigations per second. Zero disables rate limiting.
+	 * @param maxConcurrency the maximum number of concurrent navigations. Zero disables the concurrency limit.
+	 * @return the limits.
+	 */
+	public static HostLimits of(double requestsPerSecond, int maxConcurrency)
+	{
+		return of(requestsPerSecond, 1, maxConcurrency);
+	}
+
+	/**
+	 * Creates host limits.
+	 *
+	 * @param requestsPerSecond the sustained number of navigations per second. Zero disables rate limiting.
+	 * @param burst the number of navigations that may be made back to back before the rate applies. Must be at least
+	 * one when a rate is set.
+	 * @param maxConcurrency the maximum number of concurrent navigations. Zero disables the concurrency limit.
+	 * @return the limits.
+	 * @throws IllegalArgumentException if any of the values are negative or the burst is less than one for a rate
+	 * limited host.
+	 */
+	public static HostLimits of(double requestsPerSecond, int burst, int maxConcurrency)
+	{
+		if(requestsPerSecond < 0 || Double.isNaN(requestsPerSecond) || Double.isInfinite(requestsPerSecond))
+		{
+			throw new IllegalArgumentException("Requests per second must be a finite, non-negative number.");
+		}
+		if(maxConcurrency < 0)
+		{
+			throw new IllegalArgumentException("Max concurrency cannot be negative.");
+		}
+		if(requestsPerSecond > 0 && burst < 1)
+		{
+			throw new IllegalArgumentException("Burst must be at least one.");
+		}
+		return new HostLimits(requestsPerSecond, Math.max(burst, 0), maxConcurrency, 0, null);
+	}
+
+	/**
+	 * Creates a copy of these limits whose concurrency limit adapts between a minimum and the maximum concurrency.
+	 *
+	 * @param minConcurrency the lowest the concurrency limit is lowered to. Must be between one and the maximum
+	 * concurrency.
+	 * @param latencyTarget navigations slower than this lower the concurrency limit. Null if only failures and
+	 * retries lower the limit.
+	 * @return the adaptive limits.
+	 * @throws IllegalArgumentException if concurrency is not limited, or the minimum is out of range.
+	 */
+	public HostLimits withAdaptiveConcurrency(int minConcurrency, Duration latencyTarget)
+	{
+		if(!isConcurrencyLimited())
+		{
+			throw new IllegalArgumentException("Adaptive concurrency requires a max concurrency.");
+		}
+		if(minConcurrency < 1 || minConcurrency > this.maxConcurrency)
+		{
+			throw new IllegalArgumentException("Min concurrency must be between 1 and " + this.maxConcurrency + ".");
+		}
+		if(latencyTarget != null && (latencyTarget.isNegative() || latencyTarget.isZero()))
+		{
+			throw new IllegalArgumentException("Latency target must be positive.");
+		}
+		return new HostLimits(this.requestsPerSecond, this.burst, this.maxConcurrency, minConcurrency, latencyTarget);
+	}
+
+	/**
+	 * @return the sustained number of navigations per second, or zero if the rate is not limited.
+	 */
+	public double getRequestsPerSecond()
+	{
+		return this.requestsPerSecond;
+	}
+
+	/**
+	 * @return the number of navigations that may be made back to back before the rate applies.
+	 */
+	public int getBurst()
+	{
+		return this.burst;
+	}
+
+	/**
+	 * @return the maximum number of concurrent navigations, or zero if concurrency is not limited.
+	 */
+	public int getMaxConcurrency()
+	{
+		return this.maxConcurrency;
+	}
+
+	/**
+	 * @return the lowest the adaptive concurrency limit is lowered to, or zero if concurrency is not adaptive.
+	 */
+	public int getMinConcurrency()
+	{
+		return this.minConcurrency;
+	}
+
+	/**
+	 * @return the latency above which the adaptive concurrency limit is lowered, or null if latency is not considered.
+	 */
+	public Duration getLatencyTarget()
+	{
+		return this.latencyTarget;
+	}
+
+	/**
+	 * @return true if the concurrency limit adapts to the host's latency and failures.
+	 */
+	public boolean isAdaptive()
+	{
+		return this.minConcurrency > 0;
+	}
+
+	/**
+	 * @return true if the rate is limited.
+	 */
+	public boolean isRateLimited()
+	{
+		return this.requestsPerSecond > 0;
+	}
+
+	/**
+	 * @return true if concurrency is limited.
+	 */
+	public boolean isConcurrencyLimited()
+	{
+		return this.maxConcurrency > 0;
+	}
+
+	@Override
+	public String toString()
+	{
+		return "HostLimits{requestsPerSecond=" + this.requestsPerSecond + ", burst=" + this.burst
+			+ ", maxConcurrency=" + this.maxConcurrency + ", minConcurrency=" + this.minConcurrency
+			+ ", latencyTarget=" + this.latencyTarget + "}";
+	}
+}
@@ -0,0 +1,150 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2024 James Amoore.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package io.github.jamoamo.webjourney.api.politeness;
+
+import java.time.Duration;
+
+/**
+ * A snapshot of the navigations scheduled for a single host and the limits they are currently scheduled under.
+ *
+ * @author James Amoore
+ */
+public final class HostStatistics
+{
+	private final String host;
+	private final HostLimits limits;
+	private final int concurrencyLimit;
+	private final int inFlight;
+	private final long successes;
+	private final long failures;
+	private final long navigationErrors;
+	private final long retries;
+	private final long limitDecreases;
+	private final Duration averageLatency;
+
+	HostStatistics(String host, HostLimits limits, int concurrencyLimit, int inFlight, long successes, long failures,
+		long navigationErrors, long retries, long limitDecreases, Duration averageLatency)
+	{
+		this.host = host;
+		this.limits = limits;
+		this.concurrencyLimit = concurrencyLimit;
+		this.inFlight = inFlight;
+		this.successes = successes;
+		this.failures = failures;
+		this.navigationErrors = navigationErrors;
+		this.retries = retries;
+		this.limitDecreases = limitDecreases;
+		this.averageLatency = averageLatency;
+	}
+
+	/**
+	 * @return the host.
+	 */
+	public String getHost()
+	{
+		return this.host;
+	}
+
+	/**
+	 * @return the configured limits of the host.
+	 */
+	public HostLimits getLimits()
+	{
+		return this.limits;
+	}
+
+	/**
+	 * @return the number of concurrent navigations currently allowed, or zero if concurrency is not limited. For
+	 * adaptive limits this is the limit the controller has currently settled on.
+	 */
+	public int getConcurrencyLimit()
+	{
+		return this.concurrencyLimit;
+	}
+
+	/**
+	 * @return the number of navigations in progress.
+	 */
+	public int getInFlight()
+	{
+		return this.inFlight;
+	}
+
+	/**
+	 * @return the number of navigations that succeeded.
+	 */
+	public long getSuccesses()
+	{
+		return this.successes;
+	}
+
+	/**
+	 * @return the number of navigations that failed.
+	 */
+	public long getFailures()
+	{
+		return this.failures;
+	}
+
+	/**
+	 * @return the number of failed navigations caused by a navigation error.
+	 */
+	public long getNavigationErrors()
+	{
+		return this.navigationErrors;
+	}
+
+	/**
+	 * @return the number of retries of actions that followed a successful navigation to the host.
+	 */
+	public long getRetries()
+	{
+		return this.retries;
+	}
+
+	/**
+	 * @return the number of times the adaptive concurrency limit has been lowered.
+	 */
+	public long getLimitDecreases()
+	{
+		return this.limitDecreases;
+	}
+
+	/**
+	 * @return the exponentially weighted average latency of successful navigations.
+	 */
+	public Duration getAverageLatency()
+	{
+		return this.averageLatency;
+	}
+
+	@Override
+	public String toString()
+	{
+		return "HostStatistics{host=" + this.host + ", concurrencyLimit=" + this.concurrencyLimit
+			+ ", inFlight=" + this.inFlight + ", successes=" + this.successes + ", failures=" + this.failures
+			+ ", navigationErrors=" + this.navigationErrors + ", retries=" + this.retries
+			+ ", limitDecreases=" + this.limitDecreases + ", averageLatency=" + this.averageLatency + "}";
+	}
+}
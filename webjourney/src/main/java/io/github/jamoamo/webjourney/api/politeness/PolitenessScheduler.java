@@ -0,0 +1,341 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2024 James Amoore.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package io.github.jamoamo.webjourney.api.politeness;
+
+import io.github.jamoamo.webjourney.JourneyException;
+import io.github.jamoamo.webjourney.api.Deadline;
+import io.github.jamoamo.webjourney.api.DeadlineExceededException;
+import io.github.jamoamo.webjourney.api.IRetryListener;
+import java.net.URL;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Schedules navigations so that each host is only visited within its politeness limits.
+ * <p>
+ * Every host has its own token bucket and concurrency slots, so a caller only ever waits for the host it is about to
+ * visit. Navigations to other hosts are never queued behind a throttled host. The {@link #shared() shared} scheduler
+ * is used by every navigation made by a journey, which makes the limits a budget for the whole JVM rather than for a
+ * single journey.
+ * <p>
+ * Hosts are unlimited by default. Limits are set for all hosts with {@link #setDefaultLimits(HostLimits)} or for a
+ * single host with {@link #setHostLimits(String, HostLimits)}. Changing limits applies to navigations scheduled after
+ * the change; navigations already in progress complete under the limits they were admitted with.
+ * <p>
+ * Adaptive concurrency limits are driven by the outcome of each navigation, as reported when its {@link Permit} is
+ * closed, and by retries reported through {@link #onRetry(int, Throwable)}. A retry is attributed to the host the
+ * retrying thread last navigated to successfully. The current limits and the signals behind them are available from
+ * {@link #getStatistics()}.
+ *
+ * @author James Amoore
+ */
+public final class PolitenessScheduler implements IRetryListener
+{
+	private static final Logger LOGGER = LoggerFactory.getLogger(PolitenessScheduler.class);
+	private static final PolitenessScheduler SHARED = new PolitenessScheduler();
+
+	private final Map<String, HostBucket> buckets = new ConcurrentHashMap<>();
+	private final Map<String, HostLimits> hostLimits = new ConcurrentHashMap<>();
+	private final ThreadLocal<HostBucket> lastNavigated = new ThreadLocal<>();
+	private volatile HostLimits defaultLimits = HostLimits.unlimited();
+
+	/**
+	 * Creates a scheduler that is independent of the shared scheduler.
+	 */
+	public PolitenessScheduler()
+	{
+	}
+
+	/**
+	 * @return the scheduler shared by all journeys in the JVM.
+	 */
+	public static PolitenessScheduler shared()
+	{
+		return SHARED;
+	}
+
+	/**
+	 * Sets the limits for every host that does not have limits of its own.
+	 *
+	 * @param limits the limits. Null resets to unlimited.
+	 */
+	public void setDefaultLimits(HostLimits limits)
+	{
+		this.defaultLimits = limits == null ? HostLimits.unlimited() : limits;
+		this.buckets.keySet().removeIf(host -> !this.hostLimits.containsKey(host));
+	}
+
+	/**
+	 * @return the limits for hosts that do not have limits of their own.
+	 */
+	public HostLimits getDefaultLimits()
+	{
+		return this.defaultLimits;
+	}
+
+	/**
+	 * Sets the limits of a single host.
+	 *
+	 * @param host the host name, for example {@code www.example.com}.
+	 * @param limits the limits. Null removes the host's limits so that the default limits apply.
+	 */
+	public void setHostLimits(String host, HostLimits limits)
+	{
+		String key = normalise(host);
+		if(key == null)
+		{
+			throw new IllegalArgumentException("Host cannot be empty.");
+		}
+		if(limits == null)
+		{
+			this.hostLimits.remove(key);
+		}
+		else
+		{
+			this.hostLimits.put(key, limits);
+		}
+		this.buckets.remove(key);
+	}
+
+	/**
+	 * Retrieves the limits applied to a host.
+	 *
+	 * @param host the host name.
+	 * @return the host's limits, or the default limits if the host has none of its own.
+	 */
+	public HostLimits getLimits(String host)
+	{
+		String key = normalise(host);
+		HostLimits limits = key == null ? null : this.hostLimits.get(key);
+		return limits == null ? this.defaultLimits : limits;
+	}
+
+	/**
+	 * Retrieves the number of navigations to a host that are currently in progress.
+	 *
+	 * @param host the host name.
+	 * @return the number of navigations in progress.
+	 */
+	public int getInFlight(String host)
+	{
+		String key = normalise(host);
+		HostBucket bucket = key == null ? null : this.buckets.get(key);
+		return bucket == null ? 0 : bucket.getInFlight();
+	}
+
+	/**
+	 * Retrieves a snapshot of the navigations scheduled for a host.
+	 *
+	 * @param host the host name.
+	 * @return the statistics, or an empty optional if no navigation to the host has been scheduled.
+	 */
+	public Optional<HostStatistics> getStatistics(String host)
+	{
+		String key = normalise(host);
+		HostBucket bucket = key == null ? null : this.buckets.get(key);
+		return bucket == null ? Optional.empty() : Optional.of(bucket.statistics());
+	}
+
+	/**
+	 * @return a snapshot of the navigations scheduled for every host, ordered by host name.
+	 */
+	public List<HostStatistics> getStatistics()
+	{
+		return this.buckets.values().stream()
+			.map(HostBucket::statistics)
+			.sorted(Comparator.comparing(HostStatistics::getHost))
+			.toList();
+	}
+
+	/**
+	 * Lowers the adaptive concurrency of the host the current thread last navigated to successfully, as an action
+	 * that followed the navigation is being retried. Each navigation is only penalised for one retry; a retry of a
+	 * failed navigation has already been counted as a failure.
+	 *
+	 * @param attempt the number of attempts made so far.
+	 * @param failure the failure of the last attempt.
+	 */
+	@Override
+	public void onRetry(int attempt, Throwable failure)
+	{
+		HostBucket bucket = this.lastNavigated.get();
+		if(bucket != null)
+		{
+			this.lastNavigated.remove();
+			bucket.retried();
+		}
+	}
+
+	/**
+	 * Removes all limits and forgets the state of every host.
+	 */
+	public void reset()
+	{
+		this.hostLimits.clear();
+		this.defaultLimits = HostLimits.unlimited();
+		this.buckets.clear();
+	}
+
+	/**
+	 * Waits until a navigation to the URL's host is permitted.
+	 * <p>
+	 * The returned permit holds one of the host's concurrency slots and must be closed once the navigation completes.
+	 * URLs without a host are always permitted immediately.
+	 *
+	 * @param url the URL that is about to be navigated to.
+	 * @param deadline the deadline of the navigation. The scheduler does not wait beyond it.
+	 * @return the permit.
+	 * @throws DeadlineExceededException if the navigation cannot be permitted before the deadline.
+	 * @throws JourneyException if the thread is interrupted while waiting.
+	 */
+	public Permit acquire(URL url, Deadline deadline)
+	{
+		String host = url == null ? null : normalise(url.getHost());
+		if(host == null)
+		{
+			return Permit.NONE;
+		}
+		Deadline bound = deadline == null ? Deadline.none() : deadline;
+		HostBucket bucket = this.buckets.computeIfAbsent(host, h -> new HostBucket(h, getLimits(h)));
+		try
+		{
+			if(!bucket.acquireSlot(bound.isBounded() ? bound.remaining().toNanos() : -1))
+			{
+				throw new DeadlineExceededException("Deadline exceeded waiting for a navigation slot for host " + host);
+			}
+		}
+		catch(InterruptedException ex)
+		{
+			throw interrupted(host, ex);
+		}
+
+		try
+		{
+			waitForToken(bucket, bound);
+		}
+		catch(RuntimeException ex)
+		{
+			bucket.releaseSlot();
+			throw ex;
+		}
+		return new Permit(this, bucket);
+	}
+
+	private void waitForToken(HostBucket bucket, Deadline deadline)
+	{
+		long waitNanos = bucket.reserveToken();
+		if(waitNanos <= 0)
+		{
+			return;
+		}
+		if(deadline.isBounded() && waitNanos > deadline.remaining().toNanos())
+		{
+			bucket.refundToken();
+			throw new DeadlineExceededException("Deadline exceeded waiting to navigate to host " + bucket.getHost());
+		}
+		LOGGER.debug("Delaying navigation to {} by {}ms", bucket.getHost(), TimeUnit.NANOSECONDS.toMillis(waitNanos));
+		try
+		{
+			TimeUnit.NANOSECONDS.sleep(waitNanos);
+		}
+		catch(InterruptedException ex)
+		{
+			bucket.refundToken();
+			throw interrupted(bucket.getHost(), ex);
+		}
+	}
+
+	private static JourneyException interrupted(String host, InterruptedException ex)
+	{
+		Thread.currentThread().interrupt();
+		return new JourneyException("Interrupted waiting to navigate to host " + host, ex);
+	}
+
+	private static String normalise(String host)
+	{
+		if(host == null || host.isBlank())
+		{
+			return null;
+		}
+		return host.trim().toLowerCase(Locale.ROOT);
+	}
+
+	/**
+	 * Permission to perform a single navigation. Closing the permit releases the host's concurrency slot and records
+	 * the outcome of the navigation. A navigation that fails must be reported with {@link #failed(Throwable)} before
+	 * the permit is closed.
+	 */
+	public static final class Permit implements AutoCloseable
+	{
+		private static final Permit NONE = new Permit(null, null);
+
+		private final PolitenessScheduler scheduler;
+		private final HostBucket bucket;
+		private final long startNanos = System.nanoTime();
+		private final AtomicBoolean released = new AtomicBoolean();
+		private volatile Throwable failure;
+
+		private Permit(PolitenessScheduler scheduler, HostBucket bucket)
+		{
+			this.scheduler = scheduler;
+			this.bucket = bucket;
+		}
+
+		/**
+		 * Reports that the navigation failed.
+		 *
+		 * @param cause the failure.
+		 */
+		public void failed(Throwable cause)
+		{
+			this.failure = cause;
+		}
+
+		@Override
+		public void close()
+		{
+			if(this.bucket == null || !this.released.compareAndSet(false, true))
+			{
+				return;
+			}
+			this.bucket.complete(System.nanoTime() - this.startNanos, this.failure);
+			if(this.failure == null)
+			{
+				this.scheduler.lastNavigated.set(this.bucket);
+			}
+			else
+			{
+				this.scheduler.lastNavigated.remove();
+			}
+		}
+	}
+}
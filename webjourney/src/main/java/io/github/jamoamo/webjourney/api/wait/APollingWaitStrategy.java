@@ -0,0 +1,156 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2024 James Amoore.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package io.github.jamoamo.webjourney.api.wait;
+
+import io.github.jamoamo.webjourney.api.Deadline;
+import io.github.jamoamo.webjourney.api.IJourneyContext;
+import io.github.jamoamo.webjourney.api.web.IBrowser;
+import io.github.jamoamo.webjourney.api.web.IBrowserWindow;
+import java.time.Duration;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Base class for wait strategies that repeatedly poll a condition in the active browser window.
+ * <p>
+ * A wait gives up at its timeout or at the journey's {@link Deadline deadline}, whichever is sooner.
+ * <p>
+ * If there is no active window, or the window cannot evaluate the condition, the condition is treated as holding so
+ * that the journey is not held up by a wait that can never complete.
+ *
+ * @author James Amoore
+ */
+abstract class APollingWaitStrategy implements IBoundedWaitStrategy
+{
+	private static final Logger LOGGER = LoggerFactory.getLogger(APollingWaitStrategy.class);
+
+	private final Duration timeout;
+	private final Duration pollInterval;
+
+	APollingWaitStrategy(Duration timeout, Duration pollInterval)
+	{
+		if(timeout == null || timeout.isNegative())
+		{
+			throw new IllegalArgumentException("Timeout must not be null or negative.");
+		}
+		if(pollInterval == null || pollInterval.isNegative() || pollInterval.isZero())
+		{
+			throw new IllegalArgumentException("Poll interval must be positive.");
+		}
+		this.timeout = timeout;
+		this.pollInterval = pollInterval;
+	}
+
+	/**
+	 * Creates the condition to poll for a single wait. The condition may hold state between polls.
+	 * @return a new condition.
+	 */
+	protected abstract WaitCondition newCondition();
+
+	/**
+	 * @return the maximum time to wait for the condition.
+	 */
+	public Duration getTimeout()
+	{
+		return this.timeout;
+	}
+
+	@Override
+	public Duration getMaximumWait()
+	{
+		return this.timeout;
+	}
+
+	@Override
+	public boolean await(IJourneyContext context, Deadline deadline)
+		throws InterruptedException
+	{
+		IBrowserWindow window = getActiveWindow(context);
+		if(window == null)
+		{
+			return true;
+		}
+
+		WaitCondition condition = newCondition();
+		long start = System.nanoTime();
+		Duration waitTimeout = deadline.bound(this.timeout);
+		long timeoutNanos = waitTimeout.toNanos();
+		while(true)
+		{
+			long elapsedNanos = System.nanoTime() - start;
+			Boolean satisfied = evaluate(condition, window, elapsedNanos);
+			if(satisfied == null || satisfied)
+			{
+				return true;
+			}
+
+			long remainingNanos = timeoutNanos - elapsedNanos;
+			if(remainingNanos <= 0)
+			{
+				LOGGER.debug("Timed out after {}ms waiting for {}.", waitTimeout.toMillis(), this);
+				return false;
+			}
+			Thread.sleep(Math.max(1, Math.min(this.pollInterval.toMillis(), remainingNanos / 1_000_000)));
+		}
+	}
+
+	private Boolean evaluate(WaitCondition condition, IBrowserWindow window, long elapsedNanos)
+	{
+		try
+		{
+			return condition.check(window, elapsedNanos);
+		}
+		catch(RuntimeException ex)
+		{
+			// The page may be mid navigation; try again on the next poll.
+			LOGGER.trace("Wait condition could not be evaluated: {}", ex.getMessage());
+			return false;
+		}
+	}
+
+	private static IBrowserWindow getActiveWindow(IJourneyContext context)
+	{
+		IBrowser browser = context == null ? null : context.getBrowser();
+		if(browser == null)
+		{
+			return null;
+		}
+		return browser.getActiveWindow();
+	}
+
+	/**
+	 * A condition polled by a wait.
+	 */
+	@FunctionalInterface
+	interface WaitCondition
+	{
+		/**
+		 * Checks the condition.
+		 * @param window the window to check the condition in.
+		 * @param elapsedNanos the time since the wait started, in nanoseconds.
+		 * @return true if the condition holds, false if not, or null if the condition cannot be evaluated in the window.
+		 */
+		Boolean check(IBrowserWindow window, long elapsedNanos);
+	}
+}
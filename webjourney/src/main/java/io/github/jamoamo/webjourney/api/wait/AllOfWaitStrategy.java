@@ -0,0 +1,90 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2024 James Amoore.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package io.github.jamoamo.webjourney.api.wait;
+
+import io.github.jamoamo.webjourney.api.Deadline;
+import io.github.jamoamo.webjourney.api.IJourneyContext;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Waits for each of a number of strategies in turn.
+ * <p>
+ * If the wait has a timeout, the strategies share it: each gives up when the time left of the timeout runs out, rather
+ * than at its own timeout. Strategies that cannot be bounded this way are waited for as they are.
+ *
+ * @author James Amoore
+ */
+final class AllOfWaitStrategy implements IBoundedWaitStrategy
+{
+	private final List<IWaitStrategy> strategies;
+	private final Duration timeout;
+
+	AllOfWaitStrategy(List<IWaitStrategy> strategies, Duration timeout)
+	{
+		if(timeout != null && timeout.isNegative())
+		{
+			throw new IllegalArgumentException("Timeout must not be negative.");
+		}
+		this.strategies = List.copyOf(strategies);
+		this.timeout = timeout;
+	}
+
+	@Override
+	public boolean await(IJourneyContext context, Deadline deadline)
+		throws InterruptedException
+	{
+		Deadline shared = this.timeout == null ? deadline : deadline.min(this.timeout);
+		boolean satisfied = true;
+		for(IWaitStrategy strategy : this.strategies)
+		{
+			satisfied &= strategy instanceof IBoundedWaitStrategy bounded
+				? bounded.await(context, shared)
+				: strategy.await(context);
+		}
+		return satisfied;
+	}
+
+	@Override
+	public Duration getMaximumWait()
+	{
+		Duration total = Duration.ZERO;
+		for(IWaitStrategy strategy : this.strategies)
+		{
+			Duration wait = strategy.getMaximumWait();
+			if(wait == null)
+			{
+				return null;
+			}
+			total = total.plus(wait);
+		}
+		return this.timeout == null || total.compareTo(this.timeout) < 0 ? total : this.timeout;
+	}
+
+	@Override
+	public String toString()
+	{
+		return this.strategies.toString();
+	}
+}
@@ -0,0 +1,72 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2024 James Amoore.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package io.github.jamoamo.webjourney.api.wait;
+
+import io.github.jamoamo.webjourney.api.web.IBrowserWindow;
+import io.github.jamoamo.webjourney.api.web.PageLoadStrategy;
+import java.time.Duration;
+
+/**
+ * Waits for the document in the active window to finish loading.
+ * <p>
+ * If the window's {@link PageLoadStrategy page load strategy} does not wait for subresources, the document is ready
+ * once it has been parsed, so that the wait does not undo the time the strategy saves.
+ *
+ * @author James Amoore
+ */
+final class DocumentReadyWaitStrategy extends APollingWaitStrategy
+{
+	private static final String READY_STATE_SCRIPT = "return document.readyState;";
+
+	DocumentReadyWaitStrategy(Duration timeout, Duration pollInterval)
+	{
+		super(timeout, pollInterval);
+	}
+
+	@Override
+	protected WaitCondition newCondition()
+	{
+		return (window, elapsedNanos) ->
+		{
+			Object readyState = window.executeScript(READY_STATE_SCRIPT);
+			if(readyState == null)
+			{
+				return null;
+			}
+			return "complete".equals(readyState) || "interactive".equals(readyState) && returnsEarly(window);
+		};
+	}
+
+	private static boolean returnsEarly(IBrowserWindow window)
+	{
+		PageLoadStrategy strategy = window.getPageLoadStrategy();
+		return strategy != null && strategy.returnsEarly();
+	}
+
+	@Override
+	public String toString()
+	{
+		return "document ready";
+	}
+}
@@ -0,0 +1,78 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2024 James Amoore.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package io.github.jamoamo.webjourney.api.wait;
+
+import java.time.Duration;
+
+/**
+ * Waits for the DOM in the active window to stop changing for a quiet period.
+ * <p>
+ * A mutation observer is installed in the page on the first poll, and records the time of the latest DOM mutation.
+ *
+ * @author James Amoore
+ */
+final class DomStableWaitStrategy extends APollingWaitStrategy
+{
+	private static final String MILLIS_SINCE_MUTATION_SCRIPT = ""
+		+ "var w = window;"
+		+ "if (!w.__webjourneyDom) {"
+		+ "  var d = {last: Date.now()};"
+		+ "  w.__webjourneyDom = d;"
+		+ "  new MutationObserver(function() { d.last = Date.now(); }).observe(document,"
+		+ "    {childList: true, subtree: true, attributes: true, characterData: true});"
+		+ "}"
+		+ "return Date.now() - w.__webjourneyDom.last;";
+
+	private final Duration quietPeriod;
+
+	DomStableWaitStrategy(Duration quietPeriod, Duration timeout, Duration pollInterval)
+	{
+		super(timeout, pollInterval);
+		if(quietPeriod == null || quietPeriod.isNegative())
+		{
+			throw new IllegalArgumentException("Quiet period must not be null or negative.");
+		}
+		this.quietPeriod = quietPeriod;
+	}
+
+	@Override
+	protected WaitCondition newCondition()
+	{
+		return (window, elapsedNanos) ->
+		{
+			Object sinceMutation = window.executeScript(MILLIS_SINCE_MUTATION_SCRIPT);
+			if(sinceMutation == null)
+			{
+				return null;
+			}
+			return ((Number) sinceMutation).longValue() >= this.quietPeriod.toMillis();
+		};
+	}
+
+	@Override
+	public String toString()
+	{
+		return "DOM stable for " + this.quietPeriod.toMillis() + "ms";
+	}
+}
@@ -0,0 +1,69 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2024 James Amoore.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package io.github.jamoamo.webjourney.api.wait;
+
+import java.time.Duration;
+
+/**
+ * Waits for an element matching an XPath expression to be present in the active window.
+ *
+ * @author James Amoore
+ */
+final class ElementPresentWaitStrategy extends APollingWaitStrategy
+{
+	private static final String ELEMENT_PRESENT_SCRIPT = "return document.evaluate(arguments[0], document, null, "
+		+ "XPathResult.FIRST_ORDERED_NODE_TYPE, null).singleNodeValue !== null;";
+
+	private final String xPath;
+
+	ElementPresentWaitStrategy(String xPath, Duration timeout, Duration pollInterval)
+	{
+		super(timeout, pollInterval);
+		if(xPath == null || xPath.isBlank())
+		{
+			throw new IllegalArgumentException("XPath must not be null or blank.");
+		}
+		this.xPath = xPath;
+	}
+
+	@Override
+	protected WaitCondition newCondition()
+	{
+		return (window, elapsedNanos) ->
+		{
+			Object present = window.executeScript(ELEMENT_PRESENT_SCRIPT, this.xPath);
+			if(present == null)
+			{
+				return null;
+			}
+			return Boolean.TRUE.equals(present);
+		};
+	}
+
+	@Override
+	public String toString()
+	{
+		return "element [" + this.xPath + "]";
+	}
+}
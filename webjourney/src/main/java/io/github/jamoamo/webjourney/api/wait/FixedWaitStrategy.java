@@ -0,0 +1,76 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2024 James Amoore.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package io.github.jamoamo.webjourney.api.wait;
+
+import io.github.jamoamo.webjourney.api.Deadline;
+import io.github.jamoamo.webjourney.api.IJourneyContext;
+import java.time.Duration;
+
+/**
+ * A wait strategy that always waits for a fixed duration, or until the journey's deadline if that is sooner.
+ *
+ * @author James Amoore
+ */
+final class FixedWaitStrategy implements IBoundedWaitStrategy
+{
+	private final Duration duration;
+
+	FixedWaitStrategy(Duration duration)
+	{
+		if(duration == null || duration.isNegative())
+		{
+			throw new IllegalArgumentException("Wait duration must not be null or negative.");
+		}
+		this.duration = duration;
+	}
+
+	Duration getDuration()
+	{
+		return this.duration;
+	}
+
+	@Override
+	public Duration getMaximumWait()
+	{
+		return this.duration;
+	}
+
+	@Override
+	public boolean await(IJourneyContext context, Deadline deadline)
+		throws InterruptedException
+	{
+		Duration wait = deadline.bound(this.duration);
+		if(!wait.isZero())
+		{
+			Thread.sleep(wait);
+		}
+		return wait.equals(this.duration);
+	}
+
+	@Override
+	public String toString()
+	{
+		return "fixed wait of " + this.duration.toMillis() + "ms";
+	}
+}
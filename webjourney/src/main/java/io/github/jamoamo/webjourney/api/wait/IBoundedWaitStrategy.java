@@ -0,0 +1,53 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2024 James Amoore.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package io.github.jamoamo.webjourney.api.wait;
+
+import io.github.jamoamo.webjourney.api.Deadline;
+import io.github.jamoamo.webjourney.api.IJourneyContext;
+
+/**
+ * A wait strategy that can be bounded by a deadline other than the journey's, so that strategies waited for in turn
+ * can share one time limit.
+ *
+ * @author James Amoore
+ */
+interface IBoundedWaitStrategy extends IWaitStrategy
+{
+	/**
+	 * Waits until the strategy's condition holds, giving up no later than a deadline.
+	 * @param context the context of the journey being waited in.
+	 * @param deadline the deadline to give up at. Must not be later than the journey's deadline.
+	 * @return true if the condition holds, false if the wait timed out first.
+	 * @throws InterruptedException if the waiting thread is interrupted.
+	 */
+	boolean await(IJourneyContext context, Deadline deadline)
+		throws InterruptedException;
+
+	@Override
+	default boolean await(IJourneyContext context)
+		throws InterruptedException
+	{
+		return await(context, Deadline.of(context));
+	}
+}
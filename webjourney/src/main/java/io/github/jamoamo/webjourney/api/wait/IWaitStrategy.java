@@ -0,0 +1,56 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2024 James Amoore.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package io.github.jamoamo.webjourney.api.wait;
+
+import io.github.jamoamo.webjourney.api.IJourneyContext;
+import java.time.Duration;
+
+/**
+ * A strategy for waiting before or after an action is performed.
+ * <p>
+ * Condition based strategies return as soon as their condition holds, or once their timeout elapses. A strategy that
+ * times out does not fail the journey; the following action is still attempted.
+ *
+ * @author James Amoore
+ */
+public interface IWaitStrategy
+{
+	/**
+	 * Waits until the strategy's condition holds.
+	 * @param context the context of the journey being waited in.
+	 * @return true if the condition holds, false if the wait timed out first.
+	 * @throws InterruptedException if the waiting thread is interrupted.
+	 */
+	boolean await(IJourneyContext context)
+		throws InterruptedException;
+
+	/**
+	 * Gets the longest the strategy waits, before the journey's deadline is taken into account.
+	 * @return the maximum wait, or null if the strategy does not know how long it may wait.
+	 */
+	default Duration getMaximumWait()
+	{
+		return null;
+	}
+}
@@ -0,0 +1,112 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2024 James Amoore.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package io.github.jamoamo.webjourney.api.wait;
+
+import io.github.jamoamo.webjourney.api.web.IBrowserWindow;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Waits for network activity in the active window to stop for an idle period.
+ * <p>
+ * The page is considered idle when it has finished loading, no fetch or XMLHttpRequest requests are outstanding and no
+ * new resources have been loaded for the idle period. Outstanding requests are tracked by instrumenting fetch and
+ * XMLHttpRequest on the first poll, so requests started before then are only seen through the resource count.
+ *
+ * @author James Amoore
+ */
+final class NetworkIdleWaitStrategy extends APollingWaitStrategy
+{
+	private static final String NETWORK_STATE_SCRIPT = ""
+		+ "var w = window;"
+		+ "if (!w.__webjourneyNetwork) {"
+		+ "  var n = {pending: 0};"
+		+ "  w.__webjourneyNetwork = n;"
+		+ "  if (w.fetch) {"
+		+ "    var f = w.fetch;"
+		+ "    w.fetch = function() {"
+		+ "      n.pending++;"
+		+ "      return f.apply(this, arguments).finally(function() { n.pending--; });"
+		+ "    };"
+		+ "  }"
+		+ "  var send = XMLHttpRequest.prototype.send;"
+		+ "  XMLHttpRequest.prototype.send = function() {"
+		+ "    n.pending++;"
+		+ "    this.addEventListener('loadend', function() { n.pending--; });"
+		+ "    return send.apply(this, arguments);"
+		+ "  };"
+		+ "}"
+		+ "return [document.readyState, w.__webjourneyNetwork.pending,"
+		+ "  performance.getEntriesByType('resource').length];";
+
+	private final Duration idlePeriod;
+
+	NetworkIdleWaitStrategy(Duration idlePeriod, Duration timeout, Duration pollInterval)
+	{
+		super(timeout, pollInterval);
+		if(idlePeriod == null || idlePeriod.isNegative())
+		{
+			throw new IllegalArgumentException("Idle period must not be null or negative.");
+		}
+		this.idlePeriod = idlePeriod;
+	}
+
+	@Override
+	protected WaitCondition newCondition()
+	{
+		return new WaitCondition()
+		{
+			private long resourceCount = -1;
+			private long idleSinceNanos;
+
+			@Override
+			public Boolean check(IBrowserWindow window, long elapsedNanos)
+			{
+				Object state = window.executeScript(NETWORK_STATE_SCRIPT);
+				if(state == null)
+				{
+					return null;
+				}
+				List<?> values = (List<?>) state;
+				boolean loaded = "complete".equals(values.get(0));
+				long pending = ((Number) values.get(1)).longValue();
+				long resources = ((Number) values.get(2)).longValue();
+
+				if(!loaded || pending > 0 || resources != this.resourceCount)
+				{
+					this.resourceCount = resources;
+					this.idleSinceNanos = elapsedNanos;
+					return false;
+				}
+				return elapsedNanos - this.idleSinceNanos >= NetworkIdleWaitStrategy.this.idlePeriod.toNanos();
+			}
+		};
+	}
+
+	@Override
+	public String toString()
+	{
+		return "network idle for " + this.idlePeriod.toMillis() + "ms";
+	}
+}
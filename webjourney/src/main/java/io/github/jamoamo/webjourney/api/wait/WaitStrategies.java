@@ -0,0 +1,198 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2024 James Amoore.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package io.github.jamoamo.webjourney.api.wait;
+
+import java.time.Duration;
+import java.util.Arrays;
+
+/**
+ * Factory for {@link IWaitStrategy wait strategies}.
+ * <p>
+ * Condition based strategies poll the active browser window and return as soon as the condition holds. Strategies
+ * created without an explicit timeout use {@link #DEFAULT_TIMEOUT}.
+ *
+ * @author James Amoore
+ */
+public final class WaitStrategies
+{
+	/**
+	 * The timeout used by condition based strategies when none is specified.
+	 */
+	public static final Duration DEFAULT_TIMEOUT = Duration.ofSeconds(10);
+
+	/**
+	 * The interval at which condition based strategies poll their condition.
+	 */
+	public static final Duration DEFAULT_POLL_INTERVAL = Duration.ofMillis(50);
+
+	private static final Duration DEFAULT_QUIET_PERIOD = Duration.ofMillis(200);
+	private static final Duration DEFAULT_IDLE_PERIOD = Duration.ofMillis(500);
+
+	private static final Duration DEFAULT_SETTLE_TIMEOUT = Duration.ofSeconds(2);
+
+	private static final IWaitStrategy PAGE_SETTLED =
+		allOf(DEFAULT_SETTLE_TIMEOUT, documentReady(), domStable(DEFAULT_QUIET_PERIOD));
+
+	private WaitStrategies()
+	{
+	}
+
+	/**
+	 * A strategy that does not wait.
+	 * @return the strategy.
+	 */
+	public static IWaitStrategy none()
+	{
+		return NoWaitStrategy.INSTANCE;
+	}
+
+	/**
+	 * A strategy that always waits for a fixed duration, whether or not the page is ready.
+	 * @param duration the duration to wait.
+	 * @return the strategy.
+	 */
+	public static IWaitStrategy fixed(Duration duration)
+	{
+		return new FixedWaitStrategy(duration);
+	}
+
+	/**
+	 * A strategy that waits for the document to finish loading, or to be parsed if the window's page load strategy
+	 * is eager or none.
+	 * @return the strategy.
+	 */
+	public static IWaitStrategy documentReady()
+	{
+		return documentReady(DEFAULT_TIMEOUT);
+	}
+
+	/**
+	 * A strategy that waits for the document to finish loading, or to be parsed if the window's page load strategy
+	 * is eager or none.
+	 * @param timeout the maximum time to wait.
+	 * @return the strategy.
+	 */
+	public static IWaitStrategy documentReady(Duration timeout)
+	{
+		return new DocumentReadyWaitStrategy(timeout, DEFAULT_POLL_INTERVAL);
+	}
+
+	/**
+	 * A strategy that waits for network activity to stop for half a second.
+	 * @return the strategy.
+	 */
+	public static IWaitStrategy networkIdle()
+	{
+		return networkIdle(DEFAULT_IDLE_PERIOD, DEFAULT_TIMEOUT);
+	}
+
+	/**
+	 * A strategy that waits for network activity to stop.
+	 * @param idlePeriod how long there must be no network activity for.
+	 * @param timeout the maximum time to wait.
+	 * @return the strategy.
+	 */
+	public static IWaitStrategy networkIdle(Duration idlePeriod, Duration timeout)
+	{
+		return new NetworkIdleWaitStrategy(idlePeriod, timeout, DEFAULT_POLL_INTERVAL);
+	}
+
+	/**
+	 * A strategy that waits for an element to be present.
+	 * @param xPath the XPath of the element.
+	 * @return the strategy.
+	 */
+	public static IWaitStrategy elementPresent(String xPath)
+	{
+		return elementPresent(xPath, DEFAULT_TIMEOUT);
+	}
+
+	/**
+	 * A strategy that waits for an element to be present.
+	 * @param xPath the XPath of the element.
+	 * @param timeout the maximum time to wait.
+	 * @return the strategy.
+	 */
+	public static IWaitStrategy elementPresent(String xPath, Duration timeout)
+	{
+		return new ElementPresentWaitStrategy(xPath, timeout, DEFAULT_POLL_INTERVAL);
+	}
+
+	/**
+	 * A strategy that waits for the DOM to stop changing.
+	 * @param quietPeriod how long the DOM must be unchanged for.
+	 * @return the strategy.
+	 */
+	public static IWaitStrategy domStable(Duration quietPeriod)
+	{
+		return domStable(quietPeriod, DEFAULT_TIMEOUT);
+	}
+
+	/**
+	 * A strategy that waits for the DOM to stop changing.
+	 * @param quietPeriod how long the DOM must be unchanged for.
+	 * @param timeout the maximum time to wait.
+	 * @return the strategy.
+	 */
+	public static IWaitStrategy domStable(Duration quietPeriod, Duration timeout)
+	{
+		return new DomStableWaitStrategy(quietPeriod, timeout, DEFAULT_POLL_INTERVAL);
+	}
+
+	/**
+	 * A strategy that waits for the document to finish loading and the DOM to stop changing briefly, for no more
+	 * than two seconds in all, so that pages that never stop changing do not hold up the journey. This is the default
+	 * wait after an action.
+	 * @return the strategy.
+	 */
+	public static IWaitStrategy pageSettled()
+	{
+		return PAGE_SETTLED;
+	}
+
+	/**
+	 * A strategy that waits for each of the provided strategies in turn.
+	 * @param strategies the strategies to wait for.
+	 * @return the strategy.
+	 */
+	public static IWaitStrategy allOf(IWaitStrategy... strategies)
+	{
+		return new AllOfWaitStrategy(Arrays.asList(strategies), null);
+	}
+
+	/**
+	 * A strategy that waits for each of the provided strategies in turn, sharing one timeout between them.
+	 * @param timeout the maximum time to wait for all the strategies.
+	 * @param strategies the strategies to wait for.
+	 * @return the strategy.
+	 */
+	public static IWaitStrategy allOf(Duration timeout, IWaitStrategy... strategies)
+	{
+		if(timeout == null)
+		{
+			throw new IllegalArgumentException("Timeout must not be null.");
+		}
+		return new AllOfWaitStrategy(Arrays.asList(strategies), timeout);
+	}
+}
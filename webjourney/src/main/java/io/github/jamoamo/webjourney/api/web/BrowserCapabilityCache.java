@@ -0,0 +1,285 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2024 James Amoore.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package io.github.jamoamo.webjourney.api.web;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.WeakHashMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.locks.ReentrantLock;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Remembers which browser factories can start a browser on this machine.
+ * <p>
+ * A factory is probed by starting a browser with the default options, checking that it responds while still on its
+ * blank start page, and exiting it again. No page is loaded, so probing works on workers without internet access.
+ * Probes run in the background on virtual threads, and concurrent requests for the same factory share one probe.
+ * <p>
+ * A result is cached until it is older than the revalidation interval. After that the cached result is still returned
+ * straight away while the factory is probed again in the background, so that looking up a factory never waits once it
+ * has been probed.
+ * <p>
+ * Each factory instance has its own result, so factories of the same class that are configured differently are
+ * probed separately. A factory that defines {@link Object#equals(Object) equality} shares its result with the factories
+ * it is equal to. Results are dropped once their factory is no longer referenced.
+ *
+ * @author James Amoore
+ */
+public final class BrowserCapabilityCache
+{
+	private static final Logger LOGGER = LoggerFactory.getLogger(BrowserCapabilityCache.class);
+	private static final Duration DEFAULT_REVALIDATE_AFTER = Duration.ofMinutes(10);
+	private static final BrowserCapabilityCache SHARED = new BrowserCapabilityCache(DEFAULT_REVALIDATE_AFTER);
+	private static final ThreadFactory PROBE_THREADS = Thread.ofVirtual().name("webjourney-browser-probe-", 1).factory();
+
+	private final ReentrantLock lock = new ReentrantLock();
+	private final Map<IBrowserFactory, Entry> entries = new WeakHashMap<>();
+	private final long revalidateAfterNanos;
+
+	/**
+	 * Creates a cache that is independent of the shared cache.
+	 * @param revalidateAfter how long a probe result is trusted before the factory is probed again.
+	 */
+	public BrowserCapabilityCache(Duration revalidateAfter)
+	{
+		Objects.requireNonNull(revalidateAfter, "Revalidation interval cannot be null");
+		if(revalidateAfter.isNegative() || revalidateAfter.isZero())
+		{
+			throw new IllegalArgumentException("Revalidation interval must be positive.");
+		}
+		this.revalidateAfterNanos = revalidateAfter.toNanos();
+	}
+
+	/**
+	 * @return the cache shared by all browser strategies in the JVM. Its results are revalidated every ten minutes.
+	 */
+	public static BrowserCapabilityCache shared()
+	{
+		return SHARED;
+	}
+
+	/**
+	 * Determines whether a factory can start a browser. The factory is probed in the background if it has not been
+	 * probed yet; a stale result is returned as is while the factory is probed again.
+	 * @param factory the browser factory.
+	 * @return a future that completes with true if the factory can start a browser. It is already complete if the
+	 * factory has been probed before.
+	 */
+	public CompletableFuture<Boolean> isAvailable(IBrowserFactory factory)
+	{
+		Objects.requireNonNull(factory, "Browser factory cannot be null");
+		Entry entry;
+		CompletableFuture<Boolean> result;
+		boolean probe;
+		this.lock.lock();
+		try
+		{
+			entry = this.entries.computeIfAbsent(factory, key -> new Entry());
+			result = entry.result;
+			probe = result == null
+				|| !entry.probing && result.isDone() && System.nanoTime() - entry.probedNanos >= this.revalidateAfterNanos;
+			if(probe)
+			{
+				entry.probing = true;
+				if(result == null)
+				{
+					result = new CompletableFuture<>();
+					entry.result = result;
+				}
+			}
+		}
+		finally
+		{
+			this.lock.unlock();
+		}
+		if(probe)
+		{
+			startProbe(factory, entry);
+		}
+		return result;
+	}
+
+	/**
+	 * Retrieves the cached result for a factory without probing it.
+	 * @param factory the browser factory.
+	 * @return true or false if the factory has been probed, or an empty optional if it has not.
+	 */
+	public Optional<Boolean> getCachedAvailability(IBrowserFactory factory)
+	{
+		Objects.requireNonNull(factory, "Browser factory cannot be null");
+		this.lock.lock();
+		try
+		{
+			Entry entry = this.entries.get(factory);
+			return entry != null && entry.result != null && entry.result.isDone() && !entry.result.isCompletedExceptionally()
+				? Optional.of(entry.result.join()) : Optional.empty();
+		}
+		finally
+		{
+			this.lock.unlock();
+		}
+	}
+
+	/**
+	 * Records that a factory failed to start a browser, so that it is passed over until it is revalidated.
+	 * @param factory the browser factory.
+	 */
+	public void markUnavailable(IBrowserFactory factory)
+	{
+		Objects.requireNonNull(factory, "Browser factory cannot be null");
+		this.lock.lock();
+		try
+		{
+			this.entries.computeIfAbsent(factory, key -> new Entry()).complete(false);
+		}
+		finally
+		{
+			this.lock.unlock();
+		}
+	}
+
+	/**
+	 * Forgets every probe result, so that each factory is probed again when it is next looked up.
+	 */
+	public void clear()
+	{
+		this.lock.lock();
+		try
+		{
+			this.entries.clear();
+		}
+		finally
+		{
+			this.lock.unlock();
+		}
+	}
+
+	@SuppressWarnings("IllegalCatch")
+	private void startProbe(IBrowserFactory factory, Entry entry)
+	{
+		PROBE_THREADS.newThread(() ->
+		{
+			boolean available;
+			try
+			{
+				available = probe(factory);
+			}
+			catch(Throwable ex)
+			{
+				// fail the lookups waiting on the probe rather than leaving them waiting forever
+				this.lock.lock();
+				try
+				{
+					entry.probing = false;
+					entry.fail(ex);
+				}
+				finally
+				{
+					this.lock.unlock();
+				}
+				throw ex;
+			}
+			this.lock.lock();
+			try
+			{
+				entry.probing = false;
+				entry.complete(available);
+			}
+			finally
+			{
+				this.lock.unlock();
+			}
+		}).start();
+	}
+
+	private static boolean probe(IBrowserFactory factory)
+	{
+		String name = BrowserStartupMetrics.factoryName(factory);
+		IBrowser browser;
+		try
+		{
+			browser = BrowserStartupMetrics.shared().time(factory, () -> factory.createBrowser(new DefaultBrowserOptions()));
+		}
+		catch(RuntimeException ex)
+		{
+			LOGGER.info("Browser factory {} cannot start a browser: {}", name, ex.getMessage());
+			return false;
+		}
+		try
+		{
+			boolean healthy = browser.isHealthy();
+			LOGGER.info("Browser factory {} is {}.", name, healthy ? "available" : "not responding");
+			return healthy;
+		}
+		catch(RuntimeException ex)
+		{
+			LOGGER.info("Browser from factory {} is not responding: {}", name, ex.getMessage());
+			return false;
+		}
+		finally
+		{
+			try
+			{
+				browser.exit();
+			}
+			catch(RuntimeException ex)
+			{
+				LOGGER.debug("Unable to exit probed browser.", ex);
+			}
+		}
+	}
+
+	/**
+	 * The probe result of a factory. Guarded by the cache's lock.
+	 */
+	private static final class Entry
+	{
+		private CompletableFuture<Boolean> result;
+		private long probedNanos;
+		private boolean probing;
+
+		private void complete(boolean available)
+		{
+			this.probedNanos = System.nanoTime();
+			if(this.result == null || !this.result.complete(available))
+			{
+				this.result = CompletableFuture.completedFuture(available);
+			}
+		}
+
+		private void fail(Throwable error)
+		{
+			this.probedNanos = System.nanoTime();
+			if(this.result == null || !this.result.completeExceptionally(error))
+			{
+				this.result = CompletableFuture.failedFuture(error);
+			}
+		}
+	}
+}
@@ -0,0 +1,937 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2024 James Amoore.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package io.github.jamoamo.webjourney.api.web;
+
+import io.github.jamoamo.webjourney.api.Deadline;
+import io.github.jamoamo.webjourney.api.DeadlineExceededException;
+import io.github.jamoamo.webjourney.api.IJourneyContext;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A pool of browsers created by a preferred browser strategy.
+ * <p>
+ * Browsers are created on demand up to the maximum size. Returned browsers are {@link IBrowser#reset() reset} and
+ * kept idle for the next lease; the most recently returned browser is leased first so that rarely needed browsers
+ * become idle long enough to be evicted. Idle browsers are health checked when they are leased and evicted if they are
+ * no longer usable. Browsers idle for longer than the maximum idle time are evicted as well, as long as the pool keeps
+ * its minimum size.
+ * <p>
+ * Every browser is created with the pool's {@link Builder#browserOptions(IBrowserOptions) browser options}, whether
+ * it is created for a lease or in the background, so a leased browser does not depend on whether the pool was warm.
+ * The options passed to {@link #lease(IBrowserOptions, IJourneyContext)} are not used. A browser created for a lease
+ * is given that lease's journey context, so journey specific browser arguments only apply to the browser they were
+ * first created for.
+ * <p>
+ * The pool can keep browsers ready before they are needed. It creates browsers in the background until at least
+ * {@link Builder#minIdle(int) minIdle} are idle, starting as soon as the pool is built and topping up whenever a
+ * browser is leased or evicted. {@link #warmUp(int)} creates a batch of browsers up front. Background browsers are
+ * created with no journey context. The number of browsers being created at once, in the
+ * background or for a lease, is bounded by {@link Builder#maxConcurrentCreations(int)} so that a burst of journeys
+ * does not overload the machine or the grid.
+ * <p>
+ * A {@link Builder#recyclePolicy(BrowserRecyclePolicy) recycle policy} retires browsers that have travelled too many
+ * journeys, grown too old or use too much memory. The policy is checked when a browser is returned. A replacement is
+ * then created in the background while the old browser stays in service, and the old browser is only exited once the
+ * replacement is idle, so recycling never leaves the pool short of a browser. While a replacement is being created
+ * the pool may briefly hold one browser more than its maximum size.
+ *
+ * @author James Amoore
+ */
+public final class BrowserPool implements IBrowserPool
+{
+	private static final Logger LOGGER = LoggerFactory.getLogger(BrowserPool.class);
+	private static final ThreadFactory CREATION_THREADS =
+		Thread.ofVirtual().name("webjourney-browser-creation-", 1).factory();
+
+	private final IPreferredBrowserStrategy strategy;
+	private final IBrowserOptions browserOptions;
+	private final int minSize;
+	private final int maxSize;
+	private final Duration maxIdleTime;
+	private final Duration leaseTimeout;
+	private final int minIdle;
+	private final Semaphore creations;
+	private final BrowserRecyclePolicy recyclePolicy;
+
+	private final ReentrantLock lock = new ReentrantLock();
+	private final Condition available = this.lock.newCondition();
+	private final Deque<IdleBrowser> idle = new ArrayDeque<>();
+	private final Set<IBrowser> leased = Collections.newSetFromMap(new IdentityHashMap<>());
+	private final Map<IBrowser, Lifecycle> lifecycles = new IdentityHashMap<>();
+	private int size;
+	private int pendingIdle;
+	private long recycled;
+	private boolean closed;
+
+	private BrowserPool(Builder builder)
+	{
+		this.strategy = builder.strategy;
+		this.browserOptions = builder.browserOptions;
+		this.minSize = builder.minSize;
+		this.maxSize = builder.maxSize;
+		this.maxIdleTime = builder.maxIdleTime;
+		this.leaseTimeout = builder.leaseTimeout;
+		this.minIdle = builder.minIdle;
+		this.creations = new Semaphore(builder.maxConcurrentCreations, true);
+		this.recyclePolicy = builder.recyclePolicy;
+	}
+
+	/**
+	 * Creates a builder for a pool of browsers created by the provided strategy.
+	 * @param strategy the strategy used to create browsers.
+	 * @return the builder.
+	 */
+	public static Builder builder(IPreferredBrowserStrategy strategy)
+	{
+		return new Builder(strategy);
+	}
+
+	@Override
+	public IBrowser lease(IBrowserOptions options, IJourneyContext journeyContext)
+	{
+		Deadline deadline = Deadline.of(journeyContext).min(this.leaseTimeout);
+		while(true)
+		{
+			IBrowser candidate = null;
+			List<IBrowser> expired = new ArrayList<>();
+			this.lock.lock();
+			try
+			{
+				while(candidate == null)
+				{
+					checkOpen();
+					evictExpired(expired);
+					if(!this.idle.isEmpty())
+					{
+						candidate = this.idle.pollFirst().browser;
+						this.leased.add(candidate);
+					}
+					else if(this.size < this.maxSize)
+					{
+						this.size++;
+						break;
+					}
+					else
+					{
+						awaitAvailable(deadline, journeyContext);
+					}
+				}
+			}
+			finally
+			{
+				this.lock.unlock();
+				expired.forEach(BrowserPool::exitQuietly);
+			}
+
+			if(candidate == null)
+			{
+				return create(journeyContext, deadline);
+			}
+			replenish();
+			if(isHealthy(candidate))
+			{
+				return candidate;
+			}
+			LOGGER.info("Evicting unhealthy browser from pool.");
+			invalidate(candidate);
+		}
+	}
+
+	/**
+	 * Creates browsers in parallel in the background and adds them to the pool as idle browsers, without exceeding
+	 * the maximum size.
+	 * @param count the number of browsers to create.
+	 * @return a future that completes once the browsers have been created. It completes exceptionally if any of them
+	 * could not be created.
+	 */
+	public CompletableFuture<Void> warmUp(int count)
+	{
+		int toCreate;
+		this.lock.lock();
+		try
+		{
+			checkOpen();
+			toCreate = Math.max(0, Math.min(count, this.maxSize - this.size));
+			this.size += toCreate;
+			this.pendingIdle += toCreate;
+		}
+		finally
+		{
+			this.lock.unlock();
+		}
+		LOGGER.info("Warming up {} browsers.", toCreate);
+		CompletableFuture<?>[] created = new CompletableFuture<?>[toCreate];
+		for(int i = 0; i < toCreate; i++)
+		{
+			created[i] = createIdle(null);
+		}
+		return CompletableFuture.allOf(created);
+	}
+
+	@Override
+	public void release(IBrowser browser)
+	{
+		boolean poolClosed;
+		Lifecycle lifecycle;
+		this.lock.lock();
+		try
+		{
+			if(!this.leased.remove(browser))
+			{
+				LOGGER.warn("Ignoring release of a browser that was not leased from the pool.");
+				return;
+			}
+			poolClosed = this.closed;
+			lifecycle = this.lifecycles.get(browser);
+			lifecycle.journeys++;
+		}
+		finally
+		{
+			this.lock.unlock();
+		}
+
+		if(poolClosed || lifecycle.retired)
+		{
+			discard(browser);
+			return;
+		}
+		if(shouldRecycle(browser, lifecycle))
+		{
+			startReplacement(browser, lifecycle);
+		}
+		if(!resetQuietly(browser))
+		{
+			discard(browser);
+			return;
+		}
+
+		this.lock.lock();
+		try
+		{
+			if(!this.closed && !lifecycle.retired)
+			{
+				this.idle.addFirst(new IdleBrowser(browser, System.nanoTime()));
+				this.available.signalAll();
+				return;
+			}
+		}
+		finally
+		{
+			this.lock.unlock();
+		}
+		discard(browser);
+	}
+
+	@Override
+	public void invalidate(IBrowser browser)
+	{
+		this.lock.lock();
+		try
+		{
+			if(!this.leased.remove(browser))
+			{
+				LOGGER.warn("Ignoring invalidation of a browser that was not leased from the pool.");
+				return;
+			}
+		}
+		finally
+		{
+			this.lock.unlock();
+		}
+		discard(browser);
+	}
+
+	@Override
+	public int getIdleCount()
+	{
+		this.lock.lock();
+		try
+		{
+			return this.idle.size();
+		}
+		finally
+		{
+			this.lock.unlock();
+		}
+	}
+
+	@Override
+	public int getLeasedCount()
+	{
+		this.lock.lock();
+		try
+		{
+			return this.leased.size();
+		}
+		finally
+		{
+			this.lock.unlock();
+		}
+	}
+
+	/**
+	 * @return the number of browsers that have been retired by the recycle policy.
+	 */
+	public long getRecycledCount()
+	{
+		this.lock.lock();
+		try
+		{
+			return this.recycled;
+		}
+		finally
+		{
+			this.lock.unlock();
+		}
+	}
+
+	/**
+	 * @return the number of browsers owned by the pool: idle, leased and being created or reset.
+	 */
+	public int getSize()
+	{
+		this.lock.lock();
+		try
+		{
+			return this.size;
+		}
+		finally
+		{
+			this.lock.unlock();
+		}
+	}
+
+	@Override
+	public void close()
+	{
+		List<IBrowser> browsers = new ArrayList<>();
+		this.lock.lock();
+		try
+		{
+			if(this.closed)
+			{
+				return;
+			}
+			this.closed = true;
+			this.idle.forEach(entry -> browsers.add(entry.browser));
+			this.idle.clear();
+			browsers.forEach(this.lifecycles::remove);
+			this.size -= browsers.size();
+			this.available.signalAll();
+		}
+		finally
+		{
+			this.lock.unlock();
+		}
+		LOGGER.info("Closing browser pool, exiting {} idle browsers.", browsers.size());
+		browsers.forEach(BrowserPool::exitQuietly);
+	}
+
+	private IBrowser create(IJourneyContext journeyContext, Deadline deadline)
+	{
+		IBrowser browser;
+		try
+		{
+			acquireCreation(deadline, journeyContext);
+			try
+			{
+				browser = this.strategy.getPreferredBrowser(this.browserOptions, journeyContext);
+			}
+			finally
+			{
+				this.creations.release();
+			}
+		}
+		catch(RuntimeException ex)
+		{
+			released();
+			throw ex;
+		}
+		if(browser == null)
+		{
+			released();
+			throw new BrowserPoolException("The browser strategy did not create a browser.");
+		}
+
+		this.lock.lock();
+		try
+		{
+			if(!this.closed)
+			{
+				this.leased.add(browser);
+				this.lifecycles.put(browser, new Lifecycle());
+				return browser;
+			}
+		}
+		finally
+		{
+			this.lock.unlock();
+		}
+		discard(browser);
+		throw new BrowserPoolException("The browser pool is closed.");
+	}
+
+	private void acquireCreation(Deadline deadline, IJourneyContext journeyContext)
+	{
+		try
+		{
+			if(!deadline.isBounded())
+			{
+				this.creations.acquire();
+			}
+			else if(!this.creations.tryAcquire(deadline.remaining().toNanos(), TimeUnit.NANOSECONDS))
+			{
+				if(Deadline.of(journeyContext).isExpired())
+				{
+					throw new DeadlineExceededException("Deadline exceeded waiting to create a browser.");
+				}
+				throw new BrowserPoolException("Timed out waiting to create a browser.");
+			}
+		}
+		catch(InterruptedException ex)
+		{
+			Thread.currentThread().interrupt();
+			throw new BrowserPoolException("Interrupted waiting to create a browser.", ex);
+		}
+	}
+
+	/**
+	 * Starts creating browsers in the background until the minimum number of idle browsers is reached.
+	 */
+	private void replenish()
+	{
+		int toCreate;
+		this.lock.lock();
+		try
+		{
+			if(this.closed)
+			{
+				return;
+			}
+			toCreate = Math.max(0, Math.min(this.minIdle - this.idle.size() - this.pendingIdle,
+				this.maxSize - this.size));
+			this.size += toCreate;
+			this.pendingIdle += toCreate;
+		}
+		finally
+		{
+			this.lock.unlock();
+		}
+		for(int i = 0; i < toCreate; i++)
+		{
+			createIdle(null);
+		}
+	}
+
+	/**
+	 * Creates a browser in the background and adds it to the idle browsers. The browser must already have been
+	 * counted in the size of the pool and the pending idle browsers.
+	 * @param replacing the browser the new browser replaces, which is retired once the new browser is idle. May be
+	 * null.
+	 */
+	private CompletableFuture<Void> createIdle(IBrowser replacing)
+	{
+		CompletableFuture<Void> created = new CompletableFuture<>();
+		CREATION_THREADS.newThread(() ->
+		{
+			IBrowser browser = null;
+			try
+			{
+				this.creations.acquire();
+				try
+				{
+					browser = this.strategy.getPreferredBrowser(this.browserOptions);
+				}
+				finally
+				{
+					this.creations.release();
+				}
+				if(browser == null)
+				{
+					throw new BrowserPoolException("The browser strategy did not create a browser.");
+				}
+			}
+			catch(InterruptedException ex)
+			{
+				idleCreationFailed(created, ex, replacing);
+				return;
+			}
+			catch(RuntimeException ex)
+			{
+				LOGGER.warn("Unable to create a browser for the pool: " + ex.getMessage());
+				idleCreationFailed(created, ex, replacing);
+				return;
+			}
+			addIdle(browser);
+			if(replacing != null)
+			{
+				retire(replacing);
+			}
+			created.complete(null);
+		}).start();
+		return created;
+	}
+
+	private void addIdle(IBrowser browser)
+	{
+		this.lock.lock();
+		try
+		{
+			this.pendingIdle--;
+			if(!this.closed)
+			{
+				this.idle.addFirst(new IdleBrowser(browser, System.nanoTime()));
+				this.lifecycles.put(browser, new Lifecycle());
+				this.available.signalAll();
+				return;
+			}
+			this.size--;
+		}
+		finally
+		{
+			this.lock.unlock();
+		}
+		exitQuietly(browser);
+	}
+
+	private void idleCreationFailed(CompletableFuture<Void> created, Exception ex, IBrowser replacing)
+	{
+		this.lock.lock();
+		try
+		{
+			this.pendingIdle--;
+			this.size--;
+			Lifecycle lifecycle = replacing == null ? null : this.lifecycles.get(replacing);
+			if(lifecycle != null)
+			{
+				// keep the old browser in service; it is considered for recycling again when it is next returned
+				lifecycle.replacing = false;
+			}
+			this.available.signalAll();
+		}
+		finally
+		{
+			this.lock.unlock();
+		}
+		created.completeExceptionally(ex);
+	}
+
+	private boolean shouldRecycle(IBrowser browser, Lifecycle lifecycle)
+	{
+		if(lifecycle.replacing)
+		{
+			return false;
+		}
+		OptionalLong memory = OptionalLong.empty();
+		if(this.recyclePolicy.samplesMemory())
+		{
+			try
+			{
+				memory = browser.getMemoryUsage();
+			}
+			catch(RuntimeException ex)
+			{
+				LOGGER.debug("Unable to sample browser memory.", ex);
+			}
+		}
+		return this.recyclePolicy.shouldRecycle(lifecycle.journeys,
+			Duration.ofNanos(System.nanoTime() - lifecycle.createdNanos), memory);
+	}
+
+	private void startReplacement(IBrowser browser, Lifecycle lifecycle)
+	{
+		this.lock.lock();
+		try
+		{
+			if(this.closed || lifecycle.replacing)
+			{
+				return;
+			}
+			lifecycle.replacing = true;
+			this.size++;
+			this.pendingIdle++;
+		}
+		finally
+		{
+			this.lock.unlock();
+		}
+		LOGGER.info("Recycling browser after {} journeys, starting its replacement.", lifecycle.journeys);
+		createIdle(browser);
+	}
+
+	/**
+	 * Retires a browser whose replacement is ready. An idle browser is exited straight away; a leased browser is exited
+	 * when it is returned.
+	 */
+	private void retire(IBrowser browser)
+	{
+		this.lock.lock();
+		try
+		{
+			Lifecycle lifecycle = this.lifecycles.get(browser);
+			if(lifecycle == null)
+			{
+				return;
+			}
+			lifecycle.retired = true;
+			this.recycled++;
+			Iterator<IdleBrowser> idleBrowsers = this.idle.iterator();
+			while(idleBrowsers.hasNext())
+			{
+				if(idleBrowsers.next().browser == browser)
+				{
+					idleBrowsers.remove();
+					this.lifecycles.remove(browser);
+					this.size--;
+					break;
+				}
+			}
+			if(this.lifecycles.containsKey(browser))
+			{
+				return;
+			}
+		}
+		finally
+		{
+			this.lock.unlock();
+		}
+		exitQuietly(browser);
+	}
+
+	private void awaitAvailable(Deadline deadline, IJourneyContext journeyContext)
+	{
+		try
+		{
+			if(!deadline.isBounded())
+			{
+				this.available.await();
+				return;
+			}
+			long remaining = deadline.remaining().toNanos();
+			if(remaining <= 0)
+			{
+				if(Deadline.of(journeyContext).isExpired())
+				{
+					throw new DeadlineExceededException("Deadline exceeded waiting for a browser from the pool.");
+				}
+				throw new BrowserPoolException("Timed out waiting for a browser from the pool.");
+			}
+			this.available.awaitNanos(remaining);
+		}
+		catch(InterruptedException ex)
+		{
+			Thread.currentThread().interrupt();
+			throw new BrowserPoolException("Interrupted waiting for a browser from the pool.", ex);
+		}
+	}
+
+	private void evictExpired(List<IBrowser> expired)
+	{
+		if(this.maxIdleTime == null)
+		{
+			return;
+		}
+		long now = System.nanoTime();
+		while(this.size > this.minSize && this.idle.size() > this.minIdle
+			&& now - this.idle.peekLast().idleSinceNanos > this.maxIdleTime.toNanos())
+		{
+			IBrowser browser = this.idle.pollLast().browser;
+			this.lifecycles.remove(browser);
+			expired.add(browser);
+			this.size--;
+		}
+	}
+
+	private void checkOpen()
+	{
+		if(this.closed)
+		{
+			throw new BrowserPoolException("The browser pool is closed.");
+		}
+	}
+
+	private void discard(IBrowser browser)
+	{
+		this.lock.lock();
+		try
+		{
+			this.lifecycles.remove(browser);
+		}
+		finally
+		{
+			this.lock.unlock();
+		}
+		released();
+		exitQuietly(browser);
+		replenish();
+	}
+
+	private void released()
+	{
+		this.lock.lock();
+		try
+		{
+			this.size--;
+			this.available.signalAll();
+		}
+		finally
+		{
+			this.lock.unlock();
+		}
+	}
+
+	private static boolean isHealthy(IBrowser browser)
+	{
+		try
+		{
+			return browser.isHealthy();
+		}
+		catch(RuntimeException ex)
+		{
+			LOGGER.debug("Browser health check failed.", ex);
+			return false;
+		}
+	}
+
+	private static boolean resetQuietly(IBrowser browser)
+	{
+		try
+		{
+			return browser.reset();
+		}
+		catch(RuntimeException ex)
+		{
+			LOGGER.info("Unable to reset browser, evicting it from the pool: " + ex.getMessage());
+			return false;
+		}
+	}
+
+	private static void exitQuietly(IBrowser browser)
+	{
+		try
+		{
+			browser.exit();
+		}
+		catch(RuntimeException ex)
+		{
+			LOGGER.warn("Unable to exit browser: " + ex.getMessage());
+		}
+	}
+
+	/**
+	 * The lifecycle of a browser owned by the pool. Guarded by the pool's lock.
+	 */
+	private static final class Lifecycle
+	{
+		private final long createdNanos = System.nanoTime();
+		private int journeys;
+		private boolean replacing;
+		private volatile boolean retired;
+	}
+
+	private static final class IdleBrowser
+	{
+		private final IBrowser browser;
+		private final long idleSinceNanos;
+
+		IdleBrowser(IBrowser browser, long idleSinceNanos)
+		{
+			this.browser = browser;
+			this.idleSinceNanos = idleSinceNanos;
+		}
+	}
+
+	/**
+	 * Builder for {@link BrowserPool}.
+	 */
+	public static final class Builder
+	{
+		private final IPreferredBrowserStrategy strategy;
+		private IBrowserOptions browserOptions = new DefaultBrowserOptions();
+		private int minSize;
+		private int maxSize = 1;
+		private Duration maxIdleTime;
+		private Duration leaseTimeout;
+		private int minIdle;
+		private int maxConcurrentCreations = Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+		private BrowserRecyclePolicy recyclePolicy = BrowserRecyclePolicy.never();
+
+		private Builder(IPreferredBrowserStrategy strategy)
+		{
+			if(strategy == null)
+			{
+				throw new IllegalArgumentException("strategy cannot be null");
+			}
+			this.strategy = strategy;
+		}
+
+		/**
+		 * Sets the options every browser in the pool is created with. Defaults to {@link DefaultBrowserOptions}.
+		 * @param options the browser options.
+		 * @return the current builder.
+		 */
+		public Builder browserOptions(IBrowserOptions options)
+		{
+			if(options == null)
+			{
+				throw new IllegalArgumentException("browserOptions cannot be null");
+			}
+			this.browserOptions = options;
+			return this;
+		}
+
+		/**
+		 * Sets the number of browsers that are kept even when they are idle. Defaults to zero.
+		 * @param min the minimum size.
+		 * @return the current builder.
+		 */
+		public Builder minSize(int min)
+		{
+			if(min < 0)
+			{
+				throw new IllegalArgumentException("minSize cannot be negative");
+			}
+			this.minSize = min;
+			return this;
+		}
+
+		/**
+		 * Sets the maximum number of browsers in the pool. Defaults to one.
+		 * @param max the maximum size.
+		 * @return the current builder.
+		 */
+		public Builder maxSize(int max)
+		{
+			if(max < 1)
+			{
+				throw new IllegalArgumentException("maxSize must be at least 1");
+			}
+			this.maxSize = max;
+			return this;
+		}
+
+		/**
+		 * Sets how long a browser may be idle before it is evicted.
+		 * @param idleTime the maximum idle time, or null to keep idle browsers until the pool is closed.
+		 * @return the current builder.
+		 */
+		public Builder maxIdleTime(Duration idleTime)
+		{
+			this.maxIdleTime = idleTime;
+			return this;
+		}
+
+		/**
+		 * Sets how long a lease waits for a browser when the pool is full. Leases never wait beyond the journey's
+		 * deadline.
+		 * @param timeout the lease timeout, or null to wait until a browser is released.
+		 * @return the current builder.
+		 */
+		public Builder leaseTimeout(Duration timeout)
+		{
+			this.leaseTimeout = timeout;
+			return this;
+		}
+
+		/**
+		 * Sets the number of idle browsers the pool keeps ready by creating browsers in the background. Defaults to
+		 * zero, which creates browsers only when they are leased.
+		 * @param min the minimum number of idle browsers.
+		 * @return the current builder.
+		 */
+		public Builder minIdle(int min)
+		{
+			if(min < 0)
+			{
+				throw new IllegalArgumentException("minIdle cannot be negative");
+			}
+			this.minIdle = min;
+			return this;
+		}
+
+		/**
+		 * Sets the maximum number of browsers that may be created at once. Defaults to half the available processors.
+		 * @param max the maximum number of concurrent browser creations.
+		 * @return the current builder.
+		 */
+		public Builder maxConcurrentCreations(int max)
+		{
+			if(max < 1)
+			{
+				throw new IllegalArgumentException("maxConcurrentCreations must be at least 1");
+			}
+			this.maxConcurrentCreations = max;
+			return this;
+		}
+
+		/**
+		 * Sets the policy that decides when a browser is retired and replaced. Defaults to never recycling browsers.
+		 * @param policy the recycle policy.
+		 * @return the current builder.
+		 */
+		public Builder recyclePolicy(BrowserRecyclePolicy policy)
+		{
+			this.recyclePolicy = policy == null ? BrowserRecyclePolicy.never() : policy;
+			return this;
+		}
+
+		/**
+		 * Builds the pool. If a minimum number of idle browsers is set, they start being created in the background.
+		 * @return the pool.
+		 * @throws IllegalArgumentException if the minimum size or minimum idle browsers exceed the maximum size.
+		 */
+		public BrowserPool build()
+		{
+			if(this.minSize > this.maxSize)
+			{
+				throw new IllegalArgumentException("minSize cannot exceed maxSize");
+			}
+			if(this.minIdle > this.maxSize)
+			{
+				throw new IllegalArgumentException("minIdle cannot exceed maxSize");
+			}
+			BrowserPool pool = new BrowserPool(this);
+			pool.replenish();
+			return pool;
+		}
+	}
+}
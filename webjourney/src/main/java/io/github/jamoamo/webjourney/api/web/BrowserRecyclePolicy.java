@@ -0,0 +1,157 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2024 James Amoore.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package io.github.jamoamo.webjourney.api.web;
+
+import java.time.Duration;
+import java.util.OptionalLong;
+
+/**
+ * Decides when a pooled browser has served long enough and should be replaced by a fresh one.
+ * <p>
+ * Long-lived browsers slowly use more memory and become slower. A browser is recycled once it has travelled a number
+ * of journeys, once it reaches a maximum age, or once its sampled memory use passes a threshold, whichever comes first.
+ * Policies are immutable; each limit is disabled until it is set.
+ *
+ * @author James Amoore
+ */
+public final class BrowserRecyclePolicy
+{
+	private static final BrowserRecyclePolicy NEVER = new BrowserRecyclePolicy(0, null, 0);
+
+	private final int maxJourneys;
+	private final Duration maxAge;
+	private final long maxMemoryBytes;
+
+	private BrowserRecyclePolicy(int maxJourneys, Duration maxAge, long maxMemoryBytes)
+	{
+		this.maxJourneys = maxJourneys;
+		this.maxAge = maxAge;
+		this.maxMemoryBytes = maxMemoryBytes;
+	}
+
+	/**
+	 * @return a policy that never recycles browsers.
+	 */
+	public static BrowserRecyclePolicy never()
+	{
+		return NEVER;
+	}
+
+	/**
+	 * Returns a copy of this policy that recycles a browser after it has travelled a number of journeys.
+	 * @param journeys the number of journeys. Zero disables the limit.
+	 * @return the policy.
+	 */
+	public BrowserRecyclePolicy withMaxJourneys(int journeys)
+	{
+		if(journeys < 0)
+		{
+			throw new IllegalArgumentException("Max journeys cannot be negative.");
+		}
+		return new BrowserRecyclePolicy(journeys, this.maxAge, this.maxMemoryBytes);
+	}
+
+	/**
+	 * Returns a copy of this policy that recycles a browser once it reaches an age.
+	 * @param age the maximum age. Null disables the limit.
+	 * @return the policy.
+	 */
+	public BrowserRecyclePolicy withMaxAge(Duration age)
+	{
+		if(age != null && (age.isNegative() || age.isZero()))
+		{
+			throw new IllegalArgumentException("Max age must be positive.");
+		}
+		return new BrowserRecyclePolicy(this.maxJourneys, age, this.maxMemoryBytes);
+	}
+
+	/**
+	 * Returns a copy of this policy that recycles a browser once its sampled memory use passes a threshold. Memory is
+	 * sampled with {@link IBrowser#getMemoryUsage()} each time the browser is returned to the pool; browsers that
+	 * cannot report their memory use are not recycled for it.
+	 * @param bytes the memory threshold in bytes. Zero disables the limit.
+	 * @return the policy.
+	 */
+	public BrowserRecyclePolicy withMaxMemory(long bytes)
+	{
+		if(bytes < 0)
+		{
+			throw new IllegalArgumentException("Max memory cannot be negative.");
+		}
+		return new BrowserRecyclePolicy(this.maxJourneys, this.maxAge, bytes);
+	}
+
+	/**
+	 * @return the number of journeys after which a browser is recycled, or zero if unlimited.
+	 */
+	public int getMaxJourneys()
+	{
+		return this.maxJourneys;
+	}
+
+	/**
+	 * @return the age at which a browser is recycled, or null if unlimited.
+	 */
+	public Duration getMaxAge()
+	{
+		return this.maxAge;
+	}
+
+	/**
+	 * @return the memory use in bytes above which a browser is recycled, or zero if unlimited.
+	 */
+	public long getMaxMemoryBytes()
+	{
+		return this.maxMemoryBytes;
+	}
+
+	/**
+	 * @return true if the policy needs the memory use of browsers to be sampled.
+	 */
+	public boolean samplesMemory()
+	{
+		return this.maxMemoryBytes > 0;
+	}
+
+	/**
+	 * Decides whether a browser should be recycled.
+	 * @param journeys the number of journeys the browser has travelled.
+	 * @param age the time since the browser was created.
+	 * @param memoryBytes the sampled memory use of the browser, if known.
+	 * @return true if the browser should be recycled.
+	 */
+	public boolean shouldRecycle(int journeys, Duration age, OptionalLong memoryBytes)
+	{
+		return this.maxJourneys > 0 && journeys >= this.maxJourneys
+			|| this.maxAge != null && age.compareTo(this.maxAge) >= 0
+			|| this.maxMemoryBytes > 0 && memoryBytes.isPresent() && memoryBytes.getAsLong() > this.maxMemoryBytes;
+	}
+
+	@Override
+	public String toString()
+	{
+		return "BrowserRecyclePolicy{maxJourneys=" + this.maxJourneys + ", maxAge=" + this.maxAge
+			+ ", maxMemoryBytes=" + this.maxMemoryBytes + "}";
+	}
+}
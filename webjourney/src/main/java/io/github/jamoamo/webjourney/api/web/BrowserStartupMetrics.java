@@ -0,0 +1,180 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2024 James Amoore.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package io.github.jamoamo.webjourney.api.web;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Records how long each browser factory takes to start a browser.
+ * <p>
+ * Startup times are kept in a histogram per factory, keyed by the factory's class name. The browser strategies record
+ * every browser they create in the {@link #shared() shared} instance.
+ *
+ * @author James Amoore
+ */
+public final class BrowserStartupMetrics
+{
+	private static final BrowserStartupMetrics SHARED = new BrowserStartupMetrics();
+
+	private final Map<String, Recorder> recorders = new ConcurrentHashMap<>();
+
+	/**
+	 * Creates metrics that are independent of the shared metrics.
+	 */
+	public BrowserStartupMetrics()
+	{
+	}
+
+	/**
+	 * @return the metrics shared by all browser strategies in the JVM.
+	 */
+	public static BrowserStartupMetrics shared()
+	{
+		return SHARED;
+	}
+
+	/**
+	 * Records the time taken to start a browser.
+	 * @param factoryName the name of the factory that started the browser.
+	 * @param startupTime the time taken.
+	 */
+	public void record(String factoryName, Duration startupTime)
+	{
+		recorder(factoryName).record(startupTime.toNanos());
+	}
+
+	/**
+	 * Records a browser that could not be started.
+	 * @param factoryName the name of the factory that failed to start the browser.
+	 */
+	public void recordFailure(String factoryName)
+	{
+		recorder(factoryName).failures.increment();
+	}
+
+	/**
+	 * Retrieves the startup histogram of a factory.
+	 * @param factoryName the name of the factory.
+	 * @return the histogram, or an empty optional if the factory has not started a browser.
+	 */
+	public Optional<StartupHistogram> getHistogram(String factoryName)
+	{
+		Recorder recorder = this.recorders.get(factoryName);
+		return recorder == null ? Optional.empty() : Optional.of(recorder.snapshot(factoryName));
+	}
+
+	/**
+	 * @return the startup histogram of every factory, ordered by factory name.
+	 */
+	public List<StartupHistogram> getHistograms()
+	{
+		return this.recorders.entrySet().stream()
+			.map(entry -> entry.getValue().snapshot(entry.getKey()))
+			.sorted(Comparator.comparing(StartupHistogram::getFactoryName))
+			.toList();
+	}
+
+	/**
+	 * Forgets every recorded startup.
+	 */
+	public void reset()
+	{
+		this.recorders.clear();
+	}
+
+	/**
+	 * Creates a browser with a factory and records how long it took.
+	 * @param factory the factory creating the browser.
+	 * @param creation the creation of the browser.
+	 * @return the created browser.
+	 */
+	IBrowser time(IBrowserFactory factory, Supplier<IBrowser> creation)
+	{
+		String factoryName = factoryName(factory);
+		long start = System.nanoTime();
+		try
+		{
+			IBrowser browser = creation.get();
+			recorder(factoryName).record(System.nanoTime() - start);
+			return browser;
+		}
+		catch(RuntimeException | Error ex)
+		{
+			recordFailure(factoryName);
+			throw ex;
+		}
+	}
+
+	/**
+	 * @param factory the factory.
+	 * @return the name startups of the factory are recorded under.
+	 */
+	public static String factoryName(IBrowserFactory factory)
+	{
+		return factory.getClass().getSimpleName().isEmpty() ? factory.getClass().getName()
+			: factory.getClass().getSimpleName();
+	}
+
+	private Recorder recorder(String factoryName)
+	{
+		return this.recorders.computeIfAbsent(factoryName, name -> new Recorder());
+	}
+
+	private static final class Recorder
+	{
+		private final AtomicLongArray buckets = new AtomicLongArray(StartupHistogram.BUCKET_BOUNDS.length + 1);
+		private final LongAdder totalNanos = new LongAdder();
+		private final LongAdder failures = new LongAdder();
+		private final AtomicLong maxNanos = new AtomicLong();
+
+		void record(long nanos)
+		{
+			int bucket = Arrays.binarySearch(StartupHistogram.BUCKET_BOUNDS_NANOS, nanos);
+			this.buckets.incrementAndGet(bucket >= 0 ? bucket : -bucket - 1);
+			this.totalNanos.add(nanos);
+			this.maxNanos.accumulateAndGet(nanos, Math::max);
+		}
+
+		StartupHistogram snapshot(String factoryName)
+		{
+			long[] counts = new long[this.buckets.length()];
+			for(int i = 0; i < counts.length; i++)
+			{
+				counts[i] = this.buckets.get(i);
+			}
+			return new StartupHistogram(factoryName, counts, this.totalNanos.sum(), this.maxNanos.get(),
+				this.failures.sum());
+		}
+	}
+}
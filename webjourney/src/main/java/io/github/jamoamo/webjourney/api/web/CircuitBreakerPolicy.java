@@ -0,0 +1,180 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2024 James Amoore.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package io.github.jamoamo.webjourney.api.web;
+
+import java.time.Duration;
+import java.util.Objects;
+
+/**
+ * Decides when a {@link HubCircuitBreaker} stops sending session requests to a hub, and when it tries the hub again.
+ * <p>
+ * The breaker opens after a number of consecutive session creations fail, where a session that takes longer than the
+ * slow session threshold to create counts as a failure. While open, requests are not sent to the hub at all. Once the
+ * open duration has passed, a limited number of probe sessions are let through; the first to succeed closes the
+ * breaker and a failing probe opens it again. Policies are immutable.
+ *
+ * @author James Amoore
+ */
+public final class CircuitBreakerPolicy
+{
+	private static final CircuitBreakerPolicy DISABLED = new CircuitBreakerPolicy(0, null, Duration.ofSeconds(30), 1);
+	private static final CircuitBreakerPolicy DEFAULTS =
+		new CircuitBreakerPolicy(5, Duration.ofSeconds(60), Duration.ofSeconds(30), 1);
+
+	private final int failureThreshold;
+	private final Duration slowSessionThreshold;
+	private final Duration openDuration;
+	private final int halfOpenProbes;
+
+	private CircuitBreakerPolicy(int failureThreshold, Duration slowSessionThreshold, Duration openDuration,
+		int halfOpenProbes)
+	{
+		this.failureThreshold = failureThreshold;
+		this.slowSessionThreshold = slowSessionThreshold;
+		this.openDuration = openDuration;
+		this.halfOpenProbes = halfOpenProbes;
+	}
+
+	/**
+	 * @return a policy that opens after 5 consecutive failures or sessions slower than 60 seconds, stays open for 30
+	 * seconds and then lets a single probe session through.
+	 */
+	public static CircuitBreakerPolicy defaults()
+	{
+		return DEFAULTS;
+	}
+
+	/**
+	 * @return a policy that never opens the breaker.
+	 */
+	public static CircuitBreakerPolicy disabled()
+	{
+		return DISABLED;
+	}
+
+	/**
+	 * Returns a copy of this policy that opens the breaker after a number of consecutive failures.
+	 * @param failures the number of consecutive failures. Zero disables the breaker.
+	 * @return the policy.
+	 */
+	public CircuitBreakerPolicy withFailureThreshold(int failures)
+	{
+		if(failures < 0)
+		{
+			throw new IllegalArgumentException("Failure threshold cannot be negative.");
+		}
+		return new CircuitBreakerPolicy(failures, this.slowSessionThreshold, this.openDuration, this.halfOpenProbes);
+	}
+
+	/**
+	 * Returns a copy of this policy that counts a session that takes longer than a threshold to create as a failure.
+	 * @param threshold the slow session threshold. Null disables it.
+	 * @return the policy.
+	 */
+	public CircuitBreakerPolicy withSlowSessionThreshold(Duration threshold)
+	{
+		if(threshold != null && (threshold.isNegative() || threshold.isZero()))
+		{
+			throw new IllegalArgumentException("Slow session threshold must be positive.");
+		}
+		return new CircuitBreakerPolicy(this.failureThreshold, threshold, this.openDuration, this.halfOpenProbes);
+	}
+
+	/**
+	 * Returns a copy of this policy that keeps the breaker open for a duration before probing the hub.
+	 * @param duration the open duration.
+	 * @return the policy.
+	 */
+	public CircuitBreakerPolicy withOpenDuration(Duration duration)
+	{
+		Objects.requireNonNull(duration, "Open duration cannot be null");
+		if(duration.isNegative() || duration.isZero())
+		{
+			throw new IllegalArgumentException("Open duration must be positive.");
+		}
+		return new CircuitBreakerPolicy(this.failureThreshold, this.slowSessionThreshold, duration, this.halfOpenProbes);
+	}
+
+	/**
+	 * Returns a copy of this policy that lets a number of probe sessions through at once while half open.
+	 * @param probes the number of probe sessions.
+	 * @return the policy.
+	 */
+	public CircuitBreakerPolicy withHalfOpenProbes(int probes)
+	{
+		if(probes < 1)
+		{
+			throw new IllegalArgumentException("Half open probes must be at least 1.");
+		}
+		return new CircuitBreakerPolicy(this.failureThreshold, this.slowSessionThreshold, this.openDuration, probes);
+	}
+
+	/**
+	 * @return true if the breaker can open.
+	 */
+	public boolean isEnabled()
+	{
+		return this.failureThreshold > 0;
+	}
+
+	/**
+	 * @return the number of consecutive failures that open the breaker, or zero if it never opens.
+	 */
+	public int getFailureThreshold()
+	{
+		return this.failureThreshold;
+	}
+
+	/**
+	 * @return the time above which creating a session counts as a failure, or null if slow sessions are not failures.
+	 */
+	public Duration getSlowSessionThreshold()
+	{
+		return this.slowSessionThreshold;
+	}
+
+	/**
+	 * @return how long the breaker stays open before probing the hub.
+	 */
+	public Duration getOpenDuration()
+	{
+		return this.openDuration;
+	}
+
+	/**
+	 * @return the number of probe sessions let through at once while half open.
+	 */
+	public int getHalfOpenProbes()
+	{
+		return this.halfOpenProbes;
+	}
+
+	@Override
+	public String toString()
+	{
+		return "CircuitBreakerPolicy{failureThreshold=" + this.failureThreshold + ", slowSessionThreshold="
+			+ this.slowSessionThreshold + ", openDuration=" + this.openDuration + ", halfOpenProbes="
+			+ this.halfOpenProbes + "}";
+	}
+}
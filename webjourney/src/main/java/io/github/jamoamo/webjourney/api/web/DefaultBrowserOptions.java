@@ -23,6 +23,8 @@
  */
 package io.github.jamoamo.webjourney.api.web;
 
+import java.util.Objects;
+
 /**
  * Browser options providing default values.
  * 
@@ -30,12 +32,24 @@ package io.github.jamoamo.webjourney.api.web;
  */
 public class DefaultBrowserOptions implements IBrowserOptions
 {
+	private final ResourcePolicy resourcePolicy;
 
 	/**
 	 * Constructor.
 	 */
 	public DefaultBrowserOptions()
 	{
+		this(ResourcePolicy.allowAll());
+	}
+
+	/**
+	 * Constructor.
+	 * 
+	 * @param resourcePolicy the resources the browser should not download
+	 */
+	public DefaultBrowserOptions(ResourcePolicy resourcePolicy)
+	{
+		this.resourcePolicy = Objects.requireNonNull(resourcePolicy, "Resource policy cannot be null");
 	}
 
 	/**
@@ -59,4 +73,37 @@ public class DefaultBrowserOptions implements IBrowserOptions
 	{
 		return Boolean.parseBoolean(System.getProperty("webjourney.acceptUnexpectedAlerts", "true"));
 	}
+
+	/**
+	 * The resources the browser should not download.
+	 * 
+	 * @return the resource policy.
+	 */
+	@Override
+	public ResourcePolicy getResourcePolicy()
+	{
+		return this.resourcePolicy;
+	}
+
+	/**
+	 * How long navigating to a page waits for the page to load.
+	 * 
+	 * @return the page load strategy.
+	 */
+	@Override
+	public PageLoadStrategy getPageLoadStrategy()
+	{
+		return PageLoadStrategy.fromName(System.getProperty("webjourney.pageLoadStrategy"));
+	}
+
+	/**
+	 * How long looking up an element waits for it to appear when no wait was asked for.
+	 * 
+	 * @return the element lookup mode.
+	 */
+	@Override
+	public ElementLookupMode getElementLookupMode()
+	{
+		return ElementLookupMode.fromName(System.getProperty("webjourney.elementLookupMode"));
+	}
 }
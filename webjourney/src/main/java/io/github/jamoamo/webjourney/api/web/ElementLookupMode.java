@@ -0,0 +1,79 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2024 James Amoore.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package io.github.jamoamo.webjourney.api.web;
+
+import java.time.Duration;
+import java.util.Locale;
+
+/**
+ * How long looking up an element waits for it to appear when no wait was asked for.
+ * <p>
+ * Values and fields can ask for an explicit wait with {@code waitSeconds} or the travel options'
+ * {@link io.github.jamoamo.webjourney.api.ITravelOptions#getElementWaitTimeout() element wait timeout}. Every other
+ * lookup is a probe, whose cost when the element is absent depends on the mode. Probes are counted in
+ * {@link ElementProbeMetrics#shared()}.
+ *
+ * @author James Amoore
+ */
+public enum ElementLookupMode
+{
+	/**
+	 * Every lookup waits up to ten seconds for the element, so an absent optional element costs ten seconds.
+	 */
+	IMPLICIT_WAIT(Duration.ofSeconds(10)),
+	/**
+	 * Lookups return immediately, so an absent optional element costs a single round trip to the browser.
+	 */
+	FAST_FAIL(Duration.ZERO);
+
+	private final Duration implicitWait;
+
+	ElementLookupMode(Duration implicitWait)
+	{
+		this.implicitWait = implicitWait;
+	}
+
+	/**
+	 * Gets the mode with a name, ignoring case and treating dashes as underscores.
+	 * @param name the mode name, such as "fast-fail".
+	 * @return the mode, or {@link #IMPLICIT_WAIT} if the name is null or blank.
+	 * @throws IllegalArgumentException if there is no mode with the name.
+	 */
+	public static ElementLookupMode fromName(String name)
+	{
+		if(name == null || name.isBlank())
+		{
+			return IMPLICIT_WAIT;
+		}
+		return valueOf(name.trim().replace('-', '_').toUpperCase(Locale.ROOT));
+	}
+
+	/**
+	 * @return the time the browser waits for an element that is not yet present.
+	 */
+	public Duration getImplicitWait()
+	{
+		return this.implicitWait;
+	}
+}
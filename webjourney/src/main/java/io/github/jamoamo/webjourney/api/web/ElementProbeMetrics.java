@@ -0,0 +1,127 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2024 James Amoore.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package io.github.jamoamo.webjourney.api.web;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counts element lookups made without an explicit wait, and how long those that found nothing took.
+ * <p>
+ * With the {@link ElementLookupMode#IMPLICIT_WAIT} mode, each probe that finds nothing waits out the implicit wait.
+ * The time saved by the {@link ElementLookupMode#FAST_FAIL} mode is the implicit wait of every missed probe, less the
+ * time the missed probes took. The Selenium browsers record every probe in the {@link #shared() shared} instance.
+ *
+ * @author James Amoore
+ */
+public final class ElementProbeMetrics
+{
+	private static final ElementProbeMetrics SHARED = new ElementProbeMetrics();
+
+	private final LongAdder probes = new LongAdder();
+	private final LongAdder misses = new LongAdder();
+	private final LongAdder missNanos = new LongAdder();
+
+	/**
+	 * Creates metrics that are independent of the shared metrics.
+	 */
+	public ElementProbeMetrics()
+	{
+	}
+
+	/**
+	 * @return the metrics shared by all browsers in the JVM.
+	 */
+	public static ElementProbeMetrics shared()
+	{
+		return SHARED;
+	}
+
+	/**
+	 * Records a lookup made without an explicit wait.
+	 * @param found whether the element was found.
+	 * @param elapsed the time the lookup took.
+	 */
+	public void recordProbe(boolean found, Duration elapsed)
+	{
+		this.probes.increment();
+		if(!found)
+		{
+			this.misses.increment();
+			this.missNanos.add(elapsed.toNanos());
+		}
+	}
+
+	/**
+	 * @return the number of lookups made without an explicit wait.
+	 */
+	public long getProbes()
+	{
+		return this.probes.sum();
+	}
+
+	/**
+	 * @return the number of those lookups that found nothing.
+	 */
+	public long getMisses()
+	{
+		return this.misses.sum();
+	}
+
+	/**
+	 * @return the total time taken by the lookups that found nothing.
+	 */
+	public Duration getMissTime()
+	{
+		return Duration.ofNanos(this.missNanos.sum());
+	}
+
+	/**
+	 * Estimates the time saved by not waiting out the {@link ElementLookupMode#IMPLICIT_WAIT implicit wait} for the
+	 * lookups that found nothing.
+	 * @return the time saved, zero if the lookups waited out the implicit wait.
+	 */
+	public Duration getTimeSaved()
+	{
+		Duration saved = ElementLookupMode.IMPLICIT_WAIT.getImplicitWait().multipliedBy(getMisses()).minus(getMissTime());
+		return saved.isNegative() ? Duration.ZERO : saved;
+	}
+
+	/**
+	 * Forgets every recorded probe.
+	 */
+	public void reset()
+	{
+		this.probes.reset();
+		this.misses.reset();
+		this.missNanos.reset();
+	}
+
+	@Override
+	public String toString()
+	{
+		return "ElementProbeMetrics{probes=" + getProbes() + ", misses=" + getMisses() + ", missTime=" + getMissTime()
+			+ ", timeSaved=" + getTimeSaved() + "}";
+	}
+}
@@ -0,0 +1,183 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2024 James Amoore.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package io.github.jamoamo.webjourney.api.web;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * The session slots of a Selenium Grid, as reported by its status endpoint.
+ * <p>
+ * Slots are counted per browser name, such as "chrome", "firefox" or "MicrosoftEdge". Browser names are matched
+ * ignoring case. Only slots on nodes that are up are counted; slots on draining or down nodes cannot take sessions.
+ *
+ * @author James Amoore
+ */
+public final class GridCapacity
+{
+	private final boolean ready;
+	private final int nodeCount;
+	private final Map<String, int[]> slots;
+
+	/**
+	 * Creates the capacity of a grid.
+	 *
+	 * @param ready whether the grid reported itself ready to accept sessions
+	 * @param nodeCount the number of nodes that are up
+	 * @param totalSlots the number of slots on the nodes that are up, by browser name
+	 * @param usedSlots the number of those slots running a session, by browser name
+	 */
+	public GridCapacity(boolean ready, int nodeCount, Map<String, Integer> totalSlots, Map<String, Integer> usedSlots)
+	{
+		this.ready = ready;
+		this.nodeCount = Math.max(0, nodeCount);
+		this.slots = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+		Objects.requireNonNull(totalSlots, "Total slots cannot be null").forEach((browser, total) ->
+			this.slots.computeIfAbsent(browser, name -> new int[2])[0] += Math.max(0, total));
+		Objects.requireNonNull(usedSlots, "Used slots cannot be null").forEach((browser, used) ->
+			this.slots.computeIfAbsent(browser, name -> new int[2])[1] += Math.max(0, used));
+	}
+
+	/**
+	 * Determines if the grid reported itself ready to accept sessions.
+	 *
+	 * @return true if the grid is ready
+	 */
+	public boolean isReady()
+	{
+		return ready;
+	}
+
+	/**
+	 * Gets the number of nodes that are up.
+	 *
+	 * @return the node count
+	 */
+	public int getNodeCount()
+	{
+		return nodeCount;
+	}
+
+	/**
+	 * Gets the names of the browsers the grid has slots for.
+	 *
+	 * @return the browser names
+	 */
+	public Set<String> getBrowserNames()
+	{
+		return Collections.unmodifiableSet(slots.keySet());
+	}
+
+	/**
+	 * Gets the number of slots for a browser.
+	 *
+	 * @param browserName the browser name, or null for all browsers
+	 * @return the total number of slots
+	 */
+	public int getTotalSlots(String browserName)
+	{
+		return count(browserName, 0);
+	}
+
+	/**
+	 * Gets the number of slots for a browser that are running a session.
+	 *
+	 * @param browserName the browser name, or null for all browsers
+	 * @return the number of used slots
+	 */
+	public int getUsedSlots(String browserName)
+	{
+		return count(browserName, 1);
+	}
+
+	/**
+	 * Gets the number of slots for a browser that can take a new session.
+	 *
+	 * @param browserName the browser name, or null for all browsers
+	 * @return the number of free slots
+	 */
+	public int getFreeSlots(String browserName)
+	{
+		return Math.max(0, getTotalSlots(browserName) - getUsedSlots(browserName));
+	}
+
+	private int count(String browserName, int index)
+	{
+		if (browserName == null)
+		{
+			return slots.values().stream().mapToInt(counts -> counts[index]).sum();
+		}
+		int[] counts = slots.get(browserName);
+		return counts == null ? 0 : counts[index];
+	}
+
+	@Override
+	public boolean equals(Object obj)
+	{
+		if (this == obj)
+		{
+			return true;
+		}
+		if (obj == null || getClass() != obj.getClass())
+		{
+			return false;
+		}
+		GridCapacity that = (GridCapacity) obj;
+		if (ready != that.ready || nodeCount != that.nodeCount || !slots.keySet().equals(that.slots.keySet()))
+		{
+			return false;
+		}
+		for (String browser : slots.keySet())
+		{
+			if (getTotalSlots(browser) != that.getTotalSlots(browser)
+				|| getUsedSlots(browser) != that.getUsedSlots(browser))
+			{
+				return false;
+			}
+		}
+		return true;
+	}
+
+	@Override
+	public int hashCode()
+	{
+		return Objects.hash(ready, nodeCount, getTotalSlots(null), getUsedSlots(null));
+	}
+
+	@Override
+	public String toString()
+	{
+		StringBuilder builder = new StringBuilder("GridCapacity{ready=").append(ready)
+			.append(", nodes=").append(nodeCount);
+		for (Map.Entry<String, int[]> entry : slots.entrySet())
+		{
+			builder.append(", ").append(entry.getKey()).append('=')
+				.append(entry.getValue()[1]).append('/').append(entry.getValue()[0]);
+		}
+		return builder.append('}').toString();
+	}
+}
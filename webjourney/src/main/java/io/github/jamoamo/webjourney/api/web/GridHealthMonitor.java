@@ -27,12 +27,18 @@ import io.github.jamoamo.webjourney.reserved.selenium.HubConnectionUtils;
 import java.time.Duration;
 import java.time.Instant;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.Executor;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -40,6 +46,20 @@ import org.slf4j.LoggerFactory;
  * Default implementation of IGridHealthMonitor.
  * Provides continuous monitoring of Selenium Grid hubs with configurable
  * intervals and listener notification.
+ * <p>
+ * Hubs are checked asynchronously and in parallel through a shared HTTP client, so the monitoring thread only starts
+ * the checks and never waits on a hub. At most one check per hub is in flight at a time.
+ * <p>
+ * Status lookups never wait on a hub that has been checked before. Once a cached status is older than the staleness
+ * threshold, it is still returned while the hub is checked again in the background. Only the first lookup of a hub
+ * that has never been checked waits for its check to complete.
+ * <p>
+ * When created to use virtual threads, the monitoring task runs on a virtual thread and listeners are notified on
+ * virtual threads.
+ * <p>
+ * {@link #shared()} returns a monitor shared by every browser strategy in the process, so that each hub is checked by
+ * a single scheduler however many strategies use it. A hub is monitored until it has been removed as many times as it
+ * was added, so a strategy that shuts down does not stop the monitoring of a hub that another strategy still uses.
  * 
  * @author James Amoore
  */
@@ -47,11 +67,19 @@ public class GridHealthMonitor implements IGridHealthMonitor
 {
 	private static final Logger LOGGER = LoggerFactory.getLogger(GridHealthMonitor.class);
 	private static final Duration DEFAULT_MONITORING_INTERVAL = Duration.ofSeconds(30);
+	private static final Duration DEFAULT_STALE_AFTER = Duration.ofMinutes(1);
+	private static final GridHealthMonitor SHARED = new GridHealthMonitor();
 	
-	private final Set<String> monitoredHubs = ConcurrentHashMap.newKeySet();
+	private final Map<String, Integer> monitoredHubs = new ConcurrentHashMap<>();
 	private final Map<String, GridStatus> hubStatuses = new ConcurrentHashMap<>();
+	private final Map<String, CompletableFuture<GridStatus>> inFlightChecks = new ConcurrentHashMap<>();
 	private final Set<GridHealthListener> listeners = new CopyOnWriteArraySet<>();
 	
+	private final ReentrantLock lifecycleLock = new ReentrantLock();
+	private final boolean useVirtualThreads;
+	private final Duration staleAfter;
+	private final Executor notificationExecutor;
+	
 	private ScheduledExecutorService scheduler;
 	private volatile boolean monitoring = false;
 	private Duration monitoringInterval = DEFAULT_MONITORING_INTERVAL;
@@ -61,7 +89,68 @@ public class GridHealthMonitor implements IGridHealthMonitor
 	 */
 	public GridHealthMonitor()
 	{
-		// Default constructor
+		this(false);
+	}
+	
+	/**
+	 * Creates a new grid health monitor.
+	 *
+	 * @param useVirtualThreads whether health checks should run on virtual threads
+	 */
+	public GridHealthMonitor(boolean useVirtualThreads)
+	{
+		this(useVirtualThreads, DEFAULT_STALE_AFTER);
+	}
+	
+	/**
+	 * Creates a new grid health monitor.
+	 *
+	 * @param useVirtualThreads whether the monitoring task and listener notifications should run on virtual threads
+	 * @param staleAfter how old a cached status may be before the hub is checked again in the background
+	 */
+	public GridHealthMonitor(boolean useVirtualThreads, Duration staleAfter)
+	{
+		Objects.requireNonNull(staleAfter, "Staleness threshold cannot be null");
+		if (staleAfter.isNegative() || staleAfter.isZero())
+		{
+			throw new IllegalArgumentException("Staleness threshold must be positive");
+		}
+		this.useVirtualThreads = useVirtualThreads;
+		this.staleAfter = staleAfter;
+		this.notificationExecutor = useVirtualThreads ? 
+			runnable -> Thread.ofVirtual().name("GridHealthMonitor-notify").start(runnable) : 
+			Runnable::run;
+	}
+	
+	/**
+	 * Gets the monitor shared by all browser strategies in the process. The shared monitor is never stopped by the
+	 * strategies that use it.
+	 *
+	 * @return the shared monitor
+	 */
+	public static GridHealthMonitor shared()
+	{
+		return SHARED;
+	}
+	
+	/**
+	 * Determines if health checks run on virtual threads.
+	 *
+	 * @return true if health checks run on virtual threads
+	 */
+	public boolean isUsingVirtualThreads()
+	{
+		return this.useVirtualThreads;
+	}
+	
+	/**
+	 * Gets how old a cached status may be before the hub is checked again in the background.
+	 *
+	 * @return the staleness threshold
+	 */
+	public Duration getStaleAfter()
+	{
+		return this.staleAfter;
 	}
 	
 	@Override
@@ -72,15 +161,7 @@ public class GridHealthMonitor implements IGridHealthMonitor
 			return false;
 		}
 		
-		// Check cached status first
-		GridStatus cachedStatus = hubStatuses.get(hubUrl);
-		if (cachedStatus != null && !cachedStatus.isStale(Duration.ofMinutes(1)))
-		{
-			return cachedStatus.isAvailable();
-		}
-		
-		// Perform fresh health check
-		return HubConnectionUtils.isHubAvailable(hubUrl);
+		return getHubStatus(hubUrl).isAvailable();
 	}
 	
 	@Override
@@ -88,18 +169,77 @@ public class GridHealthMonitor implements IGridHealthMonitor
 	{
 		if (hubUrl == null || hubUrl.trim().isEmpty())
 		{
-			return new GridStatus(hubUrl, Instant.now(), "Invalid hub URL", 1);
+			return new GridStatus(String.valueOf(hubUrl), Instant.now(), "Invalid hub URL", 1);
 		}
 		
-		// Return cached status if available and fresh
-		GridStatus cachedStatus = hubStatuses.get(hubUrl);
-		if (cachedStatus != null && !cachedStatus.isStale(Duration.ofMinutes(1)))
+		String hub = hubUrl.trim();
+		GridStatus cachedStatus = hubStatuses.get(hub);
+		if (cachedStatus != null)
 		{
+			// Serve the cached status straight away, revalidating it in the background once it is stale
+			if (cachedStatus.isStale(staleAfter))
+			{
+				checkHub(hub);
+			}
 			return cachedStatus;
 		}
 		
-		// Perform fresh status check
-		return checkHubStatus(hubUrl);
+		// The hub has never been checked, so there is nothing to serve yet
+		return checkHub(hub).join();
+	}
+	
+	/**
+	 * Checks a hub in the background, unless a check of the hub is already in flight.
+	 *
+	 * @param hubUrl the hub URL to check
+	 * @return a future that completes with the hub's new status once it has been cached and listeners notified
+	 */
+	public CompletableFuture<GridStatus> checkHub(String hubUrl)
+	{
+		String hub = Objects.requireNonNull(hubUrl, "Hub URL cannot be null").trim();
+		CompletableFuture<GridStatus> check = new CompletableFuture<>();
+		CompletableFuture<GridStatus> inFlight = inFlightChecks.putIfAbsent(hub, check);
+		if (inFlight != null)
+		{
+			return inFlight;
+		}
+		
+		checkHubStatus(hub).whenCompleteAsync((currentStatus, error) ->
+		{
+			GridStatus status;
+			try
+			{
+				status = recordStatus(hub, currentStatus, error);
+			}
+			catch (RuntimeException ex)
+			{
+				inFlightChecks.remove(hub, check);
+				check.completeExceptionally(ex);
+				return;
+			}
+			
+			// Leave the in-flight map before completing, so that a check requested once the future completes starts a new check
+			inFlightChecks.remove(hub, check);
+			check.complete(status);
+		}, notificationExecutor);
+		return check;
+	}
+	
+	/**
+	 * Caches the outcome of a hub check and notifies listeners of it.
+	 */
+	private GridStatus recordStatus(String hub, GridStatus currentStatus, Throwable error)
+	{
+		if (error != null)
+		{
+			LOGGER.warn("Health check failed for hub: {}", hub, error);
+			notifyListenersOfError(hub, error instanceof Exception ex ? ex : new RuntimeException(error));
+			return unavailableStatus(hub, Instant.now(), error);
+		}
+		
+		GridStatus previousStatus = hubStatuses.put(hub, currentStatus);
+		notifyListeners(previousStatus, currentStatus);
+		return currentStatus;
 	}
 	
 	@Override
@@ -134,7 +274,8 @@ public class GridHealthMonitor implements IGridHealthMonitor
 			throw new IllegalArgumentException("Monitoring interval must be positive");
 		}
 		
-		synchronized (this)
+		lifecycleLock.lock();
+		try
 		{
 			if (monitoring)
 			{
@@ -143,11 +284,7 @@ public class GridHealthMonitor implements IGridHealthMonitor
 			}
 			
 			this.monitoringInterval = interval;
-			this.scheduler = Executors.newScheduledThreadPool(1, r -> {
-				Thread t = new Thread(r, "GridHealthMonitor");
-				t.setDaemon(true);
-				return t;
-			});
+			this.scheduler = createScheduler();
 			
 			this.monitoring = true;
 			
@@ -155,18 +292,23 @@ public class GridHealthMonitor implements IGridHealthMonitor
 			scheduler.scheduleAtFixedRate(
 				this::performHealthChecks,
 				0, // Initial delay
-				interval.toSeconds(),
-				TimeUnit.SECONDS
+				interval.toMillis(),
+				TimeUnit.MILLISECONDS
 			);
 			
 			LOGGER.info("Started Grid health monitoring with interval: {}", interval);
 		}
+		finally
+		{
+			lifecycleLock.unlock();
+		}
 	}
 	
 	@Override
 	public void stopMonitoring()
 	{
-		synchronized (this)
+		lifecycleLock.lock();
+		try
 		{
 			if (!monitoring)
 			{
@@ -195,6 +337,10 @@ public class GridHealthMonitor implements IGridHealthMonitor
 			
 			LOGGER.info("Stopped Grid health monitoring");
 		}
+		finally
+		{
+			lifecycleLock.unlock();
+		}
 	}
 	
 	@Override
@@ -208,78 +354,94 @@ public class GridHealthMonitor implements IGridHealthMonitor
 	{
 		if (hubUrl != null && !hubUrl.trim().isEmpty())
 		{
-			monitoredHubs.add(hubUrl.trim());
+			monitoredHubs.merge(hubUrl.trim(), 1, Integer::sum);
 			LOGGER.debug("Added hub to monitoring: {}", hubUrl);
 		}
 	}
 	
+	/**
+	 * {@inheritDoc}
+	 * <p>
+	 * A hub that has been added more than once stays monitored until it has been removed as many times.
+	 */
 	@Override
 	public void removeHub(String hubUrl)
 	{
 		if (hubUrl != null)
 		{
-			monitoredHubs.remove(hubUrl.trim());
-			hubStatuses.remove(hubUrl.trim());
-			LOGGER.debug("Removed hub from monitoring: {}", hubUrl);
+			monitoredHubs.computeIfPresent(hubUrl.trim(), (hub, registrations) ->
+			{
+				if (registrations > 1)
+				{
+					return registrations - 1;
+				}
+				hubStatuses.remove(hub);
+				LOGGER.debug("Removed hub from monitoring: {}", hub);
+				return null;
+			});
 		}
 	}
 	
 	/**
-	 * Performs health checks on all monitored hubs.
+	 * Gets the hubs being monitored.
+	 *
+	 * @return the URLs of the monitored hubs
+	 */
+	public Set<String> getMonitoredHubs()
+	{
+		return new TreeSet<>(monitoredHubs.keySet());
+	}
+	
+	/**
+	 * Starts a health check of every monitored hub. The checks run in parallel and are not waited for.
 	 */
 	private void performHealthChecks()
 	{
-		for (String hubUrl : monitoredHubs)
+		for (String hubUrl : monitoredHubs.keySet())
 		{
-			try
-			{
-				GridStatus previousStatus = hubStatuses.get(hubUrl);
-				GridStatus currentStatus = checkHubStatus(hubUrl);
-				
-				// Update status cache
-				hubStatuses.put(hubUrl, currentStatus);
-				
-				// Notify listeners
-				notifyListeners(previousStatus, currentStatus);
-			}
-			catch (Exception e)
-			{
-				LOGGER.warn("Health check failed for hub: {}", hubUrl, e);
-				notifyListenersOfError(hubUrl, e);
-			}
+			checkHub(hubUrl);
+		}
+	}
+	
+	private ScheduledExecutorService createScheduler()
+	{
+		if (useVirtualThreads)
+		{
+			return Executors.newSingleThreadScheduledExecutor(Thread.ofVirtual().name("GridHealthMonitor").factory());
 		}
+		return Executors.newScheduledThreadPool(1, r -> {
+			Thread t = new Thread(r, "GridHealthMonitor");
+			t.setDaemon(true);
+			return t;
+		});
 	}
 	
 	/**
-	 * Performs a detailed health check on a specific hub.
+	 * Performs a detailed health check on a specific hub, including the grid's session slots.
 	 */
-	private GridStatus checkHubStatus(String hubUrl)
+	private CompletableFuture<GridStatus> checkHubStatus(String hubUrl)
 	{
 		Instant checkTime = Instant.now();
 		long startTime = System.currentTimeMillis();
 		
-		try
+		return HubConnectionUtils.queryHubCapacityAsync(hubUrl).handle((capacity, error) ->
 		{
-			boolean available = HubConnectionUtils.isHubAvailable(hubUrl);
-			long responseTime = System.currentTimeMillis() - startTime;
-			
-			if (available)
+			if (error != null)
 			{
-				return new GridStatus(hubUrl, responseTime, checkTime);
+				return unavailableStatus(hubUrl, checkTime, error);
 			}
-			else
-			{
-				GridStatus previousStatus = hubStatuses.get(hubUrl);
-				int failures = previousStatus != null ? previousStatus.getConsecutiveFailures() + 1 : 1;
-				return new GridStatus(hubUrl, checkTime, "Hub not responding", failures);
-			}
-		}
-		catch (Exception e)
-		{
-			GridStatus previousStatus = hubStatuses.get(hubUrl);
-			int failures = previousStatus != null ? previousStatus.getConsecutiveFailures() + 1 : 1;
-			return new GridStatus(hubUrl, checkTime, e.getMessage(), failures);
-		}
+			long responseTime = System.currentTimeMillis() - startTime;
+			return new GridStatus(hubUrl, responseTime, checkTime, capacity);
+		});
+	}
+	
+	private GridStatus unavailableStatus(String hubUrl, Instant checkTime, Throwable error)
+	{
+		Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+		String message = cause.getMessage() != null ? cause.getMessage() : cause.getClass().getSimpleName();
+		GridStatus previousStatus = hubStatuses.get(hubUrl);
+		int failures = previousStatus != null ? previousStatus.getConsecutiveFailures() + 1 : 1;
+		return new GridStatus(hubUrl, checkTime, message, failures);
 	}
 	
 	/**
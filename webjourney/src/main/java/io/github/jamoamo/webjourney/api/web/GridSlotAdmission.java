@@ -0,0 +1,296 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2024 James Amoore.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package io.github.jamoamo.webjourney.api.web;
+
+import io.github.jamoamo.webjourney.api.Deadline;
+import io.github.jamoamo.webjourney.api.DeadlineExceededException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Decides whether a remote session is started on a hub, based on the free session slots the hub last reported.
+ * <p>
+ * A session request sent to a full grid waits in the hub's new-session queue, possibly until the session timeout.
+ * Admission keeps such requests on this side instead: a hub is only chosen if it has a free slot for the requested
+ * browser. What happens when no hub has a free slot depends on the admission: the request is sent anyway, rejected so
+ * that the caller can fall back to a local browser, or queued locally until a slot is freed.
+ * <p>
+ * Between health checks, the slots reported by a hub are adjusted by the sessions admitted to it and released from
+ * it since the check. A hub whose capacity is unknown, for example because it has not been checked yet or is a
+ * Selenium Grid 3 hub, is assumed to have a free slot.
+ *
+ * @author James Amoore
+ */
+public final class GridSlotAdmission
+{
+	private static final Logger LOGGER = LoggerFactory.getLogger(GridSlotAdmission.class);
+	private static final Duration DEFAULT_POLL_INTERVAL = Duration.ofSeconds(1);
+
+	/**
+	 * What happens to a session request when no hub has a free slot.
+	 */
+	public enum WhenFull
+	{
+		/**
+		 * The session is requested anyway, and waits in the hub's queue.
+		 */
+		ADMIT,
+		/**
+		 * The session is not requested, so that the caller can fall back to a local browser.
+		 */
+		REJECT,
+		/**
+		 * The request waits locally until a slot is free, and is rejected if none is freed in time.
+		 */
+		QUEUE
+	}
+
+	private final WhenFull whenFull;
+	private final Duration maxWait;
+	private final Duration pollInterval;
+
+	private final ReentrantLock lock = new ReentrantLock();
+	private final Condition released = this.lock.newCondition();
+	private final Map<String, Slots> slots = new HashMap<>();
+
+	private GridSlotAdmission(WhenFull whenFull, Duration maxWait, Duration pollInterval)
+	{
+		this.whenFull = whenFull;
+		this.maxWait = maxWait;
+		this.pollInterval = pollInterval;
+	}
+
+	/**
+	 * Creates an admission that prefers hubs with a free slot but requests a session even when every hub is full.
+	 * @return the admission.
+	 */
+	public static GridSlotAdmission admitWhenFull()
+	{
+		return new GridSlotAdmission(WhenFull.ADMIT, Duration.ZERO, DEFAULT_POLL_INTERVAL);
+	}
+
+	/**
+	 * Creates an admission that rejects a session request when every hub is full.
+	 * @return the admission.
+	 */
+	public static GridSlotAdmission rejectWhenFull()
+	{
+		return new GridSlotAdmission(WhenFull.REJECT, Duration.ZERO, DEFAULT_POLL_INTERVAL);
+	}
+
+	/**
+	 * Creates an admission that queues a session request locally while every hub is full.
+	 * @param maxWait how long a request waits for a free slot before it is rejected.
+	 * @return the admission.
+	 */
+	public static GridSlotAdmission queueWhenFull(Duration maxWait)
+	{
+		return queueWhenFull(maxWait, DEFAULT_POLL_INTERVAL);
+	}
+
+	/**
+	 * Creates an admission that queues a session request locally while every hub is full.
+	 * @param maxWait how long a request waits for a free slot before it is rejected.
+	 * @param pollInterval how often a queued request checks the hubs' latest status for a free slot. A queued request
+	 * also checks again whenever a session admitted here is released.
+	 * @return the admission.
+	 */
+	public static GridSlotAdmission queueWhenFull(Duration maxWait, Duration pollInterval)
+	{
+		Objects.requireNonNull(maxWait, "Maximum wait cannot be null");
+		Objects.requireNonNull(pollInterval, "Poll interval cannot be null");
+		if(maxWait.isNegative() || pollInterval.isNegative() || pollInterval.isZero())
+		{
+			throw new IllegalArgumentException("Maximum wait cannot be negative and poll interval must be positive.");
+		}
+		return new GridSlotAdmission(WhenFull.QUEUE, maxWait, pollInterval);
+	}
+
+	/**
+	 * @return what happens to a session request when no hub has a free slot.
+	 */
+	public WhenFull getWhenFull()
+	{
+		return this.whenFull;
+	}
+
+	/**
+	 * @return how long a queued request waits for a free slot.
+	 */
+	public Duration getMaxWait()
+	{
+		return this.maxWait;
+	}
+
+	/**
+	 * Chooses the first hub with a free slot for its factory's browser and reserves the slot. The reservation must be
+	 * {@link #release(IRemoteBrowserFactory) released} when the session ends or cannot be created.
+	 * @param candidates the factories of the hubs to consider, in order of preference.
+	 * @param statuses looks up the latest status of a hub by its URL. It may return null if the hub has not been
+	 * checked. It is not called while holding the admission's lock.
+	 * @param deadline the deadline of the journey the session is for. A queued request never waits beyond it.
+	 * @return the chosen factory, or null if the request is rejected.
+	 * @throws DeadlineExceededException if the deadline passes while the request is queued.
+	 */
+	public IRemoteBrowserFactory admit(List<? extends IRemoteBrowserFactory> candidates,
+		Function<String, GridStatus> statuses, Deadline deadline)
+	{
+		if(candidates.isEmpty())
+		{
+			return null;
+		}
+		Deadline queueDeadline = deadline.min(this.maxWait);
+		boolean logged = false;
+		while(true)
+		{
+			Map<IRemoteBrowserFactory, GridStatus> latest = new HashMap<>();
+			for(IRemoteBrowserFactory candidate : candidates)
+			{
+				latest.put(candidate, statuses.apply(hubUrl(candidate)));
+			}
+
+			this.lock.lock();
+			try
+			{
+				for(IRemoteBrowserFactory candidate : candidates)
+				{
+					if(freeSlots(candidate, latest.get(candidate)) > 0)
+					{
+						reserve(candidate);
+						return candidate;
+					}
+				}
+				if(this.whenFull == WhenFull.ADMIT)
+				{
+					reserve(candidates.get(0));
+					return candidates.get(0);
+				}
+				if(this.whenFull == WhenFull.REJECT || queueDeadline.isExpired())
+				{
+					deadline.check();
+					LOGGER.info("No grid slot is free; rejecting the session request.");
+					return null;
+				}
+				if(!logged)
+				{
+					LOGGER.info("No grid slot is free; queueing the session request for up to {}ms.",
+						queueDeadline.remaining().toMillis());
+					logged = true;
+				}
+				this.released.awaitNanos(queueDeadline.bound(this.pollInterval).toNanos());
+			}
+			catch(InterruptedException ex)
+			{
+				Thread.currentThread().interrupt();
+				throw new NoAvailableHubException("Interrupted waiting for a free grid slot.", ex,
+					candidates.stream().map(GridSlotAdmission::hubUrl).toList());
+			}
+			finally
+			{
+				this.lock.unlock();
+			}
+		}
+	}
+
+	/**
+	 * Releases the slot reserved for a session, waking queued requests.
+	 * @param factory the factory of the hub the slot was reserved on.
+	 */
+	public void release(IRemoteBrowserFactory factory)
+	{
+		this.lock.lock();
+		try
+		{
+			Slots hubSlots = this.slots.get(key(factory));
+			if(hubSlots != null)
+			{
+				hubSlots.released++;
+			}
+			this.released.signalAll();
+		}
+		finally
+		{
+			this.lock.unlock();
+		}
+	}
+
+	/**
+	 * Calculates the free slots for a factory's browser on its hub, adjusted by the sessions admitted and released
+	 * since the status was checked. Must be called while holding the lock.
+	 */
+	private int freeSlots(IRemoteBrowserFactory factory, GridStatus status)
+	{
+		if(status == null || status.getCapacity() == null)
+		{
+			return Integer.MAX_VALUE;
+		}
+		GridCapacity capacity = status.getCapacity();
+		Slots hubSlots = this.slots.computeIfAbsent(key(factory), name -> new Slots());
+		if(!status.getLastChecked().equals(hubSlots.checked))
+		{
+			// The new status already counts the sessions admitted and released before it
+			hubSlots.checked = status.getLastChecked();
+			hubSlots.admitted = 0;
+			hubSlots.released = 0;
+		}
+		String browserName = factory.getBrowserName();
+		int free = capacity.getFreeSlots(browserName) - hubSlots.admitted + hubSlots.released;
+		return Math.min(free, capacity.getTotalSlots(browserName));
+	}
+
+	private void reserve(IRemoteBrowserFactory factory)
+	{
+		this.slots.computeIfAbsent(key(factory), name -> new Slots()).admitted++;
+	}
+
+	private static String key(IRemoteBrowserFactory factory)
+	{
+		return hubUrl(factory) + "|" + factory.getBrowserName();
+	}
+
+	private static String hubUrl(IRemoteBrowserFactory factory)
+	{
+		IHubConfiguration configuration = factory.getHubConfiguration();
+		return configuration == null ? null : configuration.getHubUrl();
+	}
+
+	/**
+	 * The sessions admitted to and released from a hub since its status was checked. Guarded by the lock.
+	 */
+	private static final class Slots
+	{
+		private Instant checked;
+		private int admitted;
+		private int released;
+	}
+}
@@ -28,7 +28,8 @@ import java.util.Objects;
 
 /**
  * Represents the health status of a Selenium Grid hub.
- * Contains information about availability, response time, and error details.
+ * Contains information about availability, response time, and error details, and the grid's session slots when the
+ * hub reports them.
  * 
  * @author James Amoore
  */
@@ -40,6 +41,7 @@ public final class GridStatus
 	private final Instant lastChecked;
 	private final String errorMessage;
 	private final int consecutiveFailures;
+	private final GridCapacity capacity;
 	
 	/**
 	 * Creates a new grid status for an available hub.
@@ -50,7 +52,20 @@ public final class GridStatus
 	 */
 	public GridStatus(String hubUrl, long responseTimeMs, Instant lastChecked)
 	{
-		this(hubUrl, true, responseTimeMs, lastChecked, null, 0);
+		this(hubUrl, responseTimeMs, lastChecked, null);
+	}
+	
+	/**
+	 * Creates a new grid status for an available hub that reported its session slots.
+	 *
+	 * @param hubUrl the hub URL
+	 * @param responseTimeMs the response time in milliseconds
+	 * @param lastChecked when the status was last checked
+	 * @param capacity the grid's session slots (null if the hub did not report them)
+	 */
+	public GridStatus(String hubUrl, long responseTimeMs, Instant lastChecked, GridCapacity capacity)
+	{
+		this(hubUrl, true, responseTimeMs, lastChecked, null, 0, capacity);
 	}
 	
 	/**
@@ -63,7 +78,7 @@ public final class GridStatus
 	 */
 	public GridStatus(String hubUrl, Instant lastChecked, String errorMessage, int consecutiveFailures)
 	{
-		this(hubUrl, false, -1, lastChecked, errorMessage, consecutiveFailures);
+		this(hubUrl, false, -1, lastChecked, errorMessage, consecutiveFailures, null);
 	}
 	
 	/**
@@ -78,6 +93,23 @@ public final class GridStatus
 	 */
 	public GridStatus(String hubUrl, boolean available, long responseTimeMs, 
 					 Instant lastChecked, String errorMessage, int consecutiveFailures)
+	{
+		this(hubUrl, available, responseTimeMs, lastChecked, errorMessage, consecutiveFailures, null);
+	}
+	
+	/**
+	 * Creates a new grid status with full details, including the grid's session slots.
+	 *
+	 * @param hubUrl the hub URL
+	 * @param available whether the hub is available
+	 * @param responseTimeMs the response time in milliseconds (-1 if unavailable)
+	 * @param lastChecked when the status was last checked
+	 * @param errorMessage the error message (null if available)
+	 * @param consecutiveFailures the number of consecutive failures
+	 * @param capacity the grid's session slots (null if unknown)
+	 */
+	public GridStatus(String hubUrl, boolean available, long responseTimeMs, 
+					 Instant lastChecked, String errorMessage, int consecutiveFailures, GridCapacity capacity)
 	{
 		this.hubUrl = Objects.requireNonNull(hubUrl, "Hub URL cannot be null");
 		this.available = available;
@@ -85,6 +117,7 @@ public final class GridStatus
 		this.lastChecked = Objects.requireNonNull(lastChecked, "Last checked time cannot be null");
 		this.errorMessage = errorMessage;
 		this.consecutiveFailures = Math.max(0, consecutiveFailures);
+		this.capacity = capacity;
 	}
 	
 	/**
@@ -147,6 +180,16 @@ public final class GridStatus
 		return consecutiveFailures;
 	}
 	
+	/**
+	 * Gets the grid's session slots, as reported by the hub's status endpoint.
+	 *
+	 * @return the capacity, or null if the hub did not report its slots
+	 */
+	public GridCapacity getCapacity()
+	{
+		return capacity;
+	}
+	
 	/**
 	 * Determines if this status is stale based on the given age threshold.
 	 *
@@ -175,7 +218,8 @@ public final class GridStatus
 			   consecutiveFailures == that.consecutiveFailures &&
 			   Objects.equals(hubUrl, that.hubUrl) &&
 			   Objects.equals(lastChecked, that.lastChecked) &&
-			   Objects.equals(errorMessage, that.errorMessage);
+			   Objects.equals(errorMessage, that.errorMessage) &&
+			   Objects.equals(capacity, that.capacity);
 	}
 	
 	@Override
@@ -189,8 +233,8 @@ public final class GridStatus
 	{
 		if (available)
 		{
-			return String.format("GridStatus{hubUrl='%s', available=true, responseTime=%dms, lastChecked=%s}", 
-								hubUrl, responseTimeMs, lastChecked);
+			return String.format("GridStatus{hubUrl='%s', available=true, responseTime=%dms, capacity=%s, lastChecked=%s}", 
+								hubUrl, responseTimeMs, capacity, lastChecked);
 		}
 		else
 		{
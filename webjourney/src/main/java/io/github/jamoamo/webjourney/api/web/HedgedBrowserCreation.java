@@ -0,0 +1,172 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2024 James Amoore.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package io.github.jamoamo.webjourney.api.web;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Races a browser creation against a second, hedged creation that is only started once the first has taken longer
+ * than a delay. The first browser to be created is used, and the other is exited as soon as it has been created.
+ *
+ * @author James Amoore
+ */
+final class HedgedBrowserCreation
+{
+	private static final Logger LOGGER = LoggerFactory.getLogger(HedgedBrowserCreation.class);
+	private static final ThreadFactory HEDGE_THREADS = Thread.ofVirtual().name("webjourney-browser-hedge-", 1).factory();
+	private static final Executor EXECUTOR = task -> HEDGE_THREADS.newThread(task).start();
+
+	private HedgedBrowserCreation()
+	{
+	}
+
+	/**
+	 * Creates a browser, starting the hedged creation if the primary creation is not done within the delay.
+	 * @param primary the primary creation.
+	 * @param hedge the hedged creation.
+	 * @param delay how long to wait for the primary creation before starting the hedged one.
+	 * @param hedgeOnFailure whether to start the hedged creation straight away if the primary creation fails within
+	 * the delay.
+	 * @return the first browser created.
+	 * @throws RuntimeException the primary creation's exception if the hedged creation was not started, otherwise the
+	 * hedged creation's exception with the primary creation's exception suppressed.
+	 */
+	static IBrowser create(Supplier<IBrowser> primary, Supplier<IBrowser> hedge, Duration delay,
+		boolean hedgeOnFailure)
+	{
+		CompletableFuture<IBrowser> winner = new CompletableFuture<>();
+		CompletableFuture<IBrowser> first = CompletableFuture.supplyAsync(primary, EXECUTOR);
+		first.thenAccept(browser -> offer(winner, browser));
+		try
+		{
+			return first.get(delay.toNanos(), TimeUnit.NANOSECONDS);
+		}
+		catch(TimeoutException ex)
+		{
+			LOGGER.info("Browser not created within {}ms; starting a hedged browser.", delay.toMillis());
+		}
+		catch(ExecutionException ex)
+		{
+			if(!hedgeOnFailure)
+			{
+				throw unwrap(ex);
+			}
+			LOGGER.warn("Browser creation failed; starting the hedged browser: {}", ex.getCause().getMessage());
+		}
+		catch(InterruptedException ex)
+		{
+			Thread.currentThread().interrupt();
+			abandon(winner);
+			throw new RemoteBrowserException("Interrupted while creating a browser", ex);
+		}
+
+		CompletableFuture<IBrowser> second = CompletableFuture.supplyAsync(hedge, EXECUTOR);
+		second.thenAccept(browser -> offer(winner, browser));
+		// Dependents run in no particular order, so only fail once neither creation has succeeded
+		CompletableFuture.allOf(first, second).whenComplete((ignored, failure) ->
+		{
+			if(first.isCompletedExceptionally() && second.isCompletedExceptionally())
+			{
+				RuntimeException hedgeFailure = unwrap(exceptionOf(second));
+				RuntimeException primaryFailure = unwrap(exceptionOf(first));
+				if(primaryFailure != hedgeFailure)
+				{
+					hedgeFailure.addSuppressed(primaryFailure);
+				}
+				winner.completeExceptionally(hedgeFailure);
+			}
+		});
+		try
+		{
+			return winner.get();
+		}
+		catch(ExecutionException ex)
+		{
+			throw unwrap(ex);
+		}
+		catch(InterruptedException ex)
+		{
+			Thread.currentThread().interrupt();
+			abandon(winner);
+			throw new RemoteBrowserException("Interrupted while creating a browser", ex);
+		}
+	}
+
+	private static void offer(CompletableFuture<IBrowser> winner, IBrowser browser)
+	{
+		if(!winner.complete(browser))
+		{
+			LOGGER.debug("Exiting the browser that lost the hedged creation.");
+			exitQuietly(browser);
+		}
+	}
+
+	/**
+	 * Makes sure that a browser created after the caller has given up is exited.
+	 */
+	private static void abandon(CompletableFuture<IBrowser> winner)
+	{
+		winner.cancel(false);
+		winner.thenAccept(HedgedBrowserCreation::exitQuietly);
+	}
+
+	private static Throwable exceptionOf(CompletableFuture<IBrowser> future)
+	{
+		return future.handle((browser, failure) -> failure).join();
+	}
+
+	private static RuntimeException unwrap(Throwable failure)
+	{
+		Throwable cause = failure;
+		while((cause instanceof CompletionException || cause instanceof ExecutionException) && cause.getCause() != null)
+		{
+			cause = cause.getCause();
+		}
+		return cause instanceof RuntimeException runtime ? runtime :
+			new RemoteBrowserException("Browser creation failed", cause);
+	}
+
+	@SuppressWarnings("IllegalCatch")
+	private static void exitQuietly(IBrowser browser)
+	{
+		try
+		{
+			browser.exit();
+		}
+		catch(RuntimeException ex)
+		{
+			LOGGER.warn("Failed to exit browser: {}", ex.getMessage());
+		}
+	}
+}
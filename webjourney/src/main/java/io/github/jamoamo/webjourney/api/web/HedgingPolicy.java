@@ -0,0 +1,160 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2024 James Amoore.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package io.github.jamoamo.webjourney.api.web;
+
+import java.time.Duration;
+import java.util.Objects;
+
+/**
+ * Decides when a second browser session is started alongside a remote session that is slow to start.
+ * <p>
+ * The hedge delay is a percentile of the remote factory's startup times, as recorded by
+ * {@link BrowserStartupMetrics#shared()}. Until enough startups have been recorded, a fixed initial delay is used
+ * instead. Policies are immutable.
+ *
+ * @author James Amoore
+ */
+public final class HedgingPolicy
+{
+	private static final HedgingPolicy DISABLED = new HedgingPolicy(0, 0, Duration.ZERO);
+	private static final int DEFAULT_MINIMUM_SAMPLES = 20;
+	private static final Duration DEFAULT_INITIAL_DELAY = Duration.ofSeconds(10);
+
+	private final double percentile;
+	private final int minimumSamples;
+	private final Duration initialDelay;
+
+	private HedgingPolicy(double percentile, int minimumSamples, Duration initialDelay)
+	{
+		this.percentile = percentile;
+		this.minimumSamples = minimumSamples;
+		this.initialDelay = initialDelay;
+	}
+
+	/**
+	 * @return a policy that never starts a second session.
+	 */
+	public static HedgingPolicy disabled()
+	{
+		return DISABLED;
+	}
+
+	/**
+	 * Creates a policy that starts a second session once the remote session has taken longer than a percentile of the
+	 * recorded startup times. Until 20 startups have been recorded, the second session is started after 10 seconds.
+	 * @param percentile the percentile, greater than 0 and at most 100. For example 90 starts a second session for the
+	 * slowest tenth of remote sessions.
+	 * @return the policy.
+	 */
+	public static HedgingPolicy atPercentile(double percentile)
+	{
+		if(percentile <= 0 || percentile > 100)
+		{
+			throw new IllegalArgumentException("Percentile must be greater than 0 and at most 100.");
+		}
+		return new HedgingPolicy(percentile, DEFAULT_MINIMUM_SAMPLES, DEFAULT_INITIAL_DELAY);
+	}
+
+	/**
+	 * Returns a copy of this policy that needs a number of recorded startups before the percentile is trusted.
+	 * @param samples the number of recorded startups.
+	 * @return the policy.
+	 */
+	public HedgingPolicy withMinimumSamples(int samples)
+	{
+		if(samples < 1)
+		{
+			throw new IllegalArgumentException("Minimum samples must be at least 1.");
+		}
+		return new HedgingPolicy(this.percentile, samples, this.initialDelay);
+	}
+
+	/**
+	 * Returns a copy of this policy that uses a fixed delay until enough startups have been recorded.
+	 * @param delay the initial delay.
+	 * @return the policy.
+	 */
+	public HedgingPolicy withInitialDelay(Duration delay)
+	{
+		Objects.requireNonNull(delay, "Initial delay cannot be null");
+		if(delay.isNegative())
+		{
+			throw new IllegalArgumentException("Initial delay cannot be negative.");
+		}
+		return new HedgingPolicy(this.percentile, this.minimumSamples, delay);
+	}
+
+	/**
+	 * @return true if a second session can be started.
+	 */
+	public boolean isEnabled()
+	{
+		return this.percentile > 0;
+	}
+
+	/**
+	 * @return the percentile of the startup times after which a second session is started.
+	 */
+	public double getPercentile()
+	{
+		return this.percentile;
+	}
+
+	/**
+	 * @return the number of recorded startups needed before the percentile is trusted.
+	 */
+	public int getMinimumSamples()
+	{
+		return this.minimumSamples;
+	}
+
+	/**
+	 * @return the delay used until enough startups have been recorded.
+	 */
+	public Duration getInitialDelay()
+	{
+		return this.initialDelay;
+	}
+
+	/**
+	 * Determines how long to wait for a session before starting a second one.
+	 * @param histogram the startup times of the factory creating the session, or null if none have been recorded.
+	 * @return the hedge delay.
+	 */
+	public Duration getHedgeDelay(StartupHistogram histogram)
+	{
+		if(histogram == null || histogram.getCount() < this.minimumSamples)
+		{
+			return this.initialDelay;
+		}
+		return histogram.getPercentile(this.percentile);
+	}
+
+	@Override
+	public String toString()
+	{
+		return isEnabled() ? "HedgingPolicy{percentile=" + this.percentile + ", minimumSamples=" + this.minimumSamples
+			+ ", initialDelay=" + this.initialDelay + "}" : "HedgingPolicy{disabled}";
+	}
+}
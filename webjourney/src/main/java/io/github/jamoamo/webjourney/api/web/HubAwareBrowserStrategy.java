@@ -23,8 +23,14 @@
  */
 package io.github.jamoamo.webjourney.api.web;
 
+import io.github.jamoamo.webjourney.api.Deadline;
+import io.github.jamoamo.webjourney.api.DeadlineExceededException;
+import io.github.jamoamo.webjourney.api.IJourneyContext;
 import java.time.Duration;
+import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -32,6 +38,21 @@ import org.slf4j.LoggerFactory;
  * Browser strategy that intelligently chooses between remote hub execution and local fallback.
  * This strategy attempts to create browsers on a remote hub first, and falls back to
  * local execution if the hub is unavailable or browser creation fails.
+ * <p>
+ * The strategy can also spread sessions over several hubs through a {@link HubLoadBalancer}. Browsers are then created
+ * on the least loaded hub that is not drained, and local execution is only used once no hub can create the browser.
+ * <p>
+ * When the health monitor reports the grid's session slots, a {@link GridSlotAdmission} keeps sessions from being
+ * requested from a full grid, where they would wait in the hub's queue. By default the strategy falls back to a local
+ * browser when no slot is free, or requests the session anyway if fallback is disabled.
+ * <p>
+ * A {@link HubCircuitBreaker} guards the hub. Once session creation has failed a number of times in a row, the breaker
+ * opens and the strategy goes straight to local execution, without waiting for the remote factory's connection
+ * timeouts and retries, until a probe session succeeds on the hub again.
+ * <p>
+ * With a {@link HedgingPolicy}, a remote session that is slower to start than usual is hedged: a local session, or a
+ * session on another hub if fallback is disabled, is started alongside it. Whichever browser is ready first is used
+ * and the other is exited.
  * 
  * @author James Amoore
  */
@@ -42,8 +63,14 @@ public class HubAwareBrowserStrategy implements IPreferredBrowserStrategy
 	private final IBrowserFactory remoteFactory;
 	private final IBrowserFactory localFactory;
 	private final IGridHealthMonitor healthMonitor;
+	private final HubLoadBalancer loadBalancer;
+	private final GridSlotAdmission slotAdmission;
+	private final HubCircuitBreaker circuitBreaker;
+	private final HedgingPolicy hedgingPolicy;
 	private final boolean enableFallback;
 	private final boolean enableHealthMonitoring;
+	private final String monitoredHub;
+	private final AtomicBoolean shutdown = new AtomicBoolean();
 	
 	/**
 	 * Creates a new hub-aware browser strategy.
@@ -62,51 +89,226 @@ public class HubAwareBrowserStrategy implements IPreferredBrowserStrategy
 	 * @param remoteFactory the remote browser factory to use for hub execution
 	 * @param localFactory the local browser factory to use for fallback
 	 * @param enableFallback whether to enable fallback to local execution
-	 * @param enableHealthMonitoring whether to enable hub health monitoring
+	 * @param enableHealthMonitoring whether to enable hub health monitoring through the
+	 * {@link GridHealthMonitor#shared() shared monitor}
 	 */
 	public HubAwareBrowserStrategy(IBrowserFactory remoteFactory, IBrowserFactory localFactory,
 								  boolean enableFallback, boolean enableHealthMonitoring)
 	{
+		this(remoteFactory, localFactory, enableFallback, enableHealthMonitoring ? GridHealthMonitor.shared() : null);
+	}
+	
+	/**
+	 * Creates a new hub-aware browser strategy that uses the provided health monitor.
+	 * <p>
+	 * This allows the monitor to be configured, for example with {@link GridHealthMonitor#GridHealthMonitor(boolean)
+	 * virtual threads}.
+	 *
+	 * @param remoteFactory the remote browser factory to use for hub execution
+	 * @param localFactory the local browser factory to use for fallback
+	 * @param enableFallback whether to enable fallback to local execution
+	 * @param healthMonitor the health monitor to use, or null to disable health monitoring
+	 */
+	public HubAwareBrowserStrategy(IBrowserFactory remoteFactory, IBrowserFactory localFactory,
+								  boolean enableFallback, IGridHealthMonitor healthMonitor)
+	{
+		this(remoteFactory, localFactory, enableFallback, healthMonitor,
+			enableFallback ? GridSlotAdmission.rejectWhenFull() : GridSlotAdmission.admitWhenFull());
+	}
+	
+	/**
+	 * Creates a new hub-aware browser strategy that uses the provided health monitor and slot admission.
+	 * <p>
+	 * The admission only applies when the remote factory is an {@link IRemoteBrowserFactory} and the health monitor
+	 * reports the hub's session slots. A rejected session falls back to local execution if fallback is enabled.
+	 *
+	 * @param remoteFactory the remote browser factory to use for hub execution
+	 * @param localFactory the local browser factory to use for fallback
+	 * @param enableFallback whether to enable fallback to local execution
+	 * @param healthMonitor the health monitor to use, or null to disable health monitoring
+	 * @param slotAdmission what to do when the hub has no free slot
+	 */
+	public HubAwareBrowserStrategy(IBrowserFactory remoteFactory, IBrowserFactory localFactory,
+								  boolean enableFallback, IGridHealthMonitor healthMonitor,
+								  GridSlotAdmission slotAdmission)
+	{
+		this(remoteFactory, localFactory, enableFallback, healthMonitor, slotAdmission, CircuitBreakerPolicy.defaults());
+	}
+	
+	/**
+	 * Creates a new hub-aware browser strategy that uses the provided health monitor, slot admission and circuit breaker
+	 * policy.
+	 * <p>
+	 * The circuit breaker only applies when the remote factory is an {@link IRemoteBrowserFactory} with a hub URL. It
+	 * listens to the health monitor, so that a hub found unavailable by a health check is not used until it recovers.
+	 *
+	 * @param remoteFactory the remote browser factory to use for hub execution
+	 * @param localFactory the local browser factory to use for fallback
+	 * @param enableFallback whether to enable fallback to local execution
+	 * @param healthMonitor the health monitor to use, or null to disable health monitoring
+	 * @param slotAdmission what to do when the hub has no free slot
+	 * @param breakerPolicy when to stop requesting sessions from a failing hub
+	 */
+	public HubAwareBrowserStrategy(IBrowserFactory remoteFactory, IBrowserFactory localFactory,
+								  boolean enableFallback, IGridHealthMonitor healthMonitor,
+								  GridSlotAdmission slotAdmission, CircuitBreakerPolicy breakerPolicy)
+	{
+		this(remoteFactory, localFactory, enableFallback, healthMonitor, slotAdmission, breakerPolicy,
+			HedgingPolicy.disabled());
+	}
+	
+	/**
+	 * Creates a new hub-aware browser strategy that also hedges slow remote sessions with a local session.
+	 * <p>
+	 * Hedging needs fallback to be enabled, as the hedged session is created by the local factory.
+	 *
+	 * @param remoteFactory the remote browser factory to use for hub execution
+	 * @param localFactory the local browser factory to use for fallback
+	 * @param enableFallback whether to enable fallback to local execution
+	 * @param healthMonitor the health monitor to use, or null to disable health monitoring
+	 * @param slotAdmission what to do when the hub has no free slot
+	 * @param breakerPolicy when to stop requesting sessions from a failing hub
+	 * @param hedgingPolicy when to start a local session alongside a slow remote session
+	 */
+	public HubAwareBrowserStrategy(IBrowserFactory remoteFactory, IBrowserFactory localFactory,
+								  boolean enableFallback, IGridHealthMonitor healthMonitor,
+								  GridSlotAdmission slotAdmission, CircuitBreakerPolicy breakerPolicy,
+								  HedgingPolicy hedgingPolicy)
+	{
+		Objects.requireNonNull(breakerPolicy, "Circuit breaker policy cannot be null");
+		this.hedgingPolicy = Objects.requireNonNull(hedgingPolicy, "Hedging policy cannot be null");
+		this.slotAdmission = Objects.requireNonNull(slotAdmission, "Slot admission cannot be null");
 		this.remoteFactory = Objects.requireNonNull(remoteFactory, "Remote factory cannot be null");
 		this.localFactory = enableFallback ? 
 			Objects.requireNonNull(localFactory, "Local factory cannot be null when fallback is enabled") : 
 			localFactory;
 		this.enableFallback = enableFallback;
-		this.enableHealthMonitoring = enableHealthMonitoring;
-		this.healthMonitor = enableHealthMonitoring ? new GridHealthMonitor() : null;
+		this.enableHealthMonitoring = healthMonitor != null;
+		this.healthMonitor = healthMonitor;
+		this.loadBalancer = null;
+		this.circuitBreaker = createCircuitBreaker(remoteFactory, breakerPolicy);
 		
-		// Start health monitoring if enabled
-		if (enableHealthMonitoring && healthMonitor != null)
+		if (healthMonitor != null && circuitBreaker != null)
+		{
+			healthMonitor.registerHealthListener(circuitBreaker);
+		}
+		
+		// Start health monitoring if enabled, extracting the hub URL from the remote factory via API abstraction
+		String hubUrl = enableHealthMonitoring && remoteFactory instanceof IRemoteBrowserFactory rbf ?
+			rbf.getHubConfiguration().getHubUrl() : null;
+		this.monitoredHub = hubUrl;
+		if (hubUrl != null)
 		{
-			// Extract hub URL from remote factory via API abstraction
-			if (remoteFactory instanceof IRemoteBrowserFactory)
+			healthMonitor.addHub(hubUrl);
+			// A monitor shared with other strategies is already running
+			if (!healthMonitor.isMonitoring())
 			{
-				IRemoteBrowserFactory rbf = (IRemoteBrowserFactory) remoteFactory;
-				String hubUrl = rbf.getHubConfiguration().getHubUrl();
-				if (hubUrl != null)
-				{
-					healthMonitor.addHub(hubUrl);
-					healthMonitor.startMonitoring(Duration.ofSeconds(30));
-				}
+				healthMonitor.startMonitoring(Duration.ofSeconds(30));
 			}
 		}
 	}
 	
+	/**
+	 * Creates a new hub-aware browser strategy that balances remote sessions over several hubs.
+	 * <p>
+	 * The balancer's health monitor is used to drain unhealthy hubs and is stopped when the strategy is shut down.
+	 * What happens when every hub is full is decided by the balancer's {@link GridSlotAdmission}.
+	 *
+	 * @param loadBalancer the balancer over the hubs to use for remote execution
+	 * @param localFactory the local browser factory to use for fallback
+	 * @param enableFallback whether to enable fallback to local execution
+	 */
+	public HubAwareBrowserStrategy(HubLoadBalancer loadBalancer, IBrowserFactory localFactory, boolean enableFallback)
+	{
+		this(loadBalancer, localFactory, enableFallback, HedgingPolicy.disabled());
+	}
+	
+	/**
+	 * Creates a new hub-aware browser strategy that balances remote sessions over several hubs and hedges slow remote
+	 * sessions.
+	 * <p>
+	 * A slow session is hedged with a local session if fallback is enabled, and otherwise with a session on the next
+	 * least loaded hub.
+	 *
+	 * @param loadBalancer the balancer over the hubs to use for remote execution
+	 * @param localFactory the local browser factory to use for fallback
+	 * @param enableFallback whether to enable fallback to local execution
+	 * @param hedgingPolicy when to start a second session alongside a slow remote session
+	 */
+	public HubAwareBrowserStrategy(HubLoadBalancer loadBalancer, IBrowserFactory localFactory, boolean enableFallback,
+								  HedgingPolicy hedgingPolicy)
+	{
+		this.hedgingPolicy = Objects.requireNonNull(hedgingPolicy, "Hedging policy cannot be null");
+		this.loadBalancer = Objects.requireNonNull(loadBalancer, "Load balancer cannot be null");
+		this.slotAdmission = loadBalancer.getSlotAdmission();
+		this.remoteFactory = loadBalancer;
+		this.localFactory = enableFallback ? 
+			Objects.requireNonNull(localFactory, "Local factory cannot be null when fallback is enabled") : 
+			localFactory;
+		this.enableFallback = enableFallback;
+		this.healthMonitor = loadBalancer.getHealthMonitor();
+		this.enableHealthMonitoring = this.healthMonitor != null;
+		// The balancer keeps a circuit breaker for each of its hubs and adds them to its monitor
+		this.circuitBreaker = null;
+		this.monitoredHub = null;
+	}
+	
+	private static HubCircuitBreaker createCircuitBreaker(IBrowserFactory remoteFactory, CircuitBreakerPolicy policy)
+	{
+		if (!(remoteFactory instanceof IRemoteBrowserFactory) || !policy.isEnabled())
+		{
+			return null;
+		}
+		IHubConfiguration hubConfig = ((IRemoteBrowserFactory) remoteFactory).getHubConfiguration();
+		String hubUrl = hubConfig == null ? null : hubConfig.getHubUrl();
+		if (hubUrl == null || hubUrl.isBlank())
+		{
+			return null;
+		}
+		return new HubCircuitBreaker(hubUrl, policy);
+	}
+	
 	@Override
 	public IBrowser getPreferredBrowser(IBrowserOptions options)
+	{
+		return getPreferredBrowser(options, null);
+	}
+	
+	/**
+	 * Returns the preferred browser. A session request queued for a free grid slot never waits beyond the journey's
+	 * deadline.
+	 *
+	 * @param options options for the browser
+	 * @param journeyContext the journey context, or null
+	 * @return the preferred browser
+	 */
+	@Override
+	public IBrowser getPreferredBrowser(IBrowserOptions options, IJourneyContext journeyContext)
 	{
 		// Check if remote execution is explicitly configured
 		boolean useRemote = shouldUseRemote(options);
 		
 		if (useRemote)
 		{
+			Supplier<IBrowser> hedge = getHedge(options, journeyContext);
+			if (hedge != null)
+			{
+				return createHedgedBrowser(options, journeyContext, hedge);
+			}
+			
 			try
 			{
 				LOGGER.debug("Attempting to create browser on remote hub");
-				IBrowser remoteBrowser = remoteFactory.createBrowser(options);
+				// The balancer times each session against the hub it was created on
+				IBrowser remoteBrowser = loadBalancer != null ? loadBalancer.createBrowser(options, journeyContext) :
+					createRemoteBrowser(options, journeyContext);
 				LOGGER.info("Successfully created browser on remote hub");
 				return remoteBrowser;
 			}
+			catch (DeadlineExceededException e)
+			{
+				throw e;
+			}
 			catch (Exception e)
 			{
 				LOGGER.warn("Failed to create browser on remote hub: {}", e.getMessage());
@@ -129,11 +331,154 @@ public class HubAwareBrowserStrategy implements IPreferredBrowserStrategy
 		}
 	}
 	
+	/**
+	 * Gets the creation that hedges a slow remote session, if hedging is enabled.
+	 */
+	private Supplier<IBrowser> getHedge(IBrowserOptions options, IJourneyContext journeyContext)
+	{
+		if (!hedgingPolicy.isEnabled())
+		{
+			return null;
+		}
+		if (enableFallback && localFactory != null)
+		{
+			return () -> createLocalBrowser(options);
+		}
+		// The balancer puts a second session on another hub, as the first counts against its hub's load
+		if (loadBalancer != null && loadBalancer.getHubUrls().size() > 1)
+		{
+			return () -> loadBalancer.createBrowser(options, journeyContext);
+		}
+		return null;
+	}
+	
+	/**
+	 * Creates a remote browser, starting the hedge alongside it if it is slower to start than the hedging policy
+	 * allows.
+	 */
+	private IBrowser createHedgedBrowser(IBrowserOptions options, IJourneyContext journeyContext,
+		Supplier<IBrowser> hedge)
+	{
+		Supplier<IBrowser> remote = () -> loadBalancer != null ? loadBalancer.createBrowser(options, journeyContext) :
+			createRemoteBrowser(options, journeyContext);
+		try
+		{
+			// A remote failure falls back to the local hedge straight away, as it would without hedging
+			return HedgedBrowserCreation.create(remote, hedge, getHedgeDelay(), enableFallback);
+		}
+		catch (DeadlineExceededException e)
+		{
+			throw e;
+		}
+		catch (RuntimeException e)
+		{
+			if (enableFallback)
+			{
+				throw e;
+			}
+			throw new RemoteBrowserException("Remote browser creation failed and fallback is disabled", e);
+		}
+	}
+	
+	/**
+	 * Gets how long to wait for a remote session before hedging it, from the startup times of the remote factories.
+	 */
+	private Duration getHedgeDelay()
+	{
+		List<? extends IBrowserFactory> factories = loadBalancer != null ? loadBalancer.getFactories() :
+			List.of(remoteFactory);
+		Duration delay = Duration.ZERO;
+		for (IBrowserFactory factory : factories)
+		{
+			StartupHistogram histogram = BrowserStartupMetrics.shared()
+				.getHistogram(BrowserStartupMetrics.factoryName(factory)).orElse(null);
+			Duration factoryDelay = hedgingPolicy.getHedgeDelay(histogram);
+			if (factoryDelay.compareTo(delay) > 0)
+			{
+				delay = factoryDelay;
+			}
+		}
+		return delay;
+	}
+	
+	/**
+	 * Creates a browser using the remote factory once the hub has a free slot for it.
+	 */
+	private IBrowser createRemoteBrowser(IBrowserOptions options, IJourneyContext journeyContext)
+	{
+		if (!(remoteFactory instanceof IRemoteBrowserFactory))
+		{
+			return BrowserStartupMetrics.shared().time(remoteFactory, () -> remoteFactory.createBrowser(options));
+		}
+		
+		IRemoteBrowserFactory factory = (IRemoteBrowserFactory) remoteFactory;
+		String hubUrl = factory.getHubConfiguration().getHubUrl();
+		if (circuitBreaker != null && !circuitBreaker.tryAcquire())
+		{
+			throw new NoAvailableHubException("Circuit breaker is open for hub: " + hubUrl, List.of(hubUrl));
+		}
+		
+		boolean admitted = false;
+		try
+		{
+			admitted = slotAdmission.admit(List.of(factory), this::getLatestHubStatus, Deadline.of(journeyContext)) != null;
+		}
+		finally
+		{
+			if (!admitted && circuitBreaker != null)
+			{
+				circuitBreaker.releaseUnused();
+			}
+		}
+		if (!admitted)
+		{
+			throw new NoAvailableHubException("No free slot on hub: " + hubUrl, List.of(hubUrl));
+		}
+		
+		long start = System.nanoTime();
+		try
+		{
+			IBrowser browser = BrowserStartupMetrics.shared().time(factory, () -> factory.createBrowser(options));
+			if (circuitBreaker != null)
+			{
+				circuitBreaker.onSuccess(Duration.ofNanos(System.nanoTime() - start));
+			}
+			return new TrackedBrowser(browser, () -> slotAdmission.release(factory));
+		}
+		catch (RuntimeException e)
+		{
+			if (circuitBreaker != null)
+			{
+				circuitBreaker.onFailure();
+			}
+			slotAdmission.release(factory);
+			throw e;
+		}
+	}
+	
+	/**
+	 * Gets the latest status of a hub from the health monitor, if the hub is monitored.
+	 */
+	private GridStatus getLatestHubStatus(String hubUrl)
+	{
+		if (!enableHealthMonitoring || healthMonitor == null || hubUrl == null)
+		{
+			return null;
+		}
+		return healthMonitor.getHubStatus(hubUrl);
+	}
+	
 	/**
 	 * Determines whether to use remote execution based on options and hub availability.
 	 */
 	private boolean shouldUseRemote(IBrowserOptions options)
 	{
+		// A balancer tracks the health of all of its hubs
+		if (loadBalancer != null)
+		{
+			return loadBalancer.hasAvailableHub();
+		}
+		
 		// If options explicitly specify remote execution
 		if (options instanceof IRemoteBrowserOptions)
 		{
@@ -147,6 +492,12 @@ public class HubAwareBrowserStrategy implements IPreferredBrowserStrategy
 		// Check if remote factory can be used (has hub configuration)
 		if (remoteFactory instanceof IRemoteBrowserFactory)
 		{
+			// An open circuit breaker skips the remote attempt entirely
+			if (circuitBreaker != null && !circuitBreaker.allowsRequests())
+			{
+				LOGGER.debug("Circuit breaker is open for hub {}", circuitBreaker.getHubUrl());
+				return false;
+			}
 			IRemoteBrowserFactory rbf = (IRemoteBrowserFactory) remoteFactory;
 			return isHubAvailable(rbf.getHubConfiguration());
 		}
@@ -203,7 +554,8 @@ public class HubAwareBrowserStrategy implements IPreferredBrowserStrategy
 			}
 		}
 		
-		return localFactory.createBrowser(localOptions);
+		IBrowserOptions browserOptions = localOptions;
+		return BrowserStartupMetrics.shared().time(localFactory, () -> localFactory.createBrowser(browserOptions));
 	}
 	
 	/**
@@ -216,6 +568,47 @@ public class HubAwareBrowserStrategy implements IPreferredBrowserStrategy
 		return remoteFactory;
 	}
 	
+	/**
+	 * Gets the balancer used to spread sessions over several hubs.
+	 *
+	 * @return the load balancer, or null if the strategy uses a single remote factory
+	 */
+	public HubLoadBalancer getLoadBalancer()
+	{
+		return loadBalancer;
+	}
+	
+	/**
+	 * Gets the admission deciding whether a session is requested when the grid has no free slot.
+	 *
+	 * @return the slot admission
+	 */
+	public GridSlotAdmission getSlotAdmission()
+	{
+		return slotAdmission;
+	}
+	
+	/**
+	 * Gets the circuit breaker guarding the remote hub.
+	 *
+	 * @return the circuit breaker, or null if the strategy uses a load balancer, the remote factory has no hub URL or
+	 * the breaker is disabled
+	 */
+	public HubCircuitBreaker getCircuitBreaker()
+	{
+		return circuitBreaker;
+	}
+	
+	/**
+	 * Gets the policy deciding when a slow remote session is hedged.
+	 *
+	 * @return the hedging policy
+	 */
+	public HedgingPolicy getHedgingPolicy()
+	{
+		return hedgingPolicy;
+	}
+	
 	/**
 	 * Gets the local browser factory.
 	 *
@@ -259,10 +652,28 @@ public class HubAwareBrowserStrategy implements IPreferredBrowserStrategy
 	/**
 	 * Shuts down the strategy and any associated resources.
 	 * This should be called when the strategy is no longer needed.
+	 * The strategy's hub is removed from the health monitor, but the {@link GridHealthMonitor#shared() shared monitor}
+	 * keeps running and keeps checking the hubs that other strategies still use.
 	 */
 	public void shutdown()
 	{
-		if (healthMonitor != null && healthMonitor.isMonitoring())
+		if (!shutdown.compareAndSet(false, true))
+		{
+			return;
+		}
+		if (loadBalancer != null)
+		{
+			loadBalancer.shutdown();
+		}
+		if (healthMonitor != null && circuitBreaker != null)
+		{
+			healthMonitor.unregisterHealthListener(circuitBreaker);
+		}
+		if (healthMonitor != null && monitoredHub != null)
+		{
+			healthMonitor.removeHub(monitoredHub);
+		}
+		if (healthMonitor != null && healthMonitor != GridHealthMonitor.shared() && healthMonitor.isMonitoring())
 		{
 			healthMonitor.stopMonitoring();
 		}
@@ -0,0 +1,343 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2024 James Amoore.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package io.github.jamoamo.webjourney.api.web;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.locks.ReentrantLock;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Stops session requests from being sent to a hub that keeps failing to create sessions.
+ * <p>
+ * While the breaker is closed, every request is let through and consecutive failures are counted. Once the
+ * {@link CircuitBreakerPolicy policy's} threshold is reached the breaker opens, and requests are refused straight
+ * away so that the caller can fall back without paying for connection timeouts and retries. After the open duration
+ * the breaker is half open and lets a limited number of probe sessions through: a successful probe closes it and a
+ * failed one opens it again.
+ * <p>
+ * The breaker also listens to the health monitor. It opens as soon as the monitor reports its hub unavailable, and is
+ * half open as soon as the monitor reports the hub available again.
+ *
+ * @author James Amoore
+ */
+public final class HubCircuitBreaker implements GridHealthListener
+{
+	private static final Logger LOGGER = LoggerFactory.getLogger(HubCircuitBreaker.class);
+
+	/**
+	 * The state of a circuit breaker.
+	 */
+	public enum State
+	{
+		/**
+		 * Requests are let through.
+		 */
+		CLOSED,
+		/**
+		 * Requests are refused.
+		 */
+		OPEN,
+		/**
+		 * A limited number of probe requests are let through.
+		 */
+		HALF_OPEN
+	}
+
+	private final String hubUrl;
+	private final CircuitBreakerPolicy policy;
+	private final ReentrantLock lock = new ReentrantLock();
+	private State state = State.CLOSED;
+	private int consecutiveFailures;
+	private long openedNanos;
+	private int probesInFlight;
+
+	/**
+	 * Creates a closed breaker for a hub.
+	 * @param hubUrl the hub URL. Health events for other hubs are ignored.
+	 * @param policy the policy deciding when the breaker opens.
+	 */
+	public HubCircuitBreaker(String hubUrl, CircuitBreakerPolicy policy)
+	{
+		this.hubUrl = Objects.requireNonNull(hubUrl, "Hub URL cannot be null").trim();
+		this.policy = Objects.requireNonNull(policy, "Policy cannot be null");
+	}
+
+	/**
+	 * Asks to send a session request to the hub. A request that is let through must be followed by
+	 * {@link #onSuccess(Duration)}, {@link #onFailure()} or {@link #releaseUnused()}.
+	 * @return true if the request may be sent.
+	 */
+	public boolean tryAcquire()
+	{
+		this.lock.lock();
+		try
+		{
+			updateState();
+			switch(this.state)
+			{
+				case CLOSED:
+					return true;
+				case HALF_OPEN:
+					if(this.probesInFlight < this.policy.getHalfOpenProbes())
+					{
+						this.probesInFlight++;
+						return true;
+					}
+					return false;
+				default:
+					return false;
+			}
+		}
+		finally
+		{
+			this.lock.unlock();
+		}
+	}
+
+	/**
+	 * Determines whether a request would be let through, without asking to send one.
+	 * @return true if the breaker is closed, or half open with a probe to spare.
+	 */
+	public boolean allowsRequests()
+	{
+		this.lock.lock();
+		try
+		{
+			updateState();
+			return this.state == State.CLOSED
+				|| this.state == State.HALF_OPEN && this.probesInFlight < this.policy.getHalfOpenProbes();
+		}
+		finally
+		{
+			this.lock.unlock();
+		}
+	}
+
+	/**
+	 * Records that a session was created. A session slower than the policy's threshold is recorded as a failure.
+	 * @param elapsed how long the session took to create.
+	 */
+	public void onSuccess(Duration elapsed)
+	{
+		Duration slow = this.policy.getSlowSessionThreshold();
+		if(slow != null && elapsed.compareTo(slow) > 0)
+		{
+			LOGGER.warn("Session creation on hub {} took {}ms.", this.hubUrl, elapsed.toMillis());
+			onFailure();
+			return;
+		}
+		this.lock.lock();
+		try
+		{
+			this.consecutiveFailures = 0;
+			if(this.state == State.HALF_OPEN)
+			{
+				this.probesInFlight--;
+				close();
+			}
+		}
+		finally
+		{
+			this.lock.unlock();
+		}
+	}
+
+	/**
+	 * Records that a session could not be created.
+	 */
+	public void onFailure()
+	{
+		this.lock.lock();
+		try
+		{
+			this.consecutiveFailures++;
+			if(this.state == State.HALF_OPEN)
+			{
+				this.probesInFlight--;
+				open("probe session failed");
+			}
+			else if(this.state == State.CLOSED && this.policy.isEnabled()
+				&& this.consecutiveFailures >= this.policy.getFailureThreshold())
+			{
+				open(this.consecutiveFailures + " consecutive session failures");
+			}
+		}
+		finally
+		{
+			this.lock.unlock();
+		}
+	}
+
+	/**
+	 * Gives back a request that was let through but not sent.
+	 */
+	public void releaseUnused()
+	{
+		this.lock.lock();
+		try
+		{
+			if(this.state == State.HALF_OPEN && this.probesInFlight > 0)
+			{
+				this.probesInFlight--;
+			}
+		}
+		finally
+		{
+			this.lock.unlock();
+		}
+	}
+
+	/**
+	 * @return the current state of the breaker.
+	 */
+	public State getState()
+	{
+		this.lock.lock();
+		try
+		{
+			updateState();
+			return this.state;
+		}
+		finally
+		{
+			this.lock.unlock();
+		}
+	}
+
+	/**
+	 * @return the number of consecutive failed session creations.
+	 */
+	public int getConsecutiveFailures()
+	{
+		this.lock.lock();
+		try
+		{
+			return this.consecutiveFailures;
+		}
+		finally
+		{
+			this.lock.unlock();
+		}
+	}
+
+	/**
+	 * @return the hub URL.
+	 */
+	public String getHubUrl()
+	{
+		return this.hubUrl;
+	}
+
+	/**
+	 * @return the policy deciding when the breaker opens.
+	 */
+	public CircuitBreakerPolicy getPolicy()
+	{
+		return this.policy;
+	}
+
+	@Override
+	public void onHubAvailable(GridStatus status)
+	{
+		if(!this.hubUrl.equals(status.getHubUrl()))
+		{
+			return;
+		}
+		this.lock.lock();
+		try
+		{
+			if(this.state == State.OPEN)
+			{
+				halfOpen();
+			}
+		}
+		finally
+		{
+			this.lock.unlock();
+		}
+	}
+
+	@Override
+	public void onHubUnavailable(GridStatus status)
+	{
+		if(!this.hubUrl.equals(status.getHubUrl()) || !this.policy.isEnabled())
+		{
+			return;
+		}
+		this.lock.lock();
+		try
+		{
+			if(this.state != State.OPEN)
+			{
+				open("health check failed");
+			}
+		}
+		finally
+		{
+			this.lock.unlock();
+		}
+	}
+
+	/**
+	 * Moves an open breaker to half open once the open duration has passed. Must be called while holding the lock.
+	 */
+	private void updateState()
+	{
+		if(this.state == State.OPEN && System.nanoTime() - this.openedNanos >= this.policy.getOpenDuration().toNanos())
+		{
+			halfOpen();
+		}
+	}
+
+	private void open(String reason)
+	{
+		LOGGER.warn("Opening circuit breaker for hub {}: {}.", this.hubUrl, reason);
+		this.state = State.OPEN;
+		this.openedNanos = System.nanoTime();
+		this.probesInFlight = 0;
+	}
+
+	private void halfOpen()
+	{
+		LOGGER.info("Circuit breaker for hub {} is half open; probing the hub.", this.hubUrl);
+		this.state = State.HALF_OPEN;
+		this.probesInFlight = 0;
+	}
+
+	private void close()
+	{
+		LOGGER.info("Closing circuit breaker for hub {}.", this.hubUrl);
+		this.state = State.CLOSED;
+		this.consecutiveFailures = 0;
+		this.probesInFlight = 0;
+	}
+
+	@Override
+	public String toString()
+	{
+		return "HubCircuitBreaker{hubUrl=" + this.hubUrl + ", state=" + getState() + "}";
+	}
+}
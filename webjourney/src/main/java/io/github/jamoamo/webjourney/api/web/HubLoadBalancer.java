@@ -0,0 +1,614 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2024 James Amoore.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package io.github.jamoamo.webjourney.api.web;
+
+import io.github.jamoamo.webjourney.api.Deadline;
+import io.github.jamoamo.webjourney.api.IJourneyContext;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Spreads remote browser sessions over several Selenium Grid hubs.
+ * <p>
+ * Each hub is given a weight, and its load is the number of sessions it has outstanding divided by that weight. A
+ * session is outstanding from the time it is created until its browser is exited. For every new session the balancer
+ * orders the hubs by their selection policy and creates the session on the first hub that accepts it, trying the
+ * others in turn if it fails.
+ * <p>
+ * The hubs are registered with a health monitor, and the balancer keeps the latest {@link GridStatus} reported for
+ * each of them. A hub that the monitor reports as unavailable is drained: it is given no new sessions, while the
+ * sessions it already has carry on until they are exited. It is used again as soon as it is reported available. A
+ * hub that has not been checked yet is assumed to be available.
+ * <p>
+ * When the hubs report their session slots, hubs with a free slot for the requested browser are preferred. A
+ * {@link GridSlotAdmission} decides what happens when every hub is full.
+ * <p>
+ * Each hub also has a {@link HubCircuitBreaker}. A hub whose breaker is open is skipped without a session being
+ * requested from it, until the breaker lets a probe session through.
+ *
+ * @author James Amoore
+ */
+public final class HubLoadBalancer implements IBrowserFactory
+{
+	private static final Logger LOGGER = LoggerFactory.getLogger(HubLoadBalancer.class);
+	private static final Duration DEFAULT_MONITORING_INTERVAL = Duration.ofSeconds(30);
+
+	/**
+	 * How the hub for a new session is chosen.
+	 */
+	public enum SelectionPolicy
+	{
+		/**
+		 * Chooses the hub with the fewest outstanding sessions for its weight.
+		 */
+		LEAST_OUTSTANDING,
+		/**
+		 * Picks two hubs at random, in proportion to their weights, and chooses the one with the fewer outstanding
+		 * sessions for its weight. This avoids every caller choosing the same hub when the loads are momentarily
+		 * equal.
+		 */
+		POWER_OF_TWO_CHOICES
+	}
+
+	private final List<Hub> hubs;
+	private final SelectionPolicy policy;
+	private final IGridHealthMonitor healthMonitor;
+	private final GridSlotAdmission slotAdmission;
+	private final GridHealthListener healthListener = new HealthListener();
+	private final AtomicBoolean shutdown = new AtomicBoolean();
+
+	private HubLoadBalancer(Builder builder)
+	{
+		this.hubs = builder.hubs.values().stream()
+			.map(hub -> new Hub(hub.factory, hub.url, hub.weight, new HubCircuitBreaker(hub.url, builder.breakerPolicy)))
+			.toList();
+		this.policy = builder.policy;
+		this.healthMonitor = builder.healthMonitor;
+		this.slotAdmission = builder.slotAdmission;
+		if(this.healthMonitor != null)
+		{
+			this.healthMonitor.registerHealthListener(this.healthListener);
+			for(Hub hub : this.hubs)
+			{
+				this.healthMonitor.addHub(hub.url);
+			}
+			if(!this.healthMonitor.isMonitoring())
+			{
+				this.healthMonitor.startMonitoring(builder.monitoringInterval);
+			}
+		}
+	}
+
+	/**
+	 * Creates a builder for a balancer over the hubs that are added to it.
+	 * @return the builder.
+	 */
+	public static Builder builder()
+	{
+		return new Builder();
+	}
+
+	@Override
+	public IBrowser createBrowser(IBrowserOptions options)
+	{
+		return createBrowser(options, null);
+	}
+
+	/**
+	 * Creates a browser on the least loaded available hub with a free slot, trying the other available hubs in turn if
+	 * the session cannot be created.
+	 * @param options the options for the created browser.
+	 * @param journeyContext the journey context, or null.
+	 * @return the browser. Exiting it ends the session's share of its hub's load.
+	 * @throws NoAvailableHubException if every hub is drained or has an open circuit breaker, the slot admission rejects
+	 * the session or none of the hubs could create it.
+	 */
+	@Override
+	public IBrowser createBrowser(IBrowserOptions options, IJourneyContext journeyContext)
+	{
+		List<Hub> candidates = selectHubs();
+		if(candidates.isEmpty())
+		{
+			throw new NoAvailableHubException("No hub is available to create a browser session.", getHubUrls());
+		}
+
+		Deadline deadline = Deadline.of(journeyContext);
+		List<String> attempted = new ArrayList<>();
+		RuntimeException lastFailure = null;
+		while(!candidates.isEmpty())
+		{
+			IRemoteBrowserFactory admitted = this.slotAdmission.admit(
+				candidates.stream().map(hub -> hub.factory).toList(), this::statusOf, deadline);
+			if(admitted == null)
+			{
+				throw new NoAvailableHubException("No hub has a free slot for the browser session.", lastFailure,
+					candidates.stream().map(hub -> hub.url).toList());
+			}
+			Hub hub = candidates.stream().filter(candidate -> candidate.factory == admitted).findFirst().orElseThrow();
+			candidates.remove(hub);
+			hub.outstanding.incrementAndGet();
+			if(!hub.breaker.tryAcquire())
+			{
+				release(hub);
+				continue;
+			}
+			attempted.add(hub.url);
+			long start = System.nanoTime();
+			try
+			{
+				IBrowser browser = BrowserStartupMetrics.shared().time(hub.factory,
+					() -> hub.factory.createBrowser(options, journeyContext));
+				hub.breaker.onSuccess(Duration.ofNanos(System.nanoTime() - start));
+				LOGGER.debug("Created browser session on hub {} ({} outstanding).", hub.url, hub.outstanding.get());
+				return new TrackedBrowser(browser, () -> release(hub));
+			}
+			catch(RuntimeException ex)
+			{
+				hub.breaker.onFailure();
+				release(hub);
+				lastFailure = ex;
+				LOGGER.warn("Failed to create browser session on hub {}: {}", hub.url, ex.getMessage());
+			}
+		}
+		if(attempted.isEmpty())
+		{
+			throw new NoAvailableHubException("Every hub's circuit breaker is open.", getHubUrls());
+		}
+		throw new NoAvailableHubException("Failed to create a browser session on any hub.", lastFailure, attempted);
+	}
+
+	/**
+	 * Orders the available hubs by the selection policy. Drained hubs and hubs with an open circuit breaker are left
+	 * out.
+	 * @return the hubs to try for the next session, the preferred hub first.
+	 */
+	public List<IRemoteBrowserFactory> selectFactories()
+	{
+		return selectHubs().stream().map(hub -> hub.factory).toList();
+	}
+
+	/**
+	 * Determines if at least one hub is taking new sessions.
+	 * @return true if any hub is not drained and its circuit breaker lets sessions through.
+	 */
+	public boolean hasAvailableHub()
+	{
+		return this.hubs.stream().anyMatch(Hub::isSelectable);
+	}
+
+	/**
+	 * Determines if a hub is drained because its last health check found it unavailable.
+	 * @param hubUrl the hub URL.
+	 * @return true if the hub is drained.
+	 */
+	public boolean isDraining(String hubUrl)
+	{
+		return !hub(hubUrl).isAvailable();
+	}
+
+	/**
+	 * Retrieves the number of sessions a hub has outstanding.
+	 * @param hubUrl the hub URL.
+	 * @return the number of sessions created on the hub whose browsers have not yet been exited.
+	 */
+	public int getOutstandingSessions(String hubUrl)
+	{
+		return hub(hubUrl).outstanding.get();
+	}
+
+	/**
+	 * Retrieves the circuit breaker guarding a hub.
+	 * @param hubUrl the hub URL.
+	 * @return the circuit breaker.
+	 */
+	public HubCircuitBreaker getCircuitBreaker(String hubUrl)
+	{
+		return hub(hubUrl).breaker;
+	}
+
+	/**
+	 * Retrieves the latest status reported for a hub by the health monitor.
+	 * @param hubUrl the hub URL.
+	 * @return the status, or null if the hub has not been checked yet.
+	 */
+	public GridStatus getHubStatus(String hubUrl)
+	{
+		return hub(hubUrl).status;
+	}
+
+	/**
+	 * @return the URLs of the hubs, in the order they were added.
+	 */
+	public List<String> getHubUrls()
+	{
+		return this.hubs.stream().map(hub -> hub.url).toList();
+	}
+
+	/**
+	 * @return the hub factories, in the order they were added.
+	 */
+	public List<IRemoteBrowserFactory> getFactories()
+	{
+		return this.hubs.stream().map(hub -> hub.factory).toList();
+	}
+
+	/**
+	 * @return the selection policy.
+	 */
+	public SelectionPolicy getSelectionPolicy()
+	{
+		return this.policy;
+	}
+
+	/**
+	 * @return the admission deciding what happens when every hub is full.
+	 */
+	public GridSlotAdmission getSlotAdmission()
+	{
+		return this.slotAdmission;
+	}
+
+	/**
+	 * @return the health monitor checking the hubs, or null if the hubs are not monitored.
+	 */
+	public IGridHealthMonitor getHealthMonitor()
+	{
+		return this.healthMonitor;
+	}
+
+	/**
+	 * Stops listening to the health monitor, removes the balancer's hubs from it and stops the monitor, unless it is the
+	 * {@link GridHealthMonitor#shared() shared monitor}. Hubs that other strategies still use stay monitored.
+	 * Outstanding sessions are not affected.
+	 */
+	public void shutdown()
+	{
+		if(this.healthMonitor != null && this.shutdown.compareAndSet(false, true))
+		{
+			this.healthMonitor.unregisterHealthListener(this.healthListener);
+			for(Hub hub : this.hubs)
+			{
+				this.healthMonitor.removeHub(hub.url);
+			}
+			if(this.healthMonitor != GridHealthMonitor.shared() && this.healthMonitor.isMonitoring())
+			{
+				this.healthMonitor.stopMonitoring();
+			}
+		}
+	}
+
+	private void release(Hub hub)
+	{
+		hub.outstanding.decrementAndGet();
+		this.slotAdmission.release(hub.factory);
+	}
+
+	private GridStatus statusOf(String hubUrl)
+	{
+		Hub hub = hubUrl == null ? null : hubOrNull(hubUrl.trim());
+		return hub == null ? null : hub.status;
+	}
+
+	private List<Hub> selectHubs()
+	{
+		List<Hub> available = new ArrayList<>(this.hubs.stream().filter(Hub::isSelectable).toList());
+		if(available.size() < 2)
+		{
+			return available;
+		}
+		if(this.policy == SelectionPolicy.POWER_OF_TWO_CHOICES)
+		{
+			Hub first = pickWeighted(available, null);
+			Hub second = pickWeighted(available, first);
+			Hub chosen = second.load() < first.load() ? second : first;
+			available.remove(chosen);
+			available.sort(Comparator.comparingDouble(Hub::load));
+			available.add(0, chosen);
+			return available;
+		}
+		// Ties keep the order the hubs were added in, as the sort is stable
+		available.sort(Comparator.comparingDouble(Hub::load));
+		return available;
+	}
+
+	private static Hub pickWeighted(List<Hub> hubs, Hub excluded)
+	{
+		int total = 0;
+		for(Hub hub : hubs)
+		{
+			total += hub == excluded ? 0 : hub.weight;
+		}
+		int pick = ThreadLocalRandom.current().nextInt(total);
+		for(Hub hub : hubs)
+		{
+			if(hub == excluded)
+			{
+				continue;
+			}
+			pick -= hub.weight;
+			if(pick < 0)
+			{
+				return hub;
+			}
+		}
+		throw new IllegalStateException("No hub picked.");
+	}
+
+	private Hub hub(String hubUrl)
+	{
+		Hub hub = hubOrNull(hubUrl);
+		if(hub == null)
+		{
+			throw new IllegalArgumentException("Unknown hub: " + hubUrl);
+		}
+		return hub;
+	}
+
+	private Hub hubOrNull(String hubUrl)
+	{
+		for(Hub hub : this.hubs)
+		{
+			if(hub.url.equals(hubUrl))
+			{
+				return hub;
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * A hub, its circuit breaker and the sessions it has outstanding.
+	 */
+	private static final class Hub
+	{
+		private final IRemoteBrowserFactory factory;
+		private final String url;
+		private final int weight;
+		private final HubCircuitBreaker breaker;
+		private final AtomicInteger outstanding = new AtomicInteger();
+		private volatile GridStatus status;
+
+		private Hub(IRemoteBrowserFactory factory, String url, int weight, HubCircuitBreaker breaker)
+		{
+			this.factory = factory;
+			this.url = url;
+			this.weight = weight;
+			this.breaker = breaker;
+		}
+
+		private boolean isAvailable()
+		{
+			GridStatus current = this.status;
+			return current == null || current.isAvailable();
+		}
+
+		private boolean isSelectable()
+		{
+			return isAvailable() && (this.breaker == null || this.breaker.allowsRequests());
+		}
+
+		private double load()
+		{
+			return (double) this.outstanding.get() / this.weight;
+		}
+	}
+
+	/**
+	 * Keeps the latest status of each hub and passes it on to the hub's circuit breaker, logging when a hub is drained or
+	 * taken back into use.
+	 */
+	private final class HealthListener implements GridHealthListener
+	{
+		@Override
+		public void onStatusUpdate(GridStatus previousStatus, GridStatus currentStatus)
+		{
+			Hub hub = hubOrNull(currentStatus.getHubUrl());
+			if(hub != null)
+			{
+				hub.status = currentStatus;
+			}
+		}
+
+		@Override
+		public void onHubAvailable(GridStatus status)
+		{
+			Hub hub = hubOrNull(status.getHubUrl());
+			if(hub != null)
+			{
+				hub.breaker.onHubAvailable(status);
+				LOGGER.info("Hub {} is available again and is taking new sessions.", status.getHubUrl());
+			}
+		}
+
+		@Override
+		public void onHubUnavailable(GridStatus status)
+		{
+			Hub hub = hubOrNull(status.getHubUrl());
+			if(hub != null)
+			{
+				hub.breaker.onHubUnavailable(status);
+				LOGGER.warn("Hub {} is unavailable and is being drained ({} sessions outstanding).",
+					status.getHubUrl(), hub.outstanding.get());
+			}
+		}
+	}
+
+	/**
+	 * Builder for {@link HubLoadBalancer}.
+	 */
+	public static final class Builder
+	{
+		private final Map<String, Hub> hubs = new LinkedHashMap<>();
+		private SelectionPolicy policy = SelectionPolicy.LEAST_OUTSTANDING;
+		private IGridHealthMonitor healthMonitor = GridHealthMonitor.shared();
+		private Duration monitoringInterval = DEFAULT_MONITORING_INTERVAL;
+		private GridSlotAdmission slotAdmission = GridSlotAdmission.admitWhenFull();
+		private CircuitBreakerPolicy breakerPolicy = CircuitBreakerPolicy.defaults();
+
+		private Builder()
+		{
+		}
+
+		/**
+		 * Adds a hub with a weight of one.
+		 * @param factory the factory that creates browsers on the hub.
+		 * @return the current builder.
+		 */
+		public Builder addHub(IRemoteBrowserFactory factory)
+		{
+			return addHub(factory, 1);
+		}
+
+		/**
+		 * Adds a hub. A hub with twice the weight of another is given twice as many sessions.
+		 * @param factory the factory that creates browsers on the hub.
+		 * @param weight the weight of the hub, typically its number of session slots.
+		 * @return the current builder.
+		 * @throws IllegalArgumentException if the factory has no hub URL, the hub has already been added or the weight
+		 * is less than one.
+		 */
+		public Builder addHub(IRemoteBrowserFactory factory, int weight)
+		{
+			if(factory == null)
+			{
+				throw new IllegalArgumentException("factory cannot be null");
+			}
+			if(weight < 1)
+			{
+				throw new IllegalArgumentException("weight must be at least 1");
+			}
+			IHubConfiguration configuration = factory.getHubConfiguration();
+			String url = configuration == null ? null : configuration.getHubUrl();
+			if(url == null || url.isBlank())
+			{
+				throw new IllegalArgumentException("factory must have a hub URL");
+			}
+			url = url.trim();
+			if(this.hubs.containsKey(url))
+			{
+				throw new IllegalArgumentException("Hub has already been added: " + url);
+			}
+			this.hubs.put(url, new Hub(factory, url, weight, null));
+			return this;
+		}
+
+		/**
+		 * Sets how the hub for a new session is chosen. Defaults to {@link SelectionPolicy#LEAST_OUTSTANDING}.
+		 * @param selectionPolicy the selection policy.
+		 * @return the current builder.
+		 */
+		public Builder selectionPolicy(SelectionPolicy selectionPolicy)
+		{
+			if(selectionPolicy == null)
+			{
+				throw new IllegalArgumentException("selectionPolicy cannot be null");
+			}
+			this.policy = selectionPolicy;
+			return this;
+		}
+
+		/**
+		 * Sets the monitor used to check the hubs' health. Defaults to the {@link GridHealthMonitor#shared() shared
+		 * monitor}. The monitor is started when the balancer is built unless it is already monitoring.
+		 * @param monitor the health monitor, or null to never drain hubs.
+		 * @return the current builder.
+		 */
+		public Builder healthMonitor(IGridHealthMonitor monitor)
+		{
+			this.healthMonitor = monitor;
+			return this;
+		}
+
+		/**
+		 * Sets how often the health monitor checks the hubs, if the balancer starts it. Defaults to 30 seconds.
+		 * @param interval the monitoring interval.
+		 * @return the current builder.
+		 */
+		public Builder monitoringInterval(Duration interval)
+		{
+			if(interval == null || interval.isNegative() || interval.isZero())
+			{
+				throw new IllegalArgumentException("Monitoring interval must be positive");
+			}
+			this.monitoringInterval = interval;
+			return this;
+		}
+
+		/**
+		 * Sets what happens when no hub has a free slot for a session. Defaults to
+		 * {@link GridSlotAdmission#admitWhenFull()}, which prefers hubs with a free slot but otherwise requests the
+		 * session from the least loaded hub anyway.
+		 * @param admission the slot admission.
+		 * @return the current builder.
+		 */
+		public Builder slotAdmission(GridSlotAdmission admission)
+		{
+			if(admission == null)
+			{
+				throw new IllegalArgumentException("admission cannot be null");
+			}
+			this.slotAdmission = admission;
+			return this;
+		}
+
+		/**
+		 * Sets when a hub's circuit breaker stops sessions being requested from it. Defaults to
+		 * {@link CircuitBreakerPolicy#defaults()}.
+		 * @param policy the circuit breaker policy.
+		 * @return the current builder.
+		 */
+		public Builder circuitBreakerPolicy(CircuitBreakerPolicy policy)
+		{
+			if(policy == null)
+			{
+				throw new IllegalArgumentException("policy cannot be null");
+			}
+			this.breakerPolicy = policy;
+			return this;
+		}
+
+		/**
+		 * Builds the balancer and registers its hubs with the health monitor.
+		 * @return the balancer.
+		 * @throws IllegalStateException if no hubs have been added.
+		 */
+		public HubLoadBalancer build()
+		{
+			if(this.hubs.isEmpty())
+			{
+				throw new IllegalStateException("At least one hub must be added.");
+			}
+			return new HubLoadBalancer(this);
+		}
+	}
+}
@@ -23,6 +23,9 @@
  */
 package io.github.jamoamo.webjourney.api.web;
 
+import java.util.List;
+import java.util.OptionalLong;
+
 /**
  * A browser instance.
  *
@@ -61,4 +64,54 @@ public interface IBrowser
 	 * Exit the browser.
 	 */
 	void exit();
+
+	/**
+	 * Checks that the browser can still be driven, for example before it is reused from a pool.
+	 * @return true if the browser is usable. The default implementation assumes it is.
+	 */
+	default boolean isHealthy()
+	{
+		return true;
+	}
+
+	/**
+	 * Returns the browser to a clean state so that it can be reused by another journey: cookies and storage are
+	 * cleared, extra windows are closed and the remaining window is left on a blank page.
+	 * @return true if the browser was reset, false if it cannot be reset and should be exited instead. The default
+	 * implementation cannot reset the browser.
+	 */
+	default boolean reset()
+	{
+		return false;
+	}
+
+	/**
+	 * Samples how much memory the browser is using, for example to decide when a pooled browser should be recycled.
+	 * @return the memory use in bytes, or an empty value if the browser cannot report it. The default implementation
+	 * cannot report it.
+	 */
+	default OptionalLong getMemoryUsage()
+	{
+		return OptionalLong.empty();
+	}
+
+	/**
+	 * Gets the cookies the browser has stored, for every domain it can list them for.
+	 * @return the cookies, or an empty list if the browser cannot list them. The default implementation cannot list
+	 * them.
+	 */
+	default List<ICookie> getCookies()
+	{
+		return List.of();
+	}
+
+	/**
+	 * Stores cookies in the browser, for example to carry a logged in session over from another browser. A cookie
+	 * replaces any stored cookie with the same name, domain and path.
+	 * @param cookies the cookies to store. The default implementation ignores them, and so may a browser for cookies
+	 * of domains it cannot store cookies for.
+	 */
+	default void addCookies(List<? extends ICookie> cookies)
+	{
+	}
 }
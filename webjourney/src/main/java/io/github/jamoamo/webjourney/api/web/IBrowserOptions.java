@@ -40,4 +40,31 @@ public interface IBrowserOptions
 	 * @return true if the browser should accept unexpected alerts, else false.
 	 */
 	boolean acceptUnexpectedAlerts();
+
+	/**
+	 * The resources the browser should not download.
+	 * @return the resource policy, allowing every resource by default.
+	 */
+	default ResourcePolicy getResourcePolicy()
+	{
+		return ResourcePolicy.allowAll();
+	}
+
+	/**
+	 * How long navigating to a page waits for the page to load.
+	 * @return the page load strategy, {@link PageLoadStrategy#NORMAL} by default.
+	 */
+	default PageLoadStrategy getPageLoadStrategy()
+	{
+		return PageLoadStrategy.NORMAL;
+	}
+
+	/**
+	 * How long looking up an element waits for it to appear when no wait was asked for.
+	 * @return the element lookup mode, {@link ElementLookupMode#IMPLICIT_WAIT} by default.
+	 */
+	default ElementLookupMode getElementLookupMode()
+	{
+		return ElementLookupMode.IMPLICIT_WAIT;
+	}
 }
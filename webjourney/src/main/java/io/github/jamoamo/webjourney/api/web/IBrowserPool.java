@@ -0,0 +1,77 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2024 James Amoore.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package io.github.jamoamo.webjourney.api.web;
+
+import io.github.jamoamo.webjourney.api.IJourneyContext;
+
+/**
+ * A pool of browsers that are reused across journeys instead of being created and exited for each one.
+ * <p>
+ * A leased browser must be returned with {@link #release(IBrowser)} once the journey is done with it, or with
+ * {@link #invalidate(IBrowser)} if it is known to be broken. Browsers are only exited when they are evicted or the pool
+ * is closed.
+ *
+ * @author James Amoore
+ */
+public interface IBrowserPool extends AutoCloseable
+{
+	/**
+	 * Leases a browser, reusing an idle browser if there is one and creating a new one if the pool is not full.
+	 * Otherwise the caller waits for a browser to be released, for no longer than the journey's deadline allows.
+	 * @param options the options used if a browser has to be created. Pools that create all their browsers with the
+	 * same options, such as {@link BrowserPool}, ignore them.
+	 * @param journeyContext the context of the journey the browser is leased for.
+	 * @return the leased browser.
+	 * @throws BrowserPoolException if no browser could be leased.
+	 */
+	IBrowser lease(IBrowserOptions options, IJourneyContext journeyContext);
+
+	/**
+	 * Returns a leased browser to the pool. The browser is reset before it is reused and is evicted if it cannot be.
+	 * @param browser the browser.
+	 */
+	void release(IBrowser browser);
+
+	/**
+	 * Returns a leased browser that should not be reused. The browser is evicted from the pool and exited.
+	 * @param browser the browser.
+	 */
+	void invalidate(IBrowser browser);
+
+	/**
+	 * @return the number of idle browsers.
+	 */
+	int getIdleCount();
+
+	/**
+	 * @return the number of leased browsers.
+	 */
+	int getLeasedCount();
+
+	/**
+	 * Exits every idle browser and any leased browser as it is returned. No browsers can be leased afterwards.
+	 */
+	@Override
+	void close();
+}
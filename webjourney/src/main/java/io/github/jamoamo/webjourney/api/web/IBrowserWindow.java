@@ -69,4 +69,29 @@ public interface IBrowserWindow extends IWebNavigator
 	 * @return the title of the window
 	 */
 	String getTitle();
+
+	/**
+	 * Executes JavaScript in the context of the current page.
+	 * <p>
+	 * Windows that cannot execute scripts return {@code null}.
+	 * @param script the script to execute. The script should return its result with a {@code return} statement.
+	 * @param args the arguments made available to the script as {@code arguments}.
+	 * @return the value returned by the script, or {@code null} if scripts cannot be executed.
+	 * @throws io.github.jamoamo.webjourney.api.web.XWebException if a browsing error occurs
+	 */
+	default Object executeScript(String script, Object... args) throws XWebException
+	{
+		return null;
+	}
+
+	/**
+	 * Return how long navigating in the window waits for the page to load.
+	 * <p>
+	 * Windows that always wait for the page to load return {@link PageLoadStrategy#NORMAL}.
+	 * @return the page load strategy of the window.
+	 */
+	default PageLoadStrategy getPageLoadStrategy()
+	{
+		return PageLoadStrategy.NORMAL;
+	}
 }
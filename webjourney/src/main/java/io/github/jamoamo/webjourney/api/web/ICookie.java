@@ -39,7 +39,7 @@ public interface ICookie
 
 	/**
 	 * Retrieve the cookie expiry. 
-	 * @return the cookie expiry. 
+	 * @return the cookie expiry, or null for a cookie that expires with the browser session.
 	 */
 	LocalDate getExpiry();
 
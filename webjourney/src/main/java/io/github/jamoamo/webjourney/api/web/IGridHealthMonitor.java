@@ -98,7 +98,8 @@ public interface IGridHealthMonitor
 	void addHub(String hubUrl);
 	
 	/**
-	 * Removes a hub URL from the monitoring list.
+	 * Removes a hub URL from the monitoring list. Strategies that add a hub when they are created remove it again when
+	 * they are shut down.
 	 *
 	 * @param hubUrl the hub URL to stop monitoring
 	 */
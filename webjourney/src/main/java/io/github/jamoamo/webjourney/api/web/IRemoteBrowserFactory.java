@@ -41,6 +41,16 @@ public interface IRemoteBrowserFactory extends IBrowserFactory
      * @return true if available, otherwise false
      */
     boolean isHubAvailable();
+
+    /**
+     * Gets the name of the browser this factory requests from the hub, matched against the browser names of the
+     * grid's session slots.
+     * @return the browser name, such as "chrome", or null if the factory can use a slot for any browser
+     */
+    default String getBrowserName()
+    {
+        return null;
+    }
 }
 
 
@@ -24,6 +24,7 @@
 package io.github.jamoamo.webjourney.api.web;
 
 import java.net.URL;
+import java.time.Duration;
 
 /**
  * Navigates on a webpage.
@@ -39,6 +40,44 @@ public interface IWebNavigator
 	 * @throws io.github.jamoamo.webjourney.api.web.XNavigationError if a page doesn't exist at the url.
 	 */
 	IWebPage navigateToUrl(URL url) throws XNavigationError;
+
+	/**
+	 * Navigates to the URL, returning once the page is ready to have values extracted from it.
+	 * <p>
+	 * When the browser's {@link PageLoadStrategy page load strategy} returns before the page has loaded, the page is
+	 * ready once it has replaced the previous page and an element matches the XPath. If that does not happen within
+	 * the timeout, the page is returned as it is. Otherwise this is the same as {@link #navigateToUrl(URL)}.
+	 *
+	 * @param url The URL to navigate to.
+	 * @param readyXPath an XPath that matches once the page is ready, or null if the page is ready once it has
+	 * replaced the previous page.
+	 * @param timeout the maximum time to wait for the page to be ready.
+	 * @return the webpage at the provided url
+	 * @throws io.github.jamoamo.webjourney.api.web.XNavigationError if a page doesn't exist at the url.
+	 */
+	default IWebPage navigateToUrl(URL url, String readyXPath, Duration timeout) throws XNavigationError
+	{
+		return navigateToUrl(url);
+	}
+
+	/**
+	 * Navigates to a URL whose page has its content in its HTML, so that it can be read without running its scripts.
+	 * <p>
+	 * A browser that can fetch such pages more cheaply than it navigates, such as one created by a
+	 * {@link RoutingBrowserFactory}, may do so. Otherwise this is the same as
+	 * {@link #navigateToUrl(URL, String, Duration)}.
+	 *
+	 * @param url The URL to navigate to.
+	 * @param readyXPath an XPath that matches once the page is ready, or null if the page is ready once it has
+	 * replaced the previous page.
+	 * @param timeout the maximum time to wait for the page to be ready.
+	 * @return the webpage at the provided url
+	 * @throws io.github.jamoamo.webjourney.api.web.XNavigationError if a page doesn't exist at the url.
+	 */
+	default IWebPage navigateToStaticUrl(URL url, String readyXPath, Duration timeout) throws XNavigationError
+	{
+		return navigateToUrl(url, readyXPath, timeout);
+	}
 	
 	/**
 	 * Navigates to the previous webpage.
@@ -0,0 +1,75 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2024 James Amoore.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package io.github.jamoamo.webjourney.api.web;
+
+import java.util.Locale;
+
+/**
+ * How long navigating to a page waits for the page to load.
+ * <p>
+ * With the {@link #EAGER} and {@link #NONE} strategies, navigating returns before the page's scripts, images and
+ * other subresources have finished loading. Journeys extracting an entity then treat the page as ready once the
+ * entity's first required XPath resolves.
+ *
+ * @author James Amoore
+ */
+public enum PageLoadStrategy
+{
+	/**
+	 * Wait for the page's load event, after every subresource has loaded.
+	 */
+	NORMAL,
+	/**
+	 * Wait until the page's document has been parsed, without waiting for subresources.
+	 */
+	EAGER,
+	/**
+	 * Return as soon as the navigation has started.
+	 */
+	NONE;
+
+	/**
+	 * Gets the strategy with a name, ignoring case.
+	 * @param name the strategy name, such as "eager".
+	 * @return the strategy, or {@link #NORMAL} if the name is null or blank.
+	 * @throws IllegalArgumentException if there is no strategy with the name.
+	 */
+	public static PageLoadStrategy fromName(String name)
+	{
+		if(name == null || name.isBlank())
+		{
+			return NORMAL;
+		}
+		return valueOf(name.trim().toUpperCase(Locale.ROOT));
+	}
+
+	/**
+	 * Determines whether navigating returns before the page has loaded.
+	 * @return true unless the strategy is {@link #NORMAL}.
+	 */
+	public boolean returnsEarly()
+	{
+		return this != NORMAL;
+	}
+}
@@ -0,0 +1,201 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2024 James Amoore.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package io.github.jamoamo.webjourney.api.web;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Decides which pages a {@link RoutingBrowserFactory routing browser} fetches over HTTP, and which it navigates its
+ * browser engine to.
+ * <p>
+ * Static pages have their content in their HTML and are fetched over HTTP, which is much cheaper than navigating a
+ * browser. Dynamic pages need their scripts run and are navigated to in the browser engine. A URL matching a dynamic
+ * pattern is always dynamic. Otherwise a URL is static if it matches a static pattern or is the page of an entity
+ * annotated with {@link io.github.jamoamo.webjourney.annotation.StaticPage}, and falls back to the policy's default
+ * if not. URL patterns are matched as they are by a {@link ResourcePolicy}. Policies are immutable.
+ *
+ * @author James Amoore
+ */
+public final class PageRoutingPolicy
+{
+	private static final PageRoutingPolicy DYNAMIC_BY_DEFAULT = new PageRoutingPolicy(false, List.of(), List.of());
+	private static final PageRoutingPolicy STATIC_BY_DEFAULT = new PageRoutingPolicy(true, List.of(), List.of());
+
+	private final boolean staticByDefault;
+	private final List<String> staticUrlPatterns;
+	private final List<String> dynamicUrlPatterns;
+	private final List<Pattern> staticPatterns;
+	private final List<Pattern> dynamicPatterns;
+
+	private PageRoutingPolicy(boolean staticByDefault, List<String> staticUrlPatterns, List<String> dynamicUrlPatterns)
+	{
+		this.staticByDefault = staticByDefault;
+		this.staticUrlPatterns = List.copyOf(staticUrlPatterns);
+		this.dynamicUrlPatterns = List.copyOf(dynamicUrlPatterns);
+		this.staticPatterns = this.staticUrlPatterns.stream().map(ResourcePolicy::compile).toList();
+		this.dynamicPatterns = this.dynamicUrlPatterns.stream().map(ResourcePolicy::compile).toList();
+	}
+
+	/**
+	 * @return a policy that only fetches static entity pages and URLs added as static over HTTP.
+	 */
+	public static PageRoutingPolicy dynamicByDefault()
+	{
+		return DYNAMIC_BY_DEFAULT;
+	}
+
+	/**
+	 * @return a policy that fetches every page over HTTP, except URLs added as dynamic.
+	 */
+	public static PageRoutingPolicy staticByDefault()
+	{
+		return STATIC_BY_DEFAULT;
+	}
+
+	/**
+	 * Returns a copy of this policy that also fetches pages whose URL matches some patterns over HTTP.
+	 * @param urlPatterns the URL patterns, such as {@code "*://example.com/players/*"}.
+	 * @return the policy.
+	 */
+	public PageRoutingPolicy withStaticUrlPatterns(String... urlPatterns)
+	{
+		return new PageRoutingPolicy(this.staticByDefault, add(this.staticUrlPatterns, urlPatterns),
+			this.dynamicUrlPatterns);
+	}
+
+	/**
+	 * Returns a copy of this policy that always navigates the browser engine to pages whose URL matches some patterns.
+	 * @param urlPatterns the URL patterns, such as {@code "*://example.com/search*"}.
+	 * @return the policy.
+	 */
+	public PageRoutingPolicy withDynamicUrlPatterns(String... urlPatterns)
+	{
+		return new PageRoutingPolicy(this.staticByDefault, this.staticUrlPatterns,
+			add(this.dynamicUrlPatterns, urlPatterns));
+	}
+
+	private static List<String> add(List<String> existing, String... urlPatterns)
+	{
+		Set<String> patterns = new LinkedHashSet<>(existing);
+		for(String urlPattern : urlPatterns)
+		{
+			if(urlPattern == null || urlPattern.isBlank())
+			{
+				throw new IllegalArgumentException("URL pattern cannot be blank.");
+			}
+			patterns.add(urlPattern.trim());
+		}
+		return new ArrayList<>(patterns);
+	}
+
+	/**
+	 * @return true if pages that match no pattern are fetched over HTTP.
+	 */
+	public boolean isStaticByDefault()
+	{
+		return this.staticByDefault;
+	}
+
+	/**
+	 * @return the URL patterns of pages fetched over HTTP.
+	 */
+	public List<String> getStaticUrlPatterns()
+	{
+		return this.staticUrlPatterns;
+	}
+
+	/**
+	 * @return the URL patterns of pages the browser engine is always navigated to.
+	 */
+	public List<String> getDynamicUrlPatterns()
+	{
+		return this.dynamicUrlPatterns;
+	}
+
+	/**
+	 * Determines whether the page at a URL is fetched over HTTP.
+	 * @param url the URL of the page.
+	 * @param staticPage whether the page is known to be static, for example because it is the page of an entity
+	 * annotated with {@link io.github.jamoamo.webjourney.annotation.StaticPage}.
+	 * @return true if the page is fetched over HTTP, false if the browser engine is navigated to it.
+	 */
+	public boolean isStatic(String url, boolean staticPage)
+	{
+		if(matches(this.dynamicPatterns, url))
+		{
+			return false;
+		}
+		return staticPage || matches(this.staticPatterns, url) || this.staticByDefault;
+	}
+
+	private static boolean matches(List<Pattern> patterns, String url)
+	{
+		if(url == null)
+		{
+			return false;
+		}
+		for(Pattern pattern : patterns)
+		{
+			if(pattern.matcher(url).matches())
+			{
+				return true;
+			}
+		}
+		return false;
+	}
+
+	@Override
+	public boolean equals(Object obj)
+	{
+		if(this == obj)
+		{
+			return true;
+		}
+		if(obj == null || getClass() != obj.getClass())
+		{
+			return false;
+		}
+		PageRoutingPolicy that = (PageRoutingPolicy) obj;
+		return this.staticByDefault == that.staticByDefault && this.staticUrlPatterns.equals(that.staticUrlPatterns)
+			&& this.dynamicUrlPatterns.equals(that.dynamicUrlPatterns);
+	}
+
+	@Override
+	public int hashCode()
+	{
+		return Objects.hash(this.staticByDefault, this.staticUrlPatterns, this.dynamicUrlPatterns);
+	}
+
+	@Override
+	public String toString()
+	{
+		return "PageRoutingPolicy{staticByDefault=" + this.staticByDefault + ", staticUrlPatterns="
+			+ this.staticUrlPatterns + ", dynamicUrlPatterns=" + this.dynamicUrlPatterns + "}";
+	}
+}
@@ -58,7 +58,7 @@ public final class PreferredBrowserStrategy implements IPreferredBrowserStrategy
 	@Override
 	public IBrowser getPreferredBrowser(IBrowserOptions options)
 	{
-		return this.browserFactory.createBrowser(options);
+		return BrowserStartupMetrics.shared().time(this.browserFactory, () -> this.browserFactory.createBrowser(options));
 	}
 	
 	/**
@@ -70,7 +70,8 @@ public final class PreferredBrowserStrategy implements IPreferredBrowserStrategy
 	@Override
 	public IBrowser getPreferredBrowser(IBrowserOptions options, IJourneyContext journeyContext)
 	{
-		return this.browserFactory.createBrowser(options, journeyContext);
+		return BrowserStartupMetrics.shared().time(this.browserFactory,
+			() -> this.browserFactory.createBrowser(options, journeyContext));
 	}
 	
 }
@@ -25,16 +25,27 @@ package io.github.jamoamo.webjourney.api.web;
 
 import java.net.URL;
 import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
 import io.github.jamoamo.webjourney.api.IJourneyContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 /**
  * Uses a prioritized list of browsers to determine the browser to use. 
  * Iterates the list until it finds a browser that will work on the system.
+ * <p>
+ * By default each browser is tested by loading a page before it is used. When a {@link BrowserCapabilityCache} is
+ * provided, the browsers are instead probed locally, in parallel, and only once per revalidation interval. The highest
+ * priority browser known to work is then created without any test.
  * @author James Amoore
  */
 public class PriorityBrowserStrategy implements IPreferredBrowserStrategy
 {
+	private static final Logger LOGGER = LoggerFactory.getLogger(PriorityBrowserStrategy.class);
+
 	private final IBrowserFactory[] browserPriority;
+	private final BrowserCapabilityCache capabilityCache;
 	
 	/**
 	 * Create a new instance using the default browser priority.
@@ -46,6 +57,7 @@ public class PriorityBrowserStrategy implements IPreferredBrowserStrategy
 							 .stream(StandardBrowser.values())
 							 .map(standard -> standard.getBrowserFactory())
 							 .toList().toArray(new IBrowserFactory[0]);
+		this.capabilityCache = null;
 	}
 	
 	/**
@@ -59,6 +71,7 @@ public class PriorityBrowserStrategy implements IPreferredBrowserStrategy
 							 .stream(browsers)
 							 .map(standard -> standard.getBrowserFactory())
 							 .toList().toArray(new IBrowserFactory[0]);
+		this.capabilityCache = null;
 	}
 	
 	/**
@@ -66,8 +79,32 @@ public class PriorityBrowserStrategy implements IPreferredBrowserStrategy
 	 * @param browserFactories prioritized browser factory list.
 	 */
 	public PriorityBrowserStrategy(IBrowserFactory[] browserFactories)
+	{
+		this(browserFactories, null);
+	}
+	
+	/**
+	 * Create a new instance using the provided priority of standard browsers, choosing between them with probe results
+	 * from a capability cache.
+	 * @param browsers Prioritized browser list.
+	 * @param capabilityCache the cache of probe results, for example {@link BrowserCapabilityCache#shared()}.
+	 */
+	public PriorityBrowserStrategy(StandardBrowser[] browsers, BrowserCapabilityCache capabilityCache)
+	{
+		this(Arrays.stream(browsers).map(StandardBrowser::getBrowserFactory).toArray(IBrowserFactory[]::new),
+			capabilityCache);
+	}
+	
+	/**
+	 * Create a new instance using the provided list of browser factories, choosing between them with probe results
+	 * from a capability cache.
+	 * @param browserFactories prioritized browser factory list.
+	 * @param capabilityCache the cache of probe results, or null to test each browser by loading a page.
+	 */
+	public PriorityBrowserStrategy(IBrowserFactory[] browserFactories, BrowserCapabilityCache capabilityCache)
 	{
 		this.browserPriority = browserFactories;
+		this.capabilityCache = capabilityCache;
 	}
 	
 	/**
@@ -87,13 +124,16 @@ public class PriorityBrowserStrategy implements IPreferredBrowserStrategy
 	@SuppressWarnings("IllegalCatch")
 	public IBrowser getPreferredBrowser(IBrowserOptions options, IJourneyContext journeyContext)
 	{
+		if(this.capabilityCache != null)
+		{
+			return getProbedBrowser(options, journeyContext);
+		}
 		for(IBrowserFactory browserFactory : this.browserPriority)
 		{
+			IBrowser browser = null;
 			try
 			{
-				IBrowser browser = journeyContext != null ? 
-					browserFactory.createBrowser(options, journeyContext) :
-					browserFactory.createBrowser(options);
+				browser = createBrowser(browserFactory, options, journeyContext);
 				//test the browser
 				browser.getActiveWindow().navigateToUrl(new URL("http://www.google.com"));
 				return browser;
@@ -101,6 +141,7 @@ public class PriorityBrowserStrategy implements IPreferredBrowserStrategy
 			catch(Exception ex)
 			{
 				//browser failed
+				exitQuietly(browser);
 			}
 		}
 		
@@ -108,4 +149,57 @@ public class PriorityBrowserStrategy implements IPreferredBrowserStrategy
 		throw new RuntimeException("Could not determine suitable browser");
 	}
 	
+	@SuppressWarnings("IllegalCatch")
+	private IBrowser getProbedBrowser(IBrowserOptions options, IJourneyContext journeyContext)
+	{
+		// start probing every unknown browser at once, then take the highest priority one that works
+		List<CompletableFuture<Boolean>> available = Arrays.stream(this.browserPriority)
+			.map(this.capabilityCache::isAvailable)
+			.toList();
+		for(int i = 0; i < this.browserPriority.length; i++)
+		{
+			IBrowserFactory browserFactory = this.browserPriority[i];
+			if(!available.get(i).join())
+			{
+				continue;
+			}
+			try
+			{
+				return createBrowser(browserFactory, options, journeyContext);
+			}
+			catch(Exception ex)
+			{
+				LOGGER.warn("Browser factory {} failed to create a browser: {}",
+					BrowserStartupMetrics.factoryName(browserFactory), ex.getMessage());
+				this.capabilityCache.markUnavailable(browserFactory);
+			}
+		}
+		throw new RuntimeException("Could not determine suitable browser");
+	}
+	
+	private static IBrowser createBrowser(IBrowserFactory browserFactory, IBrowserOptions options,
+		IJourneyContext journeyContext)
+	{
+		return BrowserStartupMetrics.shared().time(browserFactory, () -> journeyContext != null ? 
+			browserFactory.createBrowser(options, journeyContext) :
+			browserFactory.createBrowser(options));
+	}
+	
+	@SuppressWarnings("IllegalCatch")
+	private static void exitQuietly(IBrowser browser)
+	{
+		if(browser == null)
+		{
+			return;
+		}
+		try
+		{
+			browser.exit();
+		}
+		catch(Exception ex)
+		{
+			LOGGER.debug("Unable to exit rejected browser.", ex);
+		}
+	}
+	
 }
@@ -61,6 +61,24 @@ final class RemoteBrowserOptionsAdapter implements IRemoteBrowserOptions
 		return localOptions.acceptUnexpectedAlerts();
 	}
 	
+	@Override
+	public ResourcePolicy getResourcePolicy()
+	{
+		return localOptions.getResourcePolicy();
+	}
+	
+	@Override
+	public PageLoadStrategy getPageLoadStrategy()
+	{
+		return localOptions.getPageLoadStrategy();
+	}
+	
+	@Override
+	public ElementLookupMode getElementLookupMode()
+	{
+		return localOptions.getElementLookupMode();
+	}
+	
 	@Override
 	public IHubConfiguration getHubConfiguration()
 	{
@@ -0,0 +1,315 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2024 James Amoore.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package io.github.jamoamo.webjourney.api.web;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Decides which of a page's resources a browser does not download.
+ * <p>
+ * Journeys that only extract data rarely need a page's images, fonts, media or analytics scripts, yet downloading them
+ * usually takes most of the page's load time. A policy blocks resources by type and by URL pattern. A URL pattern may
+ * contain {@code *}, matching any characters, and is matched against the whole URL ignoring case.
+ * <p>
+ * How far a policy is enforced depends on the browser. Local Chrome and Edge browsers block every URL the policy
+ * covers through the DevTools protocol. Remote Chrome and Edge browsers only block images, through a preference.
+ * Firefox blocks images, fonts, stylesheets and media preloading through preferences, and trackers through its own
+ * tracking protection, but cannot block added URL patterns. Policies are immutable.
+ *
+ * @author James Amoore
+ */
+public final class ResourcePolicy
+{
+	/**
+	 * A type of resource that can be blocked.
+	 */
+	public enum ResourceType
+	{
+		/**
+		 * Images.
+		 */
+		IMAGE("png", "jpg", "jpeg", "gif", "webp", "avif", "svg", "ico", "bmp"),
+		/**
+		 * Web fonts.
+		 */
+		FONT("woff", "woff2", "ttf", "otf", "eot"),
+		/**
+		 * Audio and video.
+		 */
+		MEDIA("mp4", "webm", "ogg", "ogv", "mp3", "wav", "m4a", "m4v", "mov", "avi", "flac"),
+		/**
+		 * Stylesheets.
+		 */
+		STYLESHEET("css");
+
+		private final List<String> extensions;
+
+		ResourceType(String... extensions)
+		{
+			this.extensions = List.of(extensions);
+		}
+
+		/**
+		 * @return the file extensions of the type, used to block it by URL.
+		 */
+		public List<String> getExtensions()
+		{
+			return this.extensions;
+		}
+	}
+
+	/**
+	 * URL patterns of widely used analytics, advertising and tag manager services.
+	 */
+	public static final List<String> TRACKER_PATTERNS = List.of(
+		"*google-analytics.com/*", "*googletagmanager.com/*", "*googlesyndication.com/*", "*doubleclick.net/*",
+		"*connect.facebook.net/*", "*hotjar.com/*", "*segment.io/*", "*segment.com/analytics*", "*mixpanel.com/*",
+		"*newrelic.com/*", "*nr-data.net/*", "*scorecardresearch.com/*", "*quantserve.com/*", "*clarity.ms/*");
+
+	private static final ResourcePolicy ALLOW_ALL = new ResourcePolicy(EnumSet.noneOf(ResourceType.class), List.of(),
+		false);
+
+	private final EnumSet<ResourceType> blockedTypes;
+	private final List<String> blockedUrlPatterns;
+	private final boolean blockTrackers;
+	private final List<Pattern> patterns;
+
+	private ResourcePolicy(EnumSet<ResourceType> blockedTypes, List<String> blockedUrlPatterns, boolean blockTrackers)
+	{
+		this.blockedTypes = EnumSet.copyOf(blockedTypes);
+		this.blockedUrlPatterns = List.copyOf(blockedUrlPatterns);
+		this.blockTrackers = blockTrackers;
+		this.patterns = getUrlPatterns().stream().map(ResourcePolicy::compile).toList();
+	}
+
+	/**
+	 * @return a policy that blocks nothing.
+	 */
+	public static ResourcePolicy allowAll()
+	{
+		return ALLOW_ALL;
+	}
+
+	/**
+	 * @return a policy for extracting data, blocking images, fonts, media and trackers.
+	 */
+	public static ResourcePolicy scrape()
+	{
+		return ALLOW_ALL.withBlockedTypes(ResourceType.IMAGE, ResourceType.FONT, ResourceType.MEDIA)
+			.withTrackersBlocked(true);
+	}
+
+	/**
+	 * Returns a copy of this policy that also blocks resources of some types.
+	 * @param types the types to block.
+	 * @return the policy.
+	 */
+	public ResourcePolicy withBlockedTypes(ResourceType... types)
+	{
+		EnumSet<ResourceType> blocked = EnumSet.copyOf(this.blockedTypes);
+		for(ResourceType type : types)
+		{
+			blocked.add(Objects.requireNonNull(type, "Resource type cannot be null"));
+		}
+		return new ResourcePolicy(blocked, this.blockedUrlPatterns, this.blockTrackers);
+	}
+
+	/**
+	 * Returns a copy of this policy that also blocks resources whose URL matches some patterns.
+	 * @param urlPatterns the URL patterns, such as {@code "*://ads.example.com/*"}.
+	 * @return the policy.
+	 */
+	public ResourcePolicy withBlockedUrlPatterns(String... urlPatterns)
+	{
+		Set<String> blocked = new LinkedHashSet<>(this.blockedUrlPatterns);
+		for(String urlPattern : urlPatterns)
+		{
+			if(urlPattern == null || urlPattern.isBlank())
+			{
+				throw new IllegalArgumentException("URL pattern cannot be blank.");
+			}
+			blocked.add(urlPattern.trim());
+		}
+		return new ResourcePolicy(this.blockedTypes, new ArrayList<>(blocked), this.blockTrackers);
+	}
+
+	/**
+	 * Returns a copy of this policy that blocks or allows known trackers, as listed in {@link #TRACKER_PATTERNS}.
+	 * @param block whether to block trackers.
+	 * @return the policy.
+	 */
+	public ResourcePolicy withTrackersBlocked(boolean block)
+	{
+		return new ResourcePolicy(this.blockedTypes, this.blockedUrlPatterns, block);
+	}
+
+	/**
+	 * @return true if the policy blocks anything.
+	 */
+	public boolean isBlocking()
+	{
+		return !this.patterns.isEmpty();
+	}
+
+	/**
+	 * @return the blocked resource types.
+	 */
+	public Set<ResourceType> getBlockedTypes()
+	{
+		return Collections.unmodifiableSet(this.blockedTypes);
+	}
+
+	/**
+	 * Determines whether resources of a type are blocked.
+	 * @param type the resource type.
+	 * @return true if the type is blocked.
+	 */
+	public boolean blocks(ResourceType type)
+	{
+		return this.blockedTypes.contains(type);
+	}
+
+	/**
+	 * @return the URL patterns added to the policy, not including the blocked types or trackers.
+	 */
+	public List<String> getBlockedUrlPatterns()
+	{
+		return this.blockedUrlPatterns;
+	}
+
+	/**
+	 * @return true if known trackers are blocked.
+	 */
+	public boolean isTrackersBlocked()
+	{
+		return this.blockTrackers;
+	}
+
+	/**
+	 * Gets every URL pattern the policy blocks: those of the blocked types' file extensions, the known trackers if
+	 * they are blocked, and the added patterns.
+	 * @return the URL patterns.
+	 */
+	public List<String> getUrlPatterns()
+	{
+		List<String> urlPatterns = new ArrayList<>();
+		for(ResourceType type : this.blockedTypes)
+		{
+			for(String extension : type.getExtensions())
+			{
+				// Matches the extension with or without a query string or fragment
+				urlPatterns.add("*." + extension);
+				urlPatterns.add("*." + extension + "?*");
+				urlPatterns.add("*." + extension + "#*");
+			}
+		}
+		if(this.blockTrackers)
+		{
+			urlPatterns.addAll(TRACKER_PATTERNS);
+		}
+		urlPatterns.addAll(this.blockedUrlPatterns);
+		return urlPatterns;
+	}
+
+	/**
+	 * Determines whether the resource at a URL is blocked.
+	 * @param url the URL of the resource.
+	 * @return true if the URL matches any of the policy's URL patterns.
+	 */
+	public boolean blocks(String url)
+	{
+		if(url == null)
+		{
+			return false;
+		}
+		for(Pattern pattern : this.patterns)
+		{
+			if(pattern.matcher(url).matches())
+			{
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Compiles a URL pattern, in which {@code *} matches any characters, to match whole URLs ignoring case.
+	 * @param urlPattern the URL pattern.
+	 * @return the compiled pattern.
+	 */
+	static Pattern compile(String urlPattern)
+	{
+		StringBuilder regex = new StringBuilder();
+		String[] parts = urlPattern.split("\\*", -1);
+		for(int i = 0; i < parts.length; i++)
+		{
+			if(i > 0)
+			{
+				regex.append(".*");
+			}
+			if(!parts[i].isEmpty())
+			{
+				regex.append(Pattern.quote(parts[i]));
+			}
+		}
+		return Pattern.compile(regex.toString(), Pattern.CASE_INSENSITIVE | Pattern.DOTALL);
+	}
+
+	@Override
+	public boolean equals(Object obj)
+	{
+		if(this == obj)
+		{
+			return true;
+		}
+		if(obj == null || getClass() != obj.getClass())
+		{
+			return false;
+		}
+		ResourcePolicy that = (ResourcePolicy) obj;
+		return this.blockTrackers == that.blockTrackers && this.blockedTypes.equals(that.blockedTypes)
+			&& this.blockedUrlPatterns.equals(that.blockedUrlPatterns);
+	}
+
+	@Override
+	public int hashCode()
+	{
+		return Objects.hash(this.blockedTypes, this.blockedUrlPatterns, this.blockTrackers);
+	}
+
+	@Override
+	public String toString()
+	{
+		return "ResourcePolicy{blockedTypes=" + this.blockedTypes.toString().toLowerCase(Locale.ROOT)
+			+ ", trackersBlocked=" + this.blockTrackers + ", blockedUrlPatterns=" + this.blockedUrlPatterns + "}";
+	}
+}
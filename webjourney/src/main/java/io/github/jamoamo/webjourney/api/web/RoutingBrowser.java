@@ -0,0 +1,261 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2024 James Amoore.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package io.github.jamoamo.webjourney.api.web;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantLock;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A browser that navigates a browser engine to dynamic pages and fetches static pages with an HTTP browser.
+ * <p>
+ * The windows of the routing browser are the engine's windows, each paired with a window of the HTTP browser. The
+ * engine's cookies are copied to the HTTP browser before a static page is fetched after the engine was used, since
+ * the engine may have changed them by clicking or running scripts. Cookies the HTTP browser has stored are copied to
+ * the engine before it is used again; cookies already known to the engine are not copied back.
+ * <p>
+ * The browser's lock guards its windows and the cookie copying, and is not held while either browser navigates.
+ *
+ * @author James Amoore
+ */
+final class RoutingBrowser implements IBrowser
+{
+	private static final Logger LOGGER = LoggerFactory.getLogger(RoutingBrowser.class);
+
+	private final IBrowser dynamicBrowser;
+	private final IBrowser staticBrowser;
+	private final PageRoutingPolicy policy;
+	private final ReentrantLock lock = new ReentrantLock();
+	private final Map<String, RoutingWindow> windows = new HashMap<>();
+	private final Set<String> dynamicCookies = new HashSet<>();
+	private boolean dynamicUsedLast = true;
+
+	RoutingBrowser(IBrowser dynamicBrowser, IBrowser staticBrowser, PageRoutingPolicy policy)
+	{
+		this.dynamicBrowser = dynamicBrowser;
+		this.staticBrowser = staticBrowser;
+		this.policy = policy;
+	}
+
+	PageRoutingPolicy getPolicy()
+	{
+		return this.policy;
+	}
+
+	@Override
+	public IBrowserWindow getActiveWindow()
+		throws XWebException
+	{
+		return windowFor(this.dynamicBrowser.getActiveWindow());
+	}
+
+	@Override
+	public IBrowserWindow switchToWindow(String windowName)
+		throws XWebException
+	{
+		return windowFor(this.dynamicBrowser.switchToWindow(windowName));
+	}
+
+	@Override
+	public IBrowserWindow openNewWindow()
+		throws XWebException
+	{
+		return windowFor(this.dynamicBrowser.openNewWindow());
+	}
+
+	private RoutingWindow windowFor(IBrowserWindow dynamicWindow)
+		throws XWebException
+	{
+		String name = dynamicWindow.getName();
+		this.lock.lock();
+		try
+		{
+			RoutingWindow window = this.windows.get(name);
+			if(window == null)
+			{
+				IBrowserWindow staticWindow = this.windows.isEmpty()
+					? this.staticBrowser.getActiveWindow()
+					: this.staticBrowser.openNewWindow();
+				window = new RoutingWindow(this, dynamicWindow, staticWindow);
+				this.windows.put(name, window);
+			}
+			return window;
+		}
+		finally
+		{
+			this.lock.unlock();
+		}
+	}
+
+	void forgetWindow(RoutingWindow window)
+	{
+		this.lock.lock();
+		try
+		{
+			this.windows.values().remove(window);
+		}
+		finally
+		{
+			this.lock.unlock();
+		}
+	}
+
+	/**
+	 * Copies the engine's cookies to the HTTP browser if the engine has been used since they were last copied.
+	 */
+	void beforeStaticUse()
+	{
+		this.lock.lock();
+		try
+		{
+			if(!this.dynamicUsedLast)
+			{
+				return;
+			}
+			List<ICookie> cookies = this.dynamicBrowser.getCookies();
+			cookies.forEach(cookie -> this.dynamicCookies.add(key(cookie)));
+			this.staticBrowser.addCookies(cookies);
+			this.dynamicUsedLast = false;
+		}
+		finally
+		{
+			this.lock.unlock();
+		}
+	}
+
+	/**
+	 * Copies the cookies the HTTP browser has stored, and the engine does not know of, to the engine.
+	 */
+	void beforeDynamicUse()
+	{
+		this.lock.lock();
+		try
+		{
+			List<ICookie> cookies = this.staticBrowser.getCookies().stream()
+				.filter(cookie -> this.dynamicCookies.add(key(cookie)))
+				.toList();
+			if(!cookies.isEmpty())
+			{
+				LOGGER.debug(String.format("Copying %d cookies to the browser engine.", cookies.size()));
+				this.dynamicBrowser.addCookies(cookies);
+			}
+			this.dynamicUsedLast = true;
+		}
+		finally
+		{
+			this.lock.unlock();
+		}
+	}
+
+	private static String key(ICookie cookie)
+	{
+		String domain = cookie.getDomain() == null ? "" : cookie.getDomain().toLowerCase(Locale.ROOT);
+		return cookie.getName() + ';' + (domain.startsWith(".") ? domain.substring(1) : domain) + ';'
+			+ cookie.getPath() + ';' + cookie.getValue();
+	}
+
+	@Override
+	public List<ICookie> getCookies()
+	{
+		beforeDynamicUse();
+		return this.dynamicBrowser.getCookies();
+	}
+
+	@Override
+	public void addCookies(List<? extends ICookie> cookies)
+	{
+		if(cookies == null)
+		{
+			return;
+		}
+		this.dynamicBrowser.addCookies(cookies);
+		this.staticBrowser.addCookies(cookies);
+		this.lock.lock();
+		try
+		{
+			cookies.forEach(cookie -> this.dynamicCookies.add(key(cookie)));
+		}
+		finally
+		{
+			this.lock.unlock();
+		}
+	}
+
+	@Override
+	public void exit()
+	{
+		try
+		{
+			this.dynamicBrowser.exit();
+		}
+		finally
+		{
+			this.staticBrowser.exit();
+			clearState();
+		}
+	}
+
+	@Override
+	public boolean isHealthy()
+	{
+		return this.dynamicBrowser.isHealthy() && this.staticBrowser.isHealthy();
+	}
+
+	@Override
+	public boolean reset()
+	{
+		boolean dynamicReset = this.dynamicBrowser.reset();
+		boolean staticReset = this.staticBrowser.reset();
+		clearState();
+		return dynamicReset && staticReset;
+	}
+
+	private void clearState()
+	{
+		this.lock.lock();
+		try
+		{
+			this.windows.clear();
+			this.dynamicCookies.clear();
+			this.dynamicUsedLast = true;
+		}
+		finally
+		{
+			this.lock.unlock();
+		}
+	}
+
+	@Override
+	public OptionalLong getMemoryUsage()
+	{
+		return this.dynamicBrowser.getMemoryUsage();
+	}
+}
@@ -0,0 +1,104 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2024 James Amoore.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package io.github.jamoamo.webjourney.api.web;
+
+import io.github.jamoamo.webjourney.api.IJourneyContext;
+import io.github.jamoamo.webjourney.reserved.http.HttpBrowserFactory;
+import java.util.Objects;
+
+/**
+ * Browser factory to create browsers that route each navigation either to a browser engine, such as Selenium, or to
+ * an HTTP browser that fetches the page without running its scripts.
+ * <p>
+ * Journeys often need scripts to run on their listing pages but not on the detail pages they follow links to. A
+ * routing browser navigates its engine to the dynamic pages, and fetches the static pages, decided by a
+ * {@link PageRoutingPolicy}, over HTTP. Navigating back from a static page to the dynamic page before it only switches
+ * back to the engine, which is still showing that page. Cookies are copied between the two browsers when the
+ * journey moves from one to the other, so that a logged in session carries over. The engine's browser is created by
+ * the dynamic factory and the HTTP browser by the static factory.
+ *
+ * @author James Amoore
+ */
+public final class RoutingBrowserFactory implements IBrowserFactory
+{
+	private final IBrowserFactory dynamicFactory;
+	private final IBrowserFactory staticFactory;
+	private final PageRoutingPolicy policy;
+
+	/**
+	 * Creates a factory that fetches static pages with an {@link HttpBrowserFactory}.
+	 *
+	 * @param dynamicFactory the factory creating the browser that dynamic pages are navigated in
+	 * @param policy the policy deciding which pages are static
+	 */
+	public RoutingBrowserFactory(IBrowserFactory dynamicFactory, PageRoutingPolicy policy)
+	{
+		this(dynamicFactory, new HttpBrowserFactory(), policy);
+	}
+
+	/**
+	 * Creates a factory.
+	 *
+	 * @param dynamicFactory the factory creating the browser that dynamic pages are navigated in
+	 * @param staticFactory the factory creating the browser that fetches static pages
+	 * @param policy the policy deciding which pages are static
+	 */
+	public RoutingBrowserFactory(IBrowserFactory dynamicFactory, IBrowserFactory staticFactory,
+		PageRoutingPolicy policy)
+	{
+		this.dynamicFactory = Objects.requireNonNull(dynamicFactory, "Dynamic browser factory cannot be null");
+		this.staticFactory = Objects.requireNonNull(staticFactory, "Static browser factory cannot be null");
+		this.policy = Objects.requireNonNull(policy, "Page routing policy cannot be null");
+	}
+
+	/**
+	 * @return the policy deciding which pages are static.
+	 */
+	public PageRoutingPolicy getPolicy()
+	{
+		return this.policy;
+	}
+
+	@Override
+	public IBrowser createBrowser(IBrowserOptions options)
+	{
+		return createBrowser(options, null);
+	}
+
+	@Override
+	public IBrowser createBrowser(IBrowserOptions options, IJourneyContext journeyContext)
+	{
+		IBrowser staticBrowser = this.staticFactory.createBrowser(options, journeyContext);
+		try
+		{
+			IBrowser dynamicBrowser = this.dynamicFactory.createBrowser(options, journeyContext);
+			return new RoutingBrowser(dynamicBrowser, staticBrowser, this.policy);
+		}
+		catch(RuntimeException ex)
+		{
+			staticBrowser.exit();
+			throw ex;
+		}
+	}
+}
@@ -0,0 +1,282 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2024 James Amoore.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package io.github.jamoamo.webjourney.api.web;
+
+import java.net.URL;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A window of a routing browser, pairing a window of the browser engine with a window of the HTTP browser.
+ * <p>
+ * The window remembers which of the two showed each page in its history. Each of the two windows keeps the history of
+ * its own pages, so moving back or forward only moves the window that showed the page being left or entered, and
+ * then shows that page in whichever window it was in. Moving back from a static page to the dynamic page before it
+ * therefore does not navigate the engine at all.
+ * <p>
+ * The window's lock only guards which window showed each page, and is not held while either window navigates.
+ *
+ * @author James Amoore
+ */
+final class RoutingWindow implements IBrowserWindow
+{
+	private static final Logger LOGGER = LoggerFactory.getLogger(RoutingWindow.class);
+
+	private final RoutingBrowser browser;
+	private final IBrowserWindow dynamicWindow;
+	private final IBrowserWindow staticWindow;
+	private final ReentrantLock lock = new ReentrantLock();
+	private final List<Boolean> staticHistory = new ArrayList<>();
+	private int historyIndex;
+
+	RoutingWindow(RoutingBrowser browser, IBrowserWindow dynamicWindow, IBrowserWindow staticWindow)
+	{
+		this.browser = browser;
+		this.dynamicWindow = dynamicWindow;
+		this.staticWindow = staticWindow;
+		this.staticHistory.add(false);
+	}
+
+	private boolean isStatic()
+	{
+		this.lock.lock();
+		try
+		{
+			return this.staticHistory.get(this.historyIndex);
+		}
+		finally
+		{
+			this.lock.unlock();
+		}
+	}
+
+	private IBrowserWindow current()
+	{
+		return isStatic() ? this.staticWindow : this.dynamicWindow;
+	}
+
+	@Override
+	public String getCurrentUrl()
+		throws XWebException
+	{
+		return current().getCurrentUrl();
+	}
+
+	@Override
+	public IWebPage getCurrentPage()
+		throws XWebException
+	{
+		return current().getCurrentPage();
+	}
+
+	@Override
+	public IWebPage refreshCurrentPage()
+		throws XWebException
+	{
+		return current().refreshCurrentPage();
+	}
+
+	@Override
+	public void close()
+		throws XWebException
+	{
+		try
+		{
+			this.dynamicWindow.close();
+		}
+		finally
+		{
+			this.staticWindow.close();
+			this.browser.forgetWindow(this);
+		}
+	}
+
+	@Override
+	public String getName()
+		throws XWebException
+	{
+		return this.dynamicWindow.getName();
+	}
+
+	@Override
+	public String getTitle()
+	{
+		return current().getTitle();
+	}
+
+	@Override
+	public Object executeScript(String script, Object... args)
+		throws XWebException
+	{
+		return current().executeScript(script, args);
+	}
+
+	@Override
+	public PageLoadStrategy getPageLoadStrategy()
+	{
+		return current().getPageLoadStrategy();
+	}
+
+	@Override
+	public IWebPage navigateToUrl(URL url)
+		throws XNavigationError
+	{
+		return navigate(url, null, null, false);
+	}
+
+	@Override
+	public IWebPage navigateToUrl(URL url, String readyXPath, Duration timeout)
+		throws XNavigationError
+	{
+		return navigate(url, readyXPath, timeout, false);
+	}
+
+	@Override
+	public IWebPage navigateToStaticUrl(URL url, String readyXPath, Duration timeout)
+		throws XNavigationError
+	{
+		return navigate(url, readyXPath, timeout, true);
+	}
+
+	private IWebPage navigate(URL url, String readyXPath, Duration timeout, boolean staticPage)
+		throws XNavigationError
+	{
+		boolean toStatic = this.browser.getPolicy().isStatic(url.toString(), staticPage);
+		LOGGER.debug(String.format("Routing %s to the %s browser.", url, toStatic ? "HTTP" : "engine"));
+		IWebPage page;
+		if(toStatic)
+		{
+			this.browser.beforeStaticUse();
+			page = this.staticWindow.navigateToUrl(url, readyXPath, timeout);
+		}
+		else
+		{
+			this.browser.beforeDynamicUse();
+			page = this.dynamicWindow.navigateToUrl(url, readyXPath, timeout);
+		}
+		this.lock.lock();
+		try
+		{
+			this.staticHistory.subList(this.historyIndex + 1, this.staticHistory.size()).clear();
+			this.staticHistory.add(toStatic);
+			this.historyIndex++;
+		}
+		finally
+		{
+			this.lock.unlock();
+		}
+		return page;
+	}
+
+	@Override
+	public IWebPage navigateBack()
+		throws XNavigationError
+	{
+		IBrowserWindow leaving;
+		boolean first;
+		this.lock.lock();
+		try
+		{
+			leaving = current();
+			first = this.historyIndex == 0;
+		}
+		finally
+		{
+			this.lock.unlock();
+		}
+		if(first)
+		{
+			return leaving.navigateBack();
+		}
+		leaving.navigateBack();
+		this.lock.lock();
+		try
+		{
+			if(this.historyIndex > 0)
+			{
+				this.historyIndex--;
+			}
+		}
+		finally
+		{
+			this.lock.unlock();
+		}
+		return show();
+	}
+
+	@Override
+	public IWebPage navigateForward()
+		throws XNavigationError
+	{
+		boolean last;
+		boolean nextStatic;
+		this.lock.lock();
+		try
+		{
+			last = this.historyIndex == this.staticHistory.size() - 1;
+			nextStatic = last ? isStatic() : this.staticHistory.get(this.historyIndex + 1);
+		}
+		finally
+		{
+			this.lock.unlock();
+		}
+		IBrowserWindow entering = nextStatic ? this.staticWindow : this.dynamicWindow;
+		if(last)
+		{
+			return entering.navigateForward();
+		}
+		entering.navigateForward();
+		this.lock.lock();
+		try
+		{
+			if(this.historyIndex < this.staticHistory.size() - 1)
+			{
+				this.historyIndex++;
+			}
+		}
+		finally
+		{
+			this.lock.unlock();
+		}
+		return show();
+	}
+
+	private IWebPage show()
+		throws XNavigationError
+	{
+		if(isStatic())
+		{
+			this.browser.beforeStaticUse();
+		}
+		else
+		{
+			this.browser.beforeDynamicUse();
+		}
+		return current().getCurrentPage();
+	}
+}
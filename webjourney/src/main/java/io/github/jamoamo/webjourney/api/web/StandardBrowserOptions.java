@@ -23,6 +23,8 @@
  */
 package io.github.jamoamo.webjourney.api.web;
 
+import java.util.Objects;
+
 /**
  * Standard Browser Options.
  * @author James Amoore
@@ -31,6 +33,9 @@ public class StandardBrowserOptions implements IBrowserOptions
 {
 	private final boolean isHeadless;
 	private final boolean acceptUnexpectedAlerts;
+	private final ResourcePolicy resourcePolicy;
+	private final PageLoadStrategy pageLoadStrategy;
+	private final ElementLookupMode elementLookupMode;
 	
 	/**
 	 * Constructor.
@@ -38,9 +43,50 @@ public class StandardBrowserOptions implements IBrowserOptions
 	 * @param acceptUnexpectedAlerts should the browser accept unexpected alerts
 	 */
 	public StandardBrowserOptions(boolean isHeadless, boolean acceptUnexpectedAlerts)
+	{
+		this(isHeadless, acceptUnexpectedAlerts, ResourcePolicy.allowAll());
+	}
+	
+	/**
+	 * Constructor.
+	 * @param isHeadless should the browser be headless
+	 * @param acceptUnexpectedAlerts should the browser accept unexpected alerts
+	 * @param resourcePolicy the resources the browser should not download
+	 */
+	public StandardBrowserOptions(boolean isHeadless, boolean acceptUnexpectedAlerts, ResourcePolicy resourcePolicy)
+	{
+		this(isHeadless, acceptUnexpectedAlerts, resourcePolicy, PageLoadStrategy.NORMAL);
+	}
+	
+	/**
+	 * Constructor.
+	 * @param isHeadless should the browser be headless
+	 * @param acceptUnexpectedAlerts should the browser accept unexpected alerts
+	 * @param resourcePolicy the resources the browser should not download
+	 * @param pageLoadStrategy how long navigating to a page waits for the page to load
+	 */
+	public StandardBrowserOptions(boolean isHeadless, boolean acceptUnexpectedAlerts, ResourcePolicy resourcePolicy,
+		PageLoadStrategy pageLoadStrategy)
+	{
+		this(isHeadless, acceptUnexpectedAlerts, resourcePolicy, pageLoadStrategy, ElementLookupMode.IMPLICIT_WAIT);
+	}
+	
+	/**
+	 * Constructor.
+	 * @param isHeadless should the browser be headless
+	 * @param acceptUnexpectedAlerts should the browser accept unexpected alerts
+	 * @param resourcePolicy the resources the browser should not download
+	 * @param pageLoadStrategy how long navigating to a page waits for the page to load
+	 * @param elementLookupMode how long looking up an element waits for it when no wait was asked for
+	 */
+	public StandardBrowserOptions(boolean isHeadless, boolean acceptUnexpectedAlerts, ResourcePolicy resourcePolicy,
+		PageLoadStrategy pageLoadStrategy, ElementLookupMode elementLookupMode)
 	{
 		this.isHeadless = isHeadless;
 		this.acceptUnexpectedAlerts = acceptUnexpectedAlerts;
+		this.resourcePolicy = Objects.requireNonNull(resourcePolicy, "Resource policy cannot be null");
+		this.pageLoadStrategy = Objects.requireNonNull(pageLoadStrategy, "Page load strategy cannot be null");
+		this.elementLookupMode = Objects.requireNonNull(elementLookupMode, "Element lookup mode cannot be null");
 	}
 	
 	/**
@@ -62,5 +108,34 @@ public class StandardBrowserOptions implements IBrowserOptions
 	{
 		return this.acceptUnexpectedAlerts;
 	}
-	
+
+	/**
+	 * The resources the browser should not download.
+	 * @return the resource policy.
+	 */
+	@Override
+	public ResourcePolicy getResourcePolicy()
+	{
+		return this.resourcePolicy;
+	}
+
+	/**
+	 * How long navigating to a page waits for the page to load.
+	 * @return the page load strategy.
+	 */
+	@Override
+	public PageLoadStrategy getPageLoadStrategy()
+	{
+		return this.pageLoadStrategy;
+	}
+
+	/**
+	 * How long looking up an element waits for it to appear when no wait was asked for.
+	 * @return the element lookup mode.
+	 */
+	@Override
+	public ElementLookupMode getElementLookupMode()
+	{
+		return this.elementLookupMode;
+	}
 }
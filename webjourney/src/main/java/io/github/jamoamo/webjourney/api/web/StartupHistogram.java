@@ -0,0 +1,155 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2024 James Amoore.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package io.github.jamoamo.webjourney.api.web;
+
+import java.time.Duration;
+import java.util.Arrays;
+
+/**
+ * A snapshot of the browser startup times of a single browser factory.
+ * <p>
+ * Startup times are counted in buckets whose upper bounds double from 100ms up to a minute; slower startups are
+ * counted in a final, unbounded bucket. Percentiles are estimated as the upper bound of the bucket they fall in.
+ *
+ * @author James Amoore
+ */
+public final class StartupHistogram
+{
+	static final Duration[] BUCKET_BOUNDS = {
+		Duration.ofMillis(100), Duration.ofMillis(250), Duration.ofMillis(500), Duration.ofSeconds(1),
+		Duration.ofSeconds(2), Duration.ofSeconds(4), Duration.ofSeconds(8), Duration.ofSeconds(15),
+		Duration.ofSeconds(30), Duration.ofSeconds(60)
+	};
+	static final long[] BUCKET_BOUNDS_NANOS = Arrays.stream(BUCKET_BOUNDS).mapToLong(Duration::toNanos).toArray();
+
+	private final String factoryName;
+	private final long[] counts;
+	private final long count;
+	private final long totalNanos;
+	private final long maxNanos;
+	private final long failures;
+
+	StartupHistogram(String factoryName, long[] counts, long totalNanos, long maxNanos, long failures)
+	{
+		this.factoryName = factoryName;
+		this.counts = counts;
+		this.count = Arrays.stream(counts).sum();
+		this.totalNanos = totalNanos;
+		this.maxNanos = maxNanos;
+		this.failures = failures;
+	}
+
+	/**
+	 * @return the name of the factory.
+	 */
+	public String getFactoryName()
+	{
+		return this.factoryName;
+	}
+
+	/**
+	 * @return the number of browsers started.
+	 */
+	public long getCount()
+	{
+		return this.count;
+	}
+
+	/**
+	 * @return the number of browsers that failed to start.
+	 */
+	public long getFailures()
+	{
+		return this.failures;
+	}
+
+	/**
+	 * @return the mean startup time, or zero if no browser has been started.
+	 */
+	public Duration getMean()
+	{
+		return this.count == 0 ? Duration.ZERO : Duration.ofNanos(this.totalNanos / this.count);
+	}
+
+	/**
+	 * @return the slowest startup time.
+	 */
+	public Duration getMax()
+	{
+		return Duration.ofNanos(this.maxNanos);
+	}
+
+	/**
+	 * @return the upper bound of each bucket, in order. The final bucket, which has no upper bound, is not included.
+	 */
+	public Duration[] getBucketBounds()
+	{
+		return BUCKET_BOUNDS.clone();
+	}
+
+	/**
+	 * @return the number of startups counted in each bucket, including the final, unbounded bucket.
+	 */
+	public long[] getBucketCounts()
+	{
+		return this.counts.clone();
+	}
+
+	/**
+	 * Estimates a percentile of the startup time.
+	 * @param percentile the percentile, between 0 and 100.
+	 * @return the upper bound of the bucket the percentile falls in, the slowest startup time if it falls in the
+	 * unbounded bucket, or zero if no browser has been started.
+	 */
+	public Duration getPercentile(double percentile)
+	{
+		if(percentile < 0 || percentile > 100)
+		{
+			throw new IllegalArgumentException("Percentile must be between 0 and 100.");
+		}
+		if(this.count == 0)
+		{
+			return Duration.ZERO;
+		}
+		long rank = Math.max(1, (long) Math.ceil(percentile / 100 * this.count));
+		long seen = 0;
+		for(int i = 0; i < BUCKET_BOUNDS.length; i++)
+		{
+			seen += this.counts[i];
+			if(seen >= rank)
+			{
+				return BUCKET_BOUNDS[i].compareTo(getMax()) > 0 ? getMax() : BUCKET_BOUNDS[i];
+			}
+		}
+		return getMax();
+	}
+
+	@Override
+	public String toString()
+	{
+		return "StartupHistogram{factory=" + this.factoryName + ", count=" + this.count + ", failures=" + this.failures
+			+ ", mean=" + getMean() + ", p50=" + getPercentile(50) + ", p95=" + getPercentile(95)
+			+ ", max=" + getMax() + "}";
+	}
+}
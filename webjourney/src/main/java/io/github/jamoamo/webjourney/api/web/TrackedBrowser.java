@@ -0,0 +1,114 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2024 James Amoore.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package io.github.jamoamo.webjourney.api.web;
+
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * A browser that runs a callback the first time it is exited, for example to stop counting its session against a
+ * hub.
+ *
+ * @author James Amoore
+ */
+final class TrackedBrowser implements IBrowser
+{
+	private final IBrowser browser;
+	private final Runnable onExit;
+	private final AtomicBoolean exited = new AtomicBoolean();
+
+	TrackedBrowser(IBrowser browser, Runnable onExit)
+	{
+		this.browser = browser;
+		this.onExit = onExit;
+	}
+
+	@Override
+	public IBrowserWindow getActiveWindow()
+		throws XWebException
+	{
+		return this.browser.getActiveWindow();
+	}
+
+	@Override
+	public IBrowserWindow switchToWindow(String windowName)
+		throws XWebException
+	{
+		return this.browser.switchToWindow(windowName);
+	}
+
+	@Override
+	public IBrowserWindow openNewWindow()
+		throws XWebException
+	{
+		return this.browser.openNewWindow();
+	}
+
+	@Override
+	public void exit()
+	{
+		try
+		{
+			this.browser.exit();
+		}
+		finally
+		{
+			if(this.exited.compareAndSet(false, true))
+			{
+				this.onExit.run();
+			}
+		}
+	}
+
+	@Override
+	public boolean isHealthy()
+	{
+		return this.browser.isHealthy();
+	}
+
+	@Override
+	public boolean reset()
+	{
+		return this.browser.reset();
+	}
+
+	@Override
+	public OptionalLong getMemoryUsage()
+	{
+		return this.browser.getMemoryUsage();
+	}
+
+	@Override
+	public List<ICookie> getCookies()
+	{
+		return this.browser.getCookies();
+	}
+
+	@Override
+	public void addCookies(List<? extends ICookie> cookies)
+	{
+		this.browser.addCookies(cookies);
+	}
+}
@@ -37,4 +37,14 @@ public class XNavigationError extends XWebException
 	{
 		super("Navigation Error: " + description);
 	}
+
+	/**
+	 * Creates a new Navigation related Error caused by another error.
+	 * @param description the description of the error that occurred
+	 * @param cause the cause of the error
+	 */
+	public XNavigationError(String description, Throwable cause)
+	{
+		super("Navigation Error: " + description, cause);
+	}
 }
@@ -39,4 +39,14 @@ public class XWebException extends JourneyException
 	{
 		super(description);
 	}
+
+	/**
+	 * Creates a new web error caused by another error.
+	 * @param description the description of the error that occurred
+	 * @param cause the cause of the error
+	 */
+	public XWebException(String description, Throwable cause)
+	{
+		super(description, cause);
+	}
 }
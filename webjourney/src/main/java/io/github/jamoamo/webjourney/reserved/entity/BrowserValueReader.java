@@ -199,6 +199,32 @@ class BrowserValueReader implements IValueReader
 		}
 	}
 
+	@Override
+	public void navigateTo(URL url, String readyXPath, Duration timeout) throws XValueReaderException
+	{
+		try
+		{
+			this.browser.getActiveWindow().navigateToUrl(url, readyXPath, timeout);
+		}
+		catch(XWebException error)
+		{
+			throw new XValueReaderException(error);
+		}
+	}
+
+	@Override
+	public void navigateToStatic(URL url, String readyXPath, Duration timeout) throws XValueReaderException
+	{
+		try
+		{
+			this.browser.getActiveWindow().navigateToStaticUrl(url, readyXPath, timeout);
+		}
+		catch(XWebException error)
+		{
+			throw new XValueReaderException(error);
+		}
+	}
+
 	@Override
 	public void navigateBack() throws XValueReaderException
 	{
@@ -23,6 +23,7 @@
  */
 package io.github.jamoamo.webjourney.reserved.entity;
 
+import io.github.jamoamo.webjourney.api.Deadline;
 import io.github.jamoamo.webjourney.api.IJourneyContext;
 import io.github.jamoamo.webjourney.api.ITravelOptions;
 import java.time.Duration;
@@ -32,7 +33,7 @@ import java.time.Duration;
  *
  * <p>A field may specify its own wait. When it does not (a negative value), the default configured on the
  * journey's {@link ITravelOptions#getElementWaitTimeout() travel options} is used. When neither is available no
- * wait is applied.
+ * wait is applied. The wait never extends past the journey's {@link Deadline deadline}.
  *
  * @author James Amoore
  */
@@ -52,11 +53,12 @@ final class ElementWaitResolver
 	 */
 	static Duration resolve(long waitSeconds, EntityCreationContext context)
 	{
-		if(waitSeconds >= 0)
+		Duration wait = waitSeconds >= 0 ? Duration.ofSeconds(waitSeconds) : resolveGlobalDefault(context);
+		if(context == null)
 		{
-			return Duration.ofSeconds(waitSeconds);
+			return wait;
 		}
-		return resolveGlobalDefault(context);
+		return context.getDeadline().bound(wait);
 	}
 
 	private static Duration resolveGlobalDefault(EntityCreationContext context)
@@ -23,6 +23,8 @@
  */
 package io.github.jamoamo.webjourney.reserved.entity;
 
+import io.github.jamoamo.webjourney.api.Deadline;
+import io.github.jamoamo.webjourney.api.politeness.PolitenessScheduler;
 import io.github.jamoamo.webjourney.api.entity.IEntityCreationListener;
 import io.github.jamoamo.webjourney.api.IRetryPolicy;
 import io.github.jamoamo.webjourney.api.RetryPolicyBuilder;
@@ -42,6 +44,8 @@ class EntitiesCreatorConverter
 {
 	 private static final Logger logger = LoggerFactory.getLogger(EntitiesCreatorConverter.class);
 	 private final EntityCreator entityCreator;
+	 private final String readyXPath;
+	 private final boolean staticPage;
 	 private IRetryPolicy retryPolicy;
 
 	 EntitiesCreatorConverter(EntityFieldDefn fieldDefn)
@@ -52,6 +56,8 @@ class EntitiesCreatorConverter
 				EntityDefn defn = new EntityDefn(FieldInfo.forField(fieldDefn.getField())
 					 .getResolvedFieldGenericType());
 				this.entityCreator = new EntityCreator(defn, true, null);
+				this.readyXPath = defn.getReadyXPath();
+				this.staticPage = defn.isStaticPage();
 
 				io.github.jamoamo.webjourney.annotation.Retry retryAnnotation = 
 					fieldDefn.getField().getAnnotation(io.github.jamoamo.webjourney.annotation.Retry.class);
@@ -102,13 +108,33 @@ class EntitiesCreatorConverter
 		  {
 				IRetryPolicy policyToUse = getRetryPolicy(context);
 
+				Deadline deadline = context == null ? Deadline.none() : context.getDeadline();
 				Object instance = policyToUse.execute(() -> {
 					logger.debug("Creating entity from URL: {}", source);
 					URI uri = new URI(source);
-					reader.navigateTo(uri.toURL());
+					java.net.URL url = uri.toURL();
+					try(PolitenessScheduler.Permit permit = PolitenessScheduler.shared().acquire(url, deadline))
+					{
+						try
+						{
+							if(this.staticPage)
+							{
+								reader.navigateToStatic(url, this.readyXPath, deadline.remaining());
+							}
+							else
+							{
+								reader.navigateTo(url, this.readyXPath, deadline.remaining());
+							}
+						}
+						catch(XValueReaderException | RuntimeException ex)
+						{
+							permit.failed(ex);
+							throw ex;
+						}
+					}
 
 					return this.entityCreator.createNewEntity(reader.getBrowser(), context);
-				});
+				}, deadline);
 
 				NavigationUtils.retryNavigateBack(reader, 3, 500L);
 
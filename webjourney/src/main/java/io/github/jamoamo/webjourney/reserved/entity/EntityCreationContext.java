@@ -24,6 +24,7 @@
 package io.github.jamoamo.webjourney.reserved.entity;
 
 import java.util.Stack;
+import io.github.jamoamo.webjourney.api.Deadline;
 import io.github.jamoamo.webjourney.api.IRetryPolicy;
 
 /**
@@ -106,6 +107,16 @@ public final class EntityCreationContext
 	 {
 		  return this.retryPolicy;
 	 }
+
+	 /**
+	  * Gets the deadline of the journey the entity is being created in.
+	  *
+	  * @return the journey deadline, or {@link Deadline#none()} if the journey has no deadline.
+	  */
+	 public Deadline getDeadline()
+	 {
+		  return Deadline.of(this.journeyContext);
+	 }
 	 
 	 protected void processField(EntityFieldDefn entityFieldDefn)
 	 {
@@ -24,6 +24,7 @@
 package io.github.jamoamo.webjourney.reserved.entity;
 
 import io.github.jamoamo.webjourney.annotation.ExtractTextValue;
+import io.github.jamoamo.webjourney.api.Deadline;
 import io.github.jamoamo.webjourney.api.entity.IEntityCreationListener;
 import io.github.jamoamo.webjourney.api.event.EntityScrapeCompletedEvent;
 import io.github.jamoamo.webjourney.api.event.EntityScrapeStartedEvent;
@@ -200,8 +201,10 @@ public final class EntityCreator<T>
 			}
 			LOGGER.debug("Creating new entity of type " + this.defn.getFieldType().getCanonicalName());
 			instance = this.defn.createInstance();
+			Deadline deadline = this.context == null ? Deadline.none() : this.context.getDeadline();
 			for (EntityFieldDefn fieldDefn : this.defn.getEntityFields())
 			{
+				deadline.check();
 				LOGGER.debug("Processing field: " + fieldDefn.getFieldName());
 				processFieldDefn(fieldDefn, instance, reader);
 				LOGGER.debug("Processed field: " + fieldDefn.getFieldName());
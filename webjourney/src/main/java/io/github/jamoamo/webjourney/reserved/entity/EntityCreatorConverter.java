@@ -23,6 +23,8 @@
  */
 package io.github.jamoamo.webjourney.reserved.entity;
 
+import io.github.jamoamo.webjourney.api.Deadline;
+import io.github.jamoamo.webjourney.api.politeness.PolitenessScheduler;
 import io.github.jamoamo.webjourney.api.entity.IEntityCreationListener;
 import io.github.jamoamo.webjourney.api.IRetryPolicy;
 import java.lang.reflect.Field;
@@ -40,6 +42,8 @@ class EntityCreatorConverter
 {
 	 private static final Logger logger = LoggerFactory.getLogger(EntityCreatorConverter.class);	 
 	 private final EntityCreator entityCreator;
+	 private final String readyXPath;
+	 private final boolean staticPage;
 
 	 private IRetryPolicy retryPolicy;
 
@@ -56,6 +60,8 @@ class EntityCreatorConverter
 		  {
 				EntityDefn defn = new EntityDefn(entityType);
 				this.entityCreator = new EntityCreator(defn, true, null);
+				this.readyXPath = defn.getReadyXPath();
+				this.staticPage = defn.isStaticPage();
 				
 				io.github.jamoamo.webjourney.annotation.Retry retryAnnotation = 
 					field.getAnnotation(io.github.jamoamo.webjourney.annotation.Retry.class);
@@ -100,11 +106,30 @@ class EntityCreatorConverter
 				URI uri = new URI(source);
 				java.net.URL url = uri.toURL();
 
+				Deadline deadline = context == null ? Deadline.none() : context.getDeadline();
 				Object instance = policyToUse.execute(() -> {
-					reader.navigateTo(url);
+					try(PolitenessScheduler.Permit permit = PolitenessScheduler.shared().acquire(url, deadline))
+					{
+						try
+						{
+							if(this.staticPage)
+							{
+								reader.navigateToStatic(url, this.readyXPath, deadline.remaining());
+							}
+							else
+							{
+								reader.navigateTo(url, this.readyXPath, deadline.remaining());
+							}
+						}
+						catch(XValueReaderException | RuntimeException ex)
+						{
+							permit.failed(ex);
+							throw ex;
+						}
+					}
 
 					return this.entityCreator.createNewEntity(reader.getBrowser(), context);
-				});
+				}, deadline);
 				NavigationUtils.retryNavigateBack(reader, 3, 500L);
 
 				return instance;
@@ -23,7 +23,12 @@
  */
 package io.github.jamoamo.webjourney.reserved.entity;
 
+import io.github.jamoamo.webjourney.annotation.ExtractTextValue;
+import io.github.jamoamo.webjourney.annotation.ExtractValue;
+import io.github.jamoamo.webjourney.annotation.RegexExtractValue;
+import io.github.jamoamo.webjourney.annotation.StaticPage;
 import io.github.jamoamo.webjourney.reserved.reflection.InstanceCreator;
+import java.lang.reflect.Field;
 import java.util.Arrays;
 import java.util.List;
 import io.github.jamoamo.webjourney.reserved.annotation.ExtractionAnnotations;
@@ -40,6 +45,8 @@ public final class EntityDefn<T>
 {
 	private final Class<T> entityClass;
 	private final List<EntityFieldDefn> entityFields;
+	private final String readyXPath;
+	private final boolean staticPage;
 
 	/**
 	 * A new EntityDefn for the entity class.
@@ -52,6 +59,8 @@ public final class EntityDefn<T>
 	{
 		this.entityClass = entityClass;
 		this.entityFields = determineEntityFields();
+		this.readyXPath = determineReadyXPath();
+		this.staticPage = entityClass.isAnnotationPresent(StaticPage.class);
 	}
 
 	T createInstance()
@@ -73,6 +82,60 @@ public final class EntityDefn<T>
 			.collect(Collectors.toList());
 	}
 
+	/**
+	 * The XPath of the entity's first required value, which matches once a page is ready to create the entity from.
+	 *
+	 * @return the XPath, or null if none of the entity's values is read from a required XPath.
+	 */
+	String getReadyXPath()
+	{
+		return this.readyXPath;
+	}
+
+	/**
+	 * Whether the entity's pages can be read without running their scripts.
+	 *
+	 * @return true if the entity class is annotated with {@link StaticPage}.
+	 */
+	boolean isStaticPage()
+	{
+		return this.staticPage;
+	}
+
+	private String determineReadyXPath()
+	{
+		for(EntityFieldDefn fieldDefn : this.entityFields)
+		{
+			String xPath = getRequiredXPath(fieldDefn.getField());
+			if(xPath != null)
+			{
+				return xPath;
+			}
+		}
+		return null;
+	}
+
+	private static String getRequiredXPath(Field field)
+	{
+		ExtractValue extractValue = field.getAnnotation(ExtractValue.class);
+		ExtractTextValue extractTextValue = field.getAnnotation(ExtractTextValue.class);
+		RegexExtractValue regexExtractValue = field.getAnnotation(RegexExtractValue.class);
+		if(regexExtractValue != null)
+		{
+			extractValue = regexExtractValue.extractValue();
+			extractTextValue = regexExtractValue.extractTextValue();
+		}
+		if(extractValue != null && !extractValue.optional() && !extractValue.path().isBlank())
+		{
+			return extractValue.path();
+		}
+		if(extractTextValue != null && !extractTextValue.optional() && !extractTextValue.path().isBlank())
+		{
+			return extractTextValue.path();
+		}
+		return null;
+	}
+
 	Class<T> getFieldType()
 	{
 		return this.entityClass;
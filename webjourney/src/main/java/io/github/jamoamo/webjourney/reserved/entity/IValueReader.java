@@ -172,6 +172,34 @@ public interface IValueReader
 	 * @throws io.github.jamoamo.webjourney.reserved.entity.XValueReaderException if there's an error
 	 */
 	void navigateTo(URL url) throws XValueReaderException;
+
+	/**
+	 * Navigates to the provided url, returning once the page is ready to have values read from it.
+	 * @param url the target url
+	 * @param readyXPath an XPath that matches once the page is ready, or null if the page is ready once it has
+	 * replaced the previous page.
+	 * @param timeout the maximum time to wait for the page to be ready.
+	 * @throws io.github.jamoamo.webjourney.reserved.entity.XValueReaderException if there's an error
+	 * @see io.github.jamoamo.webjourney.api.web.IWebNavigator#navigateToUrl(URL, String, Duration)
+	 */
+	default void navigateTo(URL url, String readyXPath, Duration timeout) throws XValueReaderException
+	{
+		navigateTo(url);
+	}
+
+	/**
+	 * Navigates to the provided url, whose page can be read without running its scripts.
+	 * @param url the target url
+	 * @param readyXPath an XPath that matches once the page is ready, or null if the page is ready once it has
+	 * replaced the previous page.
+	 * @param timeout the maximum time to wait for the page to be ready.
+	 * @throws io.github.jamoamo.webjourney.reserved.entity.XValueReaderException if there's an error
+	 * @see io.github.jamoamo.webjourney.api.web.IWebNavigator#navigateToStaticUrl(URL, String, Duration)
+	 */
+	default void navigateToStatic(URL url, String readyXPath, Duration timeout) throws XValueReaderException
+	{
+		navigateTo(url, readyXPath, timeout);
+	}
 	
 	/**
 	 * Navigates back.
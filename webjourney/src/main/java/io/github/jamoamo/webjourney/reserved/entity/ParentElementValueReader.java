@@ -211,6 +211,32 @@ class ParentElementValueReader implements IValueReader
 		}
 	}
 
+	@Override
+	public void navigateTo(URL url, String readyXPath, Duration timeout) throws XValueReaderException
+	{
+		try
+		{
+			this.browser.getActiveWindow().navigateToUrl(url, readyXPath, timeout);
+		}
+		catch(XWebException err)
+		{
+			throw new XValueReaderException(err);
+		}
+	}
+
+	@Override
+	public void navigateToStatic(URL url, String readyXPath, Duration timeout) throws XValueReaderException
+	{
+		try
+		{
+			this.browser.getActiveWindow().navigateToStaticUrl(url, readyXPath, timeout);
+		}
+		catch(XWebException err)
+		{
+			throw new XValueReaderException(err);
+		}
+	}
+
 	@Override
 	public void navigateBack() throws XValueReaderException
 	{
@@ -0,0 +1,208 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2023 James Amoore.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package io.github.jamoamo.webjourney.reserved.http;
+
+import io.github.jamoamo.webjourney.api.web.IBrowser;
+import io.github.jamoamo.webjourney.api.web.IBrowserWindow;
+import io.github.jamoamo.webjourney.api.web.ICookie;
+import io.github.jamoamo.webjourney.api.web.XWebException;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A browser that fetches pages over HTTP and parses their HTML, without a browser engine.
+ * <p>
+ * Pages are not rendered and their scripts are not run, so the browser only suits pages whose content is in their
+ * HTML. In exchange, a browser costs no more than its cookies and the pages in its windows' history, and many of them
+ * can share one HTTP client. The windows of a browser share its cookies.
+ *
+ * @author James Amoore
+ */
+final class HttpBrowser implements IBrowser
+{
+	private static final Logger LOGGER = LoggerFactory.getLogger(HttpBrowser.class);
+	private static final String WINDOW_NAME_PREFIX = "http-window-";
+
+	private final HttpSession session;
+	private final ReentrantLock lock = new ReentrantLock();
+	private final Map<String, HttpWindow> windows = new LinkedHashMap<>();
+	private int windowCount;
+	private HttpWindow activeWindow;
+	private boolean exited;
+
+	HttpBrowser(HttpSession session)
+	{
+		this.session = session;
+		this.activeWindow = createWindow();
+	}
+
+	@Override
+	public IBrowserWindow getActiveWindow()
+	{
+		this.lock.lock();
+		try
+		{
+			return this.activeWindow;
+		}
+		finally
+		{
+			this.lock.unlock();
+		}
+	}
+
+	@Override
+	public IBrowserWindow switchToWindow(String windowName)
+		throws XWebException
+	{
+		this.lock.lock();
+		try
+		{
+			HttpWindow window = this.windows.get(windowName);
+			if(window == null)
+			{
+				throw new XWebException("No window named [" + windowName + "].");
+			}
+			LOGGER.info(String.format("Switch to window [%s].", windowName));
+			this.activeWindow = window;
+			return window;
+		}
+		finally
+		{
+			this.lock.unlock();
+		}
+	}
+
+	@Override
+	public IBrowserWindow openNewWindow()
+	{
+		this.lock.lock();
+		try
+		{
+			this.activeWindow = createWindow();
+			return this.activeWindow;
+		}
+		finally
+		{
+			this.lock.unlock();
+		}
+	}
+
+	void closeWindow(HttpWindow window)
+	{
+		this.lock.lock();
+		try
+		{
+			this.windows.remove(window.getName());
+			if(this.activeWindow == window)
+			{
+				this.activeWindow = this.windows.isEmpty() ? createWindow() : this.windows.values().iterator().next();
+			}
+		}
+		finally
+		{
+			this.lock.unlock();
+		}
+	}
+
+	private HttpWindow createWindow()
+	{
+		HttpWindow window = new HttpWindow(WINDOW_NAME_PREFIX + (++this.windowCount), this.session, this);
+		this.windows.put(window.getName(), window);
+		return window;
+	}
+
+	@Override
+	public boolean isHealthy()
+	{
+		this.lock.lock();
+		try
+		{
+			return !this.exited;
+		}
+		finally
+		{
+			this.lock.unlock();
+		}
+	}
+
+	@Override
+	public boolean reset()
+	{
+		this.lock.lock();
+		try
+		{
+			if(this.exited)
+			{
+				return false;
+			}
+			this.windows.values().removeIf(window -> window != this.activeWindow);
+			this.activeWindow.clearHistory();
+			this.session.clearCookies();
+			return true;
+		}
+		finally
+		{
+			this.lock.unlock();
+		}
+	}
+
+	@Override
+	public List<ICookie> getCookies()
+	{
+		return this.session.getCookies();
+	}
+
+	@Override
+	public void addCookies(List<? extends ICookie> cookies)
+	{
+		if(cookies != null)
+		{
+			cookies.forEach(this.session::addCookie);
+		}
+	}
+
+	@Override
+	public void exit()
+	{
+		this.lock.lock();
+		try
+		{
+			if(this.exited)
+			{
+				return;
+			}
+			this.exited = true;
+			this.windows.clear();
+			this.session.clearCookies();
+		}
+		finally
+		{
+			this.lock.unlock();
+		}
+	}
+}
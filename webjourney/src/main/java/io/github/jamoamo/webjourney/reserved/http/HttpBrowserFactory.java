@@ -0,0 +1,86 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2023 James Amoore.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package io.github.jamoamo.webjourney.reserved.http;
+
+import io.github.jamoamo.webjourney.api.web.IBrowser;
+import io.github.jamoamo.webjourney.api.web.IBrowserFactory;
+import io.github.jamoamo.webjourney.api.web.IBrowserOptions;
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.Objects;
+
+/**
+ * Browser factory to create browsers that fetch pages over HTTP, without a browser engine.
+ * <p>
+ * The browsers suit static pages, whose content is in their HTML: their scripts are not run, and only links can be
+ * clicked. Elements are found with XPath on the parsed HTML, so entities extract the same values as they would in a
+ * real browser. Every browser keeps its own cookies and history, but all the browsers of a factory share one HTTP
+ * client and its connections, so a JVM can run hundreds of them at once. The browser options are ignored.
+ *
+ * @author James Amoore
+ */
+public final class HttpBrowserFactory implements IBrowserFactory
+{
+	private static final Duration DEFAULT_REQUEST_TIMEOUT = Duration.ofSeconds(30);
+	private static final Duration CONNECT_TIMEOUT = Duration.ofSeconds(10);
+
+	private final HttpClient client;
+	private final Duration requestTimeout;
+
+	/**
+	 * Creates a factory whose browsers share an HTTP client with the other factories created this way, and wait up
+	 * to 30 seconds for each response.
+	 */
+	public HttpBrowserFactory()
+	{
+		this(SharedClient.CLIENT, DEFAULT_REQUEST_TIMEOUT);
+	}
+
+	/**
+	 * Creates a factory whose browsers use an HTTP client. The client should not follow redirects or store cookies
+	 * itself: the browsers do both.
+	 *
+	 * @param client the HTTP client
+	 * @param requestTimeout how long to wait for each response, or null to wait as long as the client does
+	 */
+	public HttpBrowserFactory(HttpClient client, Duration requestTimeout)
+	{
+		this.client = Objects.requireNonNull(client, "HTTP client cannot be null");
+		this.requestTimeout = requestTimeout;
+	}
+
+	@Override
+	public IBrowser createBrowser(IBrowserOptions options)
+	{
+		return new HttpBrowser(new HttpSession(this.client, this.requestTimeout));
+	}
+
+	private static final class SharedClient
+	{
+		private static final HttpClient CLIENT = HttpClient.newBuilder()
+			.followRedirects(HttpClient.Redirect.NEVER)
+			.connectTimeout(CONNECT_TIMEOUT)
+			.build();
+	}
+}
@@ -0,0 +1,98 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2023 James Amoore.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package io.github.jamoamo.webjourney.reserved.http;
+
+import io.github.jamoamo.webjourney.api.web.ICookie;
+import java.net.HttpCookie;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.Locale;
+
+/**
+ * A cookie stored by an HTTP browser.
+ *
+ * @author James Amoore
+ */
+final class HttpCookieAdapter implements ICookie
+{
+	private static final String LOCAL_DOMAIN_SUFFIX = ".local";
+
+	private final HttpCookie cookie;
+
+	HttpCookieAdapter(HttpCookie cookie)
+	{
+		this.cookie = cookie;
+	}
+
+	@Override
+	public String getDomain()
+	{
+		String domain = this.cookie.getDomain();
+		// The JDK stores the cookies of hosts without a dot, such as localhost, under "<host>.local".
+		if(domain != null && domain.toLowerCase(Locale.ROOT).endsWith(LOCAL_DOMAIN_SUFFIX)
+			&& domain.indexOf('.') == domain.length() - LOCAL_DOMAIN_SUFFIX.length())
+		{
+			return domain.substring(0, domain.length() - LOCAL_DOMAIN_SUFFIX.length());
+		}
+		return domain;
+	}
+
+	@Override
+	public LocalDate getExpiry()
+	{
+		long maxAge = this.cookie.getMaxAge();
+		return maxAge < 0 ? null : LocalDate.ofInstant(Instant.now().plusSeconds(maxAge), ZoneOffset.UTC);
+	}
+
+	@Override
+	public String getName()
+	{
+		return this.cookie.getName();
+	}
+
+	@Override
+	public String getPath()
+	{
+		return this.cookie.getPath();
+	}
+
+	@Override
+	public String getValue()
+	{
+		return this.cookie.getValue();
+	}
+
+	@Override
+	public boolean isHttpOnly()
+	{
+		return this.cookie.isHttpOnly();
+	}
+
+	@Override
+	public boolean isSecure()
+	{
+		return this.cookie.getSecure();
+	}
+}
@@ -0,0 +1,275 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2023 James Amoore.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package io.github.jamoamo.webjourney.reserved.http;
+
+import io.github.jamoamo.webjourney.api.web.AElement;
+import io.github.jamoamo.webjourney.api.web.XElementDoesntExistException;
+import io.github.jamoamo.webjourney.api.web.XNavigationError;
+import io.github.jamoamo.webjourney.api.web.XUnsupportedActionException;
+import java.net.MalformedURLException;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import org.w3c.dom.Element;
+import org.w3c.dom.Node;
+
+/**
+ * An element of a page fetched by an HTTP browser.
+ * <p>
+ * A required element that is not on the page only fails when it is used, as Selenium elements do. The text of an
+ * element is built from its text content the way a browser lays it out without styles: whitespace is collapsed, and
+ * line breaks and block elements start new lines. Link and source attributes are resolved against the page address,
+ * like the matching properties of a browser element.
+ *
+ * @author James Amoore
+ */
+final class HttpElement extends AElement
+{
+	private static final Set<String> URL_ATTRIBUTES = Set.of("href", "src", "action");
+	private static final Set<String> HIDDEN_ELEMENTS = Set.of("head", "script", "style", "noscript", "template");
+	private static final Set<String> BLOCK_ELEMENTS = Set.of(
+		"address", "article", "aside", "blockquote", "dd", "div", "dl", "dt", "fieldset", "figcaption", "figure",
+		"footer", "form", "h1", "h2", "h3", "h4", "h5", "h6", "header", "hr", "li", "main", "nav", "ol", "p", "pre",
+		"section", "table", "tr", "ul");
+
+	private final HttpPage page;
+	private final Element element;
+	private final String xPath;
+	private final boolean optional;
+
+	HttpElement(HttpPage page, Element element, String xPath, boolean optional)
+	{
+		this.page = page;
+		this.element = element;
+		this.xPath = xPath;
+		this.optional = optional;
+	}
+
+	private Element getElement() throws XElementDoesntExistException
+	{
+		if(this.element == null && !this.optional)
+		{
+			throw new XElementDoesntExistException("Element [" + this.xPath + "] doesn't exist.");
+		}
+		return this.element;
+	}
+
+	@Override
+	public String getAttribute(String attribute) throws XElementDoesntExistException
+	{
+		Element elem = getElement();
+		if(elem == null || !elem.hasAttribute(attribute))
+		{
+			return null;
+		}
+		String value = elem.getAttribute(attribute);
+		return URL_ATTRIBUTES.contains(attribute.toLowerCase(Locale.ROOT)) ? this.page.resolve(value) : value;
+	}
+
+	@Override
+	public String getElementText() throws XElementDoesntExistException
+	{
+		Element elem = getElement();
+		if(elem == null)
+		{
+			return null;
+		}
+		StringBuilder text = new StringBuilder();
+		appendText(elem, text);
+		return normalise(text);
+	}
+
+	private static void appendText(Node node, StringBuilder text)
+	{
+		if(node.getNodeType() == Node.TEXT_NODE)
+		{
+			text.append(node.getNodeValue().replaceAll("\\s+", " "));
+			return;
+		}
+		if(node.getNodeType() != Node.ELEMENT_NODE)
+		{
+			return;
+		}
+		String tag = node.getNodeName().toLowerCase(Locale.ROOT);
+		if(HIDDEN_ELEMENTS.contains(tag))
+		{
+			return;
+		}
+		if("br".equals(tag))
+		{
+			text.append('\n');
+			return;
+		}
+		boolean block = BLOCK_ELEMENTS.contains(tag);
+		if(block)
+		{
+			text.append('\n');
+		}
+		for(Node child = node.getFirstChild(); child != null; child = child.getNextSibling())
+		{
+			appendText(child, text);
+		}
+		if(block)
+		{
+			text.append('\n');
+		}
+		else if("td".equals(tag) || "th".equals(tag))
+		{
+			text.append(' ');
+		}
+	}
+
+	private static String normalise(CharSequence text)
+	{
+		List<String> lines = new ArrayList<>();
+		for(String line : text.toString().split("\n"))
+		{
+			String collapsed = line.replaceAll("[\\s\\u00A0]+", " ").trim();
+			if(!collapsed.isEmpty())
+			{
+				lines.add(collapsed);
+			}
+		}
+		return String.join("\n", lines);
+	}
+
+	@Override
+	public AElement findElement(String path) throws XElementDoesntExistException
+	{
+		return findElement(path, false);
+	}
+
+	@Override
+	public AElement findElement(String path, boolean optional) throws XElementDoesntExistException
+	{
+		Element elem = getElement();
+		if(elem == null)
+		{
+			return new HttpElement(this.page, null, path, optional);
+		}
+		List<Element> children = HttpPage.selectElements(path, elem);
+		return new HttpElement(this.page, children.isEmpty() ? null : children.get(0), path, optional);
+	}
+
+	@Override
+	public List<? extends AElement> findElements(String path) throws XElementDoesntExistException
+	{
+		Element elem = getElement();
+		if(elem == null)
+		{
+			return new ArrayList<>();
+		}
+		return HttpPage.selectElements(path, elem).stream()
+			.map(child -> new HttpElement(this.page, child, path, false))
+			.toList();
+	}
+
+	/**
+	 * Follows the link the element is in. Without a script engine, clicking anything other than a link is not
+	 * supported.
+	 *
+	 * @throws XElementDoesntExistException if the element doesn't exist
+	 * @throws XUnsupportedActionException if the element is not in a link
+	 */
+	@Override
+	public void click() throws XElementDoesntExistException
+	{
+		Element elem = getElement();
+		if(elem == null)
+		{
+			return;
+		}
+		for(Node node = elem; node instanceof Element link; node = node.getParentNode())
+		{
+			if("a".equalsIgnoreCase(link.getNodeName()) && link.hasAttribute("href"))
+			{
+				followLink(this.page.resolve(link.getAttribute("href")));
+				return;
+			}
+		}
+		throw new XUnsupportedActionException(
+			"An HTTP browser can only click links, not [" + elem.getNodeName() + "] elements.");
+	}
+
+	private void followLink(String href)
+	{
+		try
+		{
+			this.page.getWindow().navigateToUrl(new URI(href).toURL());
+		}
+		catch(URISyntaxException | IllegalArgumentException | MalformedURLException ex)
+		{
+			throw new XNavigationError(href, ex);
+		}
+	}
+
+	@Override
+	public void enterText(String text)
+	{
+		throw new XUnsupportedActionException("An HTTP browser cannot enter text.");
+	}
+
+	@Override
+	public List<? extends AElement> getChildrenByTag(String childElementType) throws XElementDoesntExistException
+	{
+		Element elem = getElement();
+		if(elem == null)
+		{
+			return new ArrayList<>();
+		}
+		return HttpPage.byTag(elem.getElementsByTagName(childElementType)).stream()
+			.map(child -> new HttpElement(this.page, child, childElementType, false))
+			.toList();
+	}
+
+	@Override
+	public String getTag() throws XElementDoesntExistException
+	{
+		Element elem = getElement();
+		return elem == null ? null : elem.getNodeName().toLowerCase(Locale.ROOT);
+	}
+
+	@Override
+	public boolean exists()
+	{
+		return this.element != null;
+	}
+
+	@Override
+	public List<String> getTextNodeValues(String xPath) throws XElementDoesntExistException
+	{
+		Element elem = getElement();
+		if(elem == null)
+		{
+			return new ArrayList<>();
+		}
+		return HttpPage.selectNodes(xPath, elem).stream()
+			.filter(node -> node.getNodeType() == Node.TEXT_NODE)
+			.map(Node::getNodeValue)
+			.toList();
+	}
+}
@@ -0,0 +1,203 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2023 James Amoore.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package io.github.jamoamo.webjourney.reserved.http;
+
+import io.github.jamoamo.webjourney.api.web.AElement;
+import io.github.jamoamo.webjourney.api.web.IWebPage;
+import io.github.jamoamo.webjourney.api.web.XElementDoesntExistException;
+import io.github.jamoamo.webjourney.api.web.XNavigationError;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+import org.jaxen.JaxenException;
+import org.jaxen.dom.DOMXPath;
+import org.jsoup.Jsoup;
+import org.jsoup.helper.W3CDom;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.Node;
+import org.w3c.dom.NodeList;
+
+/**
+ * A page fetched by an HTTP browser.
+ * <p>
+ * The page's HTML is parsed once, when the page is fetched. Elements are looked up with XPath against the parsed
+ * document, without waiting: the page never changes after it has been parsed. The HTML is decoded with the character
+ * set declared by the response, or else with the one declared in the HTML itself, falling back to UTF-8.
+ *
+ * @author James Amoore
+ */
+final class HttpPage implements IWebPage
+{
+	private static final String BLANK_URL = "about:blank";
+
+	private final HttpWindow window;
+	private final URI uri;
+	private final String title;
+	private final Document document;
+
+	HttpPage(HttpWindow window, URI uri, byte[] html, String charset)
+		throws XNavigationError
+	{
+		this.window = window;
+		this.uri = uri;
+		org.jsoup.nodes.Document parsed;
+		try
+		{
+			parsed = Jsoup.parse(new ByteArrayInputStream(html == null ? new byte[0] : html), charset,
+				uri == null ? "" : uri.toString());
+		}
+		catch(IOException ex)
+		{
+			throw new XNavigationError(getUrl(), ex);
+		}
+		this.title = parsed.title();
+		this.document = new W3CDom().namespaceAware(false).fromJsoup(parsed);
+	}
+
+	static HttpPage blank(HttpWindow window)
+	{
+		return new HttpPage(window, null, new byte[0], null);
+	}
+
+	HttpWindow getWindow()
+	{
+		return this.window;
+	}
+
+	String getUrl()
+	{
+		return this.uri == null ? BLANK_URL : this.uri.toString();
+	}
+
+	URI getUri()
+	{
+		return this.uri;
+	}
+
+	String getTitle()
+	{
+		return this.title;
+	}
+
+	@Override
+	public AElement getElement(String xPath) throws XElementDoesntExistException
+	{
+		return getElement(xPath, false);
+	}
+
+	@Override
+	public AElement getElement(String xPath, boolean optional) throws XElementDoesntExistException
+	{
+		List<Element> elements = selectElements(xPath, this.document);
+		return new HttpElement(this, elements.isEmpty() ? null : elements.get(0), xPath, optional);
+	}
+
+	@Override
+	public List<? extends AElement> getElements(String xPath) throws XElementDoesntExistException
+	{
+		return selectElements(xPath, this.document).stream()
+			.map(element -> new HttpElement(this, element, xPath, false))
+			.toList();
+	}
+
+	@Override
+	public List<? extends AElement> getElementsByTag(String tag)
+	{
+		return byTag(this.document.getElementsByTagName(tag)).stream()
+			.map(element -> new HttpElement(this, element, tag, false))
+			.toList();
+	}
+
+	/**
+	 * Resolves a link on the page against the page's address.
+	 *
+	 * @param link the link
+	 * @return the absolute address, or the link itself if it cannot be resolved
+	 */
+	String resolve(String link)
+	{
+		if(this.uri == null || link == null)
+		{
+			return link;
+		}
+		try
+		{
+			return this.uri.resolve(link.trim()).toString();
+		}
+		catch(IllegalArgumentException ex)
+		{
+			return link;
+		}
+	}
+
+	static List<Node> selectNodes(String xPath, Node context) throws XElementDoesntExistException
+	{
+		try
+		{
+			List<?> results = new DOMXPath(xPath).selectNodes(context);
+			List<Node> nodes = new ArrayList<>(results.size());
+			for(Object result : results)
+			{
+				if(result instanceof Node node)
+				{
+					nodes.add(node);
+				}
+			}
+			return nodes;
+		}
+		catch(JaxenException ex)
+		{
+			throw new XElementDoesntExistException("Unable to evaluate xpath [" + xPath + "]: " + ex.getMessage());
+		}
+	}
+
+	static List<Element> selectElements(String xPath, Node context) throws XElementDoesntExistException
+	{
+		List<Element> elements = new ArrayList<>();
+		for(Node node : selectNodes(xPath, context))
+		{
+			if(node instanceof Element element)
+			{
+				elements.add(element);
+			}
+		}
+		return elements;
+	}
+
+	static List<Element> byTag(NodeList nodes)
+	{
+		List<Element> elements = new ArrayList<>(nodes.getLength());
+		for(int i = 0; i < nodes.getLength(); i++)
+		{
+			if(nodes.item(i) instanceof Element element)
+			{
+				elements.add(element);
+			}
+		}
+		return elements;
+	}
+}
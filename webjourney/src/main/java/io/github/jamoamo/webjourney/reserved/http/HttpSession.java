@@ -0,0 +1,225 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2023 James Amoore.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package io.github.jamoamo.webjourney.reserved.http;
+
+import io.github.jamoamo.webjourney.api.web.ICookie;
+import io.github.jamoamo.webjourney.api.web.XNavigationError;
+import java.io.IOException;
+import java.net.CookieManager;
+import java.net.CookiePolicy;
+import java.net.HttpCookie;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.Charset;
+import java.nio.charset.IllegalCharsetNameException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * The state an HTTP browser keeps between requests: its cookies, and the HTTP client it shares with other browsers.
+ * <p>
+ * The shared client does not store cookies, so each session sends and stores its own. Redirects are followed by the
+ * session rather than the client, so that cookies set by a redirect response are kept.
+ * <p>
+ * Pages are fetched as bytes rather than text, so that pages that declare their character set only in their HTML are
+ * decoded with it when they are parsed.
+ *
+ * @author James Amoore
+ */
+final class HttpSession
+{
+	private static final int MAX_REDIRECTS = 10;
+	private static final Set<Integer> REDIRECT_CODES = Set.of(301, 302, 303, 307, 308);
+	private static final String USER_AGENT = "Mozilla/5.0 (compatible; WebJourney)";
+	private static final String ACCEPT = "text/html,application/xhtml+xml,application/xml;q=0.9,*/*;q=0.8";
+	private static final Pattern CHARSET = Pattern.compile("(?i)\\bcharset\\s*=\\s*[\"']?([^\\s;\"']+)");
+
+	private final HttpClient client;
+	private final Duration requestTimeout;
+	private final CookieManager cookieManager = new CookieManager(null, CookiePolicy.ACCEPT_ORIGINAL_SERVER);
+
+	HttpSession(HttpClient client, Duration requestTimeout)
+	{
+		this.client = client;
+		this.requestTimeout = requestTimeout;
+	}
+
+	/**
+	 * Fetches a page, following redirects.
+	 *
+	 * @param uri the address of the page
+	 * @return the final response, whose URI is the address the page was fetched from
+	 * @throws XNavigationError if the page could not be fetched
+	 */
+	HttpResponse<byte[]> fetch(URI uri)
+		throws XNavigationError
+	{
+		URI target = uri;
+		for(int redirects = 0; redirects <= MAX_REDIRECTS; redirects++)
+		{
+			HttpResponse<byte[]> response = send(target);
+			Optional<String> location = response.headers().firstValue("Location");
+			if(!REDIRECT_CODES.contains(response.statusCode()) || location.isEmpty())
+			{
+				return response;
+			}
+			try
+			{
+				target = target.resolve(location.get());
+			}
+			catch(IllegalArgumentException ex)
+			{
+				throw new XNavigationError(uri + " redirected to invalid location " + location.get(), ex);
+			}
+		}
+		throw new XNavigationError(uri + " redirected more than " + MAX_REDIRECTS + " times");
+	}
+
+	/**
+	 * Gets the character set a response declares in its Content-Type header.
+	 *
+	 * @param response the response
+	 * @return the name of the character set, or null if the response does not declare a supported character set
+	 */
+	static String getCharset(HttpResponse<?> response)
+	{
+		Optional<String> contentType = response.headers().firstValue("Content-Type");
+		if(contentType.isEmpty())
+		{
+			return null;
+		}
+		Matcher matcher = CHARSET.matcher(contentType.get());
+		if(!matcher.find())
+		{
+			return null;
+		}
+		try
+		{
+			return Charset.isSupported(matcher.group(1)) ? matcher.group(1) : null;
+		}
+		catch(IllegalCharsetNameException ex)
+		{
+			return null;
+		}
+	}
+
+	private HttpResponse<byte[]> send(URI uri)
+		throws XNavigationError
+	{
+		try
+		{
+			HttpRequest.Builder request = HttpRequest.newBuilder(uri)
+				.GET()
+				.header("User-Agent", USER_AGENT)
+				.header("Accept", ACCEPT);
+			if(this.requestTimeout != null)
+			{
+				request.timeout(this.requestTimeout);
+			}
+			for(Map.Entry<String, List<String>> header : this.cookieManager.get(uri, Map.of()).entrySet())
+			{
+				for(String value : header.getValue())
+				{
+					request.header(header.getKey(), value);
+				}
+			}
+			HttpResponse<byte[]> response = this.client.send(request.build(), HttpResponse.BodyHandlers.ofByteArray());
+			this.cookieManager.put(uri, response.headers().map());
+			return response;
+		}
+		catch(IOException | IllegalArgumentException ex)
+		{
+			throw new XNavigationError(uri.toString(), ex);
+		}
+		catch(InterruptedException ex)
+		{
+			Thread.currentThread().interrupt();
+			throw new XNavigationError(uri.toString(), ex);
+		}
+	}
+
+	/**
+	 * Gets the cookies the session has stored that have not expired.
+	 *
+	 * @return the cookies
+	 */
+	List<ICookie> getCookies()
+	{
+		return this.cookieManager.getCookieStore().getCookies().stream()
+			.map(cookie -> (ICookie) new HttpCookieAdapter(cookie))
+			.toList();
+	}
+
+	/**
+	 * Stores a cookie, as if it had been set by a response from its domain.
+	 *
+	 * @param cookie the cookie
+	 */
+	void addCookie(ICookie cookie)
+	{
+		String domain = cookie.getDomain();
+		if(domain == null || domain.isBlank() || cookie.getName() == null)
+		{
+			return;
+		}
+		HttpCookie httpCookie = new HttpCookie(cookie.getName(), cookie.getValue() == null ? "" : cookie.getValue());
+		httpCookie.setVersion(0);
+		httpCookie.setDomain(domain);
+		httpCookie.setPath(cookie.getPath() == null ? "/" : cookie.getPath());
+		httpCookie.setSecure(cookie.isSecure());
+		httpCookie.setHttpOnly(cookie.isHttpOnly());
+		if(cookie.getExpiry() != null)
+		{
+			Instant expiry = cookie.getExpiry().plusDays(1).atStartOfDay(ZoneOffset.UTC).toInstant();
+			httpCookie.setMaxAge(Math.max(0, Duration.between(Instant.now(), expiry).getSeconds()));
+		}
+		// Storing the cookie against its host as well lets hosts without a dot, such as localhost, match it.
+		String host = domain.startsWith(".") ? domain.substring(1) : domain;
+		try
+		{
+			this.cookieManager.getCookieStore().add(URI.create("http://" + host + "/"), httpCookie);
+		}
+		catch(IllegalArgumentException ex)
+		{
+			this.cookieManager.getCookieStore().add(null, httpCookie);
+		}
+	}
+
+	/**
+	 * Forgets all the cookies the session has stored.
+	 */
+	void clearCookies()
+	{
+		this.cookieManager.getCookieStore().removeAll();
+	}
+}
@@ -0,0 +1,230 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2023 James Amoore.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package io.github.jamoamo.webjourney.reserved.http;
+
+import io.github.jamoamo.webjourney.api.web.IBrowserWindow;
+import io.github.jamoamo.webjourney.api.web.IWebPage;
+import io.github.jamoamo.webjourney.api.web.XNavigationError;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A window of an HTTP browser.
+ * <p>
+ * The window keeps the pages it has visited, up to a limit, so that navigating back and forward returns the stored
+ * page instead of fetching it again. Refreshing fetches the current page again.
+ * <p>
+ * Pages are fetched without holding the window's lock, which only guards the history, so a slow server does not
+ * block other callers of the window.
+ *
+ * @author James Amoore
+ */
+final class HttpWindow implements IBrowserWindow
+{
+	private static final Logger LOGGER = LoggerFactory.getLogger(HttpWindow.class);
+	private static final int MAX_HISTORY = 50;
+
+	private final String windowName;
+	private final HttpSession session;
+	private final HttpBrowser browser;
+	private final ReentrantLock lock = new ReentrantLock();
+	private final List<HttpPage> history = new ArrayList<>();
+	private int historyIndex;
+
+	HttpWindow(String windowName, HttpSession session, HttpBrowser browser)
+	{
+		this.windowName = windowName;
+		this.session = session;
+		this.browser = browser;
+		clearHistory();
+	}
+
+	@Override
+	public String getCurrentUrl()
+	{
+		return current().getUrl();
+	}
+
+	@Override
+	public IWebPage getCurrentPage()
+	{
+		return current();
+	}
+
+	@Override
+	public IWebPage refreshCurrentPage()
+		throws XNavigationError
+	{
+		HttpPage page = current();
+		if(page.getUri() == null)
+		{
+			return page;
+		}
+		HttpPage refreshed = fetch(page.getUri());
+		this.lock.lock();
+		try
+		{
+			int index = this.history.indexOf(page);
+			if(index >= 0)
+			{
+				this.history.set(index, refreshed);
+			}
+			return refreshed;
+		}
+		finally
+		{
+			this.lock.unlock();
+		}
+	}
+
+	@Override
+	public void close()
+	{
+		this.browser.closeWindow(this);
+	}
+
+	@Override
+	public String getName()
+	{
+		return this.windowName;
+	}
+
+	@Override
+	public String getTitle()
+	{
+		return current().getTitle();
+	}
+
+	@Override
+	public IWebPage navigateToUrl(URL url)
+		throws XNavigationError
+	{
+		LOGGER.info(String.format("Window [%s] navigating to url %s", this.windowName, url.toString()));
+		HttpPage page;
+		try
+		{
+			page = fetch(url.toURI());
+		}
+		catch(URISyntaxException ex)
+		{
+			throw new XNavigationError(url.toString(), ex);
+		}
+		this.lock.lock();
+		try
+		{
+			this.history.subList(this.historyIndex + 1, this.history.size()).clear();
+			this.history.add(page);
+			if(this.history.size() > MAX_HISTORY)
+			{
+				this.history.remove(0);
+			}
+			this.historyIndex = this.history.size() - 1;
+			return page;
+		}
+		finally
+		{
+			this.lock.unlock();
+		}
+	}
+
+	@Override
+	public IWebPage navigateBack()
+	{
+		LOGGER.info(String.format("Window [%s] navigating back", this.windowName));
+		this.lock.lock();
+		try
+		{
+			if(this.historyIndex > 0)
+			{
+				this.historyIndex--;
+			}
+			return this.history.get(this.historyIndex);
+		}
+		finally
+		{
+			this.lock.unlock();
+		}
+	}
+
+	@Override
+	public IWebPage navigateForward()
+	{
+		LOGGER.info(String.format("Window [%s] navigating forward", this.windowName));
+		this.lock.lock();
+		try
+		{
+			if(this.historyIndex < this.history.size() - 1)
+			{
+				this.historyIndex++;
+			}
+			return this.history.get(this.historyIndex);
+		}
+		finally
+		{
+			this.lock.unlock();
+		}
+	}
+
+	void clearHistory()
+	{
+		this.lock.lock();
+		try
+		{
+			this.history.clear();
+			this.history.add(HttpPage.blank(this));
+			this.historyIndex = 0;
+		}
+		finally
+		{
+			this.lock.unlock();
+		}
+	}
+
+	private HttpPage current()
+	{
+		this.lock.lock();
+		try
+		{
+			return this.history.get(this.historyIndex);
+		}
+		finally
+		{
+			this.lock.unlock();
+		}
+	}
+
+	private HttpPage fetch(URI uri)
+		throws XNavigationError
+	{
+		HttpResponse<byte[]> response = this.session.fetch(uri);
+		return new HttpPage(this, response.uri(), response.body(), HttpSession.getCharset(response));
+	}
+}
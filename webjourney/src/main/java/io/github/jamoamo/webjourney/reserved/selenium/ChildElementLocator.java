@@ -23,8 +23,10 @@
  */
 package io.github.jamoamo.webjourney.reserved.selenium;
 
+import io.github.jamoamo.webjourney.api.web.ElementProbeMetrics;
 import io.github.jamoamo.webjourney.api.web.XElementDoesntExistException;
 import java.time.Duration;
+import java.util.List;
 import org.openqa.selenium.By;
 import org.openqa.selenium.NoSuchElementException;
 import org.openqa.selenium.TimeoutException;
@@ -80,10 +82,14 @@ class ChildElementLocator implements ISeleniumElementLocator
 				"Parent element missing for child identified by: " + this.by.toString());
 		}
 
-		if (this.wait != null && !this.wait.isZero() && !this.wait.isNegative())
+		if (isWaiting())
 		{
 			return findChildWaiting(parent);
 		}
+		if (this.optional)
+		{
+			return probe(parent);
+		}
 
 		try
 		{
@@ -95,6 +101,31 @@ class ChildElementLocator implements ISeleniumElementLocator
 		}
 	}
 
+	@Override
+	public WebElement findElementIfPresent()
+	{
+		if (isWaiting())
+		{
+			return ISeleniumElementLocator.super.findElementIfPresent();
+		}
+		WebElement parent = this.element.getWebElementIfPresent();
+		return parent == null ? null : probe(parent);
+	}
+
+	private boolean isWaiting()
+	{
+		return this.wait != null && !this.wait.isZero() && !this.wait.isNegative();
+	}
+
+	private WebElement probe(WebElement parent)
+	{
+		// A single findElements call, which returns an empty list instead of failing when nothing matches
+		long start = System.nanoTime();
+		List<WebElement> children = parent.findElements(this.by);
+		ElementProbeMetrics.shared().recordProbe(!children.isEmpty(), Duration.ofNanos(System.nanoTime() - start));
+		return children.isEmpty() ? null : children.get(0);
+	}
+
 	private WebElement findChildWaiting(WebElement parent) throws XElementDoesntExistException
 	{
 		try
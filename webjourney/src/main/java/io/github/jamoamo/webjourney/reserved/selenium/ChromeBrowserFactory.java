@@ -32,23 +32,34 @@ import io.github.jamoamo.webjourney.api.web.DefaultBrowserArgumentsProvider;
 import io.github.jamoamo.webjourney.api.web.StandardBrowser;
 import io.github.jamoamo.webjourney.api.web.ResolvedBrowserArguments;
 import io.github.jamoamo.webjourney.api.config.AsyncConfiguration;
+import java.io.File;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
 import java.util.Map;
-import org.openqa.selenium.BuildInfo;
 import org.openqa.selenium.Capabilities;
+import org.openqa.selenium.PageLoadStrategy;
 import org.openqa.selenium.UnexpectedAlertBehaviour;
+import org.openqa.selenium.WebDriverException;
 import org.openqa.selenium.chrome.ChromeDriver;
+import org.openqa.selenium.chrome.ChromeDriverService;
 import org.openqa.selenium.chrome.ChromeOptions;
+import org.openqa.selenium.net.PortProber;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
  * Browser factory to create a chrome browser.
+ * <p>
+ * The ChromeDriver binary is resolved once, and every browser is started through a single ChromeDriver process that
+ * is shared by all the factories in the JVM.
  *
  * @author James Amoore
  */
 public final class ChromeBrowserFactory implements IBrowserFactory
 {
 	private static final Logger LOGGER = LoggerFactory.getLogger(ChromeBrowserFactory.class);
+	private static final String DRIVER_NAME = "chromedriver";
 	private final IBrowserArgumentsProvider browserArgumentsProvider;
 	private final AsyncConfiguration configuration;
 	
@@ -90,13 +101,13 @@ public final class ChromeBrowserFactory implements IBrowserFactory
 		ChromeOptions options =
 			createChromeOptions(browserOptions, journeyContext);
 		
-		logSeleniumBuildInfo();
+		LocalDriverServices.logSeleniumBuildInfo();
 		
-		ChromeDriver driver = new ChromeDriver(options);
+		ChromeDriver driver = new ChromeDriver(getDriverService(options), options);
 		
 		logDriverInfo(driver);
 		
-		return new SeleniumDrivenBrowser(driver);
+		return new SeleniumDrivenBrowser(driver, browserOptions.getElementLookupMode(), browserOptions.getResourcePolicy());
 	}
 
 	protected ChromeOptions createChromeOptions(IBrowserOptions browserOptions)
@@ -111,6 +122,8 @@ public final class ChromeBrowserFactory implements IBrowserFactory
 		options = options.addArguments("--no-sandbox", "--remote-allow-origins=*", "--disable-dev-shm-usage");
 		options = setHeadless(browserOptions, options);
 		options = setUnexpectedAlertBehaviour(browserOptions, options);
+		options = setPageLoadStrategy(browserOptions, options);
+		ResourceBlocking.applyPreferences(options, browserOptions.getResourcePolicy());
 		
 		// Apply browser arguments if feature is enabled and context is available
 		if (journeyContext != null && this.configuration.isEnableExtraArgs())
@@ -133,11 +146,29 @@ public final class ChromeBrowserFactory implements IBrowserFactory
 		return options;
 	}
 
+	private ChromeDriverService getDriverService(ChromeOptions options)
+	{
+		LocalDriverServices.DriverPaths paths =
+			LocalDriverServices.resolve(DRIVER_NAME, ChromeDriverService::createDefaultService, options);
+		if(paths.browser() != null)
+		{
+			options.setBinary(paths.browser());
+		}
+		try
+		{
+			return LocalDriverServices.shared(DRIVER_NAME, paths.driver(), SharedChromeDriverService::create);
+		}
+		catch(IOException ex)
+		{
+			throw new WebDriverException("Failed to start the ChromeDriver service", ex);
+		}
+	}
+
 	private void logDriverInfo(ChromeDriver driver)
 	{
 		Capabilities capabilities = driver.getCapabilities();
 		Map<String, String> chromeInfo = (Map<String, String>)capabilities.getCapability("chrome");
-		LOGGER.info(String.format(
+		LocalDriverServices.logDriverInfo(LOGGER, DRIVER_NAME, String.format(
 				  "Started Selenium driver: browserName[%s], browserVersion[%s], driverVersion[%s], dataDir[%s]",
 				  capabilities.getBrowserName(),
 				  capabilities.getBrowserVersion(),
@@ -145,14 +176,6 @@ public final class ChromeBrowserFactory implements IBrowserFactory
 				  chromeInfo.get("userDataDir")));
 	}
 
-	private void logSeleniumBuildInfo()
-	{
-		BuildInfo info = new BuildInfo();
-		LOGGER.info(String.format(
-				  "Selenium build info: %s",
-				  info.toString()));
-	}
-
 	private ChromeOptions setUnexpectedAlertBehaviour(IBrowserOptions browserOptions, ChromeOptions options)
 	{
 		if(browserOptions.acceptUnexpectedAlerts())
@@ -166,6 +189,16 @@ public final class ChromeBrowserFactory implements IBrowserFactory
 		return options;
 	}
 
+	private ChromeOptions setPageLoadStrategy(IBrowserOptions browserOptions, ChromeOptions options)
+	{
+		if(browserOptions.getPageLoadStrategy() != null)
+		{
+			options = (ChromeOptions) options.setPageLoadStrategy(
+				PageLoadStrategy.valueOf(browserOptions.getPageLoadStrategy().name()));
+		}
+		return options;
+	}
+
 	private ChromeOptions setHeadless(IBrowserOptions browserOptions, ChromeOptions options)
 	{
 		if(browserOptions.isHeadless())
@@ -174,4 +207,33 @@ public final class ChromeBrowserFactory implements IBrowserFactory
 		}
 		return options;
 	}
+
+	/**
+	 * A ChromeDriver service that keeps running when one of its sessions quits.
+	 */
+	private static final class SharedChromeDriverService extends ChromeDriverService
+		implements LocalDriverServices.SharedService
+	{
+		private SharedChromeDriverService(File driver, int port) throws IOException
+		{
+			super(driver, port, Duration.ofSeconds(20), List.of("--port=" + port), Map.of());
+		}
+
+		static SharedChromeDriverService create(File driver) throws IOException
+		{
+			return new SharedChromeDriverService(driver, PortProber.findFreePort());
+		}
+
+		@Override
+		public void stop()
+		{
+			// Called when a session quits; the service is shared with the other sessions
+		}
+
+		@Override
+		public void stopProcess()
+		{
+			super.stop();
+		}
+	}
 }
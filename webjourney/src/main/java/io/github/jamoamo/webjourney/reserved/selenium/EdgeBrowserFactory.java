@@ -32,23 +32,34 @@ import io.github.jamoamo.webjourney.api.web.DefaultBrowserArgumentsProvider;
 import io.github.jamoamo.webjourney.api.web.StandardBrowser;
 import io.github.jamoamo.webjourney.api.web.ResolvedBrowserArguments;
 import io.github.jamoamo.webjourney.api.config.AsyncConfiguration;
+import java.io.File;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
 import java.util.Map;
-import org.openqa.selenium.BuildInfo;
 import org.openqa.selenium.Capabilities;
+import org.openqa.selenium.PageLoadStrategy;
 import org.openqa.selenium.UnexpectedAlertBehaviour;
+import org.openqa.selenium.WebDriverException;
 import org.openqa.selenium.edge.EdgeDriver;
+import org.openqa.selenium.edge.EdgeDriverService;
 import org.openqa.selenium.edge.EdgeOptions;
+import org.openqa.selenium.net.PortProber;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
  * Browser factory to create an edge browser.
+ * <p>
+ * The EdgeDriver binary is resolved once, and every browser is started through a single EdgeDriver process that is
+ * shared by all the factories in the JVM.
  *
  * @author James Amoore
  */
 public final class EdgeBrowserFactory implements IBrowserFactory
 {
 	private static final Logger LOGGER = LoggerFactory.getLogger(EdgeBrowserFactory.class);
+	private static final String DRIVER_NAME = "msedgedriver";
 	private final IBrowserArgumentsProvider browserArgumentsProvider;
 	private final AsyncConfiguration configuration;
 	
@@ -91,13 +102,13 @@ public final class EdgeBrowserFactory implements IBrowserFactory
 		EdgeOptions options =
 			createEdgeOptions(browserOptions, journeyContext);
 		
-		logSeleniumBuildInfo();
+		LocalDriverServices.logSeleniumBuildInfo();
 		
-		EdgeDriver driver = new EdgeDriver(options);
+		EdgeDriver driver = new EdgeDriver(getDriverService(options), options);
 		
 		logDriverInfo(driver);
 		
-		return new SeleniumDrivenBrowser(driver);
+		return new SeleniumDrivenBrowser(driver, browserOptions.getElementLookupMode(), browserOptions.getResourcePolicy());
 	}
 
 	protected EdgeOptions createEdgeOptions(IBrowserOptions browserOptions)
@@ -113,6 +124,8 @@ public final class EdgeBrowserFactory implements IBrowserFactory
 		options = options.addArguments("--no-sandbox", "--remote-allow-origins=*", "--disable-dev-shm-usage");
 		options = setHeadless(browserOptions, options);
 		options = setUnexpectedAlertBehaviour(browserOptions, options);
+		options = setPageLoadStrategy(browserOptions, options);
+		ResourceBlocking.applyPreferences(options, browserOptions.getResourcePolicy());
 		
 		// Apply browser arguments if feature is enabled and context is available
 		if (journeyContext != null && this.configuration.isEnableExtraArgs())
@@ -135,25 +148,35 @@ public final class EdgeBrowserFactory implements IBrowserFactory
 		return options;
 	}
 
+	private EdgeDriverService getDriverService(EdgeOptions options)
+	{
+		LocalDriverServices.DriverPaths paths =
+			LocalDriverServices.resolve(DRIVER_NAME, EdgeDriverService::createDefaultService, options);
+		if(paths.browser() != null)
+		{
+			options.setBinary(paths.browser());
+		}
+		try
+		{
+			return LocalDriverServices.shared(DRIVER_NAME, paths.driver(), SharedEdgeDriverService::create);
+		}
+		catch(IOException ex)
+		{
+			throw new WebDriverException("Failed to start the EdgeDriver service", ex);
+		}
+	}
+
 	private void logDriverInfo(EdgeDriver driver)
 	{
 		Capabilities capabilities = driver.getCapabilities();
 		Map<String, String> edgeInfo = (Map<String, String>)capabilities.getCapability("msedge");
-		LOGGER.info(String.format(
+		LocalDriverServices.logDriverInfo(LOGGER, DRIVER_NAME, String.format(
 				  "Started Selenium driver: browserName[%s], browserVersion[%s], driverVersion[%s]",
 				  capabilities.getBrowserName(),
 				  capabilities.getBrowserVersion(),
 				  edgeInfo != null ? edgeInfo.get("msedgedriverVersion") : "unknown"));
 	}
 
-	private void logSeleniumBuildInfo()
-	{
-		BuildInfo info = new BuildInfo();
-		LOGGER.info(String.format(
-				  "Selenium build info: %s",
-				  info.toString()));
-	}
-
 	private EdgeOptions setUnexpectedAlertBehaviour(IBrowserOptions browserOptions, EdgeOptions options)
 	{
 		if(browserOptions.acceptUnexpectedAlerts())
@@ -167,6 +190,16 @@ public final class EdgeBrowserFactory implements IBrowserFactory
 		return options;
 	}
 
+	private EdgeOptions setPageLoadStrategy(IBrowserOptions browserOptions, EdgeOptions options)
+	{
+		if(browserOptions.getPageLoadStrategy() != null)
+		{
+			options = (EdgeOptions) options.setPageLoadStrategy(
+				PageLoadStrategy.valueOf(browserOptions.getPageLoadStrategy().name()));
+		}
+		return options;
+	}
+
 	private EdgeOptions setHeadless(IBrowserOptions browserOptions, EdgeOptions options)
 	{
 		if(browserOptions.isHeadless())
@@ -175,4 +208,33 @@ public final class EdgeBrowserFactory implements IBrowserFactory
 		}
 		return options;
 	}
+
+	/**
+	 * An EdgeDriver service that keeps running when one of its sessions quits.
+	 */
+	private static final class SharedEdgeDriverService extends EdgeDriverService
+		implements LocalDriverServices.SharedService
+	{
+		private SharedEdgeDriverService(File driver, int port) throws IOException
+		{
+			super(driver, port, Duration.ofSeconds(20), List.of("--port=" + port), Map.of());
+		}
+
+		static SharedEdgeDriverService create(File driver) throws IOException
+		{
+			return new SharedEdgeDriverService(driver, PortProber.findFreePort());
+		}
+
+		@Override
+		public void stop()
+		{
+			// Called when a session quits; the service is shared with the other sessions
+		}
+
+		@Override
+		public void stopProcess()
+		{
+			super.stop();
+		}
+	}
 }
@@ -32,22 +32,27 @@ import io.github.jamoamo.webjourney.api.web.DefaultBrowserArgumentsProvider;
 import io.github.jamoamo.webjourney.api.web.StandardBrowser;
 import io.github.jamoamo.webjourney.api.web.ResolvedBrowserArguments;
 import io.github.jamoamo.webjourney.api.config.AsyncConfiguration;
-import org.openqa.selenium.BuildInfo;
 import org.openqa.selenium.Capabilities;
+import org.openqa.selenium.PageLoadStrategy;
 import org.openqa.selenium.UnexpectedAlertBehaviour;
 import org.openqa.selenium.firefox.FirefoxDriver;
 import org.openqa.selenium.firefox.FirefoxOptions;
+import org.openqa.selenium.firefox.GeckoDriverService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
  * Browser factory to create a firefox browser.
+ * <p>
+ * The GeckoDriver binary is resolved once per JVM. GeckoDriver only runs one session at a time, so each browser is
+ * still started with its own GeckoDriver process.
  *
  * @author James Amoore
  */
 public final class FirefoxBrowserFactory implements IBrowserFactory
 {
 	private static final Logger LOGGER = LoggerFactory.getLogger(FirefoxBrowserFactory.class);
+	private static final String DRIVER_NAME = "geckodriver";
 	private final IBrowserArgumentsProvider browserArgumentsProvider;
 	private final AsyncConfiguration configuration;
 	
@@ -90,13 +95,13 @@ public final class FirefoxBrowserFactory implements IBrowserFactory
 		FirefoxOptions options =
 			createFirefoxOptions(browserOptions, journeyContext);
 		
-		logSeleniumBuildInfo();
+		LocalDriverServices.logSeleniumBuildInfo();
 		
-		FirefoxDriver driver = new FirefoxDriver(options);
+		FirefoxDriver driver = new FirefoxDriver(createDriverService(options), options);
 		
 		logDriverInfo(driver);
 		
-		return new SeleniumDrivenBrowser(driver);
+		return new SeleniumDrivenBrowser(driver, browserOptions.getElementLookupMode());
 	}
 
 	protected FirefoxOptions createFirefoxOptions(IBrowserOptions browserOptions)
@@ -111,6 +116,8 @@ public final class FirefoxBrowserFactory implements IBrowserFactory
 		// Apply basic settings
 		options = setHeadless(browserOptions, options);
 		options = setUnexpectedAlertBehaviour(browserOptions, options);
+		options = setPageLoadStrategy(browserOptions, options);
+		ResourceBlocking.applyPreferences(options, browserOptions.getResourcePolicy());
 		
 		// Apply browser arguments if feature is enabled and context is available
 		if (journeyContext != null && this.configuration.isEnableExtraArgs())
@@ -133,23 +140,26 @@ public final class FirefoxBrowserFactory implements IBrowserFactory
 		return options;
 	}
 
+	private GeckoDriverService createDriverService(FirefoxOptions options)
+	{
+		LocalDriverServices.DriverPaths paths =
+			LocalDriverServices.resolve(DRIVER_NAME, GeckoDriverService::createDefaultService, options);
+		if(paths.browser() != null)
+		{
+			options.setBinary(paths.browser());
+		}
+		return new GeckoDriverService.Builder().usingDriverExecutable(paths.driver()).build();
+	}
+
 	private void logDriverInfo(FirefoxDriver driver)
 	{
 		Capabilities capabilities = driver.getCapabilities();
-		LOGGER.info(String.format(
+		LocalDriverServices.logDriverInfo(LOGGER, DRIVER_NAME, String.format(
 				  "Started Selenium driver: browserName[%s], browserVersion[%s]",
 				  capabilities.getBrowserName(),
 				  capabilities.getBrowserVersion()));
 	}
 
-	private void logSeleniumBuildInfo()
-	{
-		BuildInfo info = new BuildInfo();
-		LOGGER.info(String.format(
-				  "Selenium build info: %s",
-				  info.toString()));
-	}
-
 	private FirefoxOptions setUnexpectedAlertBehaviour(IBrowserOptions browserOptions, FirefoxOptions options)
 	{
 		if(browserOptions.acceptUnexpectedAlerts())
@@ -163,6 +173,16 @@ public final class FirefoxBrowserFactory implements IBrowserFactory
 		return options;
 	}
 
+	private FirefoxOptions setPageLoadStrategy(IBrowserOptions browserOptions, FirefoxOptions options)
+	{
+		if(browserOptions.getPageLoadStrategy() != null)
+		{
+			options = (FirefoxOptions) options.setPageLoadStrategy(
+				PageLoadStrategy.valueOf(browserOptions.getPageLoadStrategy().name()));
+		}
+		return options;
+	}
+
 	private FirefoxOptions setHeadless(IBrowserOptions browserOptions, FirefoxOptions options)
 	{
 		if(browserOptions.isHeadless())
@@ -23,8 +23,22 @@
  */
 package io.github.jamoamo.webjourney.reserved.selenium;
 
+import io.github.jamoamo.webjourney.api.web.GridCapacity;
+import java.io.IOException;
 import java.net.HttpURLConnection;
+import java.net.URI;
 import java.net.URL;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import org.openqa.selenium.json.Json;
+import org.openqa.selenium.json.JsonException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -40,6 +54,11 @@ public final class HubConnectionUtils
 	private static final Logger LOGGER = LoggerFactory.getLogger(HubConnectionUtils.class);
 	private static final int DEFAULT_CONNECT_TIMEOUT = 5000; // 5 seconds
 	private static final int DEFAULT_READ_TIMEOUT = 5000; // 5 seconds
+	private static final Json JSON = new Json();
+	private static final HttpClient HTTP_CLIENT = HttpClient.newBuilder()
+		.connectTimeout(Duration.ofMillis(DEFAULT_CONNECT_TIMEOUT))
+		.followRedirects(HttpClient.Redirect.NORMAL)
+		.build();
 	
 	private HubConnectionUtils()
 	{
@@ -88,6 +107,139 @@ public final class HubConnectionUtils
 		}
 	}
 	
+	/**
+	 * Queries a Selenium Hub's status endpoint for the grid's session slots without blocking.
+	 * The request is sent through an HTTP client shared by all hub checks.
+	 *
+	 * @param hubUrl the hub URL to query
+	 * @return a future that completes with the grid's capacity, or with null if the hub is responding but does not
+	 * report its nodes, as with Selenium Grid 3. It completes exceptionally with an {@link IOException} if the hub
+	 * cannot be reached or does not respond with HTTP 200.
+	 */
+	public static CompletableFuture<GridCapacity> queryHubCapacityAsync(String hubUrl)
+	{
+		if (hubUrl == null || hubUrl.trim().isEmpty())
+		{
+			return CompletableFuture.failedFuture(new IOException("Hub URL is not configured"));
+		}
+		
+		String statusUrl = convertToStatusUrl(hubUrl.trim());
+		HttpRequest request;
+		try
+		{
+			request = HttpRequest.newBuilder(URI.create(statusUrl))
+				.timeout(Duration.ofMillis(DEFAULT_READ_TIMEOUT))
+				.GET()
+				.build();
+		}
+		catch (IllegalArgumentException e)
+		{
+			return CompletableFuture.failedFuture(new IOException("Invalid hub URL: " + hubUrl, e));
+		}
+		
+		return HTTP_CLIENT.sendAsync(request, HttpResponse.BodyHandlers.ofString()).thenApply(response ->
+		{
+			if (response.statusCode() != HttpURLConnection.HTTP_OK)
+			{
+				throw new CompletionException(
+					new IOException("Hub status endpoint returned HTTP " + response.statusCode()));
+			}
+			GridCapacity capacity = parseCapacity(response.body());
+			LOGGER.debug("Hub capacity check: {} -> {}", statusUrl, capacity);
+			return capacity;
+		});
+	}
+	
+	/**
+	 * Parses the session slots from the body of a Selenium Grid 4 status response.
+	 * <p>
+	 * Only nodes whose availability is UP are counted. A node that limits its concurrent sessions below its number of
+	 * slots has its free slots capped to the sessions it can still start.
+	 *
+	 * @param statusJson the status response body
+	 * @return the grid's capacity, or null if the response does not list the grid's nodes
+	 */
+	public static GridCapacity parseCapacity(String statusJson)
+	{
+		Map<String, Object> status;
+		try
+		{
+			status = JSON.toType(statusJson, Json.MAP_TYPE);
+		}
+		catch (JsonException e)
+		{
+			LOGGER.debug("Unable to parse hub status response: {}", e.getMessage());
+			return null;
+		}
+		
+		if (status == null || !(status.get("value") instanceof Map<?, ?> value)
+			|| !(value.get("nodes") instanceof List<?> nodes))
+		{
+			return null;
+		}
+		
+		int upNodes = 0;
+		Map<String, Integer> totalSlots = new HashMap<>();
+		Map<String, Integer> usedSlots = new HashMap<>();
+		for (Object node : nodes)
+		{
+			if (!(node instanceof Map<?, ?> nodeStatus) || !isNodeUp(nodeStatus))
+			{
+				continue;
+			}
+			upNodes++;
+			
+			Map<String, Integer> nodeTotal = new HashMap<>();
+			Map<String, Integer> nodeUsed = new HashMap<>();
+			if (nodeStatus.get("slots") instanceof List<?> slots)
+			{
+				for (Object slot : slots)
+				{
+					if (slot instanceof Map<?, ?> slotStatus)
+					{
+						String browserName = browserName(slotStatus.get("stereotype"));
+						nodeTotal.merge(browserName, 1, Integer::sum);
+						if (slotStatus.get("session") != null)
+						{
+							nodeUsed.merge(browserName, 1, Integer::sum);
+						}
+					}
+				}
+			}
+			
+			int remainingSessions = Integer.MAX_VALUE;
+			if (nodeStatus.get("maxSessions") instanceof Number maxSessions)
+			{
+				int sessions = nodeUsed.values().stream().mapToInt(Integer::intValue).sum();
+				remainingSessions = Math.max(0, maxSessions.intValue() - sessions);
+			}
+			for (Map.Entry<String, Integer> browser : nodeTotal.entrySet())
+			{
+				int used = nodeUsed.getOrDefault(browser.getKey(), 0);
+				int free = Math.min(browser.getValue() - used, remainingSessions);
+				totalSlots.merge(browser.getKey(), used + free, Integer::sum);
+				usedSlots.merge(browser.getKey(), used, Integer::sum);
+			}
+		}
+		
+		return new GridCapacity(Boolean.TRUE.equals(value.get("ready")), upNodes, totalSlots, usedSlots);
+	}
+	
+	private static boolean isNodeUp(Map<?, ?> nodeStatus)
+	{
+		Object availability = nodeStatus.get("availability");
+		return availability == null || "UP".equalsIgnoreCase(availability.toString());
+	}
+	
+	private static String browserName(Object stereotype)
+	{
+		if (stereotype instanceof Map<?, ?> capabilities && capabilities.get("browserName") != null)
+		{
+			return capabilities.get("browserName").toString();
+		}
+		return "";
+	}
+	
 	/**
 	 * Validates that a hub URL is well-formed and accessible.
 	 *
@@ -0,0 +1,190 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2023 James Amoore.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package io.github.jamoamo.webjourney.reserved.selenium;
+
+import io.github.jamoamo.webjourney.api.web.IHubConfiguration;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import org.openqa.selenium.remote.http.ClientConfig;
+import org.openqa.selenium.remote.http.HttpClient;
+import org.openqa.selenium.remote.http.HttpRequest;
+import org.openqa.selenium.remote.http.HttpResponse;
+import org.openqa.selenium.remote.http.WebSocket;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Creates the HTTP clients remote WebDriver sessions use to talk to their hub.
+ * <p>
+ * Selenium normally gives every session its own HTTP client, and closes it when the session quits. This factory
+ * instead shares one client between all sessions with the same hub URL and timeouts, so that their commands reuse
+ * kept-alive connections to the hub. Closing a client returned by the factory leaves the shared client open; the shared
+ * clients are only closed by {@link #close()}.
+ *
+ * @author James Amoore
+ */
+public final class HubHttpClientFactory implements HttpClient.Factory, AutoCloseable
+{
+	private static final Logger LOGGER = LoggerFactory.getLogger(HubHttpClientFactory.class);
+	private static final HubHttpClientFactory SHARED = new HubHttpClientFactory(HttpClient.Factory.createDefault());
+	
+	private final HttpClient.Factory delegate;
+	private final Map<String, HttpClient> clients = new ConcurrentHashMap<>();
+	
+	/**
+	 * Creates a factory that shares clients created by another factory.
+	 *
+	 * @param delegate the factory creating the shared clients
+	 */
+	public HubHttpClientFactory(HttpClient.Factory delegate)
+	{
+		this.delegate = Objects.requireNonNull(delegate, "Delegate factory cannot be null");
+	}
+	
+	/**
+	 * Gets the factory shared by all remote browser factories in the JVM.
+	 *
+	 * @return the shared factory
+	 */
+	public static HubHttpClientFactory shared()
+	{
+		return SHARED;
+	}
+	
+	/**
+	 * Creates the client configuration for a hub. The connection timeout is applied to opening connections to the
+	 * hub, and the session timeout to waiting for the hub's response to a command, including the creation of a new
+	 * session. A zero timeout keeps Selenium's default.
+	 *
+	 * @param hubConfiguration the hub configuration
+	 * @return the client configuration, without a base URL
+	 */
+	public static ClientConfig clientConfig(IHubConfiguration hubConfiguration)
+	{
+		ClientConfig config = ClientConfig.defaultConfig();
+		Duration connectionTimeout = hubConfiguration.getConnectionTimeout();
+		if (connectionTimeout != null && !connectionTimeout.isZero() && !connectionTimeout.isNegative())
+		{
+			config = config.connectionTimeout(connectionTimeout);
+		}
+		Duration sessionTimeout = hubConfiguration.getSessionTimeout();
+		if (sessionTimeout != null && !sessionTimeout.isZero() && !sessionTimeout.isNegative())
+		{
+			config = config.readTimeout(sessionTimeout);
+		}
+		return config;
+	}
+	
+	/**
+	 * Gets the client shared by sessions with the configuration's base URL and timeouts, creating it if needed.
+	 *
+	 * @param config the client configuration
+	 * @return a client that leaves the shared client open when it is closed
+	 */
+	@Override
+	public HttpClient createClient(ClientConfig config)
+	{
+		Objects.requireNonNull(config, "Client configuration cannot be null");
+		String key = config.baseUri() + "|" + config.connectionTimeout() + "|" + config.readTimeout();
+		HttpClient client = clients.computeIfAbsent(key, k ->
+		{
+			LOGGER.debug("Creating shared HTTP client for hub: {}", config.baseUri());
+			return delegate.createClient(config);
+		});
+		return new SharedClient(client);
+	}
+	
+	/**
+	 * Gets the number of shared clients that are open.
+	 *
+	 * @return the number of clients
+	 */
+	public int getClientCount()
+	{
+		return clients.size();
+	}
+	
+	/**
+	 * Closes every shared client. Sessions still using them fail on their next command; clients created after this
+	 * are new.
+	 */
+	@Override
+	public void close()
+	{
+		for (String key : clients.keySet())
+		{
+			HttpClient client = clients.remove(key);
+			if (client != null)
+			{
+				client.close();
+			}
+		}
+	}
+	
+	@Override
+	public void cleanupIdleClients()
+	{
+		delegate.cleanupIdleClients();
+	}
+	
+	/**
+	 * A view of a shared client that ignores being closed, as Selenium closes a session's client when it quits.
+	 */
+	private static final class SharedClient implements HttpClient
+	{
+		private final HttpClient client;
+		
+		private SharedClient(HttpClient client)
+		{
+			this.client = client;
+		}
+		
+		@Override
+		public HttpResponse execute(HttpRequest request)
+		{
+			return client.execute(request);
+		}
+		
+		@Override
+		public CompletableFuture<HttpResponse> executeAsync(HttpRequest request)
+		{
+			return client.executeAsync(request);
+		}
+		
+		@Override
+		public WebSocket openSocket(HttpRequest request, WebSocket.Listener listener)
+		{
+			return client.openSocket(request, listener);
+		}
+		
+		@Override
+		public void close()
+		{
+			// The client is shared with the hub's other sessions
+		}
+	}
+}
@@ -33,4 +33,20 @@ import org.openqa.selenium.WebElement;
 interface ISeleniumElementLocator
 {
 	WebElement findElement() throws XElementDoesntExistException;
+
+	/**
+	 * Finds the element, returning null instead of failing if it does not exist.
+	 * @return the element, or null if it does not exist
+	 */
+	default WebElement findElementIfPresent()
+	{
+		try
+		{
+			return findElement();
+		}
+		catch(XElementDoesntExistException ex)
+		{
+			return null;
+		}
+	}
 }
@@ -0,0 +1,223 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2023 James Amoore.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package io.github.jamoamo.webjourney.reserved.selenium;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+import org.openqa.selenium.BuildInfo;
+import org.openqa.selenium.Capabilities;
+import org.openqa.selenium.remote.service.DriverFinder;
+import org.openqa.selenium.remote.service.DriverService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Keeps what the local browser factories need to start a driver, so that it is only worked out once per JVM.
+ * <p>
+ * The driver and browser binaries are resolved through Selenium Manager the first time a browser is created, and
+ * reused afterwards. Drivers that support several sessions at once are started as a single long-lived service, which
+ * is stopped when the JVM exits.
+ *
+ * @author James Amoore
+ */
+final class LocalDriverServices
+{
+	private static final Logger LOGGER = LoggerFactory.getLogger(LocalDriverServices.class);
+	private static final Map<String, DriverPaths> PATHS = new ConcurrentHashMap<>();
+	private static final Map<String, SharedService> SERVICES = new ConcurrentHashMap<>();
+	private static final Map<String, String> DRIVER_INFO = new ConcurrentHashMap<>();
+	private static final ReentrantLock SERVICE_LOCK = new ReentrantLock();
+	private static final AtomicBoolean BUILD_INFO_LOGGED = new AtomicBoolean();
+	
+	static
+	{
+		Runtime.getRuntime().addShutdownHook(new Thread(LocalDriverServices::stopAll, "webjourney-driver-services"));
+	}
+	
+	private LocalDriverServices()
+	{
+	}
+	
+	/**
+	 * The binaries used to start a browser.
+	 *
+	 * @param driver the driver executable
+	 * @param browser the browser binary Selenium Manager found or downloaded, or null to let the driver find it
+	 */
+	record DriverPaths(File driver, String browser)
+	{
+	}
+	
+	/**
+	 * A driver service that is shared by many sessions, and so is not stopped when one of its sessions quits.
+	 */
+	interface SharedService
+	{
+		/**
+		 * @return true if the driver process is running.
+		 */
+		boolean isRunning();
+		
+		/**
+		 * Starts the driver process.
+		 *
+		 * @throws IOException if the process cannot be started
+		 */
+		void start() throws IOException;
+		
+		/**
+		 * Stops the driver process.
+		 */
+		void stopProcess();
+	}
+	
+	/**
+	 * Creates a shared service for a driver executable.
+	 *
+	 * @param <S> the type of service
+	 */
+	@FunctionalInterface
+	interface SharedServiceFactory<S extends SharedService>
+	{
+		/**
+		 * @param driver the driver executable
+		 * @return a service that has not been started
+		 * @throws IOException if the service cannot be created
+		 */
+		S create(File driver) throws IOException;
+	}
+	
+	/**
+	 * Resolves the driver and browser binaries for a driver, the first time it is used.
+	 *
+	 * @param driverName the name of the driver, such as "chromedriver"
+	 * @param service creates a service for Selenium Manager to resolve the driver for
+	 * @param options the options of the first browser created with the driver
+	 * @return the binaries
+	 */
+	static DriverPaths resolve(String driverName, Supplier<DriverService> service, Capabilities options)
+	{
+		return PATHS.computeIfAbsent(driverName, name ->
+		{
+			DriverFinder finder = new DriverFinder(service.get(), options);
+			DriverPaths paths = new DriverPaths(new File(finder.getDriverPath()),
+				finder.hasBrowserPath() ? finder.getBrowserPath() : null);
+			LOGGER.info("Resolved {} at {}", name, paths.driver());
+			return paths;
+		});
+	}
+	
+	/**
+	 * Gets the running shared service for a driver, starting it if it is not running.
+	 *
+	 * @param <S> the type of service
+	 * @param driverName the name of the driver
+	 * @param driver the driver executable
+	 * @param factory creates the service
+	 * @return the running service
+	 * @throws IOException if the service cannot be started
+	 */
+	@SuppressWarnings("unchecked")
+	static <S extends SharedService> S shared(String driverName, File driver, SharedServiceFactory<S> factory)
+		throws IOException
+	{
+		SERVICE_LOCK.lock();
+		try
+		{
+			SharedService service = SERVICES.get(driverName);
+			if(service != null && service.isRunning())
+			{
+				return (S) service;
+			}
+			if(service != null)
+			{
+				LOGGER.warn("Shared {} service is no longer running; starting a new one.", driverName);
+				service.stopProcess();
+			}
+			S created = Objects.requireNonNull(factory.create(driver), "Service cannot be null");
+			created.start();
+			SERVICES.put(driverName, created);
+			LOGGER.info("Started shared {} service.", driverName);
+			return created;
+		}
+		finally
+		{
+			SERVICE_LOCK.unlock();
+		}
+	}
+	
+	/**
+	 * Logs the Selenium build, once per JVM.
+	 */
+	static void logSeleniumBuildInfo()
+	{
+		if(BUILD_INFO_LOGGED.compareAndSet(false, true))
+		{
+			LOGGER.info("Selenium build info: {}", new BuildInfo());
+		}
+	}
+	
+	/**
+	 * Logs the driver and browser a session was started with. The information is logged at info level when it changes
+	 * and at debug level otherwise.
+	 *
+	 * @param logger the logger of the factory that started the session
+	 * @param driverName the name of the driver
+	 * @param driverInfo the description of the driver and browser
+	 */
+	static void logDriverInfo(Logger logger, String driverName, String driverInfo)
+	{
+		if(!driverInfo.equals(DRIVER_INFO.put(driverName, driverInfo)))
+		{
+			logger.info(driverInfo);
+		}
+		else
+		{
+			logger.debug(driverInfo);
+		}
+	}
+	
+	/**
+	 * Stops every shared service.
+	 */
+	static void stopAll()
+	{
+		SERVICE_LOCK.lock();
+		try
+		{
+			SERVICES.values().forEach(SharedService::stopProcess);
+			SERVICES.clear();
+		}
+		finally
+		{
+			SERVICE_LOCK.unlock();
+		}
+	}
+}
@@ -0,0 +1,138 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2023 James Amoore.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package io.github.jamoamo.webjourney.reserved.selenium;
+
+import io.github.jamoamo.webjourney.api.web.PageLoadStrategy;
+import java.time.Duration;
+import org.openqa.selenium.Capabilities;
+import org.openqa.selenium.JavascriptException;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.remote.RemoteWebDriver;
+import org.openqa.selenium.support.ui.WebDriverWait;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Detects when a page navigated to with the eager or none page load strategy is ready to be extracted from.
+ * <p>
+ * The current page is marked before navigating. The new page is ready once the marked page has been replaced and,
+ * if an XPath is given, an element matches it. Both checks run as scripts so that the driver's implicit wait does
+ * not delay them.
+ *
+ * @author James Amoore
+ */
+final class PageReadyDetector
+{
+	private static final Logger LOGGER = LoggerFactory.getLogger(PageReadyDetector.class);
+	private static final String PAGE_LOAD_STRATEGY = "pageLoadStrategy";
+	private static final Duration POLL_INTERVAL = Duration.ofMillis(50);
+	private static final String MARK_SCRIPT = "window.__webjourneyPreviousPage = true; return window.location.href;";
+	private static final String READY_SCRIPT =
+		"if(window.__webjourneyPreviousPage && window.location.href === arguments[1]) { return false; }"
+		+ "if(!arguments[0]) { return true; }"
+		+ "return document.evaluate(arguments[0], document, null, XPathResult.FIRST_ORDERED_NODE_TYPE, null)"
+		+ ".singleNodeValue !== null;";
+
+	private final RemoteWebDriver driver;
+
+	PageReadyDetector(RemoteWebDriver driver)
+	{
+		this.driver = driver;
+	}
+
+	/**
+	 * Determines whether navigating returns before the page has loaded, so the page's readiness must be detected.
+	 *
+	 * @return true if the driver's page load strategy is eager or none
+	 */
+	boolean isNeeded()
+	{
+		return getPageLoadStrategy().returnsEarly();
+	}
+
+	/**
+	 * Gets the driver's page load strategy.
+	 *
+	 * @return the strategy, or normal if the driver does not report a strategy this library knows of
+	 */
+	PageLoadStrategy getPageLoadStrategy()
+	{
+		Capabilities capabilities = this.driver.getCapabilities();
+		Object strategy = capabilities == null ? null : capabilities.getCapability(PAGE_LOAD_STRATEGY);
+		try
+		{
+			return PageLoadStrategy.fromName(strategy == null ? null : strategy.toString());
+		}
+		catch(IllegalArgumentException ex)
+		{
+			return PageLoadStrategy.NORMAL;
+		}
+	}
+
+	/**
+	 * Marks the current page, so that the page that replaces it can be recognised.
+	 *
+	 * @return the URL of the current page, or null if it could not be marked
+	 */
+	String markCurrentPage()
+	{
+		try
+		{
+			Object url = this.driver.executeScript(MARK_SCRIPT);
+			return url == null ? null : url.toString();
+		}
+		catch(WebDriverException ex)
+		{
+			LOGGER.debug("Unable to mark the current page: " + ex.getMessage());
+			return null;
+		}
+	}
+
+	/**
+	 * Waits for the marked page to be replaced and, if an XPath is given, for an element to match it.
+	 *
+	 * @param previousUrl the URL of the marked page
+	 * @param readyXPath the XPath that matches once the page is ready, or null
+	 * @param timeout the maximum time to wait, or null to wait up to the driver's page load timeout
+	 * @return true if the page became ready, false if the wait timed out
+	 */
+	boolean awaitReady(String previousUrl, String readyXPath, Duration timeout)
+	{
+		Duration pageLoadTimeout = this.driver.manage().timeouts().getPageLoadTimeout();
+		Duration wait = timeout == null || timeout.compareTo(pageLoadTimeout) > 0 ? pageLoadTimeout : timeout;
+		try
+		{
+			new WebDriverWait(this.driver, wait, POLL_INTERVAL)
+				.ignoring(JavascriptException.class)
+				.until(d -> Boolean.TRUE.equals(this.driver.executeScript(READY_SCRIPT, readyXPath, previousUrl)));
+			return true;
+		}
+		catch(TimeoutException ex)
+		{
+			LOGGER.debug(String.format("Page was not ready after %s, continuing with the page as it is", wait));
+			return false;
+		}
+	}
+}
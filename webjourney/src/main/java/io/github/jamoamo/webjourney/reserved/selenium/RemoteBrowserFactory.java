@@ -34,11 +34,14 @@ import io.github.jamoamo.webjourney.api.web.HubConnectionException;
 import io.github.jamoamo.webjourney.api.web.HubSessionException;
 import java.net.URL;
 import java.time.Duration;
+import java.util.Map;
 import java.util.Objects;
 import org.openqa.selenium.Capabilities;
 import org.openqa.selenium.MutableCapabilities;
 import org.openqa.selenium.remote.AbstractDriverOptions;
+import org.openqa.selenium.remote.HttpCommandExecutor;
 import org.openqa.selenium.remote.RemoteWebDriver;
+import org.openqa.selenium.remote.http.ClientConfig;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -46,6 +49,9 @@ import org.slf4j.LoggerFactory;
  * Abstract base class for remote browser factories that connect to Selenium Hub.
  * Provides common functionality for creating RemoteWebDriver instances with
  * retry logic, connection management, and error handling.
+ * <p>
+ * Sessions are created with the hub configuration's connection and session timeouts, and share an HTTP client with
+ * the other sessions on the same hub through {@link HubHttpClientFactory#shared()}.
  *
  * @param <T> the type of browser options (ChromeOptions, FirefoxOptions, etc.)
  * @author James Amoore
@@ -80,7 +86,7 @@ public abstract class RemoteBrowserFactory<T extends Capabilities> implements IR
 		{
 			T browserOptions = createBrowserOptions(options, context);
 			RemoteWebDriver driver = createRemoteDriver(browserOptions);
-			return new SeleniumDrivenBrowser(driver);
+			return new SeleniumDrivenBrowser(driver, options.getElementLookupMode());
 		}
 		catch (Exception e)
 		{
@@ -130,6 +136,7 @@ public abstract class RemoteBrowserFactory<T extends Capabilities> implements IR
 		}
 		
 		URL url = new URL(hubUrl);
+		ClientConfig clientConfig = HubHttpClientFactory.clientConfig(hubConfiguration).baseUrl(url);
 		int maxRetries = hubConfiguration.getMaxRetries();
 		Duration retryDelay = hubConfiguration.getRetryDelay();
 		
@@ -142,7 +149,9 @@ public abstract class RemoteBrowserFactory<T extends Capabilities> implements IR
 				LOGGER.debug("Attempting to create RemoteWebDriver (attempt {} of {}): {}", 
 							attempt + 1, maxRetries + 1, hubUrl);
 				
-				RemoteWebDriver driver = new RemoteWebDriver(url, browserOptions);
+				HttpCommandExecutor executor =
+					new HttpCommandExecutor(Map.of(), clientConfig, HubHttpClientFactory.shared());
+				RemoteWebDriver driver = new RemoteWebDriver(executor, browserOptions);
 				
 				LOGGER.info("Successfully created RemoteWebDriver on hub: {} (sessionId: {})", 
 						   hubUrl, driver.getSessionId());
@@ -28,6 +28,7 @@ import io.github.jamoamo.webjourney.api.web.IBrowserArgumentsProvider;
 import io.github.jamoamo.webjourney.api.web.IBrowserOptions;
 import io.github.jamoamo.webjourney.api.web.IHubConfiguration;
 import org.openqa.selenium.chrome.ChromeOptions;
+import org.openqa.selenium.remote.Browser;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -88,6 +89,12 @@ public final class RemoteChromeBrowserFactory extends RemoteBrowserFactory<Chrom
 		return chromeOptions;
 	}
 	
+	@Override
+	public String getBrowserName()
+	{
+		return Browser.CHROME.browserName();
+	}
+	
 	/**
 	 * Gets the underlying local Chrome factory used for options creation.
 	 *
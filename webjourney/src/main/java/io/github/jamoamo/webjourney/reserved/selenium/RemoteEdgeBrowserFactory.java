@@ -28,6 +28,7 @@ import io.github.jamoamo.webjourney.api.web.IBrowserArgumentsProvider;
 import io.github.jamoamo.webjourney.api.web.IBrowserOptions;
 import io.github.jamoamo.webjourney.api.web.IHubConfiguration;
 import org.openqa.selenium.edge.EdgeOptions;
+import org.openqa.selenium.remote.Browser;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -87,6 +88,12 @@ public final class RemoteEdgeBrowserFactory extends RemoteBrowserFactory<EdgeOpt
 		return edgeOptions;
 	}
 	
+	@Override
+	public String getBrowserName()
+	{
+		return Browser.EDGE.browserName();
+	}
+	
 	/**
 	 * Gets the underlying local Edge factory used for options creation.
 	 *
@@ -0,0 +1,151 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2023 James Amoore.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package io.github.jamoamo.webjourney.reserved.selenium;
+
+import io.github.jamoamo.webjourney.api.web.ResourcePolicy;
+import java.util.HashMap;
+import java.util.Map;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.chromium.ChromiumOptions;
+import org.openqa.selenium.chromium.HasCdp;
+import org.openqa.selenium.firefox.FirefoxOptions;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Applies a {@link ResourcePolicy} to the browsers the Selenium factories create.
+ * <p>
+ * Preferences are set on the browser's options before it starts, so they apply to remote browsers too. Chromium
+ * browsers started locally additionally have every URL the policy covers blocked through the DevTools protocol, in
+ * the window they start with and in each window opened through the browser. The DevTools commands only reach the
+ * window that is current when they are sent, so each window is blocked when it is opened.
+ *
+ * @author James Amoore
+ */
+final class ResourceBlocking
+{
+	private static final Logger LOGGER = LoggerFactory.getLogger(ResourceBlocking.class);
+	private static final int BLOCK = 2;
+
+	private ResourceBlocking()
+	{
+	}
+
+	/**
+	 * Sets the preferences that block a policy's resources in a Chromium browser. Preferences already set on the
+	 * options are kept.
+	 *
+	 * @param options the Chrome or Edge options
+	 * @param policy the resource policy, or null to allow every resource
+	 */
+	static void applyPreferences(ChromiumOptions<?> options, ResourcePolicy policy)
+	{
+		if(policy != null && policy.blocks(ResourcePolicy.ResourceType.IMAGE))
+		{
+			Map<String, Object> prefs = new HashMap<>();
+			existingPrefs(options).forEach((name, value) -> prefs.put(String.valueOf(name), value));
+			prefs.put("profile.managed_default_content_settings.images", BLOCK);
+			options.setExperimentalOption("prefs", prefs);
+		}
+	}
+
+	/**
+	 * Gets the preferences already set on Chromium options, which are kept in the vendor capability, such as
+	 * goog:chromeOptions or ms:edgeOptions, the options are serialised to.
+	 */
+	private static Map<?, ?> existingPrefs(ChromiumOptions<?> options)
+	{
+		for(String name : options.getCapabilityNames())
+		{
+			if(options.getCapability(name) instanceof Map<?, ?> vendorOptions
+				&& vendorOptions.get("prefs") instanceof Map<?, ?> prefs)
+			{
+				return prefs;
+			}
+		}
+		return Map.of();
+	}
+
+	/**
+	 * Sets the preferences that block a policy's resources in a Firefox browser.
+	 *
+	 * @param options the Firefox options
+	 * @param policy the resource policy, or null to allow every resource
+	 */
+	static void applyPreferences(FirefoxOptions options, ResourcePolicy policy)
+	{
+		if(policy == null)
+		{
+			return;
+		}
+		if(policy.blocks(ResourcePolicy.ResourceType.IMAGE))
+		{
+			options.addPreference("permissions.default.image", BLOCK);
+		}
+		if(policy.blocks(ResourcePolicy.ResourceType.FONT))
+		{
+			options.addPreference("gfx.downloadable_fonts.enabled", false);
+		}
+		if(policy.blocks(ResourcePolicy.ResourceType.STYLESHEET))
+		{
+			options.addPreference("permissions.default.stylesheet", BLOCK);
+		}
+		if(policy.blocks(ResourcePolicy.ResourceType.MEDIA))
+		{
+			options.addPreference("media.preload.default", 0);
+			options.addPreference("media.autoplay.default", 5);
+		}
+		if(policy.isTrackersBlocked())
+		{
+			options.addPreference("privacy.trackingprotection.enabled", true);
+		}
+	}
+
+	/**
+	 * Blocks every URL a policy covers in the current window of a started Chromium browser.
+	 * <p>
+	 * Browsers that do not speak the DevTools protocol are left as they are. If the browser rejects the command, the
+	 * browser keeps downloading everything rather than failing to start.
+	 *
+	 * @param driver the started driver
+	 * @param policy the resource policy, or null to allow every resource
+	 */
+	static void blockUrls(WebDriver driver, ResourcePolicy policy)
+	{
+		if(policy == null || !policy.isBlocking() || !(driver instanceof HasCdp cdp))
+		{
+			return;
+		}
+		try
+		{
+			cdp.executeCdpCommand("Network.enable", Map.of());
+			cdp.executeCdpCommand("Network.setBlockedURLs", Map.of("urls", policy.getUrlPatterns()));
+		}
+		catch(WebDriverException ex)
+		{
+			LOGGER.warn("Failed to block resources, continuing without blocking: {}", ex.getMessage());
+		}
+	}
+}
@@ -25,6 +25,8 @@ package io.github.jamoamo.webjourney.reserved.selenium;
 
 import io.github.jamoamo.webjourney.api.web.ICookie;
 import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.Date;
 import org.openqa.selenium.Cookie;
 
 /**
@@ -49,7 +51,8 @@ class SeleniumCookieAdapter implements ICookie
 	@Override
 	public LocalDate getExpiry()
 	{
-		return LocalDate.from(this.cookie.getExpiry().toInstant());
+		Date expiry = this.cookie.getExpiry();
+		return expiry == null ? null : LocalDate.ofInstant(expiry.toInstant(), ZoneOffset.UTC);
 	}
 
 	@Override
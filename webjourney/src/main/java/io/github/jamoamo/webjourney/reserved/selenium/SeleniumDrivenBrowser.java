@@ -23,9 +23,22 @@
  */
 package io.github.jamoamo.webjourney.reserved.selenium;
 
+import io.github.jamoamo.webjourney.api.web.ElementLookupMode;
 import io.github.jamoamo.webjourney.api.web.IBrowser;
 import io.github.jamoamo.webjourney.api.web.IBrowserWindow;
-import java.time.Duration;
+import io.github.jamoamo.webjourney.api.web.ICookie;
+import io.github.jamoamo.webjourney.api.web.ResourcePolicy;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.openqa.selenium.Cookie;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.chromium.HasCdp;
 import org.openqa.selenium.remote.RemoteWebDriver;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -39,19 +52,45 @@ class SeleniumDrivenBrowser implements IBrowser
 {
 	
 	private static final Logger LOGGER = LoggerFactory.getLogger(SeleniumDrivenBrowser.class);
-	private static final int DEFAULT_TIMEOUT = 10;
+	private static final String BLANK_PAGE = "about:blank";
+	private static final String CLEAR_STORAGE_SCRIPT = 
+		"try { window.localStorage.clear(); window.sessionStorage.clear(); } catch(e) {}";
+	private static final String JS_HEAP_SCRIPT = 
+		"return window.performance && window.performance.memory ? window.performance.memory.usedJSHeapSize : null;";
+	private static final String JS_HEAP_METRIC = "JSHeapUsedSize";
+	private static final double MILLIS_PER_SECOND = 1000d;
 
 	private final RemoteWebDriver driver;
 	private final SeleniumWindowManager windowManager;
+	private final ResourcePolicy resourcePolicy;
 	
 	private final String browserName;
 	private final String browserVersion;
+	private final AtomicBoolean exited = new AtomicBoolean();
+	private final AtomicBoolean performanceMetricsEnabled = new AtomicBoolean();
 
 	SeleniumDrivenBrowser(RemoteWebDriver driver)
+	{
+		this(driver, ElementLookupMode.IMPLICIT_WAIT);
+	}
+
+	SeleniumDrivenBrowser(RemoteWebDriver driver, ElementLookupMode lookupMode)
+	{
+		this(driver, lookupMode, null);
+	}
+
+	/**
+	 * Creates a browser that blocks the resources a policy covers through the DevTools protocol, in its first window and
+	 * in every window it opens. Browsers that do not speak the protocol rely on the preferences they were started with.
+	 */
+	SeleniumDrivenBrowser(RemoteWebDriver driver, ElementLookupMode lookupMode, ResourcePolicy resourcePolicy)
 	{
 		this.driver = driver;
+		this.resourcePolicy = resourcePolicy;
 		this.windowManager = new SeleniumWindowManager(this.driver);
-		this.driver.manage().timeouts().implicitlyWait(Duration.ofSeconds(DEFAULT_TIMEOUT));
+		ResourceBlocking.blockUrls(this.driver, this.resourcePolicy);
+		ElementLookupMode mode = lookupMode == null ? ElementLookupMode.IMPLICIT_WAIT : lookupMode;
+		this.driver.manage().timeouts().implicitlyWait(mode.getImplicitWait());
 		this.browserName = this.driver.getCapabilities().getBrowserName();
 		this.browserVersion = this.driver.getCapabilities().getBrowserVersion();
 		
@@ -75,13 +114,225 @@ class SeleniumDrivenBrowser implements IBrowser
 	public IBrowserWindow openNewWindow()
 	{
 		LOGGER.info(String.format("Openning new window."));
-		return this.windowManager.openNewWindow();
+		IBrowserWindow window = this.windowManager.openNewWindow();
+		ResourceBlocking.blockUrls(this.driver, this.resourcePolicy);
+		return window;
+	}
+
+	@Override
+	public boolean isHealthy()
+	{
+		if(this.exited.get() || this.driver.getSessionId() == null)
+		{
+			return false;
+		}
+		try
+		{
+			this.driver.getWindowHandle();
+			return true;
+		}
+		catch(WebDriverException ex)
+		{
+			LOGGER.info("Browser is not responding: " + ex.getMessage());
+			return false;
+		}
+	}
+
+	@Override
+	public boolean reset()
+	{
+		if(this.exited.get())
+		{
+			return false;
+		}
+		LOGGER.info("Resetting browser.");
+		this.windowManager.closeOtherWindows();
+		clearStorage();
+		this.driver.manage().deleteAllCookies();
+		this.driver.navigate().to(BLANK_PAGE);
+		return true;
+	}
+
+	@Override
+	public OptionalLong getMemoryUsage()
+	{
+		if(this.exited.get())
+		{
+			return OptionalLong.empty();
+		}
+		try
+		{
+			if(this.driver instanceof HasCdp cdp)
+			{
+				OptionalLong heap = sampleCdpHeap(cdp);
+				if(heap.isPresent())
+				{
+					return heap;
+				}
+			}
+			Object heap = this.driver.executeScript(JS_HEAP_SCRIPT);
+			return heap instanceof Number bytes ? OptionalLong.of(bytes.longValue()) : OptionalLong.empty();
+		}
+		catch(WebDriverException ex)
+		{
+			LOGGER.debug("Unable to sample browser memory: " + ex.getMessage());
+			return OptionalLong.empty();
+		}
+	}
+
+	@Override
+	public List<ICookie> getCookies()
+	{
+		if(this.exited.get())
+		{
+			return List.of();
+		}
+		try
+		{
+			if(this.driver instanceof HasCdp cdp)
+			{
+				// WebDriver only lists the current page's cookies; Chromium browsers can list all of them.
+				Object cookies = cdp.executeCdpCommand("Network.getAllCookies", Map.of()).get("cookies");
+				if(cookies instanceof List<?> cookieList)
+				{
+					return cookieList.stream()
+						.filter(Map.class::isInstance)
+						.map(cookie -> (ICookie) new SeleniumCookieAdapter(fromCdp((Map<?, ?>) cookie)))
+						.toList();
+				}
+			}
+			return this.driver.manage().getCookies().stream()
+				.map(cookie -> (ICookie) new SeleniumCookieAdapter(cookie))
+				.toList();
+		}
+		catch(WebDriverException ex)
+		{
+			LOGGER.debug("Unable to read browser cookies: " + ex.getMessage());
+			return List.of();
+		}
+	}
+
+	@Override
+	public void addCookies(List<? extends ICookie> cookies)
+	{
+		if(this.exited.get() || cookies == null)
+		{
+			return;
+		}
+		for(ICookie cookie : cookies)
+		{
+			try
+			{
+				if(this.driver instanceof HasCdp cdp)
+				{
+					cdp.executeCdpCommand("Network.setCookie", toCdp(cookie));
+				}
+				else
+				{
+					this.driver.manage().addCookie(toSelenium(cookie));
+				}
+			}
+			catch(WebDriverException ex)
+			{
+				// WebDriver can only add cookies for the current page's domain.
+				LOGGER.debug(String.format("Unable to add cookie [%s] for domain %s: %s", cookie.getName(),
+					cookie.getDomain(), ex.getMessage()));
+			}
+		}
+	}
+
+	private static Cookie fromCdp(Map<?, ?> cookie)
+	{
+		Cookie.Builder builder = new Cookie.Builder(String.valueOf(cookie.get("name")), String.valueOf(cookie.get("value")))
+			.domain((String) cookie.get("domain"))
+			.path((String) cookie.get("path"))
+			.isSecure(Boolean.TRUE.equals(cookie.get("secure")))
+			.isHttpOnly(Boolean.TRUE.equals(cookie.get("httpOnly")));
+		if(!Boolean.TRUE.equals(cookie.get("session")) && cookie.get("expires") instanceof Number expires
+			&& expires.doubleValue() > 0)
+		{
+			builder.expiresOn(new Date((long) (expires.doubleValue() * MILLIS_PER_SECOND)));
+		}
+		return builder.build();
+	}
+
+	private static Map<String, Object> toCdp(ICookie cookie)
+	{
+		Map<String, Object> params = new HashMap<>();
+		params.put("name", cookie.getName());
+		params.put("value", cookie.getValue());
+		params.put("domain", cookie.getDomain());
+		params.put("path", cookie.getPath() == null ? "/" : cookie.getPath());
+		params.put("secure", cookie.isSecure());
+		params.put("httpOnly", cookie.isHttpOnly());
+		if(cookie.getExpiry() != null)
+		{
+			params.put("expires", expiryInstant(cookie).getEpochSecond());
+		}
+		return params;
+	}
+
+	private static Cookie toSelenium(ICookie cookie)
+	{
+		return new Cookie.Builder(cookie.getName(), cookie.getValue())
+			.domain(cookie.getDomain())
+			.path(cookie.getPath() == null ? "/" : cookie.getPath())
+			.isSecure(cookie.isSecure())
+			.isHttpOnly(cookie.isHttpOnly())
+			.expiresOn(cookie.getExpiry() == null ? null : Date.from(expiryInstant(cookie)))
+			.build();
+	}
+
+	private static Instant expiryInstant(ICookie cookie)
+	{
+		// Expiry dates are whole days, so keep the cookie until the end of its last day.
+		return cookie.getExpiry().plusDays(1).atStartOfDay(ZoneOffset.UTC).toInstant();
+	}
+
+	private OptionalLong sampleCdpHeap(HasCdp cdp)
+	{
+		if(this.performanceMetricsEnabled.compareAndSet(false, true))
+		{
+			cdp.executeCdpCommand("Performance.enable", Map.of());
+		}
+		Object metrics = cdp.executeCdpCommand("Performance.getMetrics", Map.of()).get("metrics");
+		if(metrics instanceof List<?> metricList)
+		{
+			for(Object metric : metricList)
+			{
+				if(metric instanceof Map<?, ?> values && JS_HEAP_METRIC.equals(values.get("name"))
+					&& values.get("value") instanceof Number bytes)
+				{
+					return OptionalLong.of(bytes.longValue());
+				}
+			}
+		}
+		return OptionalLong.empty();
+	}
+
+	private void clearStorage()
+	{
+		this.driver.executeScript(CLEAR_STORAGE_SCRIPT);
+		if(this.driver instanceof HasCdp cdp)
+		{
+			// WebDriver only clears the current page's cookies; Chromium browsers can clear all of them.
+			cdp.executeCdpCommand("Network.clearBrowserCookies", Map.of());
+			Object origin = this.driver.executeScript("return window.location.origin;");
+			if(origin instanceof String originString && originString.startsWith("http"))
+			{
+				cdp.executeCdpCommand("Storage.clearDataForOrigin", Map.of("origin", originString, "storageTypes", "all"));
+			}
+		}
 	}
 
 	@Override
 	@SuppressWarnings("MagicNumber")
 	public void exit()
 	{
+		if(!this.exited.compareAndSet(false, true))
+		{
+			return;
+		}
 		LOGGER.info("Closing browser.");
 		if("chrome".equals(this.browserName))
 		{
@@ -185,17 +185,15 @@ class SeleniumElement extends AElement
 		return getElement().orElse(null);
 	}
 
+	WebElement getWebElementIfPresent()
+	{
+		return this.locator.findElementIfPresent();
+	}
+
 	@Override
 	public boolean exists()
 	{
-		try
-		{
-			return getElement().isPresent();
-		}
-		catch(XElementDoesntExistException ex)
-		{
-			return false;
-		}
+		return getWebElementIfPresent() != null;
 	}
 
 	@Override
@@ -25,15 +25,18 @@ package io.github.jamoamo.webjourney.reserved.selenium;
 
 import io.github.jamoamo.webjourney.api.web.IBrowserWindow;
 import io.github.jamoamo.webjourney.api.web.IWebPage;
+import io.github.jamoamo.webjourney.api.web.PageLoadStrategy;
 import io.github.jamoamo.webjourney.api.web.XNavigationError;
 import java.io.File;
 import java.io.IOException;
 import java.net.URL;
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import org.apache.commons.io.FileUtils;
 import org.openqa.selenium.OutputType;
 import org.openqa.selenium.TakesScreenshot;
+import org.openqa.selenium.WebDriverException;
 import org.openqa.selenium.remote.RemoteWebDriver;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -102,10 +105,31 @@ final class SeleniumWindow implements IBrowserWindow
 	@Override
 	public IWebPage navigateToUrl(URL url)
 		throws XNavigationError
+	{
+		return navigateToUrl(url, null, null);
+	}
+
+	@Override
+	public IWebPage navigateToUrl(URL url, String readyXPath, Duration timeout)
+		throws XNavigationError
 	{
 		checkWindowIsActive();
 		LOGGER.info(String.format("Window [%s] navigating to url %s", this.windowName, url.toString()));
-		this.webDriver.navigate().to(url);
+		PageReadyDetector detector = new PageReadyDetector(this.webDriver);
+		boolean detectReady = detector.isNeeded();
+		String previousUrl = detectReady ? detector.markCurrentPage() : null;
+		try
+		{
+			this.webDriver.navigate().to(url);
+		}
+		catch(WebDriverException ex)
+		{
+			throw new XNavigationError(url.toString(), ex);
+		}
+		if(detectReady)
+		{
+			detector.awaitReady(previousUrl, readyXPath, timeout);
+		}
 		
 		takeScreenshot();
 		this.currentPage = new SeleniumPage(this.webDriver);
@@ -119,7 +143,14 @@ final class SeleniumWindow implements IBrowserWindow
 		checkWindowIsActive();
 		LOGGER.info(String.format("Window [%s] navigating back", this.windowName));
 		
+		PageReadyDetector detector = new PageReadyDetector(this.webDriver);
+		boolean detectReady = detector.isNeeded();
+		String previousUrl = detectReady ? detector.markCurrentPage() : null;
 		this.webDriver.navigate().back();
+		if(detectReady)
+		{
+			detector.awaitReady(previousUrl, null, null);
+		}
 		takeScreenshot();
 		this.currentPage = new SeleniumPage(this.webDriver);
 		return this.currentPage;
@@ -132,7 +163,14 @@ final class SeleniumWindow implements IBrowserWindow
 		checkWindowIsActive();
 		LOGGER.info(String.format("Window [%s] navigating forward", this.windowName));
 		
+		PageReadyDetector detector = new PageReadyDetector(this.webDriver);
+		boolean detectReady = detector.isNeeded();
+		String previousUrl = detectReady ? detector.markCurrentPage() : null;
 		this.webDriver.navigate().forward();
+		if(detectReady)
+		{
+			detector.awaitReady(previousUrl, null, null);
+		}
 		takeScreenshot();
 		this.currentPage = new SeleniumPage(this.webDriver);
 		return this.currentPage;
@@ -189,4 +227,17 @@ final class SeleniumWindow implements IBrowserWindow
 	{
 		return this.webDriver.getTitle();
 	}
+
+	@Override
+	public Object executeScript(String script, Object... args)
+	{
+		checkWindowIsActive();
+		return this.webDriver.executeScript(script, args);
+	}
+
+	@Override
+	public PageLoadStrategy getPageLoadStrategy()
+	{
+		return new PageReadyDetector(this.webDriver).getPageLoadStrategy();
+	}
 }
@@ -39,11 +39,13 @@ class SeleniumWindowManager
 	
 	private final HashMap<String, SeleniumWindow> windowNames = new HashMap<>();
 	private final RemoteWebDriver webDriver;
+	private final String mainWindowHandle;
 	
 	SeleniumWindowManager(RemoteWebDriver webDriver)
 	{
 		this.webDriver = webDriver;
 		String windowHandle = this.webDriver.getWindowHandle();
+		this.mainWindowHandle = windowHandle;
 		SeleniumWindow window = new SeleniumWindow(windowHandle, this.webDriver);
 		this.windowNames.put(windowHandle, window);
 		LOGGER.info("Starting browser window has handle " + windowHandle);
@@ -80,4 +82,27 @@ class SeleniumWindowManager
 		window.setActive(true);
 		return window;
 	}
+
+	/**
+	 * Closes every window other than the window the browser started with, and makes that window active.
+	 */
+	SeleniumWindow closeOtherWindows()
+	{
+		for(String handle : this.webDriver.getWindowHandles())
+		{
+			if(!handle.equals(this.mainWindowHandle))
+			{
+				this.webDriver.switchTo().window(handle);
+				this.webDriver.close();
+				LOGGER.info("Closed window with handle " + handle);
+			}
+		}
+		this.webDriver.switchTo().window(this.mainWindowHandle);
+		SeleniumWindow mainWindow = this.windowNames.get(this.mainWindowHandle);
+		this.windowNames.values().forEach(window -> window.setActive(false));
+		this.windowNames.clear();
+		this.windowNames.put(this.mainWindowHandle, mainWindow);
+		mainWindow.setActive(true);
+		return mainWindow;
+	}
 }
@@ -23,8 +23,10 @@
  */
 package io.github.jamoamo.webjourney.reserved.selenium;
 
+import io.github.jamoamo.webjourney.api.web.ElementProbeMetrics;
 import io.github.jamoamo.webjourney.api.web.XElementDoesntExistException;
 import java.time.Duration;
+import java.util.List;
 import org.openqa.selenium.By;
 import org.openqa.selenium.NoSuchElementException;
 import org.openqa.selenium.TimeoutException;
@@ -67,10 +69,14 @@ class SingleElementLocator implements ISeleniumElementLocator
 	@Override
 	public WebElement findElement() throws XElementDoesntExistException
 	{
-		if (this.wait != null && !this.wait.isZero() && !this.wait.isNegative())
+		if (isWaiting())
 		{
 			return findElementWaiting();
 		}
+		if (this.optional)
+		{
+			return probe();
+		}
 		try
 		{
 			return this.driver.findElement(this.by);
@@ -81,6 +87,30 @@ class SingleElementLocator implements ISeleniumElementLocator
 		}
 	}
 
+	@Override
+	public WebElement findElementIfPresent()
+	{
+		if (isWaiting())
+		{
+			return ISeleniumElementLocator.super.findElementIfPresent();
+		}
+		return probe();
+	}
+
+	private boolean isWaiting()
+	{
+		return this.wait != null && !this.wait.isZero() && !this.wait.isNegative();
+	}
+
+	private WebElement probe()
+	{
+		// A single findElements call, which returns an empty list instead of failing when nothing matches
+		long start = System.nanoTime();
+		List<WebElement> elements = this.driver.findElements(this.by);
+		ElementProbeMetrics.shared().recordProbe(!elements.isEmpty(), Duration.ofNanos(System.nanoTime() - start));
+		return elements.isEmpty() ? null : elements.get(0);
+	}
+
 	private WebElement findElementWaiting() throws XElementDoesntExistException
 	{
 		try
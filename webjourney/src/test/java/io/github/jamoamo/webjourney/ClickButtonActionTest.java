@@ -23,6 +23,7 @@
  */
 package io.github.jamoamo.webjourney;
 
+import io.github.jamoamo.webjourney.api.JourneyBuilderException;
 import io.github.jamoamo.webjourney.api.web.AElement;
 import io.github.jamoamo.webjourney.api.web.IBrowser;
 import io.github.jamoamo.webjourney.api.web.IBrowserWindow;
@@ -140,4 +141,26 @@ public class ClickButtonActionTest
 		  assertEquals(ActionResult.FAILURE, result);
 	 }
 
+	 @Test
+	 public void testCompile_buttonExists()
+	 {
+		  ClickButtonAction action = new ClickButtonAction(InputForm.class, "dismissBannerButton");
+		  assertDoesNotThrow(() -> action.compile());
+	 }
+
+	 @Test
+	 public void testCompile_buttonNotAnnotated()
+	 {
+		  ClickButtonAction action = new ClickButtonAction(InputForm.class, "notAnnotatedField");
+		  JourneyBuilderException ex = assertThrows(JourneyBuilderException.class, () -> action.compile());
+		  assertTrue(ex.getMessage().startsWith("Not a button: notAnnotatedField"));
+	 }
+
+	 @Test
+	 public void testBuild_invalidButtonFailsJourneyBuild()
+	 {
+		  assertThrows(JourneyBuilderException.class,
+				() -> JourneyBuilder.path().clickButton(InputForm.class, "nonExistentButton").build());
+	 }
+
 }
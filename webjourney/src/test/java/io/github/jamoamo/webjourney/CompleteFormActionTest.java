@@ -27,6 +27,9 @@ import io.github.jamoamo.webjourney.api.web.AElement;
 import io.github.jamoamo.webjourney.api.web.IBrowser;
 import io.github.jamoamo.webjourney.api.web.IBrowserWindow;
 import io.github.jamoamo.webjourney.api.web.IWebPage;
+import io.github.jamoamo.webjourney.annotation.form.TextField;
+import io.github.jamoamo.webjourney.api.JourneyBuilderException;
+import java.util.List;
 import org.junit.jupiter.api.Test;
 import static org.junit.jupiter.api.Assertions.*;
 import org.mockito.ArgumentCaptor;
@@ -107,4 +110,50 @@ public class CompleteFormActionTest
 		  assertEquals("t1", valueArg.getValue());
 	 }
 
+	 @Test
+	 public void testExecuteAction_valuesReadOnEachRun()
+		  throws Exception
+	 {
+		  IBrowser browser = Mockito.mock(IBrowser.class);
+		  IBrowserWindow window = Mockito.mock(IBrowserWindow.class);
+		  IWebPage page = Mockito.mock(IWebPage.class);
+		  AElement element = Mockito.mock(AElement.class);
+		  Mockito.when(window.getCurrentPage())
+				.thenReturn(page);
+		  Mockito.when(browser.getActiveWindow())
+				.thenReturn(window);
+		  Mockito.when(page.getElement("//input[@name='match']"))
+				.thenReturn(element);
+		  JourneyContext context = new JourneyContext();
+		  context.setBrowser(browser);
+
+		  InputForm form = new InputForm(1);
+		  CompleteFormAction action = new CompleteFormAction(form);
+		  action.compile();
+		  action.executeAction(context);
+		  form.setMatchId("t2");
+		  action.executeAction(context);
+
+		  ArgumentCaptor<String> valueArg = ArgumentCaptor.forClass(String.class);
+		  Mockito.verify(element, Mockito.times(2))
+				.enterText(valueArg.capture());
+		  assertEquals(List.of("t1", "t2"), valueArg.getAllValues());
+	 }
+
+	 @Test
+	 public void testCompile_fieldWithoutGetter()
+	 {
+		  CompleteFormAction action = new CompleteFormAction(new NoGetterForm());
+		  assertThrows(JourneyBuilderException.class, () -> action.compile());
+	 }
+
+	 /**
+	  * A form whose text field cannot be read.
+	  */
+	 public static class NoGetterForm
+	 {
+		  @TextField(xPath = "//input[@name='hidden']")
+		  private String hidden = "value";
+	 }
+
 }
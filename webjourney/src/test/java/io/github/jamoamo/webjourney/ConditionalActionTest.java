@@ -33,6 +33,8 @@ import io.github.jamoamo.webjourney.api.web.XNavigationError;
 import io.github.jamoamo.webjourney.api.web.XWebException;
 import io.github.jamoamo.webjourney.reserved.JourneyBreadcrumb;
 import java.net.URL;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Function;
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentCaptor;
@@ -237,4 +239,43 @@ public class ConditionalActionTest
 		assertEquals(expResult, result);
 	}
 	
+	@Test
+	public void testCompile_branchesBuiltOnce() throws XNavigationError, XWebException
+	{
+		IBrowserWindow mockWindow = Mockito.mock(IBrowserWindow.class);
+		
+		IBrowser mockBrowser = Mockito.mock(IBrowser.class);
+		Mockito.when(mockBrowser.getActiveWindow()).thenReturn(mockWindow);
+		
+		IJourneyContext context = Mockito.mock(IJourneyContext.class);
+		Mockito.when(context.getBrowser()).thenReturn(mockBrowser);
+		Mockito.when(context.getJourneyBreadcrumb()).thenReturn(new JourneyBreadcrumb());
+		
+		AtomicInteger ifTrueBuilds = new AtomicInteger();
+		AtomicInteger ifFalseBuilds = new AtomicInteger();
+		AtomicBoolean condition = new AtomicBoolean(true);
+		
+		ConditionalAction instance = new ConditionalAction(b -> condition.get(), 
+			 builder -> {
+				 ifTrueBuilds.incrementAndGet();
+				 return builder.navigateTo("https://www.ifcalled.com").build();
+			 }, 
+			 builder -> {
+				 ifFalseBuilds.incrementAndGet();
+				 return builder.navigateTo("https://www.elsecalled.com").build();
+			 });
+		instance.compile();
+		assertEquals(1, ifTrueBuilds.get());
+		assertEquals(1, ifFalseBuilds.get());
+		
+		instance.executeActionImpl(context);
+		condition.set(false);
+		instance.executeActionImpl(context);
+		instance.executeActionImpl(context);
+		
+		assertEquals(1, ifTrueBuilds.get());
+		assertEquals(1, ifFalseBuilds.get());
+		Mockito.verify(mockWindow, Mockito.times(3)).navigateToUrl(Mockito.any());
+	}
+	
 }
@@ -0,0 +1,246 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2024 James Amoore.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package io.github.jamoamo.webjourney;
+
+import io.github.jamoamo.webjourney.api.IJourney;
+import io.github.jamoamo.webjourney.api.IJourneyContext;
+import io.github.jamoamo.webjourney.api.ITravelOptions;
+import io.github.jamoamo.webjourney.api.web.IBrowser;
+import io.github.jamoamo.webjourney.api.web.IBrowserOptions;
+import io.github.jamoamo.webjourney.api.web.IPreferredBrowserStrategy;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.slf4j.MDC;
+
+/**
+ *
+ * @author James Amoore
+ */
+public class JourneyExecutorTest
+{
+	private final AtomicInteger browsersCreated = new AtomicInteger();
+	private final AtomicInteger browsersExited = new AtomicInteger();
+
+	private WebTraveller createTraveller(int maxConcurrentJourneys)
+	{
+		return createTraveller(maxConcurrentJourneys, false);
+	}
+
+	private WebTraveller createTraveller(int maxConcurrentJourneys, boolean useVirtualThreads)
+	{
+		IPreferredBrowserStrategy browserStrategy = new IPreferredBrowserStrategy()
+		{
+			@Override
+			public IBrowser getPreferredBrowser(IBrowserOptions options)
+			{
+				return getPreferredBrowser(options, null);
+			}
+
+			@Override
+			public IBrowser getPreferredBrowser(IBrowserOptions options, IJourneyContext journeyContext)
+			{
+				JourneyExecutorTest.this.browsersCreated.incrementAndGet();
+				IBrowser browser = Mockito.mock(IBrowser.class);
+				Mockito.doAnswer(invocation -> JourneyExecutorTest.this.browsersExited.incrementAndGet())
+					.when(browser).exit();
+				return browser;
+			}
+		};
+
+		ITravelOptions travelOptions = Mockito.mock(ITravelOptions.class);
+		Mockito.when(travelOptions.getJourneyObservers()).thenReturn(new ArrayList<>());
+		Mockito.when(travelOptions.getJourneyPassengers()).thenReturn(new ArrayList<>());
+		Mockito.when(travelOptions.getPreferredBrowserStrategy()).thenReturn(browserStrategy);
+		Mockito.when(travelOptions.getMaxConcurrentJourneys()).thenReturn(maxConcurrentJourneys);
+		Mockito.when(travelOptions.isUseVirtualThreads()).thenReturn(useVirtualThreads);
+		return new WebTraveller(travelOptions);
+	}
+
+	@Test
+	public void testTravelJourneys_concurrencyIsBounded()
+	{
+		AtomicInteger active = new AtomicInteger();
+		AtomicInteger maxActive = new AtomicInteger();
+		IJourney journey = context ->
+		{
+			int now = active.incrementAndGet();
+			maxActive.accumulateAndGet(now, Math::max);
+			sleep(20);
+			active.decrementAndGet();
+		};
+
+		List<IJourney> journeys = new ArrayList<>();
+		IntStream.range(0, 12).forEach(i -> journeys.add(journey));
+
+		List<JourneyResult> results = createTraveller(3).travelJourneys(journeys);
+
+		Assertions.assertEquals(12, results.size());
+		Assertions.assertTrue(results.stream().allMatch(JourneyResult::isSuccess));
+		Assertions.assertTrue(maxActive.get() <= 3, "Max active was " + maxActive.get());
+		Assertions.assertTrue(maxActive.get() > 1, "Journeys were not travelled concurrently");
+		Assertions.assertEquals(12, this.browsersCreated.get());
+		Assertions.assertEquals(12, this.browsersExited.get());
+	}
+
+	@Test
+	public void testTravelJourneys_virtualThreads()
+	{
+		Set<Boolean> virtualThreads = ConcurrentHashMap.newKeySet();
+		AtomicInteger active = new AtomicInteger();
+		AtomicInteger maxActive = new AtomicInteger();
+		IJourney journey = context ->
+		{
+			virtualThreads.add(Thread.currentThread().isVirtual());
+			int now = active.incrementAndGet();
+			maxActive.accumulateAndGet(now, Math::max);
+			sleep(10);
+			active.decrementAndGet();
+		};
+
+		List<JourneyResult> results =
+			createTraveller(50, true).travelJourneys(IntStream.range(0, 200).mapToObj(i -> journey));
+
+		Assertions.assertEquals(200, results.size());
+		Assertions.assertTrue(results.stream().allMatch(JourneyResult::isSuccess));
+		Assertions.assertEquals(Set.of(true), virtualThreads);
+		Assertions.assertTrue(maxActive.get() <= 50, "Max active was " + maxActive.get());
+	}
+
+	@Test
+	public void testTravelJourneys_failureDoesNotStopOtherJourneys()
+	{
+		IJourney failing = context ->
+		{
+			throw new JourneyException("Journey Failed.");
+		};
+		IJourney passing = context ->
+		{
+		};
+
+		List<JourneyResult> results = createTraveller(2).travelJourneys(List.of(passing, failing, passing));
+
+		Assertions.assertEquals(3, results.size());
+		Assertions.assertTrue(results.get(0).isSuccess());
+		Assertions.assertFalse(results.get(1).isSuccess());
+		Assertions.assertEquals("Journey Failed.", results.get(1).getFailure().getMessage());
+		Assertions.assertSame(failing, results.get(1).getJourney());
+		Assertions.assertTrue(results.get(2).isSuccess());
+		Assertions.assertEquals(3, this.browsersExited.get());
+	}
+
+	@Test
+	public void testTravelJourneys_eachJourneyHasOwnContextAndId()
+	{
+		Set<IJourneyContext> contexts = ConcurrentHashMap.newKeySet();
+		Set<String> loggedIds = ConcurrentHashMap.newKeySet();
+		IJourney journey = context ->
+		{
+			contexts.add(context);
+			loggedIds.add(MDC.get("label.WebJourney.id"));
+			context.setJourneyInput("value", Thread.currentThread().getName());
+		};
+
+		List<JourneyResult> results = createTraveller(4).travelJourneys(IntStream.range(0, 8).mapToObj(i -> journey));
+
+		Assertions.assertEquals(8, contexts.size());
+		Assertions.assertEquals(8, loggedIds.size());
+		for(JourneyResult result : results)
+		{
+			Assertions.assertTrue(loggedIds.contains(result.getJourneyId()));
+		}
+	}
+
+	@Test
+	public void testClose_drainsSubmittedJourneys()
+		throws Exception
+	{
+		AtomicInteger completed = new AtomicInteger();
+		IJourney journey = context ->
+		{
+			sleep(50);
+			completed.incrementAndGet();
+		};
+
+		JourneyExecutor executor = createTraveller(2).newJourneyExecutor();
+		List<Future<JourneyResult>> futures = new ArrayList<>();
+		for(int i = 0; i < 4; i++)
+		{
+			futures.add(executor.submit(journey));
+		}
+		executor.close();
+
+		Assertions.assertTrue(executor.isTerminated());
+		Assertions.assertEquals(4, completed.get());
+		for(Future<JourneyResult> future : futures)
+		{
+			Assertions.assertTrue(future.get().isSuccess());
+		}
+		Assertions.assertThrows(RejectedExecutionException.class, () -> executor.submit(journey));
+	}
+
+	@Test
+	public void testAwaitTermination_timesOutWhileJourneyRunning()
+		throws Exception
+	{
+		IJourney journey = context -> sleep(300);
+
+		JourneyExecutor executor = createTraveller(1).newJourneyExecutor();
+		executor.submit(journey);
+		executor.shutdown();
+
+		Assertions.assertFalse(executor.awaitTermination(Duration.ofMillis(10)));
+		Assertions.assertTrue(executor.awaitTermination(Duration.ofSeconds(5)));
+	}
+
+	@Test
+	public void testMaxConcurrentJourneys_lessThanOneTreatedAsOne()
+	{
+		try(JourneyExecutor executor = createTraveller(0).newJourneyExecutor())
+		{
+			Assertions.assertEquals(1, executor.getMaxConcurrentJourneys());
+		}
+	}
+
+	private static void sleep(long millis)
+	{
+		try
+		{
+			Thread.sleep(millis);
+		}
+		catch(InterruptedException ex)
+		{
+			Thread.currentThread().interrupt();
+		}
+	}
+}
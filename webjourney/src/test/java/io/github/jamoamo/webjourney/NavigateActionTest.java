@@ -23,13 +23,18 @@
  */
 package io.github.jamoamo.webjourney;
 
+import io.github.jamoamo.webjourney.api.politeness.HostLimits;
+import io.github.jamoamo.webjourney.api.politeness.PolitenessScheduler;
 import io.github.jamoamo.webjourney.api.web.IBrowser;
 import io.github.jamoamo.webjourney.api.web.IBrowserWindow;
 import io.github.jamoamo.webjourney.api.web.IWebPage;
 import io.github.jamoamo.webjourney.api.web.XWebException;
+import java.util.concurrent.atomic.AtomicInteger;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
 /**
  *
  * @author James Amoore
@@ -91,4 +96,41 @@ public class NavigateActionTest
 		  Mockito.verify(window, Mockito.times(2)).navigateBack();
 	 }
 
+	 /**
+	  * Test of executeAction method, holding a politeness slot for the target host during navigation.
+	  */
+	 @Test
+	 public void testExecuteAction_holdsPolitenessSlot()
+		  throws Exception
+	 {
+		  String host = "navigate-action-test.example.com";
+		  PolitenessScheduler.shared().setHostLimits(host, HostLimits.of(0, 1));
+		  try
+		  {
+				IBrowser browser = Mockito.mock(IBrowser.class);
+				IBrowserWindow window = Mockito.mock(IBrowserWindow.class);
+				Mockito.when(browser.getActiveWindow())
+					 .thenReturn(window);
+				AtomicInteger inFlight = new AtomicInteger(-1);
+				Mockito.when(window.navigateToUrl(Mockito.any()))
+					 .then(inv ->
+					 {
+						  inFlight.set(PolitenessScheduler.shared().getInFlight(host));
+						  return null;
+					 });
+				JourneyContext context = new JourneyContext();
+				context.setBrowser(browser);
+
+				NavigateAction action = new NavigateAction(NavigationTarget.toUrl("https://" + host + "/page"));
+				action.executeAction(context);
+
+				assertEquals(1, inFlight.get());
+				assertEquals(0, PolitenessScheduler.shared().getInFlight(host));
+		  }
+		  finally
+		  {
+				PolitenessScheduler.shared().setHostLimits(host, null);
+		  }
+	 }
+
 }
@@ -23,10 +23,19 @@
  */
 package io.github.jamoamo.webjourney;
 
+import io.github.jamoamo.webjourney.api.IJourney;
 import io.github.jamoamo.webjourney.api.IJourneyContext;
+import io.github.jamoamo.webjourney.api.checkpoint.FileCheckpointStore;
+import io.github.jamoamo.webjourney.api.checkpoint.JourneyCheckpoint;
+import io.github.jamoamo.webjourney.api.wait.WaitStrategies;
+import io.github.jamoamo.webjourney.reserved.JourneyBreadcrumb;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -76,4 +85,42 @@ public class RepeatedActionTest
 		  action.executeAction(context);
 	 }
 
+	 @Test
+	 public void testExecuteAction_resumesAfterCompletedIterations(@TempDir Path directory)
+	 {
+		  FileCheckpointStore store = new FileCheckpointStore(directory);
+		  List<Object> travelled = new ArrayList<>();
+		  boolean[] failAtThree = {true};
+		  IJourney body = context ->
+		  {
+				Object item = context.getJourneyInput("repeatItem");
+				if(failAtThree[0] && item.equals(3))
+				{
+					 throw new JourneyException("Failed", context.getJourneyBreadcrumb());
+				}
+				travelled.add(item);
+		  };
+		  SubJourney journey = new SubJourney(
+				Collections.singletonList(new RepeatedAction<>(context -> Arrays.asList(1, 2, 3, 4, 5), body)),
+				WaitStrategies.none(), WaitStrategies.none());
+
+		  assertThrows(JourneyException.class, () -> journey.doJourney(checkpointedContext(store, null)));
+		  assertEquals(Arrays.asList(1, 2), travelled);
+
+		  JourneyCheckpoint checkpoint = store.load("journey").orElseThrow();
+		  assertEquals(2, checkpoint.getCompletedIterations("0"));
+
+		  travelled.clear();
+		  failAtThree[0] = false;
+		  journey.doJourney(checkpointedContext(store, checkpoint));
+		  assertEquals(Arrays.asList(3, 4, 5), travelled);
+	 }
+
+	 private static JourneyContext checkpointedContext(FileCheckpointStore store, JourneyCheckpoint resumeFrom)
+	 {
+		  JourneyContext context = new JourneyContext();
+		  context.setJourneyBreadcrumb(new JourneyBreadcrumb());
+		  context.setCheckpointer(new JourneyCheckpointer(store, "journey", resumeFrom));
+		  return context;
+	 }
 }
@@ -24,11 +24,21 @@
 package io.github.jamoamo.webjourney;
 
 import io.github.jamoamo.webjourney.api.AWebAction;
+import io.github.jamoamo.webjourney.api.Deadline;
+import io.github.jamoamo.webjourney.api.DeadlineExceededException;
 import io.github.jamoamo.webjourney.api.ICrumb;
 import io.github.jamoamo.webjourney.api.IJourney;
 import io.github.jamoamo.webjourney.api.IJourneyBreadcrumb;
 import io.github.jamoamo.webjourney.api.IJourneyContext;
 import io.github.jamoamo.webjourney.api.IJourneyObserver;
+import io.github.jamoamo.webjourney.api.wait.IWaitStrategy;
+import io.github.jamoamo.webjourney.api.wait.WaitStrategies;
+import io.github.jamoamo.webjourney.api.web.IBrowser;
+import io.github.jamoamo.webjourney.api.web.IBrowserWindow;
+import io.github.jamoamo.webjourney.api.web.PageLoadStrategy;
+import io.github.jamoamo.webjourney.reserved.JourneyBreadcrumb;
+import java.net.URL;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
@@ -38,6 +48,7 @@ import org.mockito.Mockito;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.contains;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 
@@ -138,4 +149,197 @@ public class SubJourneyTest
 		Mockito.verify(observer, times(1)).actionStarted(startedActioncaptor.capture());
 		Mockito.verify(observer, times(1)).actionEnded(endedActioncaptor.capture());
 	}
+	
+	@Test
+	public void testDoJourney_actionWaitOverridesJourneyDefault()
+		throws InterruptedException
+	{
+		IWaitStrategy defaultPre = Mockito.mock(IWaitStrategy.class);
+		IWaitStrategy defaultPost = Mockito.mock(IWaitStrategy.class);
+		IWaitStrategy actionPost = Mockito.mock(IWaitStrategy.class);
+		Mockito.when(defaultPre.await(any())).thenReturn(true);
+		Mockito.when(defaultPost.await(any())).thenReturn(true);
+		Mockito.when(actionPost.await(any())).thenReturn(false);
+		
+		AWebAction mockAction = Mockito.mock(AWebAction.class);
+		Mockito.when(mockAction.executeAction(any())).thenReturn(ActionResult.SUCCESS);
+		Mockito.when(mockAction.getPostActionWait()).thenReturn(actionPost);
+		AWebAction mockAction2 = Mockito.mock(AWebAction.class);
+		Mockito.when(mockAction2.executeAction(any())).thenReturn(ActionResult.SUCCESS);
+		
+		IJourneyContext context = Mockito.mock(IJourneyContext.class);
+		Mockito.when(context.getJourneyBreadcrumb()).thenReturn(Mockito.mock(IJourneyBreadcrumb.class));
+		Mockito.when(context.getJourneyObservers()).thenReturn(Collections.emptyList());
+		
+		SubJourney instance = new SubJourney(List.of(mockAction, mockAction2), defaultPre, defaultPost);
+		instance.doJourney(context);
+		
+		Mockito.verify(defaultPre, times(2)).await(context);
+		Mockito.verify(actionPost, times(1)).await(context);
+		Mockito.verify(defaultPost, times(1)).await(context);
+	}
+	
+	@Test
+	public void testDoJourney_interruptedWaitFailsJourney()
+		throws InterruptedException
+	{
+		IWaitStrategy interrupted = Mockito.mock(IWaitStrategy.class);
+		Mockito.when(interrupted.await(any())).thenThrow(new InterruptedException());
+		
+		AWebAction mockAction = Mockito.mock(AWebAction.class);
+		Mockito.when(mockAction.executeAction(any())).thenReturn(ActionResult.SUCCESS);
+		
+		IJourneyContext context = Mockito.mock(IJourneyContext.class);
+		Mockito.when(context.getJourneyBreadcrumb()).thenReturn(Mockito.mock(IJourneyBreadcrumb.class));
+		Mockito.when(context.getJourneyObservers()).thenReturn(Collections.emptyList());
+		
+		SubJourney instance = new SubJourney(List.of(mockAction), interrupted, WaitStrategies.none());
+		try
+		{
+			assertThrows(JourneyException.class, () -> instance.doJourney(context));
+			assertTrue(Thread.currentThread().isInterrupted());
+		}
+		finally
+		{
+			Thread.interrupted();
+		}
+		Mockito.verify(mockAction, never()).executeAction(any());
+	}
+
+	@Test
+	public void testDoJourney_actionTimeoutBoundsWaits()
+	{
+		AWebAction slowAction = new WaitingAction(WaitStrategies.fixed(Duration.ofMinutes(1)));
+		slowAction.setTimeout(Duration.ofMillis(50));
+
+		JourneyContext context = new JourneyContext();
+		context.setJourneyBreadcrumb(new JourneyBreadcrumb());
+
+		SubJourney instance = new SubJourney(List.of(slowAction), WaitStrategies.none(), WaitStrategies.none());
+		long start = System.nanoTime();
+		DeadlineExceededException ex = assertThrows(DeadlineExceededException.class, () -> instance.doJourney(context));
+		assertTrue(Duration.ofNanos(System.nanoTime() - start).compareTo(Duration.ofSeconds(1)) < 0);
+		assertNotNull(ex.getBreadcrumb());
+		assertFalse(context.getDeadline().isBounded());
+	}
+
+	@Test
+	public void testDoJourney_expiredDeadlineSkipsAction()
+	{
+		AWebAction mockAction = Mockito.mock(AWebAction.class);
+
+		JourneyContext context = new JourneyContext();
+		context.setJourneyBreadcrumb(new JourneyBreadcrumb());
+		context.setDeadline(Deadline.after(Duration.ZERO));
+
+		SubJourney instance = new SubJourney(List.of(mockAction), WaitStrategies.none(), WaitStrategies.none());
+		assertThrows(DeadlineExceededException.class, () -> instance.doJourney(context));
+		Mockito.verify(mockAction, never()).executeAction(any());
+	}
+
+	@Test
+	public void testDoJourney_hungActionAbortedByWatchdog()
+	{
+		IBrowser browser = Mockito.mock(IBrowser.class);
+		AWebAction hungAction = new SleepingAction(Duration.ofMinutes(1));
+		hungAction.setTimeout(Duration.ofMillis(50));
+
+		JourneyContext context = new JourneyContext();
+		context.setJourneyBreadcrumb(new JourneyBreadcrumb());
+		context.setBrowser(browser);
+
+		SubJourney instance = new SubJourney(List.of(hungAction), WaitStrategies.none(), WaitStrategies.none());
+		long start = System.nanoTime();
+		assertThrows(DeadlineExceededException.class, () -> instance.doJourney(context));
+
+		assertTrue(Duration.ofNanos(System.nanoTime() - start).compareTo(Duration.ofSeconds(10)) < 0);
+		assertFalse(Thread.currentThread().isInterrupted());
+		Mockito.verify(browser, Mockito.timeout(10_000)).exit();
+	}
+
+	@Test
+	public void testDoJourney_eagerNavigationSettlesOnceDocumentParsed()
+		throws Exception
+	{
+		IBrowser browser = Mockito.mock(IBrowser.class);
+		IBrowserWindow window = Mockito.mock(IBrowserWindow.class);
+		Mockito.when(browser.getActiveWindow()).thenReturn(window);
+		Mockito.when(window.getPageLoadStrategy()).thenReturn(PageLoadStrategy.EAGER);
+		// The page's subresources never finish loading
+		Mockito.when(window.executeScript(contains("readyState"))).thenReturn("interactive");
+
+		JourneyContext context = new JourneyContext();
+		context.setJourneyBreadcrumb(new JourneyBreadcrumb());
+		context.setBrowser(browser);
+
+		NavigateAction navigate = new NavigateAction(NavigationTarget.toUrl("https://eager.example.com/page"));
+		SubJourney instance = new SubJourney(List.of(navigate));
+		long start = System.nanoTime();
+		instance.doJourney(context);
+
+		assertTrue(Duration.ofNanos(System.nanoTime() - start).compareTo(WaitStrategies.DEFAULT_TIMEOUT) < 0);
+		Mockito.verify(window).navigateToUrl(any(URL.class));
+		Mockito.verify(window, times(1)).executeScript(contains("readyState"));
+	}
+
+	private static final class WaitingAction extends AWebAction
+	{
+		private final IWaitStrategy wait;
+
+		WaitingAction(IWaitStrategy wait)
+		{
+			this.wait = wait;
+		}
+
+		@Override
+		protected ActionResult executeActionImpl(IJourneyContext context)
+		{
+			try
+			{
+				return this.wait.await(context) ? ActionResult.SUCCESS : ActionResult.FAILURE;
+			}
+			catch(InterruptedException ex)
+			{
+				Thread.currentThread().interrupt();
+				return ActionResult.FAILURE;
+			}
+		}
+
+		@Override
+		protected String getActionName()
+		{
+			return "Wait";
+		}
+	}
+
+	private static final class SleepingAction extends AWebAction
+	{
+		private final Duration sleep;
+
+		SleepingAction(Duration sleep)
+		{
+			this.sleep = sleep;
+		}
+
+		@Override
+		protected ActionResult executeActionImpl(IJourneyContext context)
+		{
+			try
+			{
+				Thread.sleep(this.sleep.toMillis());
+			}
+			catch(InterruptedException ex)
+			{
+				Thread.currentThread().interrupt();
+				return ActionResult.FAILURE;
+			}
+			return ActionResult.SUCCESS;
+		}
+
+		@Override
+		protected String getActionName()
+		{
+			return "Sleep";
+		}
+	}
 }
@@ -24,7 +24,10 @@
 package io.github.jamoamo.webjourney;
 
 import java.time.Duration;
+import java.util.concurrent.Executor;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import org.junit.jupiter.api.Test;
 
 /**
@@ -63,4 +66,50 @@ public class TravelOptionsTest
 		options.setElementWaitTimeout(Duration.ofSeconds(-5));
 		assertEquals(Duration.ZERO, options.getElementWaitTimeout());
 	}
+
+	@Test
+	public void testGetMaxConcurrentJourneys_DefaultsToOne()
+	{
+		TravelOptions options = new TravelOptions();
+		assertEquals(1, options.getMaxConcurrentJourneys());
+	}
+
+	@Test
+	public void testSetMaxConcurrentJourneys_LessThanOneCoercedToOne()
+	{
+		TravelOptions options = new TravelOptions();
+		options.setMaxConcurrentJourneys(8);
+		assertEquals(8, options.getMaxConcurrentJourneys());
+		options.setMaxConcurrentJourneys(0);
+		assertEquals(1, options.getMaxConcurrentJourneys());
+	}
+
+	@Test
+	public void testUseVirtualThreads_DefaultsToFalse()
+	{
+		TravelOptions options = new TravelOptions();
+		assertEquals(false, options.isUseVirtualThreads());
+		options.setUseVirtualThreads(true);
+		assertEquals(true, options.isUseVirtualThreads());
+	}
+
+	@Test
+	public void testJourneyTimeout_DefaultsToNone()
+	{
+		TravelOptions options = new TravelOptions();
+		assertNull(options.getJourneyTimeout());
+		options.setJourneyTimeout(Duration.ofMinutes(5));
+		assertEquals(Duration.ofMinutes(5), options.getJourneyTimeout());
+		assertThrows(IllegalArgumentException.class, () -> options.setJourneyTimeout(Duration.ofSeconds(-1)));
+	}
+
+	@Test
+	public void testAsyncExecutor_DefaultsToNull()
+	{
+		TravelOptions options = new TravelOptions();
+		assertNull(options.getAsyncExecutor());
+		Executor executor = Runnable::run;
+		options.setAsyncExecutor(executor);
+		assertEquals(executor, options.getAsyncExecutor());
+	}
 }
@@ -23,17 +23,29 @@
  */
 package io.github.jamoamo.webjourney;
 
+import io.github.jamoamo.webjourney.api.DeadlineExceededException;
 import io.github.jamoamo.webjourney.api.IJourney;
 import io.github.jamoamo.webjourney.api.IJourneyContext;
 import io.github.jamoamo.webjourney.api.IJourneyObserver;
 import io.github.jamoamo.webjourney.api.ITravelOptions;
+import io.github.jamoamo.webjourney.api.checkpoint.FileCheckpointStore;
 import io.github.jamoamo.webjourney.api.web.IBrowser;
+import io.github.jamoamo.webjourney.api.web.IBrowserPool;
 import io.github.jamoamo.webjourney.api.web.IBrowserOptions;
 import io.github.jamoamo.webjourney.api.web.IPreferredBrowserStrategy;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import org.mockito.ArgumentCaptor;
 import org.mockito.ArgumentMatchers;
 import org.mockito.Mockito;
@@ -152,4 +164,220 @@ public class WebTravellerTest
 		
 		Mockito.verify(browser).exit();
 	}
+
+	@Test
+	public void testTravelJourney_browserPool()
+	{
+		IJourney journey = Mockito.mock(IJourney.class);
+		IBrowser browser = Mockito.mock(IBrowser.class);
+		IBrowserPool pool = Mockito.mock(IBrowserPool.class);
+		Mockito.when(pool.lease(ArgumentMatchers.any(), ArgumentMatchers.any())).thenReturn(browser);
+
+		ITravelOptions travelOptions = Mockito.mock(ITravelOptions.class);
+		Mockito.when(travelOptions.getJourneyObservers()).thenReturn(new ArrayList<>());
+		Mockito.when(travelOptions.getBrowserPool()).thenReturn(pool);
+
+		WebTraveller instance = new WebTraveller(travelOptions);
+		instance.travelJourney(journey);
+
+		Mockito.verify(pool).release(browser);
+		Mockito.verify(browser, Mockito.never()).exit();
+	}
+
+	@Test
+	public void testTravelJourney_browserPool_deadlineExceededInvalidatesBrowser()
+	{
+		IJourney journey = Mockito.mock(IJourney.class);
+		IBrowser browser = Mockito.mock(IBrowser.class);
+		IBrowserPool pool = Mockito.mock(IBrowserPool.class);
+		Mockito.when(pool.lease(ArgumentMatchers.any(), ArgumentMatchers.any())).thenReturn(browser);
+		Mockito.doThrow(new DeadlineExceededException("Deadline exceeded.")).when(journey).doJourney(ArgumentMatchers.any());
+
+		ITravelOptions travelOptions = Mockito.mock(ITravelOptions.class);
+		Mockito.when(travelOptions.getJourneyObservers()).thenReturn(new ArrayList<>());
+		Mockito.when(travelOptions.getBrowserPool()).thenReturn(pool);
+
+		WebTraveller instance = new WebTraveller(travelOptions);
+		Assertions.assertThrows(DeadlineExceededException.class, () -> instance.travelJourney(journey));
+
+		Mockito.verify(pool).invalidate(browser);
+		Mockito.verify(pool, Mockito.never()).release(browser);
+	}
+
+	@Test
+	public void testResumeJourney_noCheckpointStore()
+	{
+		ITravelOptions travelOptions = Mockito.mock(ITravelOptions.class);
+		WebTraveller instance = new WebTraveller(travelOptions);
+		Assertions.assertThrows(IllegalStateException.class,
+			() -> instance.resumeJourney(Mockito.mock(IJourney.class), "journey"));
+	}
+
+	@Test
+	public void testResumeJourney_restoresInputs(@TempDir Path directory)
+	{
+		IBrowser browser = Mockito.mock(IBrowser.class);
+		ITravelOptions travelOptions = Mockito.mock(ITravelOptions.class);
+		Mockito.when(travelOptions.getJourneyObservers()).thenReturn(new ArrayList<>());
+		Mockito.when(travelOptions.getPreferredBrowserStrategy()).thenReturn(fixedBrowserStrategy(browser));
+		FileCheckpointStore checkpointStore = new FileCheckpointStore(directory);
+		Mockito.when(travelOptions.getCheckpointStore()).thenReturn(checkpointStore);
+		WebTraveller instance = new WebTraveller(travelOptions);
+
+		IJourney failingJourney = context ->
+		{
+			context.setJourneyInput("query", "shoes");
+			throw new JourneyException("Journey Failed.");
+		};
+		Assertions.assertThrows(JourneyException.class, () -> instance.travelJourney(failingJourney, "journey"));
+		Assertions.assertEquals("shoes", checkpointStore.load("journey").orElseThrow().getInputs().get("query"));
+
+		IJourney journey = Mockito.mock(IJourney.class);
+		instance.resumeJourney(journey, "journey");
+
+		ArgumentCaptor<IJourneyContext> contextCaptor = ArgumentCaptor.forClass(IJourneyContext.class);
+		Mockito.verify(journey).doJourney(contextCaptor.capture());
+		Assertions.assertEquals("shoes", contextCaptor.getValue().getJourneyInput("query"));
+		Assertions.assertTrue(checkpointStore.load("journey").isEmpty());
+	}
+
+	@Test
+	public void testTravelJourney_discardsPreviousCheckpoint(@TempDir Path directory)
+	{
+		ITravelOptions travelOptions = Mockito.mock(ITravelOptions.class);
+		Mockito.when(travelOptions.getJourneyObservers()).thenReturn(new ArrayList<>());
+		Mockito.when(travelOptions.getPreferredBrowserStrategy())
+			.thenReturn(fixedBrowserStrategy(Mockito.mock(IBrowser.class)));
+		FileCheckpointStore checkpointStore = new FileCheckpointStore(directory);
+		checkpointStore.recordInput("journey", "query", "shoes");
+		Mockito.when(travelOptions.getCheckpointStore()).thenReturn(checkpointStore);
+
+		IJourney journey = Mockito.mock(IJourney.class);
+		new WebTraveller(travelOptions).travelJourney(journey, "journey");
+
+		ArgumentCaptor<IJourneyContext> contextCaptor = ArgumentCaptor.forClass(IJourneyContext.class);
+		Mockito.verify(journey).doJourney(contextCaptor.capture());
+		Assertions.assertNull(contextCaptor.getValue().getJourneyInput("query"));
+	}
+
+	@Test
+	public void testTravelJourneyAsync_completesWithResult()
+		throws Exception
+	{
+		IBrowser browser = Mockito.mock(IBrowser.class);
+		ITravelOptions travelOptions = Mockito.mock(ITravelOptions.class);
+		Mockito.when(travelOptions.getJourneyObservers()).thenReturn(new ArrayList<>());
+		Mockito.when(travelOptions.getPreferredBrowserStrategy()).thenReturn(fixedBrowserStrategy(browser));
+		IJourney journey = Mockito.mock(IJourney.class);
+
+		JourneyResult result = new WebTraveller(travelOptions).travelJourneyAsync(journey).get(10, TimeUnit.SECONDS);
+
+		Assertions.assertTrue(result.isSuccess());
+		Assertions.assertSame(journey, result.getJourney());
+		Mockito.verify(browser).exit();
+	}
+
+	@Test
+	public void testTravelJourneyAsync_failureHeldInResult()
+		throws Exception
+	{
+		ITravelOptions travelOptions = Mockito.mock(ITravelOptions.class);
+		Mockito.when(travelOptions.getJourneyObservers()).thenReturn(new ArrayList<>());
+		Mockito.when(travelOptions.getPreferredBrowserStrategy())
+			.thenReturn(fixedBrowserStrategy(Mockito.mock(IBrowser.class)));
+		IJourney journey = Mockito.mock(IJourney.class);
+		Mockito.doThrow(new JourneyException("Journey Failed.")).when(journey).doJourney(ArgumentMatchers.any());
+
+		ExecutorService executor = Executors.newSingleThreadExecutor();
+		try
+		{
+			JourneyResult result = new WebTraveller(travelOptions).travelJourneyAsync(journey, executor)
+				.get(10, TimeUnit.SECONDS);
+			Assertions.assertFalse(result.isSuccess());
+			Assertions.assertEquals("Journey Failed.", result.getFailure().getMessage());
+		}
+		finally
+		{
+			executor.shutdownNow();
+		}
+	}
+
+	@Test
+	public void testTravelJourneyAsync_cancelStopsJourneyAndQuitsBrowser()
+		throws Exception
+	{
+		IBrowser browser = Mockito.mock(IBrowser.class);
+		ITravelOptions travelOptions = Mockito.mock(ITravelOptions.class);
+		Mockito.when(travelOptions.getJourneyObservers()).thenReturn(new ArrayList<>());
+		Mockito.when(travelOptions.getPreferredBrowserStrategy()).thenReturn(fixedBrowserStrategy(browser));
+
+		CountDownLatch started = new CountDownLatch(1);
+		CountDownLatch stopped = new CountDownLatch(1);
+		IJourney journey = context ->
+		{
+			started.countDown();
+			try
+			{
+				Thread.sleep(60_000);
+			}
+			catch(InterruptedException ex)
+			{
+				stopped.countDown();
+				throw new JourneyException("Interrupted", ex);
+			}
+		};
+
+		CompletableFuture<JourneyResult> future = new WebTraveller(travelOptions).travelJourneyAsync(journey);
+		Assertions.assertTrue(started.await(10, TimeUnit.SECONDS));
+		Assertions.assertTrue(future.cancel(true));
+
+		Assertions.assertTrue(stopped.await(10, TimeUnit.SECONDS));
+		Assertions.assertTrue(future.isCancelled());
+		Mockito.verify(browser, Mockito.timeout(10_000).atLeastOnce()).exit();
+	}
+
+	@Test
+	public void testTravelJourneyAsync_cancelledBeforeStartNotTravelled()
+	{
+		ITravelOptions travelOptions = Mockito.mock(ITravelOptions.class);
+		IJourney journey = Mockito.mock(IJourney.class);
+		List<Runnable> queued = new ArrayList<>();
+
+		CompletableFuture<JourneyResult> future = new WebTraveller(travelOptions).travelJourneyAsync(journey, queued::add);
+		future.cancel(true);
+		queued.forEach(Runnable::run);
+
+		Mockito.verifyNoInteractions(journey);
+		Mockito.verify(travelOptions, Mockito.never()).getPreferredBrowserStrategy();
+	}
+
+	@Test
+	public void testTravelJourneyAsync_rejectedByExecutor()
+	{
+		ITravelOptions travelOptions = Mockito.mock(ITravelOptions.class);
+		CompletableFuture<JourneyResult> future = new WebTraveller(travelOptions).travelJourneyAsync(
+			Mockito.mock(IJourney.class), runnable ->
+			{
+				throw new RejectedExecutionException("full");
+			});
+		Assertions.assertTrue(future.isCompletedExceptionally());
+	}
+
+	private static IPreferredBrowserStrategy fixedBrowserStrategy(IBrowser browser)
+	{
+		return new IPreferredBrowserStrategy()
+		{
+			@Override
+			public IBrowser getPreferredBrowser(IBrowserOptions options)
+			{
+				return browser;
+			}
+
+			@Override
+			public IBrowser getPreferredBrowser(IBrowserOptions options, IJourneyContext journeyContext)
+			{
+				return browser;
+			}
+		};
+	}
 }
@@ -0,0 +1,126 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2024 James Amoore.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package io.github.jamoamo.webjourney.api;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ *
+ * @author James Amoore
+ */
+public class DeadlineTest
+{
+	@Test
+	public void testNone_neverExpires()
+	{
+		Deadline deadline = Deadline.none();
+		assertFalse(deadline.isBounded());
+		assertFalse(deadline.isExpired());
+		assertEquals(Duration.ofSeconds(10), deadline.bound(Duration.ofSeconds(10)));
+		deadline.check();
+	}
+
+	@Test
+	public void testAfter_expires()
+		throws InterruptedException
+	{
+		Deadline deadline = Deadline.after(Duration.ofMillis(20));
+		assertTrue(deadline.isBounded());
+		assertFalse(deadline.isExpired());
+		Thread.sleep(40);
+		assertTrue(deadline.isExpired());
+		assertEquals(Duration.ZERO, deadline.remaining());
+		assertThrows(DeadlineExceededException.class, deadline::check);
+	}
+
+	@Test
+	public void testBound_remainingTimeIsSmaller()
+	{
+		Deadline deadline = Deadline.after(Duration.ofSeconds(1));
+		assertTrue(deadline.bound(Duration.ofSeconds(10)).compareTo(Duration.ofSeconds(1)) <= 0);
+		assertEquals(Duration.ofMillis(5), deadline.bound(Duration.ofMillis(5)));
+	}
+
+	@Test
+	public void testMin_earlierDeadlineWins()
+	{
+		Deadline journey = Deadline.after(Duration.ofMinutes(1));
+		assertSame(journey, journey.min(null));
+		assertSame(journey, journey.min(Duration.ofMinutes(5)));
+		assertTrue(journey.min(Duration.ofSeconds(1)).remaining().compareTo(Duration.ofSeconds(1)) <= 0);
+		assertTrue(Deadline.none().min(Duration.ofSeconds(1)).isBounded());
+	}
+
+	@Test
+	public void testOf_contextWithoutDeadline()
+	{
+		assertSame(Deadline.none(), Deadline.of(null));
+		assertSame(Deadline.none(), Deadline.of(Mockito.mock(IJourneyContext.class)));
+	}
+
+	@Test
+	public void testRetryPolicy_stopsRetryingAtDeadline()
+	{
+		IRetryPolicy policy = RetryPolicyBuilder.builder()
+			.maxRetries(100)
+			.delay(Duration.ofMillis(50))
+			.build();
+		AtomicInteger attempts = new AtomicInteger();
+
+		long start = System.nanoTime();
+		assertThrows(DeadlineExceededException.class, () -> policy.execute(() ->
+		{
+			attempts.incrementAndGet();
+			throw new IllegalStateException("fails");
+		}, Deadline.after(Duration.ofMillis(200))));
+
+		assertTrue(Duration.ofNanos(System.nanoTime() - start).toMillis() < 1000);
+		assertTrue(attempts.get() < 10);
+	}
+
+	@Test
+	public void testRetryPolicy_unboundedDeadlineRetries()
+		throws Exception
+	{
+		IRetryPolicy policy = RetryPolicyBuilder.builder()
+			.maxRetries(2)
+			.delay(Duration.ofMillis(1))
+			.build();
+		AtomicInteger attempts = new AtomicInteger();
+
+		assertEquals("ok", policy.execute(() ->
+		{
+			if(attempts.incrementAndGet() < 3)
+			{
+				throw new IllegalStateException("fails");
+			}
+			return "ok";
+		}, Deadline.none()));
+	}
+}
@@ -0,0 +1,204 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2024 James Amoore.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package io.github.jamoamo.webjourney.api.checkpoint;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Optional;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ *
+ * @author James Amoore
+ */
+public class FileCheckpointStoreTest
+{
+	@TempDir
+	Path directory;
+
+	@Test
+	public void testLoad_nothingRecorded()
+	{
+		FileCheckpointStore store = new FileCheckpointStore(this.directory);
+		assertTrue(store.load("journey").isEmpty());
+	}
+
+	@Test
+	public void testLoad_lastRecordWins()
+	{
+		try(FileCheckpointStore store = new FileCheckpointStore(this.directory))
+		{
+			store.recordInput("journey", "query", "first");
+			store.recordIterations("journey", "1", 1, "(Journey) SubJourney -> (Action) Repeat");
+			store.recordIterations("journey", "1", 2, "(Journey) SubJourney -> (Action) Repeat");
+			store.recordIterations("journey", "1/#1/0", 7, "inner");
+			store.recordInput("journey", "query", "second");
+
+			JourneyCheckpoint checkpoint = store.load("journey").orElseThrow();
+			assertEquals("journey", checkpoint.getJourneyId());
+			assertEquals(2, checkpoint.getCompletedIterations("1"));
+			assertEquals(7, checkpoint.getCompletedIterations("1/#1/0"));
+			assertEquals(0, checkpoint.getCompletedIterations("2"));
+			assertEquals("second", checkpoint.getInputs().get("query"));
+			assertEquals("inner", checkpoint.getBreadcrumb());
+		}
+	}
+
+	@Test
+	public void testRecord_writtenInBatches()
+		throws IOException
+	{
+		Path journal = this.directory.resolve("journey.checkpoint");
+		try(FileCheckpointStore store = new FileCheckpointStore(this.directory, 3, Duration.ofHours(1)))
+		{
+			store.recordIterations("journey", "0", 1, "");
+			store.recordIterations("journey", "0", 2, "");
+			assertFalse(Files.exists(journal));
+
+			store.recordIterations("journey", "0", 3, "");
+			long size = Files.size(journal);
+			assertTrue(size > 0);
+
+			store.recordIterations("journey", "0", 4, "");
+			assertEquals(size, Files.size(journal));
+
+			store.flush();
+			assertTrue(Files.size(journal) > size);
+		}
+	}
+
+	@Test
+	public void testRecord_overdueRecordsWrittenWithoutFurtherRecords()
+		throws InterruptedException
+	{
+		Path journal = this.directory.resolve("journey.checkpoint");
+		try(FileCheckpointStore store = new FileCheckpointStore(this.directory, 100, Duration.ofMillis(50)))
+		{
+			store.recordIterations("journey", "0", 1, "");
+
+			long deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+			while(!Files.exists(journal) && System.nanoTime() < deadline)
+			{
+				Thread.sleep(10);
+			}
+			assertEquals(1, new FileCheckpointStore(this.directory).load("journey").orElseThrow()
+				.getCompletedIterations("0"));
+		}
+	}
+
+	@Test
+	public void testRelease_journalKept()
+	{
+		try(FileCheckpointStore store = new FileCheckpointStore(this.directory, 100, Duration.ofHours(1)))
+		{
+			store.recordIterations("journey", "0", 1, "");
+			store.recordIterations("journey", "0", 2, "");
+
+			store.release("journey");
+			assertTrue(Files.exists(this.directory.resolve("journey.checkpoint")));
+			assertEquals(2, new FileCheckpointStore(this.directory).load("journey").orElseThrow()
+				.getCompletedIterations("0"));
+
+			store.recordIterations("journey", "0", 3, "");
+			store.release("journey");
+			assertEquals(3, store.load("journey").orElseThrow().getCompletedIterations("0"));
+		}
+	}
+
+	@Test
+	public void testLoad_newStoreReadsJournal()
+	{
+		try(FileCheckpointStore store = new FileCheckpointStore(this.directory))
+		{
+			store.recordIterations("journey", "0", 9000, "");
+		}
+
+		Optional<JourneyCheckpoint> checkpoint = new FileCheckpointStore(this.directory).load("journey");
+		assertEquals(9000, checkpoint.orElseThrow().getCompletedIterations("0"));
+	}
+
+	@Test
+	public void testLoad_incompleteRecordIgnored()
+		throws IOException
+	{
+		try(FileCheckpointStore store = new FileCheckpointStore(this.directory))
+		{
+			store.recordIterations("journey", "0", 1, "");
+			store.recordIterations("journey", "0", 2, "");
+		}
+
+		Path journal = this.directory.resolve("journey.checkpoint");
+		byte[] contents = Files.readAllBytes(journal);
+		Files.write(journal, Arrays.copyOf(contents, contents.length - 3));
+
+		JourneyCheckpoint checkpoint = new FileCheckpointStore(this.directory).load("journey").orElseThrow();
+		assertEquals(1, checkpoint.getCompletedIterations("0"));
+	}
+
+	@Test
+	public void testRecordInput_notSerializableSkipped()
+	{
+		try(FileCheckpointStore store = new FileCheckpointStore(this.directory))
+		{
+			store.recordInput("journey", "element", new Object());
+			store.recordInput("journey", "page", 3);
+
+			JourneyCheckpoint checkpoint = store.load("journey").orElseThrow();
+			assertFalse(checkpoint.getInputs().containsKey("element"));
+			assertEquals(3, checkpoint.getInputs().get("page"));
+		}
+	}
+
+	@Test
+	public void testDiscard()
+	{
+		try(FileCheckpointStore store = new FileCheckpointStore(this.directory))
+		{
+			store.recordIterations("journey", "0", 1, "");
+			store.flush();
+			store.recordIterations("journey", "0", 2, "");
+
+			store.discard("journey");
+			assertTrue(store.load("journey").isEmpty());
+			assertFalse(Files.exists(this.directory.resolve("journey.checkpoint")));
+		}
+	}
+
+	@Test
+	public void testJourneyId_sanitisedForFileName()
+	{
+		try(FileCheckpointStore store = new FileCheckpointStore(this.directory))
+		{
+			store.recordIterations("../journey 1", "0", 1, "");
+		}
+
+		assertTrue(Files.exists(this.directory.resolve(".._journey_1.checkpoint")));
+	}
+}
@@ -0,0 +1,331 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2024 James Amoore.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package io.github.jamoamo.webjourney.api.politeness;
+
+import io.github.jamoamo.webjourney.api.Deadline;
+import io.github.jamoamo.webjourney.api.DeadlineExceededException;
+import io.github.jamoamo.webjourney.api.IRetryPolicy;
+import io.github.jamoamo.webjourney.api.RetryPolicyBuilder;
+import io.github.jamoamo.webjourney.api.web.XNavigationError;
+import java.net.URL;
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ *
+ * @author James Amoore
+ */
+public class PolitenessSchedulerTest
+{
+	@Test
+	public void testAcquire_unlimitedByDefault()
+		throws Exception
+	{
+		PolitenessScheduler scheduler = new PolitenessScheduler();
+		URL url = new URL("https://example.com/page");
+		long start = System.nanoTime();
+		for(int i = 0; i < 50; i++)
+		{
+			scheduler.acquire(url, Deadline.none()).close();
+		}
+		assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) < 500);
+	}
+
+	@Test
+	public void testAcquire_rateLimited()
+		throws Exception
+	{
+		PolitenessScheduler scheduler = new PolitenessScheduler();
+		scheduler.setHostLimits("example.com", HostLimits.of(20, 1, 0));
+		URL url = new URL("https://EXAMPLE.com/page");
+		long start = System.nanoTime();
+		for(int i = 0; i < 5; i++)
+		{
+			scheduler.acquire(url, Deadline.none()).close();
+		}
+		long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+		assertTrue(elapsedMillis >= 180, "Elapsed " + elapsedMillis + "ms");
+	}
+
+	@Test
+	public void testAcquire_burstIsNotDelayed()
+		throws Exception
+	{
+		PolitenessScheduler scheduler = new PolitenessScheduler();
+		scheduler.setDefaultLimits(HostLimits.of(1, 3, 0));
+		URL url = new URL("https://example.com/page");
+		long start = System.nanoTime();
+		for(int i = 0; i < 3; i++)
+		{
+			scheduler.acquire(url, Deadline.none()).close();
+		}
+		assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) < 500);
+	}
+
+	@Test
+	public void testAcquire_otherHostsNotDelayed()
+		throws Exception
+	{
+		PolitenessScheduler scheduler = new PolitenessScheduler();
+		scheduler.setHostLimits("slow.example.com", HostLimits.of(0.5, 1));
+		URL slow = new URL("https://slow.example.com/");
+		URL fast = new URL("https://fast.example.com/");
+
+		PolitenessScheduler.Permit held = scheduler.acquire(slow, Deadline.none());
+		CountDownLatch waiting = new CountDownLatch(1);
+		Thread blocked = Thread.ofVirtual().start(() ->
+		{
+			waiting.countDown();
+			try
+			{
+				scheduler.acquire(slow, Deadline.none()).close();
+			}
+			catch(RuntimeException ex)
+			{
+				// interrupted once the test completes
+			}
+		});
+		waiting.await();
+
+		long start = System.nanoTime();
+		scheduler.acquire(fast, Deadline.none()).close();
+		assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) < 500);
+
+		held.close();
+		blocked.interrupt();
+		blocked.join();
+	}
+
+	@Test
+	public void testAcquire_concurrencyLimited()
+		throws Exception
+	{
+		PolitenessScheduler scheduler = new PolitenessScheduler();
+		scheduler.setHostLimits("example.com", HostLimits.of(0, 1));
+		URL url = new URL("https://example.com/");
+
+		PolitenessScheduler.Permit permit = scheduler.acquire(url, Deadline.none());
+		assertEquals(1, scheduler.getInFlight("example.com"));
+		assertThrows(DeadlineExceededException.class,
+			() -> scheduler.acquire(url, Deadline.after(Duration.ofMillis(50))));
+
+		permit.close();
+		permit.close();
+		assertEquals(0, scheduler.getInFlight("example.com"));
+		scheduler.acquire(url, Deadline.after(Duration.ofMillis(50))).close();
+	}
+
+	@Test
+	public void testAcquire_waitBeyondDeadlineFailsFast()
+		throws Exception
+	{
+		PolitenessScheduler scheduler = new PolitenessScheduler();
+		scheduler.setHostLimits("example.com", HostLimits.of(0.1, 0));
+		URL url = new URL("https://example.com/");
+		scheduler.acquire(url, Deadline.none()).close();
+
+		long start = System.nanoTime();
+		assertThrows(DeadlineExceededException.class,
+			() -> scheduler.acquire(url, Deadline.after(Duration.ofSeconds(1))));
+		assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) < 500);
+	}
+
+	@Test
+	public void testAcquire_urlWithoutHostIsNotScheduled()
+		throws Exception
+	{
+		PolitenessScheduler scheduler = new PolitenessScheduler();
+		scheduler.setDefaultLimits(HostLimits.of(0, 1));
+		URL url = new URL("file:///tmp/page.html");
+		try(PolitenessScheduler.Permit first = scheduler.acquire(url, Deadline.none()))
+		{
+			scheduler.acquire(url, Deadline.after(Duration.ofMillis(10))).close();
+		}
+		scheduler.acquire(null, Deadline.none()).close();
+	}
+
+	@Test
+	public void testSetHostLimits_overridesDefault()
+	{
+		PolitenessScheduler scheduler = new PolitenessScheduler();
+		HostLimits defaults = HostLimits.of(5, 2);
+		HostLimits host = HostLimits.of(1, 1);
+		scheduler.setDefaultLimits(defaults);
+		scheduler.setHostLimits("Example.com", host);
+		assertSame(host, scheduler.getLimits("example.com"));
+		assertSame(defaults, scheduler.getLimits("other.com"));
+
+		scheduler.setHostLimits("example.com", null);
+		assertSame(defaults, scheduler.getLimits("example.com"));
+
+		scheduler.reset();
+		assertSame(HostLimits.unlimited(), scheduler.getLimits("example.com"));
+	}
+
+	@Test
+	public void testAdaptive_increasesAdditively()
+		throws Exception
+	{
+		PolitenessScheduler scheduler = new PolitenessScheduler();
+		scheduler.setHostLimits("example.com", HostLimits.of(0, 4).withAdaptiveConcurrency(1, null));
+		URL url = new URL("https://example.com/");
+		scheduler.acquire(url, Deadline.none()).close();
+		assertEquals(2, concurrencyLimit(scheduler));
+
+		scheduler.acquire(url, Deadline.none()).close();
+		scheduler.acquire(url, Deadline.none()).close();
+		assertEquals(2, concurrencyLimit(scheduler));
+
+		for(int i = 0; i < 20; i++)
+		{
+			scheduler.acquire(url, Deadline.none()).close();
+		}
+		assertEquals(4, concurrencyLimit(scheduler));
+		assertEquals(23, scheduler.getStatistics("example.com").orElseThrow().getSuccesses());
+	}
+
+	@Test
+	public void testAdaptive_failureDecreasesMultiplicatively()
+		throws Exception
+	{
+		PolitenessScheduler scheduler = new PolitenessScheduler();
+		scheduler.setHostLimits("example.com", HostLimits.of(0, 8).withAdaptiveConcurrency(1, null));
+		URL url = new URL("https://example.com/");
+		for(int i = 0; i < 50; i++)
+		{
+			scheduler.acquire(url, Deadline.none()).close();
+		}
+		assertEquals(8, concurrencyLimit(scheduler));
+
+		try(PolitenessScheduler.Permit permit = scheduler.acquire(url, Deadline.none()))
+		{
+			permit.failed(new XNavigationError("net::ERR_CONNECTION_RESET"));
+		}
+		try(PolitenessScheduler.Permit permit = scheduler.acquire(url, Deadline.none()))
+		{
+			permit.failed(new RuntimeException("Second failure in the same round"));
+		}
+
+		HostStatistics statistics = scheduler.getStatistics("example.com").orElseThrow();
+		assertEquals(4, statistics.getConcurrencyLimit());
+		assertEquals(2, statistics.getFailures());
+		assertEquals(1, statistics.getNavigationErrors());
+		assertEquals(1, statistics.getLimitDecreases());
+	}
+
+	@Test
+	public void testAdaptive_slowNavigationDecreases()
+		throws Exception
+	{
+		PolitenessScheduler scheduler = new PolitenessScheduler();
+		scheduler.setHostLimits("example.com", HostLimits.of(0, 8).withAdaptiveConcurrency(2, Duration.ofMillis(10)));
+		URL url = new URL("https://example.com/");
+		for(int i = 0; i < 50; i++)
+		{
+			scheduler.acquire(url, Deadline.none()).close();
+		}
+		assertEquals(8, concurrencyLimit(scheduler));
+
+		try(PolitenessScheduler.Permit permit = scheduler.acquire(url, Deadline.none()))
+		{
+			Thread.sleep(150);
+		}
+		assertEquals(4, concurrencyLimit(scheduler));
+	}
+
+	@Test
+	public void testAdaptive_limitsConcurrentNavigations()
+		throws Exception
+	{
+		PolitenessScheduler scheduler = new PolitenessScheduler();
+		scheduler.setHostLimits("example.com", HostLimits.of(0, 4).withAdaptiveConcurrency(1, null));
+		URL url = new URL("https://example.com/");
+		try(PolitenessScheduler.Permit permit = scheduler.acquire(url, Deadline.none()))
+		{
+			assertThrows(DeadlineExceededException.class,
+				() -> scheduler.acquire(url, Deadline.after(Duration.ofMillis(50))));
+		}
+	}
+
+	@Test
+	public void testRetry_attributedToLastSuccessfulNavigation()
+		throws Exception
+	{
+		String host = "retry-signal-test.example.com";
+		PolitenessScheduler scheduler = PolitenessScheduler.shared();
+		scheduler.setHostLimits(host, HostLimits.of(0, 8).withAdaptiveConcurrency(1, null));
+		try
+		{
+			URL url = new URL("https://" + host + "/");
+			for(int i = 0; i < 50; i++)
+			{
+				scheduler.acquire(url, Deadline.none()).close();
+			}
+			AtomicInteger listened = new AtomicInteger();
+			IRetryPolicy policy = RetryPolicyBuilder.builder()
+				.maxRetries(1)
+				.delay(Duration.ofMillis(1))
+				.onRetry((attempt, failure) -> listened.incrementAndGet())
+				.build();
+			AtomicInteger attempts = new AtomicInteger();
+			policy.execute(() ->
+			{
+				if(attempts.incrementAndGet() == 1)
+				{
+					throw new IllegalStateException("Element not present yet");
+				}
+				return null;
+			});
+
+			HostStatistics statistics = scheduler.getStatistics(host).orElseThrow();
+			assertEquals(1, listened.get());
+			assertEquals(1, statistics.getRetries());
+			assertEquals(4, statistics.getConcurrencyLimit());
+		}
+		finally
+		{
+			scheduler.setHostLimits(host, null);
+		}
+	}
+
+	@Test
+	public void testHostLimits_invalid()
+	{
+		assertThrows(IllegalArgumentException.class, () -> HostLimits.of(-1, 0));
+		assertThrows(IllegalArgumentException.class, () -> HostLimits.of(1, 0, 0));
+		assertThrows(IllegalArgumentException.class, () -> HostLimits.of(1, -1));
+		assertThrows(IllegalArgumentException.class, () -> HostLimits.of(1, 0).withAdaptiveConcurrency(1, null));
+		assertThrows(IllegalArgumentException.class, () -> HostLimits.of(1, 2).withAdaptiveConcurrency(3, null));
+	}
+
+	private static int concurrencyLimit(PolitenessScheduler scheduler)
+	{
+		return scheduler.getStatistics("example.com").orElseThrow().getConcurrencyLimit();
+	}
+}
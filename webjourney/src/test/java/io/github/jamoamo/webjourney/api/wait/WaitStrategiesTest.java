@@ -0,0 +1,231 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2024 James Amoore.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package io.github.jamoamo.webjourney.api.wait;
+
+import io.github.jamoamo.webjourney.api.IJourneyContext;
+import io.github.jamoamo.webjourney.api.web.IBrowser;
+import io.github.jamoamo.webjourney.api.web.IBrowserWindow;
+import io.github.jamoamo.webjourney.api.web.PageLoadStrategy;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.ArgumentMatchers.eq;
+
+/**
+ *
+ * @author James Amoore
+ */
+public class WaitStrategiesTest
+{
+	private IJourneyContext context;
+	private IBrowserWindow window;
+
+	@BeforeEach
+	public void setUp()
+	{
+		this.window = Mockito.mock(IBrowserWindow.class);
+		IBrowser browser = Mockito.mock(IBrowser.class);
+		Mockito.when(browser.getActiveWindow()).thenReturn(this.window);
+		this.context = Mockito.mock(IJourneyContext.class);
+		Mockito.when(this.context.getBrowser()).thenReturn(browser);
+	}
+
+	@Test
+	public void testNone_returnsImmediately()
+		throws InterruptedException
+	{
+		assertTrue(WaitStrategies.none().await(this.context));
+		Mockito.verifyNoInteractions(this.window);
+	}
+
+	@Test
+	public void testFixed_waitsForDuration()
+		throws InterruptedException
+	{
+		long start = System.nanoTime();
+		assertTrue(WaitStrategies.fixed(Duration.ofMillis(100)).await(this.context));
+		assertTrue(Duration.ofNanos(System.nanoTime() - start).toMillis() >= 100);
+	}
+
+	@Test
+	public void testFixed_negativeDurationRejected()
+	{
+		assertThrows(IllegalArgumentException.class, () -> WaitStrategies.fixed(Duration.ofMillis(-1)));
+	}
+
+	@Test
+	public void testMaximumWait()
+	{
+		assertEquals(Duration.ZERO, WaitStrategies.none().getMaximumWait());
+		assertEquals(Duration.ofMillis(300), WaitStrategies.fixed(Duration.ofMillis(300)).getMaximumWait());
+		assertEquals(Duration.ofSeconds(2), WaitStrategies.documentReady(Duration.ofSeconds(2)).getMaximumWait());
+		assertEquals(Duration.ofMillis(2300), WaitStrategies.allOf(WaitStrategies.fixed(Duration.ofMillis(300)),
+			WaitStrategies.documentReady(Duration.ofSeconds(2))).getMaximumWait());
+		assertNull(WaitStrategies.allOf(WaitStrategies.none(), context -> true).getMaximumWait());
+	}
+
+	@Test
+	public void testDocumentReady_returnsOnceComplete()
+		throws InterruptedException
+	{
+		Mockito.when(this.window.executeScript(contains("readyState"))).thenReturn("loading", "interactive", "complete");
+
+		assertTrue(WaitStrategies.documentReady(Duration.ofSeconds(5)).await(this.context));
+		Mockito.verify(this.window, Mockito.times(3)).executeScript(contains("readyState"));
+	}
+
+	@Test
+	public void testDocumentReady_eagerReturnsOnceInteractive()
+		throws InterruptedException
+	{
+		Mockito.when(this.window.getPageLoadStrategy()).thenReturn(PageLoadStrategy.EAGER);
+		Mockito.when(this.window.executeScript(contains("readyState"))).thenReturn("loading", "interactive", "complete");
+
+		assertTrue(WaitStrategies.documentReady(Duration.ofSeconds(5)).await(this.context));
+		Mockito.verify(this.window, Mockito.times(2)).executeScript(contains("readyState"));
+	}
+
+	@Test
+	public void testDocumentReady_timesOut()
+		throws InterruptedException
+	{
+		Mockito.when(this.window.executeScript(contains("readyState"))).thenReturn("loading");
+
+		long start = System.nanoTime();
+		assertFalse(WaitStrategies.documentReady(Duration.ofMillis(150)).await(this.context));
+		long elapsed = Duration.ofNanos(System.nanoTime() - start).toMillis();
+		assertTrue(elapsed >= 150 && elapsed < 2000, "Elapsed " + elapsed);
+	}
+
+	@Test
+	public void testDocumentReady_windowCannotExecuteScripts()
+		throws InterruptedException
+	{
+		Mockito.when(this.window.executeScript(anyString())).thenReturn(null);
+
+		assertTrue(WaitStrategies.documentReady().await(this.context));
+	}
+
+	@Test
+	public void testDocumentReady_noBrowser()
+		throws InterruptedException
+	{
+		Mockito.when(this.context.getBrowser()).thenReturn(null);
+
+		assertTrue(WaitStrategies.documentReady().await(this.context));
+	}
+
+	@Test
+	public void testDocumentReady_scriptErrorRetried()
+		throws InterruptedException
+	{
+		Mockito.when(this.window.executeScript(contains("readyState")))
+			.thenThrow(new RuntimeException("Navigation in progress"))
+			.thenReturn("complete");
+
+		assertTrue(WaitStrategies.documentReady(Duration.ofSeconds(5)).await(this.context));
+	}
+
+	@Test
+	public void testElementPresent_passesXPath()
+		throws InterruptedException
+	{
+		Mockito.when(this.window.executeScript(contains("document.evaluate"), eq("//div[@id='result']")))
+			.thenReturn(false, true);
+
+		assertTrue(WaitStrategies.elementPresent("//div[@id='result']", Duration.ofSeconds(5)).await(this.context));
+	}
+
+	@Test
+	public void testDomStable_waitsForQuietPeriod()
+		throws InterruptedException
+	{
+		Mockito.when(this.window.executeScript(contains("MutationObserver"))).thenReturn(0L, 50L, 250L);
+
+		assertTrue(WaitStrategies.domStable(Duration.ofMillis(200), Duration.ofSeconds(5)).await(this.context));
+		Mockito.verify(this.window, Mockito.times(3)).executeScript(contains("MutationObserver"));
+	}
+
+	@Test
+	public void testNetworkIdle_waitsForPendingRequestsAndIdlePeriod()
+		throws InterruptedException
+	{
+		AtomicInteger polls = new AtomicInteger();
+		Mockito.when(this.window.executeScript(contains("__webjourneyNetwork"))).thenAnswer(invocation ->
+		{
+			int poll = polls.incrementAndGet();
+			if(poll < 3)
+			{
+				return List.of("complete", 1L, 5L);
+			}
+			return List.of("complete", 0L, 6L);
+		});
+
+		long start = System.nanoTime();
+		assertTrue(WaitStrategies.networkIdle(Duration.ofMillis(100), Duration.ofSeconds(5)).await(this.context));
+		assertTrue(Duration.ofNanos(System.nanoTime() - start).toMillis() >= 100);
+		assertTrue(polls.get() > 3);
+	}
+
+	@Test
+	public void testAllOf_waitsForEachStrategy()
+		throws InterruptedException
+	{
+		IWaitStrategy first = Mockito.mock(IWaitStrategy.class);
+		IWaitStrategy second = Mockito.mock(IWaitStrategy.class);
+		Mockito.when(first.await(any())).thenReturn(true);
+		Mockito.when(second.await(any())).thenReturn(false);
+
+		assertFalse(WaitStrategies.allOf(first, second).await(this.context));
+		Mockito.verify(first).await(this.context);
+		Mockito.verify(second).await(this.context);
+	}
+
+	@Test
+	public void testAllOf_sharesTimeout()
+		throws InterruptedException
+	{
+		Mockito.when(this.window.executeScript(contains("readyState"))).thenReturn("loading");
+
+		long start = System.nanoTime();
+		assertFalse(WaitStrategies.allOf(Duration.ofMillis(200), WaitStrategies.documentReady(Duration.ofSeconds(5)),
+			WaitStrategies.documentReady(Duration.ofSeconds(5))).await(this.context));
+		long elapsed = Duration.ofNanos(System.nanoTime() - start).toMillis();
+		assertTrue(elapsed >= 200 && elapsed < 2000, "Elapsed " + elapsed);
+	}
+
+	@Test
+	public void testPageSettled_boundedOverall()
+	{
+		assertEquals(Duration.ofSeconds(2), WaitStrategies.pageSettled().getMaximumWait());
+	}
+}
@@ -0,0 +1,262 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2024 James Amoore.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package io.github.jamoamo.webjourney.api.web;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ *
+ * @author James Amoore
+ */
+public class BrowserCapabilityCacheTest
+{
+	@Test
+	public void testIsAvailable_probesOnceAndExitsProbeBrowser()
+		throws Exception
+	{
+		TestFactory factory = new TestFactory(true);
+		BrowserCapabilityCache cache = new BrowserCapabilityCache(Duration.ofMinutes(10));
+		assertTrue(cache.getCachedAvailability(factory).isEmpty());
+
+		assertTrue(cache.isAvailable(factory).get(5, TimeUnit.SECONDS));
+		assertTrue(cache.isAvailable(factory).isDone());
+		assertEquals(1, factory.creations.get());
+		Mockito.verify(factory.browsers.get(0)).exit();
+		Mockito.verify(factory.browsers.get(0), Mockito.never()).getActiveWindow();
+		assertEquals(true, cache.getCachedAvailability(factory).orElseThrow());
+	}
+
+	@Test
+	public void testIsAvailable_failingFactory()
+		throws Exception
+	{
+		TestFactory failing = new TestFactory(true)
+		{
+			@Override
+			public IBrowser createBrowser(IBrowserOptions options)
+			{
+				this.creations.incrementAndGet();
+				throw new IllegalStateException("no driver");
+			}
+		};
+		TestFactory unresponsive = new TestFactory(false);
+		BrowserCapabilityCache cache = new BrowserCapabilityCache(Duration.ofMinutes(10));
+
+		assertFalse(cache.isAvailable(failing).get(5, TimeUnit.SECONDS));
+		assertFalse(cache.isAvailable(unresponsive).get(5, TimeUnit.SECONDS));
+		Mockito.verify(unresponsive.browsers.get(0)).exit();
+		assertFalse(cache.isAvailable(failing).join());
+		assertEquals(1, failing.creations.get());
+	}
+
+	@Test
+	public void testIsAvailable_factoriesOfSameClassProbedSeparately()
+		throws Exception
+	{
+		TestFactory available = new TestFactory(true);
+		TestFactory unavailable = new TestFactory(false);
+		BrowserCapabilityCache cache = new BrowserCapabilityCache(Duration.ofMinutes(10));
+
+		assertTrue(cache.isAvailable(available).get(5, TimeUnit.SECONDS));
+		assertFalse(cache.isAvailable(unavailable).get(5, TimeUnit.SECONDS));
+		assertEquals(1, available.creations.get());
+		assertEquals(1, unavailable.creations.get());
+	}
+
+	@Test
+	public void testIsAvailable_probeErrorFailsLookup()
+	{
+		TestFactory broken = new TestFactory(true)
+		{
+			@Override
+			public IBrowser createBrowser(IBrowserOptions options)
+			{
+				throw new NoClassDefFoundError("org/openqa/selenium/WebDriver");
+			}
+		};
+		BrowserCapabilityCache cache = new BrowserCapabilityCache(Duration.ofMinutes(10));
+
+		ExecutionException ex = assertThrows(ExecutionException.class,
+			() -> cache.isAvailable(broken).get(5, TimeUnit.SECONDS));
+		assertInstanceOf(NoClassDefFoundError.class, ex.getCause());
+		assertTrue(cache.getCachedAvailability(broken).isEmpty());
+	}
+
+	@Test
+	public void testIsAvailable_concurrentLookupsShareProbe()
+		throws Exception
+	{
+		CountDownLatch release = new CountDownLatch(1);
+		TestFactory slow = new TestFactory(true)
+		{
+			@Override
+			public IBrowser createBrowser(IBrowserOptions options)
+			{
+				try
+				{
+					release.await();
+				}
+				catch(InterruptedException ex)
+				{
+					throw new IllegalStateException(ex);
+				}
+				return super.createBrowser(options);
+			}
+		};
+		BrowserCapabilityCache cache = new BrowserCapabilityCache(Duration.ofMinutes(10));
+		CompletableFuture<Boolean> first = cache.isAvailable(slow);
+		CompletableFuture<Boolean> second = cache.isAvailable(slow);
+		assertFalse(first.isDone());
+		release.countDown();
+		assertTrue(first.get(5, TimeUnit.SECONDS));
+		assertTrue(second.get(5, TimeUnit.SECONDS));
+		assertEquals(1, slow.creations.get());
+	}
+
+	@Test
+	public void testIsAvailable_staleResultRevalidatedInBackground()
+		throws Exception
+	{
+		TestFactory factory = new TestFactory(true);
+		BrowserCapabilityCache cache = new BrowserCapabilityCache(Duration.ofMillis(20));
+		assertTrue(cache.isAvailable(factory).get(5, TimeUnit.SECONDS));
+		factory.healthy = false;
+		Thread.sleep(30);
+
+		CompletableFuture<Boolean> stale = cache.isAvailable(factory);
+		assertTrue(stale.isDone());
+		assertTrue(stale.join());
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+		while(cache.getCachedAvailability(factory).orElseThrow() && System.nanoTime() < deadline)
+		{
+			Thread.sleep(5);
+		}
+		assertFalse(cache.getCachedAvailability(factory).orElseThrow());
+		assertEquals(2, factory.creations.get());
+	}
+
+	@Test
+	public void testMarkUnavailable()
+		throws Exception
+	{
+		TestFactory factory = new TestFactory(true);
+		BrowserCapabilityCache cache = new BrowserCapabilityCache(Duration.ofMinutes(10));
+		assertTrue(cache.isAvailable(factory).get(5, TimeUnit.SECONDS));
+		cache.markUnavailable(factory);
+		assertFalse(cache.isAvailable(factory).join());
+		cache.clear();
+		assertTrue(cache.getCachedAvailability(factory).isEmpty());
+	}
+
+	@Test
+	public void testPriorityBrowserStrategy_usesHighestPriorityAvailableBrowser()
+		throws Exception
+	{
+		TestFactory unavailable = new TestFactory(false);
+		TestFactory available = new TestFactory(true);
+		TestFactory lowest = new TestFactory(true);
+		BrowserCapabilityCache cache = new BrowserCapabilityCache(Duration.ofMinutes(10));
+		PriorityBrowserStrategy strategy = new PriorityBrowserStrategy(
+			new IBrowserFactory[]{unavailable, available, lowest}, cache);
+
+		IBrowser browser = strategy.getPreferredBrowser(new DefaultBrowserOptions());
+		assertSame(available.browsers.get(1), browser);
+		Mockito.verify(browser, Mockito.never()).getActiveWindow();
+		Mockito.verify(browser, Mockito.never()).exit();
+
+		// later journeys do not probe again
+		strategy.getPreferredBrowser(new DefaultBrowserOptions());
+		assertEquals(1, unavailable.creations.get());
+		assertEquals(3, available.creations.get());
+		assertTrue(cache.isAvailable(lowest).get(5, TimeUnit.SECONDS));
+		assertEquals(1, lowest.creations.get());
+	}
+
+	@Test
+	public void testPriorityBrowserStrategy_failedCreationMarksFactoryUnavailable()
+		throws Exception
+	{
+		TestFactory flaky = new TestFactory(true)
+		{
+			@Override
+			public IBrowser createBrowser(IBrowserOptions options)
+			{
+				if(this.creations.get() > 0)
+				{
+					this.creations.incrementAndGet();
+					throw new IllegalStateException("browser crashed");
+				}
+				return super.createBrowser(options);
+			}
+		};
+		TestFactory fallback = new TestFactory(true);
+		BrowserCapabilityCache cache = new BrowserCapabilityCache(Duration.ofMinutes(10));
+		PriorityBrowserStrategy strategy = new PriorityBrowserStrategy(new IBrowserFactory[]{flaky, fallback}, cache);
+
+		assertTrue(fallback.browsers.contains(strategy.getPreferredBrowser(new DefaultBrowserOptions())));
+		assertFalse(cache.getCachedAvailability(flaky).orElseThrow());
+	}
+
+	@Test
+	public void testPriorityBrowserStrategy_noBrowserAvailable()
+	{
+		TestFactory unavailable = new TestFactory(false);
+		PriorityBrowserStrategy strategy = new PriorityBrowserStrategy(new IBrowserFactory[]{unavailable},
+			new BrowserCapabilityCache(Duration.ofMinutes(10)));
+		assertThrows(RuntimeException.class, () -> strategy.getPreferredBrowser(new DefaultBrowserOptions()));
+	}
+
+	private static class TestFactory implements IBrowserFactory
+	{
+		protected final AtomicInteger creations = new AtomicInteger();
+		protected final List<IBrowser> browsers = new CopyOnWriteArrayList<>();
+		protected volatile boolean healthy;
+
+		TestFactory(boolean healthy)
+		{
+			this.healthy = healthy;
+		}
+
+		@Override
+		public IBrowser createBrowser(IBrowserOptions options)
+		{
+			this.creations.incrementAndGet();
+			IBrowser browser = Mockito.mock(IBrowser.class);
+			Mockito.when(browser.isHealthy()).thenReturn(this.healthy);
+			this.browsers.add(browser);
+			return browser;
+		}
+	}
+}
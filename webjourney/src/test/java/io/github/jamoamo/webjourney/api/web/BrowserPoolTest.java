@@ -0,0 +1,383 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2024 James Amoore.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package io.github.jamoamo.webjourney.api.web;
+
+import io.github.jamoamo.webjourney.api.Deadline;
+import io.github.jamoamo.webjourney.api.DeadlineExceededException;
+import io.github.jamoamo.webjourney.api.IJourneyContext;
+import java.time.Duration;
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ *
+ * @author James Amoore
+ */
+public class BrowserPoolTest
+{
+	private final List<IBrowser> created = new CopyOnWriteArrayList<>();
+
+	private final IPreferredBrowserStrategy strategy = new IPreferredBrowserStrategy()
+	{
+		@Override
+		public IBrowser getPreferredBrowser(IBrowserOptions options)
+		{
+			IBrowser browser = Mockito.mock(IBrowser.class);
+			Mockito.when(browser.isHealthy()).thenReturn(true);
+			Mockito.when(browser.reset()).thenReturn(true);
+			BrowserPoolTest.this.created.add(browser);
+			return browser;
+		}
+	};
+
+	@Test
+	public void testLease_reusesReleasedBrowser()
+	{
+		BrowserPool pool = BrowserPool.builder(this.strategy).maxSize(2).build();
+		IBrowser first = pool.lease(new DefaultBrowserOptions(), null);
+		assertEquals(1, pool.getLeasedCount());
+		pool.release(first);
+		assertEquals(0, pool.getLeasedCount());
+		assertEquals(1, pool.getIdleCount());
+
+		IBrowser second = pool.lease(new DefaultBrowserOptions(), null);
+		assertSame(first, second);
+		assertEquals(1, this.created.size());
+		Mockito.verify(first).reset();
+		Mockito.verify(first, Mockito.never()).exit();
+	}
+
+	@Test
+	public void testLease_createsUpToMaxSize()
+	{
+		BrowserPool pool = BrowserPool.builder(this.strategy).maxSize(2).leaseTimeout(Duration.ofMillis(50)).build();
+		IBrowser first = pool.lease(new DefaultBrowserOptions(), null);
+		IBrowser second = pool.lease(new DefaultBrowserOptions(), null);
+		assertNotSame(first, second);
+		assertEquals(2, pool.getSize());
+		assertThrows(BrowserPoolException.class, () -> pool.lease(new DefaultBrowserOptions(), null));
+	}
+
+	@Test
+	public void testLease_waitsForRelease()
+		throws Exception
+	{
+		BrowserPool pool = BrowserPool.builder(this.strategy).maxSize(1).build();
+		IBrowser first = pool.lease(new DefaultBrowserOptions(), null);
+		CompletableFuture<IBrowser> waiting = CompletableFuture.supplyAsync(
+			() -> pool.lease(new DefaultBrowserOptions(), null));
+		Thread.sleep(50);
+		assertFalse(waiting.isDone());
+
+		pool.release(first);
+		assertSame(first, waiting.get(5, TimeUnit.SECONDS));
+	}
+
+	@Test
+	public void testLease_boundedByJourneyDeadline()
+	{
+		BrowserPool pool = BrowserPool.builder(this.strategy).maxSize(1).build();
+		pool.lease(new DefaultBrowserOptions(), null);
+		IJourneyContext context = Mockito.mock(IJourneyContext.class);
+		Mockito.when(context.getDeadline()).thenReturn(Deadline.after(Duration.ofMillis(50)));
+		assertThrows(DeadlineExceededException.class, () -> pool.lease(new DefaultBrowserOptions(), context));
+	}
+
+	@Test
+	public void testLease_evictsUnhealthyBrowser()
+	{
+		BrowserPool pool = BrowserPool.builder(this.strategy).maxSize(1).build();
+		IBrowser first = pool.lease(new DefaultBrowserOptions(), null);
+		pool.release(first);
+		Mockito.when(first.isHealthy()).thenReturn(false);
+
+		IBrowser second = pool.lease(new DefaultBrowserOptions(), null);
+		assertNotSame(first, second);
+		Mockito.verify(first).exit();
+		assertEquals(1, pool.getSize());
+	}
+
+	@Test
+	public void testRelease_evictsBrowserThatCannotBeReset()
+	{
+		BrowserPool pool = BrowserPool.builder(this.strategy).maxSize(1).build();
+		IBrowser browser = pool.lease(new DefaultBrowserOptions(), null);
+		Mockito.when(browser.reset()).thenThrow(new IllegalStateException("session deleted"));
+		pool.release(browser);
+		Mockito.verify(browser).exit();
+		assertEquals(0, pool.getSize());
+		assertEquals(0, pool.getIdleCount());
+	}
+
+	@Test
+	public void testInvalidate_exitsBrowser()
+	{
+		BrowserPool pool = BrowserPool.builder(this.strategy).maxSize(1).build();
+		IBrowser browser = pool.lease(new DefaultBrowserOptions(), null);
+		pool.invalidate(browser);
+		Mockito.verify(browser).exit();
+		assertEquals(0, pool.getSize());
+		assertNotSame(browser, pool.lease(new DefaultBrowserOptions(), null));
+	}
+
+	@Test
+	public void testLease_evictsIdleBrowsersBeyondMinSize()
+		throws Exception
+	{
+		BrowserPool pool = BrowserPool.builder(this.strategy)
+			.minSize(1)
+			.maxSize(3)
+			.maxIdleTime(Duration.ofMillis(20))
+			.build();
+		IBrowser first = pool.lease(new DefaultBrowserOptions(), null);
+		IBrowser second = pool.lease(new DefaultBrowserOptions(), null);
+		pool.release(first);
+		pool.release(second);
+		Thread.sleep(50);
+
+		IBrowser leased = pool.lease(new DefaultBrowserOptions(), null);
+		assertSame(second, leased);
+		Mockito.verify(first).exit();
+		assertEquals(1, pool.getSize());
+	}
+
+	@Test
+	public void testClose_exitsIdleAndReturnedBrowsers()
+	{
+		BrowserPool pool = BrowserPool.builder(this.strategy).maxSize(2).build();
+		IBrowser idle = pool.lease(new DefaultBrowserOptions(), null);
+		IBrowser leased = pool.lease(new DefaultBrowserOptions(), null);
+		pool.release(idle);
+
+		pool.close();
+		Mockito.verify(idle).exit();
+		Mockito.verify(leased, Mockito.never()).exit();
+
+		pool.release(leased);
+		Mockito.verify(leased).exit();
+		assertEquals(0, pool.getSize());
+		assertThrows(BrowserPoolException.class, () -> pool.lease(new DefaultBrowserOptions(), null));
+	}
+
+	@Test
+	public void testWarmUp_createsIdleBrowsersWithBoundedConcurrency()
+		throws Exception
+	{
+		AtomicInteger creating = new AtomicInteger();
+		AtomicInteger maxCreating = new AtomicInteger();
+		IPreferredBrowserStrategy slowStrategy = options ->
+		{
+			maxCreating.accumulateAndGet(creating.incrementAndGet(), Math::max);
+			try
+			{
+				Thread.sleep(50);
+			}
+			catch(InterruptedException ex)
+			{
+				Thread.currentThread().interrupt();
+			}
+			creating.decrementAndGet();
+			return this.strategy.getPreferredBrowser(options);
+		};
+		BrowserPool pool = BrowserPool.builder(slowStrategy).maxSize(6).maxConcurrentCreations(2).build();
+
+		pool.warmUp(8).get(5, TimeUnit.SECONDS);
+		assertEquals(6, pool.getIdleCount());
+		assertEquals(6, this.created.size());
+		assertEquals(2, maxCreating.get());
+	}
+
+	@Test
+	public void testMinIdle_replenishedInBackground()
+		throws Exception
+	{
+		BrowserPool pool = BrowserPool.builder(this.strategy).maxSize(4).minIdle(2).build();
+		awaitIdle(pool, 2);
+
+		IBrowser leased = pool.lease(new DefaultBrowserOptions(), null);
+		awaitIdle(pool, 2);
+		assertEquals(3, pool.getSize());
+
+		pool.invalidate(leased);
+		assertEquals(2, pool.getSize());
+		pool.close();
+		assertEquals(0, pool.getSize());
+	}
+
+	@Test
+	public void testBrowserOptions_usedForEveryBrowser()
+		throws Exception
+	{
+		IBrowserOptions poolOptions = new DefaultBrowserOptions(ResourcePolicy.scrape());
+		List<IBrowserOptions> used = new CopyOnWriteArrayList<>();
+		IPreferredBrowserStrategy recording = options ->
+		{
+			used.add(options);
+			return this.strategy.getPreferredBrowser(options);
+		};
+		BrowserPool pool = BrowserPool.builder(recording).maxSize(2).browserOptions(poolOptions).build();
+		pool.warmUp(1).get(5, TimeUnit.SECONDS);
+
+		pool.lease(new DefaultBrowserOptions(), null);
+		pool.lease(new DefaultBrowserOptions(), null);
+
+		assertEquals(2, used.size());
+		used.forEach(options -> assertSame(poolOptions, options));
+		pool.close();
+	}
+
+	@Test
+	public void testWarmUp_failedCreationReleasesCapacity()
+	{
+		IPreferredBrowserStrategy failing = options ->
+		{
+			throw new IllegalStateException("grid unavailable");
+		};
+		BrowserPool pool = BrowserPool.builder(failing).maxSize(2).build();
+		CompletableFuture<Void> warmUp = pool.warmUp(2);
+		assertThrows(Exception.class, () -> warmUp.get(5, TimeUnit.SECONDS));
+		assertEquals(0, pool.getSize());
+	}
+
+	@Test
+	public void testRecycle_afterMaxJourneysReplacesBeforeExiting()
+		throws Exception
+	{
+		BrowserPool pool = BrowserPool.builder(this.strategy)
+			.maxSize(1)
+			.recyclePolicy(BrowserRecyclePolicy.never().withMaxJourneys(2))
+			.build();
+		IBrowser first = pool.lease(new DefaultBrowserOptions(), null);
+		AtomicInteger createdWhenExited = new AtomicInteger();
+		Mockito.doAnswer(invocation ->
+		{
+			createdWhenExited.set(this.created.size());
+			return null;
+		}).when(first).exit();
+		pool.release(first);
+		assertSame(first, pool.lease(new DefaultBrowserOptions(), null));
+		pool.release(first);
+
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+		while(pool.getRecycledCount() == 0 && System.nanoTime() < deadline)
+		{
+			Thread.sleep(5);
+		}
+		assertEquals(1, pool.getRecycledCount());
+		Mockito.verify(first).exit();
+		assertEquals(2, createdWhenExited.get());
+		assertEquals(1, pool.getSize());
+		assertEquals(1, pool.getIdleCount());
+		assertSame(this.created.get(1), pool.lease(new DefaultBrowserOptions(), null));
+	}
+
+	@Test
+	public void testRecycle_leasedBrowserExitedWhenReturned()
+		throws Exception
+	{
+		CountDownLatch replacementStarted = new CountDownLatch(1);
+		CountDownLatch createReplacement = new CountDownLatch(1);
+		IPreferredBrowserStrategy gated = options ->
+		{
+			if(!this.created.isEmpty())
+			{
+				replacementStarted.countDown();
+				try
+				{
+					createReplacement.await();
+				}
+				catch(InterruptedException ex)
+				{
+					throw new IllegalStateException(ex);
+				}
+			}
+			return this.strategy.getPreferredBrowser(options);
+		};
+		BrowserPool pool = BrowserPool.builder(gated)
+			.maxSize(2)
+			.recyclePolicy(BrowserRecyclePolicy.never().withMaxMemory(1_000))
+			.build();
+		IBrowser browser = pool.lease(new DefaultBrowserOptions(), null);
+		Mockito.when(browser.getMemoryUsage()).thenReturn(OptionalLong.of(5_000));
+		pool.release(browser);
+		assertTrue(replacementStarted.await(5, TimeUnit.SECONDS));
+		assertSame(browser, pool.lease(new DefaultBrowserOptions(), null));
+
+		createReplacement.countDown();
+		awaitIdle(pool, 1);
+		Mockito.verify(browser, Mockito.never()).exit();
+		assertEquals(1, pool.getRecycledCount());
+
+		pool.release(browser);
+		Mockito.verify(browser).exit();
+		assertEquals(1, pool.getSize());
+	}
+
+	@Test
+	public void testRecyclePolicy_limits()
+	{
+		BrowserRecyclePolicy policy = BrowserRecyclePolicy.never()
+			.withMaxJourneys(10)
+			.withMaxAge(Duration.ofMinutes(30))
+			.withMaxMemory(500_000_000L);
+		assertFalse(policy.shouldRecycle(9, Duration.ofMinutes(29), OptionalLong.of(400_000_000L)));
+		assertTrue(policy.shouldRecycle(10, Duration.ZERO, OptionalLong.empty()));
+		assertTrue(policy.shouldRecycle(1, Duration.ofMinutes(30), OptionalLong.empty()));
+		assertTrue(policy.shouldRecycle(1, Duration.ZERO, OptionalLong.of(600_000_000L)));
+		assertFalse(BrowserRecyclePolicy.never().shouldRecycle(1_000, Duration.ofDays(1), OptionalLong.of(Long.MAX_VALUE)));
+		assertThrows(IllegalArgumentException.class, () -> BrowserRecyclePolicy.never().withMaxAge(Duration.ZERO));
+	}
+
+	@Test
+	public void testBuilder_invalidSizes()
+	{
+		assertThrows(IllegalArgumentException.class, () -> BrowserPool.builder(this.strategy).maxSize(0));
+		assertThrows(IllegalArgumentException.class, () -> BrowserPool.builder(this.strategy).minSize(-1));
+		assertThrows(IllegalArgumentException.class,
+			() -> BrowserPool.builder(this.strategy).minSize(3).maxSize(2).build());
+		assertThrows(IllegalArgumentException.class,
+			() -> BrowserPool.builder(this.strategy).minIdle(3).maxSize(2).build());
+		assertThrows(IllegalArgumentException.class, () -> BrowserPool.builder(this.strategy).maxConcurrentCreations(0));
+	}
+
+	private static void awaitIdle(BrowserPool pool, int idle)
+		throws InterruptedException
+	{
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+		while(pool.getIdleCount() < idle && System.nanoTime() < deadline)
+		{
+			Thread.sleep(5);
+		}
+		assertEquals(idle, pool.getIdleCount());
+	}
+}
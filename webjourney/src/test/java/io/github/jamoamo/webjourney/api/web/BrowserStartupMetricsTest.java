@@ -0,0 +1,90 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2024 James Amoore.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package io.github.jamoamo.webjourney.api.web;
+
+import java.time.Duration;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ *
+ * @author James Amoore
+ */
+public class BrowserStartupMetricsTest
+{
+	@Test
+	public void testRecord_histogram()
+	{
+		BrowserStartupMetrics metrics = new BrowserStartupMetrics();
+		for(int i = 0; i < 9; i++)
+		{
+			metrics.record("ChromeBrowserFactory", Duration.ofMillis(700));
+		}
+		metrics.record("ChromeBrowserFactory", Duration.ofSeconds(5));
+		metrics.recordFailure("ChromeBrowserFactory");
+
+		StartupHistogram histogram = metrics.getHistogram("ChromeBrowserFactory").orElseThrow();
+		assertEquals(10, histogram.getCount());
+		assertEquals(1, histogram.getFailures());
+		assertEquals(Duration.ofSeconds(1), histogram.getPercentile(50));
+		assertEquals(Duration.ofSeconds(1), histogram.getPercentile(90));
+		assertEquals(Duration.ofSeconds(5), histogram.getPercentile(99));
+		assertEquals(Duration.ofSeconds(5), histogram.getMax());
+		assertEquals(Duration.ofMillis(1130), histogram.getMean());
+		assertEquals(9, histogram.getBucketCounts()[3]);
+		assertEquals(1, histogram.getBucketCounts()[6]);
+		assertTrue(metrics.getHistogram("FirefoxBrowserFactory").isEmpty());
+	}
+
+	@Test
+	public void testPercentile_empty()
+	{
+		BrowserStartupMetrics metrics = new BrowserStartupMetrics();
+		metrics.recordFailure("RemoteChromeBrowserFactory");
+		StartupHistogram histogram = metrics.getHistogram("RemoteChromeBrowserFactory").orElseThrow();
+		assertEquals(Duration.ZERO, histogram.getPercentile(95));
+		assertThrows(IllegalArgumentException.class, () -> histogram.getPercentile(101));
+	}
+
+	@Test
+	public void testPreferredBrowserStrategy_recordsStartup()
+	{
+		IBrowserFactory factory = new IBrowserFactory()
+		{
+			@Override
+			public IBrowser createBrowser(IBrowserOptions options)
+			{
+				return Mockito.mock(IBrowser.class);
+			}
+		};
+		String factoryName = BrowserStartupMetrics.factoryName(factory);
+		long before = BrowserStartupMetrics.shared().getHistogram(factoryName).map(StartupHistogram::getCount).orElse(0L);
+
+		new PreferredBrowserStrategy(factory).getPreferredBrowser(new DefaultBrowserOptions(), null);
+
+		assertEquals(before + 1, BrowserStartupMetrics.shared().getHistogram(factoryName).orElseThrow().getCount());
+	}
+}
@@ -0,0 +1,74 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2024 James Amoore.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package io.github.jamoamo.webjourney.api.web;
+
+import java.time.Duration;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ *
+ * @author James Amoore
+ */
+public class ElementProbeMetricsTest
+{
+	@Test
+	public void testRecordProbe_timeSaved()
+	{
+		ElementProbeMetrics metrics = new ElementProbeMetrics();
+		metrics.recordProbe(true, Duration.ofMillis(5));
+		for(int i = 0; i < 8; i++)
+		{
+			metrics.recordProbe(false, Duration.ofMillis(10));
+		}
+
+		assertEquals(9, metrics.getProbes());
+		assertEquals(8, metrics.getMisses());
+		assertEquals(Duration.ofMillis(80), metrics.getMissTime());
+		assertEquals(Duration.ofSeconds(80).minusMillis(80), metrics.getTimeSaved());
+
+		metrics.reset();
+		assertEquals(0, metrics.getProbes());
+		assertEquals(Duration.ZERO, metrics.getTimeSaved());
+	}
+
+	@Test
+	public void testRecordProbe_implicitWaitSavesNothing()
+	{
+		ElementProbeMetrics metrics = new ElementProbeMetrics();
+		metrics.recordProbe(false, Duration.ofMillis(10_050));
+
+		assertEquals(Duration.ZERO, metrics.getTimeSaved());
+	}
+
+	@Test
+	public void testElementLookupMode_fromName()
+	{
+		assertEquals(ElementLookupMode.IMPLICIT_WAIT, ElementLookupMode.fromName(null));
+		assertEquals(ElementLookupMode.FAST_FAIL, ElementLookupMode.fromName("fast-fail"));
+		assertEquals(Duration.ZERO, ElementLookupMode.FAST_FAIL.getImplicitWait());
+		assertThrows(IllegalArgumentException.class, () -> ElementLookupMode.fromName("sometimes"));
+	}
+}
@@ -0,0 +1,225 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2024 James Amoore.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package io.github.jamoamo.webjourney.api.web;
+
+import com.sun.net.httpserver.HttpServer;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ *
+ * @author James Amoore
+ */
+class GridHealthMonitorTest
+{
+	private static final String UNREACHABLE_HUB_1 = "http://127.0.0.1:1/wd/hub";
+	private static final String UNREACHABLE_HUB_2 = "http://127.0.0.1:2/wd/hub";
+	private static final String STATUS = """
+		{"value": {"ready": true, "nodes": [{"availability": "UP", "maxSessions": 2, "slots": [
+		  {"session": null, "stereotype": {"browserName": "chrome"}},
+		  {"session": null, "stereotype": {"browserName": "chrome"}}
+		]}]}}
+		""";
+
+	@Test
+	void testDefaultMonitorUsesPlatformThreads()
+	{
+		assertFalse(new GridHealthMonitor().isUsingVirtualThreads());
+	}
+
+	@Test
+	void testVirtualThreadMonitorChecksAllHubsOnVirtualThreads()
+		throws InterruptedException
+	{
+		GridHealthMonitor monitor = new GridHealthMonitor(true);
+		monitor.addHub(UNREACHABLE_HUB_1);
+		monitor.addHub(UNREACHABLE_HUB_2);
+
+		CountDownLatch checked = new CountDownLatch(2);
+		Set<String> checkedHubs = ConcurrentHashMap.newKeySet();
+		Set<Boolean> virtualThreads = ConcurrentHashMap.newKeySet();
+		monitor.registerHealthListener(new GridHealthListener()
+		{
+			@Override
+			public void onHubAvailable(GridStatus status)
+			{
+			}
+
+			@Override
+			public void onHubUnavailable(GridStatus status)
+			{
+			}
+
+			@Override
+			public void onStatusUpdate(GridStatus previousStatus, GridStatus currentStatus)
+			{
+				virtualThreads.add(Thread.currentThread().isVirtual());
+				if(checkedHubs.add(currentStatus.getHubUrl()))
+				{
+					checked.countDown();
+				}
+			}
+		});
+
+		monitor.startMonitoring(Duration.ofMinutes(1));
+		try
+		{
+			assertTrue(checked.await(20, TimeUnit.SECONDS));
+			assertEquals(Set.of(UNREACHABLE_HUB_1, UNREACHABLE_HUB_2), checkedHubs);
+			assertEquals(Set.of(true), virtualThreads);
+			assertFalse(monitor.getHubStatus(UNREACHABLE_HUB_1).isAvailable());
+		}
+		finally
+		{
+			monitor.stopMonitoring();
+		}
+		assertFalse(monitor.isMonitoring());
+	}
+
+	@Test
+	void testRestartMonitoringWithVirtualThreads()
+	{
+		GridHealthMonitor monitor = new GridHealthMonitor(true);
+		monitor.startMonitoring(Duration.ofSeconds(30));
+		monitor.startMonitoring(Duration.ofSeconds(10));
+		assertTrue(monitor.isMonitoring());
+		monitor.stopMonitoring();
+		assertFalse(monitor.isMonitoring());
+	}
+
+	@Test
+	void testSharedMonitor()
+	{
+		assertSame(GridHealthMonitor.shared(), GridHealthMonitor.shared());
+	}
+
+	@Test
+	void testHubMonitoredUntilRemovedByEveryUser()
+	{
+		GridHealthMonitor monitor = new GridHealthMonitor();
+		monitor.addHub(UNREACHABLE_HUB_1);
+		monitor.addHub(UNREACHABLE_HUB_1);
+		monitor.addHub(UNREACHABLE_HUB_2);
+
+		monitor.removeHub(UNREACHABLE_HUB_1);
+		monitor.removeHub(UNREACHABLE_HUB_2);
+		assertEquals(Set.of(UNREACHABLE_HUB_1), monitor.getMonitoredHubs());
+
+		monitor.removeHub(UNREACHABLE_HUB_1);
+		assertTrue(monitor.getMonitoredHubs().isEmpty());
+	}
+
+	@Test
+	void testStaleStatusIsServedWhileRevalidating()
+		throws Exception
+	{
+		AtomicInteger requests = new AtomicInteger();
+		CountDownLatch release = new CountDownLatch(1);
+		HttpServer server = startHub(requests, release);
+		String hubUrl = "http://127.0.0.1:" + server.getAddress().getPort() + "/wd/hub";
+		GridHealthMonitor monitor = new GridHealthMonitor(false, Duration.ofMillis(50));
+		try
+		{
+			// the first lookup of a hub waits for its check
+			GridStatus first = monitor.getHubStatus(hubUrl);
+			assertTrue(first.isAvailable());
+			assertEquals(2, first.getCapacity().getFreeSlots("chrome"));
+			assertEquals(1, requests.get());
+
+			// later checks hang until released, but lookups keep serving the cached status
+			Thread.sleep(80);
+			long start = System.nanoTime();
+			assertSame(first, monitor.getHubStatus(hubUrl));
+			assertTrue(monitor.isHubAvailable(hubUrl));
+			assertTrue(System.nanoTime() - start < TimeUnit.MILLISECONDS.toNanos(500));
+
+			CompletableFuture<GridStatus> revalidation = monitor.checkHub(hubUrl);
+			assertSame(revalidation, monitor.checkHub(hubUrl));
+			release.countDown();
+			GridStatus second = revalidation.get(5, TimeUnit.SECONDS);
+			assertNotSame(first, second);
+			assertEquals(2, requests.get());
+			assertSame(second, monitor.getHubStatus(hubUrl));
+		}
+		finally
+		{
+			release.countDown();
+			server.stop(0);
+		}
+	}
+
+	@Test
+	void testCheckHubReportsUnreachableHub()
+		throws Exception
+	{
+		GridHealthMonitor monitor = new GridHealthMonitor();
+		GridStatus status = monitor.checkHub(UNREACHABLE_HUB_1).get(20, TimeUnit.SECONDS);
+		assertFalse(status.isAvailable());
+		assertNull(status.getCapacity());
+		assertEquals(1, status.getConsecutiveFailures());
+		assertEquals(2, monitor.checkHub(UNREACHABLE_HUB_1).get(20, TimeUnit.SECONDS).getConsecutiveFailures());
+	}
+
+	private static HttpServer startHub(AtomicInteger requests, CountDownLatch release)
+		throws IOException
+	{
+		HttpServer server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+		server.setExecutor(Executors.newCachedThreadPool());
+		server.createContext("/status", exchange ->
+		{
+			if(requests.incrementAndGet() > 1)
+			{
+				try
+				{
+					release.await(10, TimeUnit.SECONDS);
+				}
+				catch(InterruptedException ex)
+				{
+					Thread.currentThread().interrupt();
+				}
+			}
+			byte[] body = STATUS.getBytes(StandardCharsets.UTF_8);
+			exchange.sendResponseHeaders(200, body.length);
+			try(OutputStream out = exchange.getResponseBody())
+			{
+				out.write(body);
+			}
+		});
+		server.start();
+		return server;
+	}
+}
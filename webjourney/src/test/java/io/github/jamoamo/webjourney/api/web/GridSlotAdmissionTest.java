@@ -0,0 +1,171 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2024 James Amoore.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package io.github.jamoamo.webjourney.api.web;
+
+import io.github.jamoamo.webjourney.api.Deadline;
+import io.github.jamoamo.webjourney.api.DeadlineExceededException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ *
+ * @author James Amoore
+ */
+public class GridSlotAdmissionTest
+{
+	private static final String HUB_1 = "http://hub-1:4444/wd/hub";
+	private static final String HUB_2 = "http://hub-2:4444/wd/hub";
+
+	@Test
+	public void testAdmit_choosesFirstHubWithFreeSlot()
+	{
+		IRemoteBrowserFactory hub1 = factory(HUB_1, "chrome");
+		IRemoteBrowserFactory hub2 = factory(HUB_2, "chrome");
+		Map<String, GridStatus> statuses = Map.of(
+			HUB_1, status(HUB_1, 1, 1),
+			HUB_2, status(HUB_2, 2, 1));
+		GridSlotAdmission admission = GridSlotAdmission.rejectWhenFull();
+
+		assertSame(hub2, admission.admit(List.of(hub1, hub2), statuses::get, Deadline.none()));
+		// the admitted session takes hub 2's last slot until the next status is reported
+		assertNull(admission.admit(List.of(hub1, hub2), statuses::get, Deadline.none()));
+		admission.release(hub2);
+		assertSame(hub2, admission.admit(List.of(hub1, hub2), statuses::get, Deadline.none()));
+	}
+
+	@Test
+	public void testAdmit_newStatusResetsLocalAccounting()
+	{
+		IRemoteBrowserFactory hub = factory(HUB_1, "chrome");
+		GridSlotAdmission admission = GridSlotAdmission.rejectWhenFull();
+		GridStatus first = status(HUB_1, 1, 0);
+
+		assertSame(hub, admission.admit(List.of(hub), url -> first, Deadline.none()));
+		assertNull(admission.admit(List.of(hub), url -> first, Deadline.none()));
+
+		GridStatus second = new GridStatus(HUB_1, 1, first.getLastChecked().plusSeconds(1), capacity(2, 1));
+		assertSame(hub, admission.admit(List.of(hub), url -> second, Deadline.none()));
+	}
+
+	@Test
+	public void testAdmit_unknownCapacityIsAdmitted()
+	{
+		IRemoteBrowserFactory hub = factory(HUB_1, "chrome");
+		GridSlotAdmission admission = GridSlotAdmission.rejectWhenFull();
+
+		assertSame(hub, admission.admit(List.of(hub), url -> null, Deadline.none()));
+		assertSame(hub, admission.admit(List.of(hub), url -> new GridStatus(url, 1, Instant.now()), Deadline.none()));
+	}
+
+	@Test
+	public void testAdmit_admitWhenFullUsesFirstHub()
+	{
+		IRemoteBrowserFactory hub1 = factory(HUB_1, "chrome");
+		IRemoteBrowserFactory hub2 = factory(HUB_2, "chrome");
+		Function<String, GridStatus> full = url -> status(url, 1, 1);
+
+		assertSame(hub1, GridSlotAdmission.admitWhenFull().admit(List.of(hub1, hub2), full, Deadline.none()));
+	}
+
+	@Test
+	public void testAdmit_queueWaitsForReleasedSlot()
+		throws Exception
+	{
+		IRemoteBrowserFactory hub = factory(HUB_1, "chrome");
+		GridStatus status = status(HUB_1, 1, 0);
+		GridSlotAdmission admission = GridSlotAdmission.queueWhenFull(Duration.ofSeconds(10), Duration.ofSeconds(10));
+		assertSame(hub, admission.admit(List.of(hub), url -> status, Deadline.none()));
+
+		CompletableFuture<IRemoteBrowserFactory> queued = CompletableFuture.supplyAsync(
+			() -> admission.admit(List.of(hub), url -> status, Deadline.none()));
+		Thread.sleep(100);
+		assertFalse(queued.isDone());
+		admission.release(hub);
+		assertSame(hub, queued.get(5, TimeUnit.SECONDS));
+	}
+
+	@Test
+	public void testAdmit_queueTimesOut()
+	{
+		IRemoteBrowserFactory hub = factory(HUB_1, "chrome");
+		GridSlotAdmission admission = GridSlotAdmission.queueWhenFull(Duration.ofMillis(50), Duration.ofMillis(10));
+
+		long start = System.nanoTime();
+		assertNull(admission.admit(List.of(hub), url -> status(HUB_1, 1, 1), Deadline.none()));
+		assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(50));
+
+		assertThrows(DeadlineExceededException.class,
+			() -> admission.admit(List.of(hub), url -> status(HUB_1, 1, 1), Deadline.after(Duration.ofMillis(20))));
+	}
+
+	@Test
+	public void testHubAwareBrowserStrategy_fallsBackWhenGridIsFull()
+	{
+		IRemoteBrowserFactory remote = factory(HUB_1, "chrome");
+		IBrowserFactory local = Mockito.mock(IBrowserFactory.class);
+		IBrowser localBrowser = Mockito.mock(IBrowser.class);
+		Mockito.when(local.createBrowser(Mockito.any())).thenReturn(localBrowser);
+		IGridHealthMonitor monitor = Mockito.mock(IGridHealthMonitor.class);
+		Mockito.when(monitor.isHubAvailable(HUB_1)).thenReturn(true);
+		Mockito.when(monitor.getHubStatus(HUB_1)).thenReturn(status(HUB_1, 1, 0));
+		HubAwareBrowserStrategy strategy = new HubAwareBrowserStrategy(remote, local, true, monitor);
+
+		IBrowser remoteBrowser = strategy.getPreferredBrowser(new DefaultBrowserOptions());
+		assertNotSame(localBrowser, remoteBrowser);
+		assertSame(localBrowser, strategy.getPreferredBrowser(new DefaultBrowserOptions()));
+		Mockito.verify(remote, Mockito.times(1)).createBrowser(Mockito.any());
+
+		remoteBrowser.exit();
+		assertNotSame(localBrowser, strategy.getPreferredBrowser(new DefaultBrowserOptions()));
+		Mockito.verify(remote, Mockito.times(2)).createBrowser(Mockito.any());
+	}
+
+	private static IRemoteBrowserFactory factory(String hubUrl, String browserName)
+	{
+		IRemoteBrowserFactory factory = Mockito.mock(IRemoteBrowserFactory.class);
+		Mockito.when(factory.getHubConfiguration()).thenReturn(HubConfiguration.builder().withUrl(hubUrl).build());
+		Mockito.when(factory.getBrowserName()).thenReturn(browserName);
+		Mockito.when(factory.createBrowser(Mockito.any())).thenAnswer(invocation -> Mockito.mock(IBrowser.class));
+		return factory;
+	}
+
+	private static GridStatus status(String hubUrl, int chromeSlots, int usedChromeSlots)
+	{
+		return new GridStatus(hubUrl, 1, Instant.parse("2024-01-01T00:00:00Z"), capacity(chromeSlots, usedChromeSlots));
+	}
+
+	private static GridCapacity capacity(int chromeSlots, int usedChromeSlots)
+	{
+		return new GridCapacity(true, 1, Map.of("chrome", chromeSlots), Map.of("chrome", usedChromeSlots));
+	}
+}
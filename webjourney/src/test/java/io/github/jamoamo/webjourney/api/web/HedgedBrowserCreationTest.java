@@ -0,0 +1,171 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2024 James Amoore.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package io.github.jamoamo.webjourney.api.web;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ *
+ * @author James Amoore
+ */
+public class HedgedBrowserCreationTest
+{
+	@Test
+	public void testFastPrimaryIsNotHedged()
+	{
+		IBrowser primary = Mockito.mock(IBrowser.class);
+		AtomicInteger hedges = new AtomicInteger();
+
+		IBrowser browser = HedgedBrowserCreation.create(() -> primary, () ->
+		{
+			hedges.incrementAndGet();
+			return Mockito.mock(IBrowser.class);
+		}, Duration.ofSeconds(5), true);
+
+		assertSame(primary, browser);
+		assertEquals(0, hedges.get());
+		Mockito.verify(primary, Mockito.never()).exit();
+	}
+
+	@Test
+	public void testSlowPrimaryIsHedgedAndExited() throws InterruptedException
+	{
+		IBrowser primary = Mockito.mock(IBrowser.class);
+		IBrowser hedge = Mockito.mock(IBrowser.class);
+		CountDownLatch release = new CountDownLatch(1);
+
+		IBrowser browser = HedgedBrowserCreation.create(delayed(primary, release), () -> hedge,
+			Duration.ofMillis(50), true);
+		assertSame(hedge, browser);
+
+		release.countDown();
+		Mockito.verify(primary, Mockito.timeout(5000)).exit();
+		Mockito.verify(hedge, Mockito.never()).exit();
+	}
+
+	@Test
+	public void testFailedPrimaryIsHedgedStraightAway()
+	{
+		IBrowser hedge = Mockito.mock(IBrowser.class);
+		Supplier<IBrowser> failing = () ->
+		{
+			throw new HubConnectionException("refused");
+		};
+
+		assertSame(hedge, HedgedBrowserCreation.create(failing, () -> hedge, Duration.ofSeconds(30), true));
+		assertThrows(HubConnectionException.class,
+			() -> HedgedBrowserCreation.create(failing, () -> hedge, Duration.ofSeconds(30), false));
+	}
+
+	@Test
+	public void testBothFailing()
+	{
+		CountDownLatch release = new CountDownLatch(1);
+		Supplier<IBrowser> slowFailure = () ->
+		{
+			await(release);
+			throw new HubConnectionException("refused");
+		};
+
+		IllegalStateException ex = assertThrows(IllegalStateException.class,
+			() -> HedgedBrowserCreation.create(slowFailure, () ->
+			{
+				release.countDown();
+				throw new IllegalStateException("no local browser");
+			}, Duration.ofMillis(10), true));
+		assertEquals(1, ex.getSuppressed().length);
+	}
+
+	@Test
+	public void testHedgingPolicy_delay()
+	{
+		HedgingPolicy policy = HedgingPolicy.atPercentile(90).withMinimumSamples(2)
+			.withInitialDelay(Duration.ofSeconds(3));
+		BrowserStartupMetrics metrics = new BrowserStartupMetrics();
+		metrics.record("remote", Duration.ofMillis(900));
+
+		assertEquals(Duration.ofSeconds(3), policy.getHedgeDelay(null));
+		assertEquals(Duration.ofSeconds(3), policy.getHedgeDelay(metrics.getHistogram("remote").orElseThrow()));
+		metrics.record("remote", Duration.ofMillis(1500));
+		assertEquals(Duration.ofMillis(1500), policy.getHedgeDelay(metrics.getHistogram("remote").orElseThrow()));
+		assertFalse(HedgingPolicy.disabled().isEnabled());
+		assertThrows(IllegalArgumentException.class, () -> HedgingPolicy.atPercentile(0));
+	}
+
+	@Test
+	public void testHubAwareBrowserStrategy_hedgesSlowRemoteSession()
+	{
+		CountDownLatch release = new CountDownLatch(1);
+		IBrowser remoteBrowser = Mockito.mock(IBrowser.class);
+		IRemoteBrowserFactory remote = Mockito.mock(IRemoteBrowserFactory.class);
+		Mockito.when(remote.getHubConfiguration())
+			.thenReturn(HubConfiguration.builder().withUrl("http://hub:4444/wd/hub").build());
+		Mockito.when(remote.createBrowser(Mockito.any())).thenAnswer(invocation ->
+		{
+			await(release);
+			return remoteBrowser;
+		});
+		IBrowser localBrowser = Mockito.mock(IBrowser.class);
+		IBrowserFactory local = Mockito.mock(IBrowserFactory.class);
+		Mockito.when(local.createBrowser(Mockito.any())).thenReturn(localBrowser);
+		IGridHealthMonitor monitor = Mockito.mock(IGridHealthMonitor.class);
+		Mockito.when(monitor.isHubAvailable(Mockito.anyString())).thenReturn(true);
+		HubAwareBrowserStrategy strategy = new HubAwareBrowserStrategy(remote, local, true, monitor,
+			GridSlotAdmission.admitWhenFull(), CircuitBreakerPolicy.defaults(),
+			HedgingPolicy.atPercentile(50).withMinimumSamples(1000).withInitialDelay(Duration.ofMillis(50)));
+
+		assertSame(localBrowser, strategy.getPreferredBrowser(new DefaultBrowserOptions()));
+		release.countDown();
+		Mockito.verify(remoteBrowser, Mockito.timeout(5000)).exit();
+	}
+
+	private static Supplier<IBrowser> delayed(IBrowser browser, CountDownLatch release)
+	{
+		return () ->
+		{
+			await(release);
+			return browser;
+		};
+	}
+
+	private static void await(CountDownLatch latch)
+	{
+		try
+		{
+			assertTrue(latch.await(10, TimeUnit.SECONDS));
+		}
+		catch(InterruptedException ex)
+		{
+			Thread.currentThread().interrupt();
+		}
+	}
+}
@@ -0,0 +1,198 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2024 James Amoore.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package io.github.jamoamo.webjourney.api.web;
+
+import java.time.Duration;
+import java.time.Instant;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ *
+ * @author James Amoore
+ */
+public class HubCircuitBreakerTest
+{
+	private static final String HUB_URL = "http://hub:4444/wd/hub";
+
+	@Test
+	public void testOpensAfterConsecutiveFailures()
+	{
+		HubCircuitBreaker breaker = new HubCircuitBreaker(HUB_URL,
+			CircuitBreakerPolicy.defaults().withFailureThreshold(3));
+
+		breaker.onFailure();
+		breaker.onFailure();
+		breaker.onSuccess(Duration.ofMillis(10));
+		breaker.onFailure();
+		breaker.onFailure();
+		assertEquals(HubCircuitBreaker.State.CLOSED, breaker.getState());
+		assertTrue(breaker.tryAcquire());
+
+		breaker.onFailure();
+		assertEquals(HubCircuitBreaker.State.OPEN, breaker.getState());
+		assertFalse(breaker.allowsRequests());
+		assertFalse(breaker.tryAcquire());
+	}
+
+	@Test
+	public void testSlowSessionCountsAsFailure()
+	{
+		HubCircuitBreaker breaker = new HubCircuitBreaker(HUB_URL, CircuitBreakerPolicy.defaults()
+			.withFailureThreshold(2)
+			.withSlowSessionThreshold(Duration.ofSeconds(5)));
+
+		breaker.onSuccess(Duration.ofSeconds(6));
+		assertEquals(1, breaker.getConsecutiveFailures());
+		breaker.onSuccess(Duration.ofSeconds(6));
+		assertEquals(HubCircuitBreaker.State.OPEN, breaker.getState());
+	}
+
+	@Test
+	public void testHalfOpenLetsLimitedProbesThrough() throws InterruptedException
+	{
+		HubCircuitBreaker breaker = new HubCircuitBreaker(HUB_URL, CircuitBreakerPolicy.defaults()
+			.withFailureThreshold(1)
+			.withOpenDuration(Duration.ofMillis(50))
+			.withHalfOpenProbes(2));
+
+		breaker.onFailure();
+		assertFalse(breaker.tryAcquire());
+		Thread.sleep(60);
+		assertEquals(HubCircuitBreaker.State.HALF_OPEN, breaker.getState());
+		assertTrue(breaker.tryAcquire());
+		assertTrue(breaker.tryAcquire());
+		assertFalse(breaker.tryAcquire());
+
+		breaker.releaseUnused();
+		assertTrue(breaker.allowsRequests());
+		breaker.onFailure();
+		assertEquals(HubCircuitBreaker.State.OPEN, breaker.getState());
+
+		Thread.sleep(60);
+		assertTrue(breaker.tryAcquire());
+		breaker.onSuccess(Duration.ofMillis(10));
+		assertEquals(HubCircuitBreaker.State.CLOSED, breaker.getState());
+		assertEquals(0, breaker.getConsecutiveFailures());
+	}
+
+	@Test
+	public void testFollowsHealthEvents()
+	{
+		HubCircuitBreaker breaker = new HubCircuitBreaker(HUB_URL, CircuitBreakerPolicy.defaults());
+
+		breaker.onHubUnavailable(new GridStatus("http://other:4444", Instant.now(), "down", 1));
+		assertEquals(HubCircuitBreaker.State.CLOSED, breaker.getState());
+
+		breaker.onHubUnavailable(new GridStatus(HUB_URL, Instant.now(), "down", 1));
+		assertEquals(HubCircuitBreaker.State.OPEN, breaker.getState());
+
+		breaker.onHubAvailable(new GridStatus(HUB_URL, 10, Instant.now()));
+		assertEquals(HubCircuitBreaker.State.HALF_OPEN, breaker.getState());
+	}
+
+	@Test
+	public void testDisabledPolicyNeverOpens()
+	{
+		HubCircuitBreaker breaker = new HubCircuitBreaker(HUB_URL, CircuitBreakerPolicy.disabled());
+		for(int i = 0; i < 10; i++)
+		{
+			breaker.onFailure();
+		}
+		breaker.onHubUnavailable(new GridStatus(HUB_URL, Instant.now(), "down", 1));
+		assertEquals(HubCircuitBreaker.State.CLOSED, breaker.getState());
+		assertTrue(breaker.tryAcquire());
+	}
+
+	@Test
+	public void testPolicy_invalidValues()
+	{
+		assertThrows(IllegalArgumentException.class, () -> CircuitBreakerPolicy.defaults().withFailureThreshold(-1));
+		assertThrows(IllegalArgumentException.class, () -> CircuitBreakerPolicy.defaults().withHalfOpenProbes(0));
+		assertThrows(IllegalArgumentException.class,
+			() -> CircuitBreakerPolicy.defaults().withOpenDuration(Duration.ZERO));
+		assertThrows(IllegalArgumentException.class,
+			() -> CircuitBreakerPolicy.defaults().withSlowSessionThreshold(Duration.ofSeconds(-1)));
+		assertFalse(CircuitBreakerPolicy.defaults().withFailureThreshold(0).isEnabled());
+	}
+
+	@Test
+	public void testHubAwareBrowserStrategy_skipsHubWhileOpen()
+	{
+		IRemoteBrowserFactory remote = Mockito.mock(IRemoteBrowserFactory.class);
+		Mockito.when(remote.getHubConfiguration()).thenReturn(HubConfiguration.builder().withUrl(HUB_URL).build());
+		Mockito.when(remote.createBrowser(Mockito.any())).thenThrow(new HubConnectionException("refused"));
+		IBrowserFactory local = Mockito.mock(IBrowserFactory.class);
+		IBrowser localBrowser = Mockito.mock(IBrowser.class);
+		Mockito.when(local.createBrowser(Mockito.any())).thenReturn(localBrowser);
+		IGridHealthMonitor monitor = Mockito.mock(IGridHealthMonitor.class);
+		Mockito.when(monitor.isHubAvailable(HUB_URL)).thenReturn(true);
+		HubAwareBrowserStrategy strategy = new HubAwareBrowserStrategy(remote, local, true, monitor,
+			GridSlotAdmission.admitWhenFull(), CircuitBreakerPolicy.defaults().withFailureThreshold(2));
+		Mockito.verify(monitor).registerHealthListener(strategy.getCircuitBreaker());
+
+		for(int i = 0; i < 5; i++)
+		{
+			assertSame(localBrowser, strategy.getPreferredBrowser(new DefaultBrowserOptions()));
+		}
+		Mockito.verify(remote, Mockito.times(2)).createBrowser(Mockito.any());
+		assertEquals(HubCircuitBreaker.State.OPEN, strategy.getCircuitBreaker().getState());
+
+		strategy.shutdown();
+		strategy.shutdown();
+		Mockito.verify(monitor).unregisterHealthListener(strategy.getCircuitBreaker());
+		Mockito.verify(monitor).addHub(HUB_URL);
+		Mockito.verify(monitor).removeHub(HUB_URL);
+	}
+
+	@Test
+	public void testHubLoadBalancer_skipsHubWithOpenBreaker()
+	{
+		IRemoteBrowserFactory failing = Mockito.mock(IRemoteBrowserFactory.class);
+		Mockito.when(failing.getHubConfiguration()).thenReturn(HubConfiguration.builder().withUrl(HUB_URL).build());
+		Mockito.when(failing.createBrowser(Mockito.any(), Mockito.any()))
+			.thenThrow(new HubConnectionException("refused"));
+		IRemoteBrowserFactory healthy = Mockito.mock(IRemoteBrowserFactory.class);
+		Mockito.when(healthy.getHubConfiguration())
+			.thenReturn(HubConfiguration.builder().withUrl("http://other:4444/wd/hub").build());
+		Mockito.when(healthy.createBrowser(Mockito.any(), Mockito.any())).thenReturn(Mockito.mock(IBrowser.class));
+		HubLoadBalancer balancer = HubLoadBalancer.builder()
+			.addHub(failing, 10)
+			.addHub(healthy)
+			.healthMonitor(null)
+			.circuitBreakerPolicy(CircuitBreakerPolicy.defaults().withFailureThreshold(1))
+			.build();
+
+		for(int i = 0; i < 3; i++)
+		{
+			assertNotNull(balancer.createBrowser(new DefaultBrowserOptions()));
+		}
+		Mockito.verify(failing, Mockito.times(1)).createBrowser(Mockito.any(), Mockito.any());
+		assertEquals(HubCircuitBreaker.State.OPEN, balancer.getCircuitBreaker(HUB_URL).getState());
+		assertEquals(1, balancer.selectFactories().size());
+		assertTrue(balancer.hasAvailableHub());
+	}
+}
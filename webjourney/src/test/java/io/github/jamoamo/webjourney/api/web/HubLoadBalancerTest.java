@@ -0,0 +1,336 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2024 James Amoore.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package io.github.jamoamo.webjourney.api.web;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ *
+ * @author James Amoore
+ */
+public class HubLoadBalancerTest
+{
+	private static final String HUB_1 = "http://hub-1:4444/wd/hub";
+	private static final String HUB_2 = "http://hub-2:4444/wd/hub";
+	private static final String HUB_3 = "http://hub-3:4444/wd/hub";
+
+	@Test
+	public void testBuild_registersHubsWithMonitor()
+	{
+		TestMonitor monitor = new TestMonitor();
+		HubLoadBalancer balancer = HubLoadBalancer.builder()
+			.addHub(new TestHubFactory(HUB_1))
+			.addHub(new TestHubFactory(HUB_2), 2)
+			.healthMonitor(monitor)
+			.build();
+
+		assertEquals(List.of(HUB_1, HUB_2), balancer.getHubUrls());
+		assertEquals(Set.of(HUB_1, HUB_2), monitor.hubs);
+		assertTrue(monitor.isMonitoring());
+		assertEquals(1, monitor.listeners.size());
+
+		balancer.shutdown();
+		assertFalse(monitor.isMonitoring());
+		assertTrue(monitor.listeners.isEmpty());
+		assertTrue(monitor.hubs.isEmpty());
+	}
+
+	@Test
+	public void testBuilder_invalidHubs()
+	{
+		assertThrows(IllegalStateException.class, () -> HubLoadBalancer.builder().build());
+		assertThrows(IllegalArgumentException.class,
+			() -> HubLoadBalancer.builder().addHub(new TestHubFactory(HUB_1), 0));
+		assertThrows(IllegalArgumentException.class,
+			() -> HubLoadBalancer.builder().addHub(new TestHubFactory(HUB_1)).addHub(new TestHubFactory(HUB_1)));
+	}
+
+	@Test
+	public void testLeastOutstanding_spreadsSessionsByWeight()
+	{
+		TestHubFactory hub1 = new TestHubFactory(HUB_1);
+		TestHubFactory hub2 = new TestHubFactory(HUB_2);
+		HubLoadBalancer balancer = HubLoadBalancer.builder()
+			.addHub(hub1)
+			.addHub(hub2, 2)
+			.healthMonitor(null)
+			.build();
+
+		List<IBrowser> browsers = new ArrayList<>();
+		for(int i = 0; i < 6; i++)
+		{
+			browsers.add(balancer.createBrowser(new DefaultBrowserOptions()));
+		}
+		assertEquals(2, balancer.getOutstandingSessions(HUB_1));
+		assertEquals(4, balancer.getOutstandingSessions(HUB_2));
+		assertEquals(2, hub1.creations.get());
+		assertEquals(4, hub2.creations.get());
+
+		browsers.get(0).exit();
+		browsers.get(0).exit();
+		assertEquals(1, balancer.getOutstandingSessions(HUB_1));
+		Mockito.verify(hub1.browsers.get(0), Mockito.times(2)).exit();
+		assertSame(hub1, balancer.selectFactories().get(0));
+	}
+
+	@Test
+	public void testPowerOfTwoChoices_spreadsSessionsEvenly()
+	{
+		HubLoadBalancer balancer = HubLoadBalancer.builder()
+			.addHub(new TestHubFactory(HUB_1))
+			.addHub(new TestHubFactory(HUB_2))
+			.addHub(new TestHubFactory(HUB_3))
+			.selectionPolicy(HubLoadBalancer.SelectionPolicy.POWER_OF_TWO_CHOICES)
+			.healthMonitor(null)
+			.build();
+
+		for(int i = 0; i < 300; i++)
+		{
+			balancer.createBrowser(new DefaultBrowserOptions());
+		}
+		for(String hub : List.of(HUB_1, HUB_2, HUB_3))
+		{
+			int outstanding = balancer.getOutstandingSessions(hub);
+			assertTrue(outstanding >= 90 && outstanding <= 110, hub + " has " + outstanding + " sessions");
+		}
+	}
+
+	@Test
+	public void testUnhealthyHubIsDrained()
+	{
+		TestMonitor monitor = new TestMonitor();
+		TestHubFactory hub1 = new TestHubFactory(HUB_1);
+		TestHubFactory hub2 = new TestHubFactory(HUB_2);
+		HubLoadBalancer balancer = HubLoadBalancer.builder()
+			.addHub(hub1)
+			.addHub(hub2)
+			.healthMonitor(monitor)
+			.build();
+		IBrowser onHub1 = balancer.createBrowser(new DefaultBrowserOptions());
+
+		monitor.report(new GridStatus(HUB_1, Instant.now(), "Hub not responding", 1));
+		assertTrue(balancer.isDraining(HUB_1));
+		assertFalse(balancer.getHubStatus(HUB_1).isAvailable());
+		for(int i = 0; i < 3; i++)
+		{
+			balancer.createBrowser(new DefaultBrowserOptions());
+		}
+		assertEquals(1, hub1.creations.get());
+		assertEquals(3, hub2.creations.get());
+
+		onHub1.exit();
+		assertEquals(0, balancer.getOutstandingSessions(HUB_1));
+
+		monitor.report(new GridStatus(HUB_2, Instant.now(), "Hub not responding", 1));
+		assertFalse(balancer.hasAvailableHub());
+		NoAvailableHubException ex = assertThrows(NoAvailableHubException.class,
+			() -> balancer.createBrowser(new DefaultBrowserOptions()));
+		assertEquals(List.of(HUB_1, HUB_2), ex.getAttemptedHubs());
+
+		monitor.report(new GridStatus(HUB_1, 10, Instant.now()));
+		assertFalse(balancer.isDraining(HUB_1));
+		balancer.createBrowser(new DefaultBrowserOptions());
+		assertEquals(2, hub1.creations.get());
+	}
+
+	@Test
+	public void testFailedSessionTriesNextHub()
+	{
+		TestHubFactory failing = new TestHubFactory(HUB_1)
+		{
+			@Override
+			public IBrowser createBrowser(IBrowserOptions options)
+			{
+				this.creations.incrementAndGet();
+				throw new HubConnectionException("no slots");
+			}
+		};
+		TestHubFactory hub2 = new TestHubFactory(HUB_2);
+		HubLoadBalancer balancer = HubLoadBalancer.builder()
+			.addHub(failing)
+			.addHub(hub2)
+			.healthMonitor(null)
+			.build();
+
+		IBrowser browser = balancer.createBrowser(new DefaultBrowserOptions());
+		assertNotNull(browser);
+		assertEquals(1, failing.creations.get());
+		assertEquals(0, balancer.getOutstandingSessions(HUB_1));
+		assertEquals(1, balancer.getOutstandingSessions(HUB_2));
+	}
+
+	@Test
+	public void testHubAwareBrowserStrategy_fallsBackWhenNoHubAvailable()
+	{
+		TestMonitor monitor = new TestMonitor();
+		TestHubFactory hub1 = new TestHubFactory(HUB_1);
+		IBrowserFactory localFactory = Mockito.mock(IBrowserFactory.class);
+		IBrowser localBrowser = Mockito.mock(IBrowser.class);
+		Mockito.when(localFactory.createBrowser(Mockito.any())).thenReturn(localBrowser);
+		HubLoadBalancer balancer = HubLoadBalancer.builder()
+			.addHub(hub1)
+			.healthMonitor(monitor)
+			.build();
+		HubAwareBrowserStrategy strategy = new HubAwareBrowserStrategy(balancer, localFactory, true);
+
+		assertSame(balancer, strategy.getLoadBalancer());
+		assertSame(monitor, strategy.getHealthMonitor());
+		assertNotSame(localBrowser, strategy.getPreferredBrowser(new DefaultBrowserOptions()));
+		assertEquals(1, hub1.creations.get());
+
+		monitor.report(new GridStatus(HUB_1, Instant.now(), "Hub not responding", 1));
+		assertSame(localBrowser, strategy.getPreferredBrowser(new DefaultBrowserOptions()));
+		assertEquals(1, hub1.creations.get());
+
+		strategy.shutdown();
+		assertFalse(monitor.isMonitoring());
+	}
+
+	private static class TestHubFactory implements IRemoteBrowserFactory
+	{
+		protected final AtomicInteger creations = new AtomicInteger();
+		protected final List<IBrowser> browsers = new CopyOnWriteArrayList<>();
+		private final IHubConfiguration configuration;
+
+		TestHubFactory(String hubUrl)
+		{
+			this.configuration = HubConfiguration.builder().withUrl(hubUrl).build();
+		}
+
+		@Override
+		public IBrowser createBrowser(IBrowserOptions options)
+		{
+			this.creations.incrementAndGet();
+			IBrowser browser = Mockito.mock(IBrowser.class);
+			this.browsers.add(browser);
+			return browser;
+		}
+
+		@Override
+		public IHubConfiguration getHubConfiguration()
+		{
+			return this.configuration;
+		}
+
+		@Override
+		public boolean isHubAvailable()
+		{
+			return true;
+		}
+	}
+
+	private static class TestMonitor implements IGridHealthMonitor
+	{
+		private final Set<String> hubs = new CopyOnWriteArraySet<>();
+		private final List<GridHealthListener> listeners = new CopyOnWriteArrayList<>();
+		private volatile boolean monitoring;
+
+		void report(GridStatus status)
+		{
+			for(GridHealthListener listener : this.listeners)
+			{
+				listener.onStatusUpdate(null, status);
+				if(status.isAvailable())
+				{
+					listener.onHubAvailable(status);
+				}
+				else
+				{
+					listener.onHubUnavailable(status);
+				}
+			}
+		}
+
+		@Override
+		public boolean isHubAvailable(String hubUrl)
+		{
+			return true;
+		}
+
+		@Override
+		public GridStatus getHubStatus(String hubUrl)
+		{
+			return new GridStatus(hubUrl, 1, Instant.now());
+		}
+
+		@Override
+		public void registerHealthListener(GridHealthListener listener)
+		{
+			this.listeners.add(listener);
+		}
+
+		@Override
+		public void unregisterHealthListener(GridHealthListener listener)
+		{
+			this.listeners.remove(listener);
+		}
+
+		@Override
+		public void startMonitoring()
+		{
+			this.monitoring = true;
+		}
+
+		@Override
+		public void startMonitoring(Duration interval)
+		{
+			this.monitoring = true;
+		}
+
+		@Override
+		public void stopMonitoring()
+		{
+			this.monitoring = false;
+		}
+
+		@Override
+		public boolean isMonitoring()
+		{
+			return this.monitoring;
+		}
+
+		@Override
+		public void addHub(String hubUrl)
+		{
+			this.hubs.add(hubUrl);
+		}
+
+		@Override
+		public void removeHub(String hubUrl)
+		{
+			this.hubs.remove(hubUrl);
+		}
+	}
+}
@@ -0,0 +1,107 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2024 James Amoore.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package io.github.jamoamo.webjourney.api.web;
+
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ *
+ * @author James Amoore
+ */
+public class ResourcePolicyTest
+{
+	@Test
+	public void testAllowAll_blocksNothing()
+	{
+		ResourcePolicy policy = ResourcePolicy.allowAll();
+
+		assertFalse(policy.isBlocking());
+		assertTrue(policy.getBlockedTypes().isEmpty());
+		assertTrue(policy.getUrlPatterns().isEmpty());
+		assertFalse(policy.blocks("https://example.com/logo.png"));
+		assertFalse(policy.blocks((String) null));
+	}
+
+	@Test
+	public void testScrape_blocksImagesFontsMediaAndTrackers()
+	{
+		ResourcePolicy policy = ResourcePolicy.scrape();
+
+		assertTrue(policy.isBlocking());
+		assertEquals(Set.of(ResourcePolicy.ResourceType.IMAGE, ResourcePolicy.ResourceType.FONT,
+			ResourcePolicy.ResourceType.MEDIA), policy.getBlockedTypes());
+		assertTrue(policy.isTrackersBlocked());
+		assertTrue(policy.blocks("https://example.com/images/logo.PNG"));
+		assertTrue(policy.blocks("https://example.com/fonts/body.woff2?v=3"));
+		assertTrue(policy.blocks("https://example.com/intro.mp4#t=10"));
+		assertTrue(policy.blocks("https://www.google-analytics.com/analytics.js"));
+		assertFalse(policy.blocks("https://example.com/index.html"));
+		assertFalse(policy.blocks("https://example.com/site.css"));
+		assertFalse(policy.blocks("https://example.com/app.js"));
+	}
+
+	@Test
+	public void testWithBlockedUrlPatterns()
+	{
+		ResourcePolicy policy = ResourcePolicy.allowAll()
+			.withBlockedUrlPatterns("*://ads.example.com/*", "*://ads.example.com/*");
+
+		assertEquals(List.of("*://ads.example.com/*"), policy.getBlockedUrlPatterns());
+		assertEquals(List.of("*://ads.example.com/*"), policy.getUrlPatterns());
+		assertTrue(policy.blocks("https://ads.example.com/banner?id=1"));
+		assertFalse(policy.blocks("https://www.example.com/ads.example.com"));
+		assertThrows(IllegalArgumentException.class, () -> policy.withBlockedUrlPatterns(" "));
+	}
+
+	@Test
+	public void testPoliciesAreImmutable()
+	{
+		ResourcePolicy images = ResourcePolicy.allowAll().withBlockedTypes(ResourcePolicy.ResourceType.IMAGE);
+		ResourcePolicy withStylesheets = images.withBlockedTypes(ResourcePolicy.ResourceType.STYLESHEET);
+
+		assertFalse(ResourcePolicy.allowAll().isBlocking());
+		assertFalse(images.blocks(ResourcePolicy.ResourceType.STYLESHEET));
+		assertTrue(withStylesheets.blocks(ResourcePolicy.ResourceType.STYLESHEET));
+		assertTrue(withStylesheets.getUrlPatterns().containsAll(List.of("*.css", "*.css?*", "*.css#*")));
+		assertThrows(UnsupportedOperationException.class,
+			() -> images.getBlockedTypes().add(ResourcePolicy.ResourceType.FONT));
+		assertEquals(ResourcePolicy.scrape(), ResourcePolicy.scrape());
+		assertEquals(ResourcePolicy.scrape().hashCode(), ResourcePolicy.scrape().hashCode());
+		assertNotEquals(ResourcePolicy.scrape(), ResourcePolicy.scrape().withTrackersBlocked(false));
+	}
+
+	@Test
+	public void testBrowserOptionsCarryPolicy()
+	{
+		assertSame(ResourcePolicy.allowAll(), new DefaultBrowserOptions().getResourcePolicy());
+		assertEquals(ResourcePolicy.scrape(), new DefaultBrowserOptions(ResourcePolicy.scrape()).getResourcePolicy());
+		assertEquals(ResourcePolicy.scrape(),
+			new StandardBrowserOptions(true, true, ResourcePolicy.scrape()).getResourcePolicy());
+		assertThrows(NullPointerException.class, () -> new DefaultBrowserOptions(null));
+	}
+}
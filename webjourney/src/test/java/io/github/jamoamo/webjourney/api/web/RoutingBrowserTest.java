@@ -0,0 +1,184 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2024 James Amoore.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package io.github.jamoamo.webjourney.api.web;
+
+import java.net.URL;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ *
+ * @author James Amoore
+ */
+public class RoutingBrowserTest
+{
+	private static final String LISTING = "https://example.com/players";
+	private static final String DETAIL = "https://example.com/players/1";
+
+	private IBrowser dynamicBrowser;
+	private IBrowser staticBrowser;
+	private IBrowserWindow dynamicWindow;
+	private IBrowserWindow staticWindow;
+	private IWebPage dynamicPage;
+	private IWebPage staticPage;
+
+	@BeforeEach
+	public void setUp()
+	{
+		this.dynamicBrowser = Mockito.mock(IBrowser.class);
+		this.staticBrowser = Mockito.mock(IBrowser.class);
+		this.dynamicWindow = Mockito.mock(IBrowserWindow.class);
+		this.staticWindow = Mockito.mock(IBrowserWindow.class);
+		this.dynamicPage = Mockito.mock(IWebPage.class);
+		this.staticPage = Mockito.mock(IWebPage.class);
+		Mockito.when(this.dynamicBrowser.getActiveWindow()).thenReturn(this.dynamicWindow);
+		Mockito.when(this.staticBrowser.getActiveWindow()).thenReturn(this.staticWindow);
+		Mockito.when(this.dynamicWindow.getName()).thenReturn("window-1");
+		Mockito.when(this.dynamicWindow.getCurrentPage()).thenReturn(this.dynamicPage);
+		Mockito.when(this.staticWindow.getCurrentPage()).thenReturn(this.staticPage);
+		Mockito.when(this.dynamicWindow.navigateToUrl(Mockito.any(), Mockito.any(), Mockito.any()))
+			.thenReturn(this.dynamicPage);
+		Mockito.when(this.staticWindow.navigateToUrl(Mockito.any(), Mockito.any(), Mockito.any()))
+			.thenReturn(this.staticPage);
+	}
+
+	private IBrowser createBrowser(PageRoutingPolicy policy)
+	{
+		IBrowserFactory dynamicFactory = Mockito.mock(IBrowserFactory.class);
+		IBrowserFactory staticFactory = Mockito.mock(IBrowserFactory.class);
+		Mockito.when(dynamicFactory.createBrowser(Mockito.any(), Mockito.any())).thenReturn(this.dynamicBrowser);
+		Mockito.when(staticFactory.createBrowser(Mockito.any(), Mockito.any())).thenReturn(this.staticBrowser);
+		return new RoutingBrowserFactory(dynamicFactory, staticFactory, policy)
+			.createBrowser(new DefaultBrowserOptions());
+	}
+
+	private static ICookie cookie(String name, String value)
+	{
+		ICookie cookie = Mockito.mock(ICookie.class);
+		Mockito.when(cookie.getName()).thenReturn(name);
+		Mockito.when(cookie.getValue()).thenReturn(value);
+		Mockito.when(cookie.getDomain()).thenReturn("example.com");
+		Mockito.when(cookie.getPath()).thenReturn("/");
+		return cookie;
+	}
+
+	@Test
+	public void testPolicy_routesByPatternAndAnnotation()
+	{
+		PageRoutingPolicy policy = PageRoutingPolicy.dynamicByDefault()
+			.withStaticUrlPatterns("*://example.com/players/*")
+			.withDynamicUrlPatterns("*/players/live*");
+
+		assertTrue(policy.isStatic(DETAIL, false));
+		assertFalse(policy.isStatic(LISTING, false));
+		assertTrue(policy.isStatic(LISTING, true));
+		assertFalse(policy.isStatic("https://example.com/players/live", true));
+		assertTrue(PageRoutingPolicy.staticByDefault().isStatic(LISTING, false));
+		assertFalse(PageRoutingPolicy.staticByDefault().withDynamicUrlPatterns(LISTING).isStatic(LISTING, false));
+		assertEquals(policy, PageRoutingPolicy.dynamicByDefault()
+			.withStaticUrlPatterns("*://example.com/players/*", "*://example.com/players/*")
+			.withDynamicUrlPatterns("*/players/live*"));
+		assertThrows(IllegalArgumentException.class, () -> policy.withStaticUrlPatterns(" "));
+	}
+
+	@Test
+	public void testNavigation_routesStaticPagesToHttpBrowser() throws Exception
+	{
+		IBrowser browser = createBrowser(PageRoutingPolicy.dynamicByDefault().withStaticUrlPatterns("*/players/*"));
+		IBrowserWindow window = browser.getActiveWindow();
+		assertSame(window, browser.getActiveWindow());
+		assertEquals("window-1", window.getName());
+
+		assertSame(this.dynamicPage, window.navigateToUrl(new URL(LISTING)));
+		assertSame(this.staticPage, window.navigateToUrl(new URL(DETAIL)));
+		Mockito.verify(this.dynamicWindow).navigateToUrl(new URL(LISTING), null, null);
+		Mockito.verify(this.staticWindow).navigateToUrl(new URL(DETAIL), null, null);
+		assertSame(this.staticPage, window.getCurrentPage());
+
+		assertSame(this.dynamicPage, window.navigateBack());
+		Mockito.verify(this.staticWindow).navigateBack();
+		Mockito.verify(this.dynamicWindow, Mockito.never()).navigateBack();
+		assertSame(this.dynamicPage, window.getCurrentPage());
+
+		assertSame(this.staticPage, window.navigateForward());
+		Mockito.verify(this.staticWindow).navigateForward();
+		Mockito.verify(this.dynamicWindow, Mockito.never()).navigateForward();
+	}
+
+	@Test
+	public void testNavigateToStaticUrl_usesHttpBrowserUnlessDynamic() throws Exception
+	{
+		IBrowser browser = createBrowser(PageRoutingPolicy.dynamicByDefault().withDynamicUrlPatterns(LISTING));
+		IBrowserWindow window = browser.getActiveWindow();
+
+		window.navigateToStaticUrl(new URL(DETAIL), "//h1", null);
+		Mockito.verify(this.staticWindow).navigateToUrl(new URL(DETAIL), "//h1", null);
+
+		window.navigateToStaticUrl(new URL(LISTING), null, null);
+		Mockito.verify(this.dynamicWindow).navigateToUrl(new URL(LISTING), null, null);
+	}
+
+	@Test
+	public void testCookiesAreBridged() throws Exception
+	{
+		ICookie session = cookie("session", "abc");
+		ICookie tracking = cookie("visited", "1");
+		Mockito.when(this.dynamicBrowser.getCookies()).thenReturn(List.of(session));
+		Mockito.when(this.staticBrowser.getCookies()).thenReturn(List.of(), List.of(session, tracking));
+		IBrowser browser = createBrowser(PageRoutingPolicy.dynamicByDefault().withStaticUrlPatterns("*/players/*"));
+		IBrowserWindow window = browser.getActiveWindow();
+
+		window.navigateToUrl(new URL(LISTING));
+		window.navigateToUrl(new URL(DETAIL));
+		Mockito.verify(this.staticBrowser).addCookies(List.of(session));
+
+		window.navigateBack();
+		Mockito.verify(this.dynamicBrowser).addCookies(List.of(tracking));
+
+		window.navigateToUrl(new URL(DETAIL + "/stats"));
+		window.navigateBack();
+		Mockito.verify(this.staticBrowser, Mockito.times(2)).addCookies(List.of(session));
+		Mockito.verify(this.dynamicBrowser, Mockito.times(1)).addCookies(Mockito.any());
+	}
+
+	@Test
+	public void testExitAndReset()
+	{
+		IBrowser browser = createBrowser(PageRoutingPolicy.staticByDefault());
+		Mockito.when(this.dynamicBrowser.reset()).thenReturn(true);
+		Mockito.when(this.staticBrowser.reset()).thenReturn(true);
+		Mockito.when(this.dynamicBrowser.isHealthy()).thenReturn(true);
+		Mockito.when(this.staticBrowser.isHealthy()).thenReturn(false);
+
+		assertTrue(browser.reset());
+		assertFalse(browser.isHealthy());
+		browser.exit();
+		Mockito.verify(this.dynamicBrowser).exit();
+		Mockito.verify(this.staticBrowser).exit();
+	}
+}
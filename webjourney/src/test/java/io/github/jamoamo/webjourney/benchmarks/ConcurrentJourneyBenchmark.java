@@ -0,0 +1,164 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2024 James Amoore.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package io.github.jamoamo.webjourney.benchmarks;
+
+import io.github.jamoamo.webjourney.JourneyResult;
+import io.github.jamoamo.webjourney.TravelOptions;
+import io.github.jamoamo.webjourney.WebTraveller;
+import io.github.jamoamo.webjourney.api.IJourney;
+import io.github.jamoamo.webjourney.api.IJourneyContext;
+import io.github.jamoamo.webjourney.api.web.IBrowser;
+import io.github.jamoamo.webjourney.api.web.IBrowserOptions;
+import io.github.jamoamo.webjourney.api.web.IBrowserWindow;
+import io.github.jamoamo.webjourney.api.web.IPreferredBrowserStrategy;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * JMH load benchmark for travelling many remote journeys concurrently.
+ *
+ * <p>Each journey simulates a remote session: a number of blocking round trips of fixed latency, as a
+ * {@code RemoteWebDriver} command to a grid would be. The benchmark compares platform and virtual thread execution
+ * at increasing concurrency; with virtual threads the time per batch should stay close to the latency of a single
+ * journey, while platform threads are limited by the cost of creating and scheduling one thread per journey.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 2, time = 2, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 3, time = 5, timeUnit = TimeUnit.SECONDS)
+@Fork(1)
+public class ConcurrentJourneyBenchmark
+{
+    private static final int ROUND_TRIPS_PER_JOURNEY = 10;
+    private static final long ROUND_TRIP_MILLIS = 5;
+
+    @Param({"64", "512", "2048"})
+    private int concurrency;
+
+    @Param({"false", "true"})
+    private boolean virtualThreads;
+
+    private WebTraveller traveller;
+    private IJourney journey;
+
+    @Setup
+    public void setup()
+    {
+        TravelOptions options = new TravelOptions();
+        options.setMaxConcurrentJourneys(this.concurrency);
+        options.setUseVirtualThreads(this.virtualThreads);
+        options.setPreferredBrowserStrategy(new SimulatedRemoteBrowserStrategy());
+        this.traveller = new WebTraveller(options);
+        this.journey = this::simulateRemoteJourney;
+    }
+
+    /**
+     * Travels one full batch of journeys, one per concurrency slot.
+     */
+    @Benchmark
+    public List<JourneyResult> travelBatch()
+    {
+        return this.traveller.travelJourneys(IntStream.range(0, this.concurrency).mapToObj(i -> this.journey));
+    }
+
+    private void simulateRemoteJourney(IJourneyContext context)
+    {
+        for(int i = 0; i < ROUND_TRIPS_PER_JOURNEY; i++)
+        {
+            roundTrip();
+        }
+    }
+
+    private static void roundTrip()
+    {
+        try
+        {
+            Thread.sleep(ROUND_TRIP_MILLIS);
+        }
+        catch(InterruptedException ex)
+        {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static final class SimulatedRemoteBrowserStrategy implements IPreferredBrowserStrategy
+    {
+        @Override
+        public IBrowser getPreferredBrowser(IBrowserOptions options)
+        {
+            roundTrip();
+            return new SimulatedRemoteBrowser();
+        }
+    }
+
+    private static final class SimulatedRemoteBrowser implements IBrowser
+    {
+        @Override
+        public IBrowserWindow getActiveWindow()
+        {
+            return null;
+        }
+
+        @Override
+        public IBrowserWindow switchToWindow(String windowName)
+        {
+            return null;
+        }
+
+        @Override
+        public IBrowserWindow openNewWindow()
+        {
+            return null;
+        }
+
+        @Override
+        public void exit()
+        {
+            roundTrip();
+        }
+    }
+
+    // ========================================
+    // Main Method for Standalone Execution
+    // ========================================
+
+    public static void main(String[] args) throws RunnerException
+    {
+        Options opt = new OptionsBuilder()
+            .include(ConcurrentJourneyBenchmark.class.getSimpleName())
+            .forks(1)
+            .build();
+
+        new Runner(opt).run();
+    }
+}
@@ -0,0 +1,344 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2024 James Amoore.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package io.github.jamoamo.webjourney.benchmarks;
+
+import io.github.jamoamo.webjourney.JourneyBuilder;
+import io.github.jamoamo.webjourney.TravelOptions;
+import io.github.jamoamo.webjourney.WebTraveller;
+import io.github.jamoamo.webjourney.annotation.form.Button;
+import io.github.jamoamo.webjourney.annotation.form.Form;
+import io.github.jamoamo.webjourney.annotation.form.TextField;
+import io.github.jamoamo.webjourney.api.IJourney;
+import io.github.jamoamo.webjourney.api.IJourneyBuilder;
+import io.github.jamoamo.webjourney.api.wait.WaitStrategies;
+import io.github.jamoamo.webjourney.api.web.AElement;
+import io.github.jamoamo.webjourney.api.web.IBrowser;
+import io.github.jamoamo.webjourney.api.web.IBrowserOptions;
+import io.github.jamoamo.webjourney.api.web.IBrowserWindow;
+import io.github.jamoamo.webjourney.api.web.IPreferredBrowserStrategy;
+import io.github.jamoamo.webjourney.api.web.IWebPage;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.net.URL;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * JMH benchmarks for travelling a built journey repeatedly.
+ *
+ * <p>The journey completes a form, clicks a button and takes a conditional branch against a browser that does no
+ * work, so the measurement is the framework's own overhead per run. {@link #travelBuiltJourney()} reuses one built
+ * journey, whose reflection and branch building were resolved at build time.
+ * {@link #buildAndTravelJourney()} builds the journey for every run, which approximates the per-run cost before
+ * journeys were compiled.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 2, timeUnit = TimeUnit.SECONDS)
+@Fork(1)
+public class JourneyPlanBenchmark
+{
+    private WebTraveller traveller;
+    private SearchForm form;
+    private IJourney builtJourney;
+
+    @Setup
+    public void setup()
+    {
+        TravelOptions options = new TravelOptions();
+        options.setPreferredBrowserStrategy(new NoOpBrowserStrategy());
+        this.traveller = new WebTraveller(options);
+        this.form = new SearchForm();
+        this.builtJourney = buildJourney();
+    }
+
+    @Benchmark
+    public void travelBuiltJourney()
+    {
+        this.traveller.travelJourney(this.builtJourney);
+    }
+
+    @Benchmark
+    public void buildAndTravelJourney()
+    {
+        this.traveller.travelJourney(buildJourney());
+    }
+
+    private IJourney buildJourney()
+    {
+        Function<IBrowser, Boolean> condition = browser -> true;
+        Function<IJourneyBuilder, IJourney> ifTrue = builder -> builder.completeFormAndSubmit(this.form).build();
+        Function<IJourneyBuilder, IJourney> ifFalse =
+            builder -> builder.clickButton(SearchForm.class, "searchButton").build();
+        return JourneyBuilder.path()
+            .completeForm(this.form)
+                .withDefaultPreActionWait(WaitStrategies.none())
+                .withDefaultPostActionWait(WaitStrategies.none())
+            .clickButton(SearchForm.class, "searchButton")
+            .conditionalJourney(condition, ifTrue, ifFalse)
+            .build();
+    }
+
+    /**
+     * A form used by the benchmark journey.
+     */
+    @Form(submit = "//input[@type='submit']")
+    public static class SearchForm
+    {
+        @TextField(xPath = "//input[@name='query']")
+        private String query = "query";
+
+        @TextField(xPath = "//input[@name='category']")
+        private String category = "category";
+
+        @Button(xPath = "//button[@id='search']")
+        private Object searchButton;
+
+        public String getQuery()
+        {
+            return this.query;
+        }
+
+        public String getCategory()
+        {
+            return this.category;
+        }
+    }
+
+    private static final class NoOpBrowserStrategy implements IPreferredBrowserStrategy
+    {
+        private final IBrowser browser = new NoOpBrowser();
+
+        @Override
+        public IBrowser getPreferredBrowser(IBrowserOptions options)
+        {
+            return this.browser;
+        }
+    }
+
+    private static final class NoOpBrowser implements IBrowser
+    {
+        private final IBrowserWindow window = new NoOpWindow();
+
+        @Override
+        public IBrowserWindow getActiveWindow()
+        {
+            return this.window;
+        }
+
+        @Override
+        public IBrowserWindow switchToWindow(String windowName)
+        {
+            return this.window;
+        }
+
+        @Override
+        public IBrowserWindow openNewWindow()
+        {
+            return this.window;
+        }
+
+        @Override
+        public void exit()
+        {
+        }
+    }
+
+    private static final class NoOpWindow implements IBrowserWindow
+    {
+        private final IWebPage page = new NoOpPage();
+
+        @Override
+        public String getCurrentUrl()
+        {
+            return "about:blank";
+        }
+
+        @Override
+        public IWebPage getCurrentPage()
+        {
+            return this.page;
+        }
+
+        @Override
+        public IWebPage refreshCurrentPage()
+        {
+            return this.page;
+        }
+
+        @Override
+        public void close()
+        {
+        }
+
+        @Override
+        public String getName()
+        {
+            return "window";
+        }
+
+        @Override
+        public String getTitle()
+        {
+            return "";
+        }
+
+        @Override
+        public IWebPage navigateToUrl(URL url)
+        {
+            return this.page;
+        }
+
+        @Override
+        public IWebPage navigateBack()
+        {
+            return this.page;
+        }
+
+        @Override
+        public IWebPage navigateForward()
+        {
+            return this.page;
+        }
+    }
+
+    private static final class NoOpPage implements IWebPage
+    {
+        private final AElement element = new NoOpElement();
+
+        @Override
+        public AElement getElement(String xPath)
+        {
+            return this.element;
+        }
+
+        @Override
+        public AElement getElement(String xPath, boolean optional)
+        {
+            return this.element;
+        }
+
+        @Override
+        public List<? extends AElement> getElements(String xPath)
+        {
+            return Collections.singletonList(this.element);
+        }
+
+        @Override
+        public List<? extends AElement> getElementsByTag(String tag)
+        {
+            return Collections.singletonList(this.element);
+        }
+    }
+
+    private static final class NoOpElement extends AElement
+    {
+        @Override
+        public String getAttribute(String attribute)
+        {
+            return "";
+        }
+
+        @Override
+        public String getElementText()
+        {
+            return "";
+        }
+
+        @Override
+        public AElement findElement(String path)
+        {
+            return this;
+        }
+
+        @Override
+        public AElement findElement(String path, boolean optional)
+        {
+            return this;
+        }
+
+        @Override
+        public List<? extends AElement> findElements(String path)
+        {
+            return Collections.singletonList(this);
+        }
+
+        @Override
+        public void click()
+        {
+        }
+
+        @Override
+        public void enterText(String text)
+        {
+        }
+
+        @Override
+        public List<? extends AElement> getChildrenByTag(String childElementType)
+        {
+            return Collections.emptyList();
+        }
+
+        @Override
+        public String getTag()
+        {
+            return "div";
+        }
+
+        @Override
+        public boolean exists()
+        {
+            return true;
+        }
+
+        @Override
+        public List<String> getTextNodeValues(String xPath)
+        {
+            return Collections.emptyList();
+        }
+    }
+
+    // ========================================
+    // Main Method for Standalone Execution
+    // ========================================
+
+    public static void main(String[] args) throws RunnerException
+    {
+        Options opt = new OptionsBuilder()
+            .include(JourneyPlanBenchmark.class.getSimpleName())
+            .forks(1)
+            .build();
+
+        new Runner(opt).run();
+    }
+}
@@ -0,0 +1,90 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2024 James Amoore.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package io.github.jamoamo.webjourney.benchmarks;
+
+import io.github.jamoamo.webjourney.api.web.DefaultBrowserOptions;
+import io.github.jamoamo.webjourney.api.web.IBrowser;
+import io.github.jamoamo.webjourney.reserved.selenium.ChromeBrowserFactory;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openqa.selenium.chrome.ChromeDriver;
+import org.openqa.selenium.chrome.ChromeOptions;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmark for starting and quitting a local headless Chrome browser.
+ *
+ * <p>{@code newDriverPerSession} starts each browser the way a plain {@code new ChromeDriver(options)} does: the
+ * driver is resolved through Selenium Manager and a new ChromeDriver process is started for every session.
+ * {@code sharedDriverService} uses {@link ChromeBrowserFactory}, which resolves the driver once and starts every
+ * session through one long-lived ChromeDriver process. Requires Chrome to be installed.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 1, time = 5, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 3, time = 10, timeUnit = TimeUnit.SECONDS)
+@Fork(1)
+public class LocalBrowserStartupBenchmark
+{
+    private ChromeBrowserFactory factory;
+    private DefaultBrowserOptions options;
+
+    @Setup
+    public void setup()
+    {
+        this.factory = new ChromeBrowserFactory();
+        this.options = new DefaultBrowserOptions();
+    }
+
+    @Benchmark
+    public void newDriverPerSession()
+    {
+        ChromeOptions chromeOptions = new ChromeOptions()
+            .addArguments("--no-sandbox", "--remote-allow-origins=*", "--disable-dev-shm-usage", "--headless=new");
+        new ChromeDriver(chromeOptions).quit();
+    }
+
+    @Benchmark
+    public void sharedDriverService()
+    {
+        IBrowser browser = this.factory.createBrowser(this.options);
+        browser.exit();
+    }
+
+    public static void main(String[] args) throws RunnerException
+    {
+        Options opt = new OptionsBuilder()
+            .include(LocalBrowserStartupBenchmark.class.getSimpleName())
+            .forks(1)
+            .build();
+
+        new Runner(opt).run();
+    }
+}
@@ -0,0 +1,183 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2024 James Amoore.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package io.github.jamoamo.webjourney.benchmarks;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.github.jamoamo.webjourney.api.web.DefaultBrowserOptions;
+import io.github.jamoamo.webjourney.api.web.IBrowser;
+import io.github.jamoamo.webjourney.api.web.ResourcePolicy;
+import io.github.jamoamo.webjourney.reserved.selenium.ChromeBrowserFactory;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * JMH benchmark for loading a resource-heavy page in a local headless Chrome browser, with and without a
+ * {@link ResourcePolicy}.
+ *
+ * <p>The mock page is served from an in-process HTTP server and references images, web fonts, a video and an analytics
+ * script, none of which are needed to extract the page's text. The score is the time to load the page, and the
+ * {@code bytesServed} counter reports how many bytes the browser downloaded per load. Requires Chrome to be installed.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 1, time = 5, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 3, time = 10, timeUnit = TimeUnit.SECONDS)
+@Fork(1)
+public class ResourceBlockingBenchmark
+{
+    private static final int IMAGE_COUNT = 20;
+    private static final int IMAGE_BYTES = 200 * 1024;
+    private static final int FONT_BYTES = 100 * 1024;
+    private static final int VIDEO_BYTES = 2 * 1024 * 1024;
+    private static final int SCRIPT_BYTES = 80 * 1024;
+
+    @Param({"allowAll", "scrape"})
+    public String policy;
+
+    private final AtomicLong served = new AtomicLong();
+    private HttpServer server;
+    private IBrowser browser;
+    private URL pageUrl;
+
+    /**
+     * Bytes the mock server sent, reported per page load.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Traffic
+    {
+        public long bytesServed;
+    }
+
+    @Setup
+    public void setup() throws IOException
+    {
+        this.server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        this.server.createContext("/", this::serve);
+        this.server.start();
+        this.pageUrl = new URL("http://127.0.0.1:" + this.server.getAddress().getPort() + "/index.html");
+
+        ResourcePolicy resourcePolicy = "scrape".equals(this.policy) ? ResourcePolicy.scrape() : ResourcePolicy.allowAll();
+        this.browser = new ChromeBrowserFactory().createBrowser(new DefaultBrowserOptions(resourcePolicy));
+    }
+
+    @TearDown
+    public void tearDown()
+    {
+        this.browser.exit();
+        this.server.stop(0);
+    }
+
+    @Benchmark
+    public void loadPage(Traffic traffic) throws Exception
+    {
+        long before = this.served.get();
+        this.browser.getActiveWindow().navigateToUrl(this.pageUrl);
+        traffic.bytesServed += this.served.get() - before;
+    }
+
+    private void serve(HttpExchange exchange) throws IOException
+    {
+        String path = exchange.getRequestURI().getPath();
+        byte[] body;
+        String contentType;
+        if(path.endsWith(".html"))
+        {
+            body = page().getBytes(StandardCharsets.UTF_8);
+            contentType = "text/html";
+        }
+        else if(path.endsWith(".png"))
+        {
+            body = new byte[IMAGE_BYTES];
+            contentType = "image/png";
+        }
+        else if(path.endsWith(".woff2"))
+        {
+            body = new byte[FONT_BYTES];
+            contentType = "font/woff2";
+        }
+        else if(path.endsWith(".mp4"))
+        {
+            body = new byte[VIDEO_BYTES];
+            contentType = "video/mp4";
+        }
+        else if(path.endsWith(".js"))
+        {
+            body = ("/*" + " ".repeat(SCRIPT_BYTES) + "*/").getBytes(StandardCharsets.UTF_8);
+            contentType = "text/javascript";
+        }
+        else
+        {
+            exchange.sendResponseHeaders(404, -1);
+            exchange.close();
+            return;
+        }
+        exchange.getResponseHeaders().set("Content-Type", contentType);
+        // Every load downloads its resources again, as a fresh journey's browser would
+        exchange.getResponseHeaders().set("Cache-Control", "no-store");
+        exchange.sendResponseHeaders(200, body.length);
+        try(OutputStream out = exchange.getResponseBody())
+        {
+            out.write(body);
+        }
+        this.served.addAndGet(body.length);
+    }
+
+    private static String page()
+    {
+        StringBuilder html = new StringBuilder("<html><head><title>Products</title>")
+            .append("<style>@font-face{font-family:body;src:url(/fonts/body.woff2)}body{font-family:body}</style>")
+            .append("<script src=\"/www.google-analytics.com/analytics.js\"></script>")
+            .append("</head><body><h1>Products</h1><video src=\"/media/intro.mp4\" preload=\"auto\"></video><ul>");
+        for(int i = 0; i < IMAGE_COUNT; i++)
+        {
+            html.append("<li><img src=\"/images/product-").append(i).append(".png\">Product ").append(i).append("</li>");
+        }
+        return html.append("</ul></body></html>").toString();
+    }
+
+    public static void main(String[] args) throws RunnerException
+    {
+        Options opt = new OptionsBuilder()
+            .include(ResourceBlockingBenchmark.class.getSimpleName())
+            .forks(1)
+            .build();
+
+        new Runner(opt).run();
+    }
+}
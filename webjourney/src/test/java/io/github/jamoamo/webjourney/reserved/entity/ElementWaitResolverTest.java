@@ -24,10 +24,12 @@
 package io.github.jamoamo.webjourney.reserved.entity;
 
 import io.github.jamoamo.webjourney.api.IJourneyContext;
+import io.github.jamoamo.webjourney.api.Deadline;
 import io.github.jamoamo.webjourney.api.IRetryPolicy;
 import io.github.jamoamo.webjourney.api.ITravelOptions;
 import java.time.Duration;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
 
@@ -79,6 +81,15 @@ public class ElementWaitResolverTest
 		  assertEquals(Duration.ZERO, ElementWaitResolver.resolve(-1, context));
 	 }
 
+	 @Test
+	 public void testResolve_boundedByJourneyDeadline()
+	 {
+		  EntityCreationContext context = contextWithGlobalWait(Duration.ofSeconds(30));
+		  Mockito.when(context.getJourneyContext().getDeadline()).thenReturn(Deadline.after(Duration.ofSeconds(2)));
+		  assertTrue(ElementWaitResolver.resolve(-1, context).compareTo(Duration.ofSeconds(2)) <= 0);
+		  assertTrue(ElementWaitResolver.resolve(10, context).compareTo(Duration.ofSeconds(2)) <= 0);
+	 }
+
 	 private static EntityCreationContext contextWithGlobalWait(Duration globalWait)
 	 {
 		  ITravelOptions options = Mockito.mock(ITravelOptions.class);
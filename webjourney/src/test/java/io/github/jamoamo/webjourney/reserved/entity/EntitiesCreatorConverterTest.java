@@ -113,7 +113,7 @@ public class EntitiesCreatorConverterTest
 		  // Fail the first navigation, succeed on the second
 		  Mockito.doThrow(new XValueReaderException(new Exception("Network Error")))
 		         .doNothing()
-				.when(reader).navigateTo(Mockito.any());
+				.when(reader).navigateTo(Mockito.any(), Mockito.any(), Mockito.any());
 
 		  Mockito.when(reader.getElementText(Mockito.anyString(), Mockito.anyBoolean()))
 				.thenReturn("Value");
@@ -133,7 +133,7 @@ public class EntitiesCreatorConverterTest
 		  assertEquals(1, convertValue.size());
 		  assertInstanceOf(SubEntity.class, convertValue.get(0));
 		  assertEquals("Value", ((SubEntity) convertValue.get(0)).getField());
-		  Mockito.verify(reader, Mockito.times(2)).navigateTo(Mockito.any());
+		  Mockito.verify(reader, Mockito.times(2)).navigateTo(Mockito.any(), Mockito.any(), Mockito.any());
 	 }
 
 }
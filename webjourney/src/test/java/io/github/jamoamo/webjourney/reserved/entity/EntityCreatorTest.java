@@ -66,6 +66,7 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentCaptor;
 
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyBoolean;
 import static org.mockito.ArgumentMatchers.eq;
 
@@ -712,7 +713,7 @@ public class EntityCreatorTest
 				.navigateBack();
 		  ArgumentCaptor<URL> urlCaptor = ArgumentCaptor.forClass(URL.class);
 		  Mockito.verify(window, times(4))
-				.navigateToUrl(urlCaptor.capture());
+				.navigateToUrl(urlCaptor.capture(), any(), any());
 		  assertEquals("https://newurl.com", urlCaptor.getAllValues()
 				.get(0)
 				.toString());
@@ -760,7 +761,7 @@ public class EntityCreatorTest
 				.navigateBack();
 		  ArgumentCaptor<URL> urlCaptor = ArgumentCaptor.forClass(URL.class);
 		  Mockito.verify(window, times(4))
-				.navigateToUrl(urlCaptor.capture());
+				.navigateToUrl(urlCaptor.capture(), any(), any());
 		  assertEquals("https://newurlattr.com", urlCaptor.getAllValues()
 				.get(0)
 				.toString());
@@ -832,7 +833,7 @@ public class EntityCreatorTest
 				.navigateBack();
 		  ArgumentCaptor<URL> urlCaptor = ArgumentCaptor.forClass(URL.class);
 		  Mockito.verify(window, times(5))
-				.navigateToUrl(urlCaptor.capture());
+				.navigateToUrl(urlCaptor.capture(), any(), any());
 		  assertEquals("https://newurlattr.com", urlCaptor.getAllValues()
 				.get(0)
 				.toString());
@@ -0,0 +1,109 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2023 James Amoore.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package io.github.jamoamo.webjourney.reserved.entity;
+
+import io.github.jamoamo.webjourney.annotation.Constant;
+import io.github.jamoamo.webjourney.annotation.ExtractValue;
+import io.github.jamoamo.webjourney.annotation.StaticPage;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+
+/**
+ *
+ * @author James Amoore
+ */
+public class EntityDefnTest
+{
+	public static class Product
+	{
+		@Constant("Shop")
+		private String shop;
+
+		@ExtractValue(path = "//div[@id='banner']", optional = true)
+		private String banner;
+
+		@ExtractValue(path = "//h1")
+		private String name;
+
+		@ExtractValue(path = "//span[@class='price']")
+		private String price;
+
+		public void setShop(String shop)
+		{
+			this.shop = shop;
+		}
+
+		public void setBanner(String banner)
+		{
+			this.banner = banner;
+		}
+
+		public void setName(String name)
+		{
+			this.name = name;
+		}
+
+		public void setPrice(String price)
+		{
+			this.price = price;
+		}
+	}
+
+	@StaticPage
+	public static class Constants
+	{
+		@Constant("Shop")
+		private String shop;
+
+		public void setShop(String shop)
+		{
+			this.shop = shop;
+		}
+	}
+
+	@Test
+	public void testGetReadyXPath_firstRequiredXPath()
+		throws Exception
+	{
+		assertEquals("//h1", new EntityDefn<>(Product.class).getReadyXPath());
+	}
+
+	@Test
+	public void testGetReadyXPath_noRequiredXPath()
+		throws Exception
+	{
+		assertNull(new EntityDefn<>(Constants.class).getReadyXPath());
+	}
+
+	@Test
+	public void testIsStaticPage()
+		throws Exception
+	{
+		assertTrue(new EntityDefn<>(Constants.class).isStaticPage());
+		assertFalse(new EntityDefn<>(Product.class).isStaticPage());
+	}
+}
@@ -0,0 +1,288 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2023 James Amoore.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package io.github.jamoamo.webjourney.reserved.http;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.github.jamoamo.webjourney.api.web.AElement;
+import io.github.jamoamo.webjourney.api.web.DefaultBrowserOptions;
+import io.github.jamoamo.webjourney.api.web.IBrowser;
+import io.github.jamoamo.webjourney.api.web.IBrowserWindow;
+import io.github.jamoamo.webjourney.api.web.ICookie;
+import io.github.jamoamo.webjourney.api.web.IWebPage;
+import io.github.jamoamo.webjourney.api.web.XElementDoesntExistException;
+import io.github.jamoamo.webjourney.api.web.XUnsupportedActionException;
+import io.github.jamoamo.webjourney.api.web.XWebException;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ *
+ * @author James Amoore
+ */
+public class HttpBrowserTest
+{
+	private static final String PAGE =
+		"<html><head><title>Scores</title><script>var hidden = 1;</script></head><body>"
+		+ "<h1>  Match\n Scores </h1>"
+		+ "<table id=\"scores\"><tr><td>Home</td><td>3</td></tr><tr><td>Away</td><td>1</td></tr></table>"
+		+ "<p class=\"note\">First line<br>Second <b>line</b></p>"
+		+ "<a id=\"next\" href=\"/second\"><span>Next</span></a>"
+		+ "</body></html>";
+
+	private HttpServer server;
+	private String baseUrl;
+
+	@BeforeEach
+	public void startServer() throws IOException
+	{
+		this.server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+		this.server.createContext("/first", exchange -> respond(exchange, 200, PAGE));
+		this.server.createContext("/second", exchange -> respond(exchange, 200,
+			"<html><head><title>Second</title></head><body><p>Second page</p></body></html>"));
+		this.server.createContext("/login", exchange ->
+		{
+			exchange.getResponseHeaders().add("Set-Cookie", "session=abc123; Path=/");
+			exchange.getResponseHeaders().add("Location", "/account");
+			respond(exchange, 302, "");
+		});
+		this.server.createContext("/account", exchange ->
+		{
+			String cookie = exchange.getRequestHeaders().getFirst("Cookie");
+			respond(exchange, 200, "<html><body><p id=\"cookie\">" + (cookie == null ? "none" : cookie) + "</p></body></html>");
+		});
+		this.server.createContext("/latin", exchange ->
+		{
+			byte[] bytes = "<html><head><meta charset=\"ISO-8859-1\"></head><body><p>Caf\u00e9 cr\u00e8me</p></body></html>"
+				.getBytes(StandardCharsets.ISO_8859_1);
+			exchange.getResponseHeaders().add("Content-Type", "text/html");
+			exchange.sendResponseHeaders(200, bytes.length);
+			try(OutputStream out = exchange.getResponseBody())
+			{
+				out.write(bytes);
+			}
+		});
+		this.server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+		this.server.start();
+		this.baseUrl = "http://localhost:" + this.server.getAddress().getPort();
+	}
+
+	@AfterEach
+	public void stopServer()
+	{
+		this.server.stop(0);
+	}
+
+	private static void respond(HttpExchange exchange, int status, String body) throws IOException
+	{
+		byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+		exchange.getResponseHeaders().add("Content-Type", "text/html; charset=utf-8");
+		exchange.sendResponseHeaders(status, bytes.length == 0 ? -1 : bytes.length);
+		try(OutputStream out = exchange.getResponseBody())
+		{
+			out.write(bytes);
+		}
+	}
+
+	private IBrowser createBrowser()
+	{
+		return new HttpBrowserFactory().createBrowser(new DefaultBrowserOptions());
+	}
+
+	@Test
+	public void testNavigateToUrl_extractsElements() throws Exception
+	{
+		IBrowserWindow window = createBrowser().getActiveWindow();
+		assertEquals("about:blank", window.getCurrentUrl());
+
+		IWebPage page = window.navigateToUrl(new URL(this.baseUrl + "/first"));
+
+		assertEquals(this.baseUrl + "/first", window.getCurrentUrl());
+		assertEquals("Scores", window.getTitle());
+		assertEquals("Match Scores", page.getElement("//h1").getElementText());
+		assertEquals("First line\nSecond line", page.getElement("//p[@class='note']").getElementText());
+		assertEquals(this.baseUrl + "/second", page.getElement("//a[@id='next']").getAttribute("href"));
+		assertNull(page.getElement("//a[@id='next']").getAttribute("title"));
+		assertEquals("a", page.getElement("//a").getTag());
+
+		List<? extends AElement> rows = page.getElements("//table[@id='scores']//tr");
+		assertEquals(2, rows.size());
+		assertEquals("Away", rows.get(1).findElement("./td[1]").getElementText());
+		assertEquals(2, rows.get(0).getChildrenByTag("td").size());
+		assertEquals(List.of("3", "1"), page.getElement("//table").findElements(".//td[2]").stream()
+			.map(cell -> cell.getElementText())
+			.toList());
+		assertEquals(List.of("Second "), page.getElement("//p[@class='note']").getTextNodeValues("./text()[2]"));
+		assertEquals(1, page.getElementsByTag("table").size());
+	}
+
+	@Test
+	public void testMissingElements() throws Exception
+	{
+		IWebPage page = createBrowser().getActiveWindow().navigateToUrl(new URL(this.baseUrl + "/first"));
+
+		AElement optional = page.getElement("//div[@id='missing']", true);
+		assertFalse(optional.exists());
+		assertNull(optional.getElementText());
+		assertNull(optional.findElement("./span", true).getElementText());
+
+		AElement required = page.getElement("//div[@id='missing']");
+		assertFalse(required.exists());
+		assertThrows(XElementDoesntExistException.class, () -> required.getElementText());
+		assertThrows(XElementDoesntExistException.class, () -> page.getElements("//div[@id="));
+	}
+
+	@Test
+	public void testCookiesAreKeptPerBrowser() throws Exception
+	{
+		IBrowser browser = createBrowser();
+		IWebPage account = browser.getActiveWindow().navigateToUrl(new URL(this.baseUrl + "/login"));
+
+		assertEquals(this.baseUrl + "/account", browser.getActiveWindow().getCurrentUrl());
+		assertEquals("session=abc123", account.getElement("//p[@id='cookie']").getElementText());
+		IWebPage newWindow = browser.openNewWindow().navigateToUrl(new URL(this.baseUrl + "/account"));
+		assertEquals("session=abc123", newWindow.getElement("//p[@id='cookie']").getElementText());
+
+		IWebPage otherBrowser = createBrowser().getActiveWindow().navigateToUrl(new URL(this.baseUrl + "/account"));
+		assertEquals("none", otherBrowser.getElement("//p[@id='cookie']").getElementText());
+
+		assertTrue(browser.reset());
+		assertEquals("about:blank", browser.getActiveWindow().getCurrentUrl());
+		IWebPage afterReset = browser.getActiveWindow().navigateToUrl(new URL(this.baseUrl + "/account"));
+		assertEquals("none", afterReset.getElement("//p[@id='cookie']").getElementText());
+	}
+
+	@Test
+	public void testCookiesCanBeCopied() throws Exception
+	{
+		IBrowser browser = createBrowser();
+		browser.getActiveWindow().navigateToUrl(new URL(this.baseUrl + "/login"));
+		List<ICookie> cookies = browser.getCookies();
+		assertEquals(1, cookies.size());
+		assertEquals("session", cookies.get(0).getName());
+		assertEquals("localhost", cookies.get(0).getDomain());
+
+		IBrowser otherBrowser = createBrowser();
+		otherBrowser.addCookies(cookies);
+		IWebPage account = otherBrowser.getActiveWindow().navigateToUrl(new URL(this.baseUrl + "/account"));
+		assertEquals("session=abc123", account.getElement("//p[@id='cookie']").getElementText());
+	}
+
+	@Test
+	public void testConcurrentBrowsers() throws Exception
+	{
+		HttpBrowserFactory factory = new HttpBrowserFactory();
+		List<Future<String>> results = new ArrayList<>();
+		try(ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor())
+		{
+			for(int i = 0; i < 200; i++)
+			{
+				results.add(executor.submit(() ->
+				{
+					IBrowser browser = factory.createBrowser(new DefaultBrowserOptions());
+					browser.getActiveWindow().navigateToUrl(new URL(this.baseUrl + "/login"));
+					IWebPage page = browser.openNewWindow().navigateToUrl(new URL(this.baseUrl + "/first"));
+					browser.exit();
+					return page.getElement("//h1").getElementText();
+				}));
+			}
+			for(Future<String> result : results)
+			{
+				assertEquals("Match Scores", result.get());
+			}
+		}
+	}
+
+	@Test
+	public void testNavigateToUrl_charsetDeclaredInPage() throws Exception
+	{
+		IWebPage page = createBrowser().getActiveWindow().navigateToUrl(new URL(this.baseUrl + "/latin"));
+		assertEquals("Caf\u00e9 cr\u00e8me", page.getElement("//p").getElementText());
+	}
+
+	@Test
+	public void testHistory() throws Exception
+	{
+		IBrowserWindow window = createBrowser().getActiveWindow();
+		IWebPage first = window.navigateToUrl(new URL(this.baseUrl + "/first"));
+		first.getElement("//a[@id='next']/span").click();
+		assertEquals(this.baseUrl + "/second", window.getCurrentUrl());
+		assertThrows(XUnsupportedActionException.class, () -> first.getElement("//h1").click());
+		assertThrows(XUnsupportedActionException.class, () -> first.getElement("//h1").enterText("text"));
+
+		IWebPage second = window.getCurrentPage();
+
+		assertSame(first, window.navigateBack());
+		assertEquals(this.baseUrl + "/first", window.getCurrentUrl());
+		assertSame(second, window.navigateForward());
+		assertSame(second, window.navigateForward());
+		assertEquals("Second", window.getTitle());
+
+		window.navigateBack();
+		window.navigateBack();
+		assertEquals("about:blank", window.getCurrentUrl());
+		window.navigateToUrl(new URL(this.baseUrl + "/second"));
+		assertSame(window.getCurrentPage(), window.navigateForward());
+		window.navigateBack();
+		assertEquals("about:blank", window.getCurrentUrl());
+		window.navigateForward();
+
+		IWebPage beforeRefresh = window.getCurrentPage();
+		assertNotSame(beforeRefresh, window.refreshCurrentPage());
+		assertEquals(this.baseUrl + "/second", window.getCurrentUrl());
+	}
+
+	@Test
+	public void testWindowsAndExit() throws Exception
+	{
+		IBrowser browser = createBrowser();
+		IBrowserWindow first = browser.getActiveWindow();
+		IBrowserWindow second = browser.openNewWindow();
+		assertNotEquals(first.getName(), second.getName());
+		assertSame(second, browser.getActiveWindow());
+		assertSame(first, browser.switchToWindow(first.getName()));
+
+		first.close();
+		assertSame(second, browser.getActiveWindow());
+		assertThrows(XWebException.class, () -> browser.switchToWindow(first.getName()));
+
+		assertTrue(browser.isHealthy());
+		browser.exit();
+		assertFalse(browser.isHealthy());
+		assertFalse(browser.reset());
+	}
+}
@@ -31,6 +31,7 @@ import io.github.jamoamo.webjourney.api.web.IJourneyBrowserArguments;
 import io.github.jamoamo.webjourney.api.web.StandardBrowser;
 import io.github.jamoamo.webjourney.api.web.ResolvedBrowserArguments;
 import io.github.jamoamo.webjourney.api.web.ProvenancedArgument;
+import io.github.jamoamo.webjourney.api.web.ResourcePolicy;
 import io.github.jamoamo.webjourney.api.config.AsyncConfiguration;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
@@ -39,6 +40,7 @@ import org.mockito.Mockito;
 import org.openqa.selenium.firefox.FirefoxOptions;
 import java.util.List;
 import java.util.ArrayList;
+import java.util.Map;
 
 /**
  * Tests for FirefoxBrowserFactory browser arguments integration.
@@ -143,4 +145,23 @@ public class FirefoxBrowserFactoryTest
 		// Then: options are created successfully with headless mode
 		Assertions.assertNotNull(options, "FirefoxOptions should be created with headless mode");
 	}
+
+	@Test
+	public void testCreateFirefoxOptionsAppliesResourcePolicy()
+	{
+		// Given: a policy blocking images, fonts, media and trackers
+		Mockito.when(browserOptions.getResourcePolicy()).thenReturn(ResourcePolicy.scrape());
+
+		// When: creating options
+		FirefoxBrowserFactory factory = new FirefoxBrowserFactory();
+		FirefoxOptions options = factory.createFirefoxOptions(browserOptions);
+
+		// Then: the blocking preferences are set
+		Map<String, Object> firefoxOptions = (Map<String, Object>) options.getCapability(FirefoxOptions.FIREFOX_OPTIONS);
+		Map<String, Object> prefs = (Map<String, Object>) firefoxOptions.get("prefs");
+		Assertions.assertEquals(2, prefs.get("permissions.default.image"));
+		Assertions.assertEquals(false, prefs.get("gfx.downloadable_fonts.enabled"));
+		Assertions.assertEquals(true, prefs.get("privacy.trackingprotection.enabled"));
+		Assertions.assertFalse(prefs.containsKey("permissions.default.stylesheet"));
+	}
 }
@@ -0,0 +1,115 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2024 James Amoore.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package io.github.jamoamo.webjourney.reserved.selenium;
+
+import io.github.jamoamo.webjourney.api.web.GridCapacity;
+import java.util.Set;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test class for parsing Selenium Grid status responses.
+ */
+public class HubConnectionUtilsTest
+{
+	private static final String GRID_4_STATUS = """
+		{
+		  "value": {
+		    "ready": true,
+		    "message": "Selenium Grid ready.",
+		    "nodes": [
+		      {
+		        "availability": "UP",
+		        "maxSessions": 2,
+		        "slots": [
+		          {"session": {"sessionId": "a"}, "stereotype": {"browserName": "chrome"}},
+		          {"session": null, "stereotype": {"browserName": "chrome"}},
+		          {"session": null, "stereotype": {"browserName": "firefox"}}
+		        ]
+		      },
+		      {
+		        "availability": "UP",
+		        "maxSessions": 4,
+		        "slots": [
+		          {"session": null, "stereotype": {"browserName": "chrome"}},
+		          {"session": null, "stereotype": {"browserName": "MicrosoftEdge"}}
+		        ]
+		      },
+		      {
+		        "availability": "DRAINING",
+		        "maxSessions": 1,
+		        "slots": [
+		          {"session": null, "stereotype": {"browserName": "chrome"}}
+		        ]
+		      }
+		    ]
+		  }
+		}
+		""";
+
+	@Test
+	public void testParseCapacity_CountsSlotsOnNodesThatAreUp()
+	{
+		GridCapacity capacity = HubConnectionUtils.parseCapacity(GRID_4_STATUS);
+
+		assertTrue(capacity.isReady());
+		assertEquals(2, capacity.getNodeCount());
+		assertEquals(Set.of("chrome", "firefox", "MicrosoftEdge"), capacity.getBrowserNames());
+		assertEquals(3, capacity.getTotalSlots("chrome"));
+		assertEquals(1, capacity.getUsedSlots("chrome"));
+		assertEquals(2, capacity.getFreeSlots("CHROME"));
+		assertEquals(1, capacity.getFreeSlots("firefox"));
+		assertEquals(1, capacity.getFreeSlots("MicrosoftEdge"));
+		assertEquals(0, capacity.getFreeSlots("safari"));
+		assertEquals(4, capacity.getFreeSlots(null));
+	}
+
+	@Test
+	public void testParseCapacity_NodeAtMaxSessionsHasNoFreeSlots()
+	{
+		GridCapacity capacity = HubConnectionUtils.parseCapacity("""
+			{"value": {"ready": false, "nodes": [{"availability": "UP", "maxSessions": 1, "slots": [
+			  {"session": {"sessionId": "a"}, "stereotype": {"browserName": "chrome"}},
+			  {"session": null, "stereotype": {"browserName": "chrome"}},
+			  {"session": null, "stereotype": {"browserName": "firefox"}}
+			]}]}}
+			""");
+
+		assertFalse(capacity.isReady());
+		assertEquals(0, capacity.getFreeSlots("chrome"));
+		assertEquals(0, capacity.getFreeSlots("firefox"));
+		assertEquals(1, capacity.getUsedSlots(null));
+	}
+
+	@Test
+	public void testParseCapacity_NoNodeInformation()
+	{
+		assertNull(HubConnectionUtils.parseCapacity("{\"value\": {\"ready\": true, \"message\": \"Hub has capacity\"}}"));
+		assertNull(HubConnectionUtils.parseCapacity("{\"status\": 0}"));
+		assertNull(HubConnectionUtils.parseCapacity("not json"));
+	}
+}
@@ -0,0 +1,95 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2024 James Amoore.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package io.github.jamoamo.webjourney.reserved.selenium;
+
+import io.github.jamoamo.webjourney.api.web.HubConfiguration;
+import java.net.URI;
+import java.time.Duration;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.openqa.selenium.remote.http.ClientConfig;
+import org.openqa.selenium.remote.http.HttpClient;
+import org.openqa.selenium.remote.http.HttpMethod;
+import org.openqa.selenium.remote.http.HttpRequest;
+
+/**
+ * Test class for sharing HTTP clients between remote sessions.
+ */
+public class HubHttpClientFactoryTest
+{
+	@Test
+	public void testClientConfigUsesHubTimeouts()
+	{
+		ClientConfig config = HubHttpClientFactory.clientConfig(HubConfiguration.builder()
+			.withUrl("http://hub:4444/wd/hub")
+			.withConnectionTimeout(Duration.ofSeconds(7))
+			.withSessionTimeout(Duration.ofMinutes(2))
+			.build());
+
+		assertEquals(Duration.ofSeconds(7), config.connectionTimeout());
+		assertEquals(Duration.ofMinutes(2), config.readTimeout());
+	}
+
+	@Test
+	public void testClientConfigKeepsDefaultsForZeroTimeouts()
+	{
+		ClientConfig config = HubHttpClientFactory.clientConfig(HubConfiguration.builder()
+			.withUrl("http://hub:4444/wd/hub")
+			.withConnectionTimeout(Duration.ZERO)
+			.withSessionTimeout(Duration.ZERO)
+			.build());
+
+		assertEquals(ClientConfig.defaultConfig().connectionTimeout(), config.connectionTimeout());
+		assertEquals(ClientConfig.defaultConfig().readTimeout(), config.readTimeout());
+	}
+
+	@Test
+	public void testSessionsOnSameHubShareClient()
+	{
+		HttpClient.Factory delegate = Mockito.mock(HttpClient.Factory.class);
+		HttpClient pooled = Mockito.mock(HttpClient.class);
+		Mockito.when(delegate.createClient(Mockito.any(ClientConfig.class))).thenReturn(pooled);
+		HubHttpClientFactory factory = new HubHttpClientFactory(delegate);
+		ClientConfig hubA = ClientConfig.defaultConfig().baseUri(URI.create("http://hub-a:4444/wd/hub"));
+
+		HttpClient first = factory.createClient(hubA);
+		HttpClient second = factory.createClient(hubA);
+		factory.createClient(hubA.readTimeout(Duration.ofMinutes(5)));
+		factory.createClient(ClientConfig.defaultConfig().baseUri(URI.create("http://hub-b:4444/wd/hub")));
+		assertEquals(3, factory.getClientCount());
+		Mockito.verify(delegate, Mockito.times(3)).createClient(Mockito.any(ClientConfig.class));
+
+		HttpRequest request = new HttpRequest(HttpMethod.GET, "/status");
+		first.execute(request);
+		first.close();
+		second.execute(request);
+		Mockito.verify(pooled, Mockito.times(2)).execute(request);
+		Mockito.verify(pooled, Mockito.never()).close();
+
+		factory.close();
+		assertEquals(0, factory.getClientCount());
+		Mockito.verify(pooled, Mockito.times(3)).close();
+	}
+}
@@ -0,0 +1,168 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2024 James Amoore.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package io.github.jamoamo.webjourney.reserved.selenium;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mockito;
+import org.openqa.selenium.chrome.ChromeOptions;
+import org.openqa.selenium.remote.service.DriverService;
+import org.slf4j.Logger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ *
+ * @author James Amoore
+ */
+public class LocalDriverServicesTest
+{
+	@TempDir
+	Path directory;
+
+	@Test
+	public void testResolve_pathsCachedPerDriver()
+		throws IOException
+	{
+		Path driver = Files.createFile(this.directory.resolve("testdriver"));
+		assertTrue(driver.toFile().setExecutable(true));
+		DriverService service = Mockito.mock(DriverService.class);
+		Mockito.when(service.getExecutable()).thenReturn(driver.toString());
+		AtomicInteger services = new AtomicInteger();
+		String driverName = uniqueDriverName();
+
+		LocalDriverServices.DriverPaths first = LocalDriverServices.resolve(driverName, () ->
+		{
+			services.incrementAndGet();
+			return service;
+		}, new ChromeOptions());
+		LocalDriverServices.DriverPaths second = LocalDriverServices.resolve(driverName, () ->
+		{
+			services.incrementAndGet();
+			return service;
+		}, new ChromeOptions());
+
+		assertEquals(driver.toFile().getAbsoluteFile(), first.driver().getAbsoluteFile());
+		assertSame(first, second);
+		assertEquals(1, services.get());
+	}
+
+	@Test
+	public void testShared_runningServiceReused()
+		throws IOException
+	{
+		List<FakeService> created = new ArrayList<>();
+		String driverName = uniqueDriverName();
+		File driver = new File("testdriver");
+
+		FakeService first = LocalDriverServices.shared(driverName, driver, file -> add(created, new FakeService()));
+		FakeService second = LocalDriverServices.shared(driverName, driver, file -> add(created, new FakeService()));
+
+		assertSame(first, second);
+		assertEquals(1, created.size());
+		assertEquals(1, first.starts);
+	}
+
+	@Test
+	public void testShared_deadServiceRestarted()
+		throws IOException
+	{
+		List<FakeService> created = new ArrayList<>();
+		String driverName = uniqueDriverName();
+		File driver = new File("testdriver");
+
+		FakeService first = LocalDriverServices.shared(driverName, driver, file -> add(created, new FakeService()));
+		first.running = false;
+		FakeService second = LocalDriverServices.shared(driverName, driver, file -> add(created, new FakeService()));
+
+		assertNotSame(first, second);
+		assertEquals(2, created.size());
+		assertEquals(1, first.stops);
+		assertEquals(1, second.starts);
+		assertTrue(second.isRunning());
+		assertSame(second, LocalDriverServices.shared(driverName, driver, file -> add(created, new FakeService())));
+	}
+
+	@Test
+	public void testLogDriverInfo_loggedOnceUntilChanged()
+	{
+		Logger logger = Mockito.mock(Logger.class);
+		String driverName = uniqueDriverName();
+
+		LocalDriverServices.logDriverInfo(logger, driverName, "chrome 120");
+		LocalDriverServices.logDriverInfo(logger, driverName, "chrome 120");
+		LocalDriverServices.logDriverInfo(logger, driverName, "chrome 120");
+		Mockito.verify(logger, Mockito.times(1)).info("chrome 120");
+		Mockito.verify(logger, Mockito.times(2)).debug("chrome 120");
+
+		LocalDriverServices.logDriverInfo(logger, driverName, "chrome 121");
+		Mockito.verify(logger).info("chrome 121");
+	}
+
+	private static String uniqueDriverName()
+	{
+		return "testdriver-" + UUID.randomUUID();
+	}
+
+	private static FakeService add(List<FakeService> created, FakeService service)
+	{
+		created.add(service);
+		return service;
+	}
+
+	private static class FakeService implements LocalDriverServices.SharedService
+	{
+		private volatile boolean running;
+		private int starts;
+		private int stops;
+
+		@Override
+		public boolean isRunning()
+		{
+			return this.running;
+		}
+
+		@Override
+		public void start()
+		{
+			this.starts++;
+			this.running = true;
+		}
+
+		@Override
+		public void stopProcess()
+		{
+			this.stops++;
+			this.running = false;
+		}
+	}
+}
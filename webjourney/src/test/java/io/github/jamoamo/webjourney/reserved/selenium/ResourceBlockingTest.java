@@ -0,0 +1,102 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2024 James Amoore.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package io.github.jamoamo.webjourney.reserved.selenium;
+
+import io.github.jamoamo.webjourney.api.web.ElementLookupMode;
+import io.github.jamoamo.webjourney.api.web.ResourcePolicy;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.openqa.selenium.Capabilities;
+import org.openqa.selenium.WebDriver.Options;
+import org.openqa.selenium.WebDriver.TargetLocator;
+import org.openqa.selenium.WebDriver.Timeouts;
+import org.openqa.selenium.WindowType;
+import org.openqa.selenium.chrome.ChromeOptions;
+import org.openqa.selenium.chromium.HasCdp;
+import org.openqa.selenium.remote.RemoteWebDriver;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ *
+ * @author James Amoore
+ */
+public class ResourceBlockingTest
+{
+	@Test
+	public void testApplyPreferences_existingPrefsKept()
+	{
+		ChromeOptions options = new ChromeOptions();
+		options.setExperimentalOption("prefs", Map.of("download.default_directory", "/tmp/downloads"));
+
+		ResourceBlocking.applyPreferences(options, ResourcePolicy.scrape());
+
+		assertEquals(Map.of("download.default_directory", "/tmp/downloads",
+			"profile.managed_default_content_settings.images", 2), prefs(options));
+	}
+
+	@Test
+	public void testApplyPreferences_noPolicy()
+	{
+		ChromeOptions options = new ChromeOptions();
+		ResourceBlocking.applyPreferences(options, null);
+		assertNull(prefs(options));
+	}
+
+	private static Object prefs(ChromeOptions options)
+	{
+		return ((Map<?, ?>) options.getCapability(ChromeOptions.CAPABILITY)).get("prefs");
+	}
+
+	@Test
+	public void testBlockUrls_everyOpenedWindowBlocked()
+	{
+		RemoteWebDriver driver = Mockito.mock(RemoteWebDriver.class, Mockito.withSettings().extraInterfaces(HasCdp.class));
+		Options options = Mockito.mock(Options.class);
+		Mockito.when(options.timeouts()).thenReturn(Mockito.mock(Timeouts.class));
+		Mockito.when(driver.manage()).thenReturn(options);
+		Mockito.when(driver.switchTo()).thenReturn(Mockito.mock(TargetLocator.class));
+		Mockito.when(driver.getCapabilities()).thenReturn(Mockito.mock(Capabilities.class));
+		Mockito.when(driver.getWindowHandle()).thenReturn("Window1", "Window2");
+		ResourcePolicy policy = ResourcePolicy.scrape();
+		HasCdp cdp = (HasCdp) driver;
+
+		SeleniumDrivenBrowser browser = new SeleniumDrivenBrowser(driver, ElementLookupMode.IMPLICIT_WAIT, policy);
+		Mockito.verify(cdp).executeCdpCommand("Network.setBlockedURLs", Map.of("urls", policy.getUrlPatterns()));
+
+		browser.openNewWindow();
+		Mockito.verify(driver.switchTo()).newWindow(WindowType.TAB);
+		Mockito.verify(cdp, Mockito.times(2)).executeCdpCommand("Network.setBlockedURLs",
+			Map.of("urls", policy.getUrlPatterns()));
+	}
+
+	@Test
+	public void testBlockUrls_noPolicy()
+	{
+		RemoteWebDriver driver = Mockito.mock(RemoteWebDriver.class, Mockito.withSettings().extraInterfaces(HasCdp.class));
+		ResourceBlocking.blockUrls(driver, null);
+		Mockito.verifyNoInteractions(driver);
+	}
+}
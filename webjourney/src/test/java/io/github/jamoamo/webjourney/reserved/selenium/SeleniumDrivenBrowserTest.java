@@ -25,7 +25,12 @@ package io.github.jamoamo.webjourney.reserved.selenium;
 
 import io.github.jamoamo.webjourney.reserved.selenium.SeleniumWindow;
 import io.github.jamoamo.webjourney.reserved.selenium.SeleniumDrivenBrowser;
+import io.github.jamoamo.webjourney.api.web.ElementLookupMode;
 import io.github.jamoamo.webjourney.api.web.IBrowserWindow;
+import java.time.Duration;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.OptionalLong;
 import org.junit.jupiter.api.Test;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -36,9 +41,11 @@ import static org.mockito.ArgumentMatchers.any;
 
 import org.mockito.Mockito;
 import org.openqa.selenium.Capabilities;
+import org.openqa.selenium.WebDriverException;
 
 import static org.mockito.Mockito.verify;
 
+import org.openqa.selenium.WebDriver.Navigation;
 import org.openqa.selenium.WebDriver.Options;
 import org.openqa.selenium.WebDriver.TargetLocator;
 import org.openqa.selenium.WebDriver.Timeouts;
@@ -147,4 +154,79 @@ public class SeleniumDrivenBrowserTest
 				.quit();
 	 }
 
+	 @Test
+	 public void testElementLookupMode_setsImplicitWait()
+	 {
+		  RemoteWebDriver driver = Mockito.mock(RemoteWebDriver.class);
+		  Options options = Mockito.mock(Options.class);
+		  Timeouts timeouts = Mockito.mock(Timeouts.class);
+		  Mockito.when(options.timeouts()).thenReturn(timeouts);
+		  Mockito.when(driver.manage()).thenReturn(options);
+		  Capabilities capabilities = driverMock.getCapabilities();
+		  Mockito.when(driver.getCapabilities()).thenReturn(capabilities);
+
+		  new SeleniumDrivenBrowser(driver);
+		  verify(timeouts).implicitlyWait(Duration.ofSeconds(10));
+
+		  new SeleniumDrivenBrowser(driver, ElementLookupMode.FAST_FAIL);
+		  verify(timeouts).implicitlyWait(Duration.ZERO);
+	 }
+
+	 /**
+	  * Test of reset method, of class SeleniumDrivenBrowser.
+	  */
+	 @Test
+	 public void testReset()
+		  throws Exception
+	 {
+		  RemoteWebDriver driver = Mockito.mock(RemoteWebDriver.class);
+		  TargetLocator targetLocator = Mockito.mock(TargetLocator.class);
+		  Options options = Mockito.mock(Options.class);
+		  Mockito.when(options.timeouts()).thenReturn(Mockito.mock(Timeouts.class));
+		  Mockito.when(driver.manage()).thenReturn(options);
+		  Mockito.when(driver.switchTo()).thenReturn(targetLocator);
+		  Capabilities capabilities = driverMock.getCapabilities();
+		  Mockito.when(driver.getCapabilities()).thenReturn(capabilities);
+		  Mockito.when(driver.getWindowHandle()).thenReturn("Window1", "Window2");
+		  Mockito.when(driver.getWindowHandles()).thenReturn(new LinkedHashSet<>(List.of("Window1", "Window2")));
+		  Navigation navigation = Mockito.mock(Navigation.class);
+		  Mockito.when(driver.navigate()).thenReturn(navigation);
+
+		  SeleniumDrivenBrowser seleniumBrowser = new SeleniumDrivenBrowser(driver);
+		  seleniumBrowser.openNewWindow();
+		  assertTrue(seleniumBrowser.reset());
+
+		  verify(targetLocator).window("Window2");
+		  verify(driver).close();
+		  verify(options).deleteAllCookies();
+		  verify(navigation).to("about:blank");
+		  assertEquals("Window1", seleniumBrowser.getActiveWindow().getName());
+
+		  seleniumBrowser.exit();
+		  assertFalse(seleniumBrowser.reset());
+		  assertFalse(seleniumBrowser.isHealthy());
+	 }
+
+	 /**
+	  * Test of getMemoryUsage method, of class SeleniumDrivenBrowser.
+	  */
+	 @Test
+	 public void testGetMemoryUsage()
+		  throws Exception
+	 {
+		  RemoteWebDriver driver = Mockito.mock(RemoteWebDriver.class);
+		  Options options = Mockito.mock(Options.class);
+		  Mockito.when(options.timeouts()).thenReturn(Mockito.mock(Timeouts.class));
+		  Mockito.when(driver.manage()).thenReturn(options);
+		  Capabilities capabilities = driverMock.getCapabilities();
+		  Mockito.when(driver.getCapabilities()).thenReturn(capabilities);
+		  Mockito.when(driver.getWindowHandle()).thenReturn("Window1");
+		  Mockito.when(driver.executeScript(Mockito.anyString())).thenReturn(42_000_000L);
+
+		  SeleniumDrivenBrowser seleniumBrowser = new SeleniumDrivenBrowser(driver);
+		  assertEquals(OptionalLong.of(42_000_000L), seleniumBrowser.getMemoryUsage());
+
+		  Mockito.when(driver.executeScript(Mockito.anyString())).thenThrow(new WebDriverException("session lost"));
+		  assertEquals(OptionalLong.empty(), seleniumBrowser.getMemoryUsage());
+	 }
 }
@@ -24,15 +24,21 @@
 package io.github.jamoamo.webjourney.reserved.selenium;
 
 import io.github.jamoamo.webjourney.api.web.IWebPage;
+import io.github.jamoamo.webjourney.api.web.PageLoadStrategy;
+import io.github.jamoamo.webjourney.api.web.XNavigationError;
 import java.io.File;
 import java.net.URL;
+import java.time.Duration;
 import org.junit.jupiter.api.Test;
 import static org.junit.jupiter.api.Assertions.*;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Mockito;
 import static org.mockito.Mockito.verify;
+import org.openqa.selenium.ImmutableCapabilities;
 import org.openqa.selenium.OutputType;
+import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebDriver.Navigation;
+import org.openqa.selenium.WebDriverException;
 import org.openqa.selenium.remote.RemoteWebDriver;
 
 /**
@@ -181,6 +187,107 @@ public class SeleniumWindowTest
 				.toString());
 	 }
 
+	 @Test
+	 public void testNavigateToUrl_eagerWaitsForReadyXPath()
+		  throws Exception
+	 {
+		  Navigation navigate = Mockito.mock(Navigation.class);
+		  Mockito.when(driverMock.navigate())
+				.thenReturn(navigate);
+		  mockPageLoadStrategy("eager");
+		  Mockito.when(driverMock.executeScript(Mockito.startsWith("window.__webjourneyPreviousPage")))
+				.thenReturn("https://old.url");
+		  Mockito.when(driverMock.executeScript(Mockito.startsWith("if("), Mockito.any(), Mockito.any()))
+				.thenReturn(false, false, true);
+
+		  SeleniumWindow window = new SeleniumWindow("Name", driverMock);
+		  window.setActive(true);
+		  IWebPage page = window.navigateToUrl(new URL("https://new.url"), "//h1", Duration.ofSeconds(5));
+		  assertNotNull(page);
+
+		  verify(navigate).to(new URL("https://new.url"));
+		  verify(driverMock, Mockito.times(3))
+				.executeScript(Mockito.startsWith("if("), Mockito.eq("//h1"), Mockito.eq("https://old.url"));
+	 }
+
+	 @Test
+	 public void testNavigateToUrl_readyTimeoutReturnsPage()
+		  throws Exception
+	 {
+		  Navigation navigate = Mockito.mock(Navigation.class);
+		  Mockito.when(driverMock.navigate())
+				.thenReturn(navigate);
+		  mockPageLoadStrategy("none");
+		  Mockito.when(driverMock.executeScript(Mockito.startsWith("if("), Mockito.any(), Mockito.any()))
+				.thenReturn(false);
+
+		  SeleniumWindow window = new SeleniumWindow("Name", driverMock);
+		  window.setActive(true);
+		  IWebPage page = window.navigateToUrl(new URL("https://new.url"), "//h1", Duration.ofMillis(200));
+		  assertNotNull(page);
+		  verify(navigate).to(new URL("https://new.url"));
+	 }
+
+	 @Test
+	 public void testNavigateToUrl_normalDoesNotDetectReadiness()
+		  throws Exception
+	 {
+		  Navigation navigate = Mockito.mock(Navigation.class);
+		  Mockito.when(driverMock.navigate())
+				.thenReturn(navigate);
+		  mockPageLoadStrategy("normal");
+
+		  SeleniumWindow window = new SeleniumWindow("Name", driverMock);
+		  window.setActive(true);
+		  window.navigateToUrl(new URL("https://new.url"), "//h1", Duration.ofSeconds(5));
+
+		  verify(navigate).to(new URL("https://new.url"));
+		  verify(driverMock, Mockito.never()).executeScript(Mockito.anyString(), Mockito.any(), Mockito.any());
+	 }
+
+	 @Test
+	 public void testGetPageLoadStrategy()
+	 {
+		  SeleniumWindow window = new SeleniumWindow("Name", driverMock);
+		  mockPageLoadStrategy("eager");
+		  assertEquals(PageLoadStrategy.EAGER, window.getPageLoadStrategy());
+		  mockPageLoadStrategy("normal");
+		  assertEquals(PageLoadStrategy.NORMAL, window.getPageLoadStrategy());
+		  mockPageLoadStrategy("unknown");
+		  assertEquals(PageLoadStrategy.NORMAL, window.getPageLoadStrategy());
+	 }
+
+	 private void mockPageLoadStrategy(String strategy)
+	 {
+		  Mockito.when(driverMock.getCapabilities())
+				.thenReturn(new ImmutableCapabilities("pageLoadStrategy", strategy));
+		  WebDriver.Options options = Mockito.mock(WebDriver.Options.class);
+		  WebDriver.Timeouts timeouts = Mockito.mock(WebDriver.Timeouts.class);
+		  Mockito.when(driverMock.manage())
+				.thenReturn(options);
+		  Mockito.when(options.timeouts())
+				.thenReturn(timeouts);
+		  Mockito.when(timeouts.getPageLoadTimeout())
+				.thenReturn(Duration.ofSeconds(30));
+	 }
+
+	 @Test
+	 public void testNavigateToUrl_driverError()
+		  throws Exception
+	 {
+		  Navigation navigate = Mockito.mock(Navigation.class);
+		  Mockito.when(driverMock.navigate())
+				.thenReturn(navigate);
+		  WebDriverException error = new WebDriverException("net::ERR_CONNECTION_RESET");
+		  Mockito.doThrow(error)
+				.when(navigate).to(Mockito.any(URL.class));
+
+		  SeleniumWindow window = new SeleniumWindow("Name", driverMock);
+		  window.setActive(true);
+		  XNavigationError ex = assertThrows(XNavigationError.class, () -> window.navigateToUrl(new URL("https://new.url")));
+		  assertSame(error, ex.getCause());
+	 }
+
 	 @Test
 	 public void testNavigateToUrl_inactive()
 		  throws Exception
@@ -23,14 +23,19 @@
  */
 package io.github.jamoamo.webjourney.reserved.selenium;
 
+import io.github.jamoamo.webjourney.api.web.ElementProbeMetrics;
 import io.github.jamoamo.webjourney.api.web.XElementDoesntExistException;
 import java.time.Duration;
+import java.util.List;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
 import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.when;
 import org.openqa.selenium.By;
 import org.openqa.selenium.NoSuchElementException;
@@ -95,4 +100,36 @@ public class SingleElementLocatorTest
 
 		assertThrows(XElementDoesntExistException.class, locator::findElement);
 	}
+
+	@Test
+	public void testFindElement_NoWait_OptionalMissing_ProbesOnce() throws XElementDoesntExistException
+	{
+		WebDriver driver = Mockito.mock(WebDriver.class);
+		By by = By.xpath("//div");
+		when(driver.findElements(by)).thenReturn(List.of());
+		long misses = ElementProbeMetrics.shared().getMisses();
+
+		SingleElementLocator locator = new SingleElementLocator(driver, by, true);
+
+		assertNull(locator.findElement());
+		Mockito.verify(driver).findElements(by);
+		Mockito.verify(driver, never()).findElement(by);
+		assertEquals(misses + 1, ElementProbeMetrics.shared().getMisses());
+	}
+
+	@Test
+	public void testFindElementIfPresent_Required_DoesNotThrow()
+	{
+		WebDriver driver = Mockito.mock(WebDriver.class);
+		WebElement element = Mockito.mock(WebElement.class);
+		By by = By.xpath("//div");
+		when(driver.findElements(by)).thenReturn(List.of(), List.of(element));
+
+		SingleElementLocator locator = new SingleElementLocator(driver, by, false);
+
+		assertNull(locator.findElementIfPresent());
+		assertSame(element, locator.findElementIfPresent());
+		Mockito.verify(driver, never()).findElement(by);
+		assertFalse(new SeleniumElement(new SingleElementLocator(driver, By.xpath("//span"), false)).exists());
+	}
 }